@@ -20,6 +20,7 @@ import com.alibaba.cloud.ai.observation.model.ChatModelInputObservationHandler;
 import com.alibaba.cloud.ai.observation.model.ChatModelOutputObservationHandler;
 import com.alibaba.cloud.ai.observation.model.PromptMetadataAwareChatModelObservationConvention;
 import com.alibaba.cloud.ai.tool.ObservableToolCallingManager;
+import com.alibaba.cloud.ai.tool.cache.ToolResultCache;
 import io.micrometer.observation.ObservationRegistry;
 import org.springframework.ai.chat.client.observation.ChatClientObservationConvention;
 import org.springframework.ai.chat.model.ChatModel;
@@ -48,12 +49,14 @@ public class ArmsAutoConfiguration {
 	@ConditionalOnProperty(prefix = ArmsCommonProperties.CONFIG_PREFIX, name = "tool.enabled", havingValue = "true")
 	ToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver,
 			ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
-			ObjectProvider<ObservationRegistry> observationRegistry) {
-		return ObservableToolCallingManager.builder()
+			ObjectProvider<ObservationRegistry> observationRegistry, ObjectProvider<ToolResultCache> toolResultCache) {
+		ObservableToolCallingManager toolCallingManager = ObservableToolCallingManager.builder()
 			.observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
 			.toolCallbackResolver(toolCallbackResolver)
 			.toolExecutionExceptionProcessor(toolExecutionExceptionProcessor)
 			.build();
+		toolResultCache.ifAvailable(toolCallingManager::setToolResultCache);
+		return toolCallingManager;
 	}
 
 	@Bean
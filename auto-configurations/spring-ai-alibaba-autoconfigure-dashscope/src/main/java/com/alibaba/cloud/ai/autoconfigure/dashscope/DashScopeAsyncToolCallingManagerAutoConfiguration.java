@@ -16,7 +16,12 @@
 package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
 import com.alibaba.cloud.ai.tool.DashScopeAsyncToolCallingManager;
+import com.alibaba.cloud.ai.tool.cache.ToolResultCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.model.tool.ToolCallingManager;
 import org.springframework.ai.model.tool.autoconfigure.ToolCallingAutoConfiguration;
 import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
@@ -30,7 +35,12 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -42,27 +52,61 @@ import java.util.concurrent.TimeUnit;
 @ConditionalOnProperty(prefix = DashScopeAsyncToolCallingProperties.CONFIG_PREFIX, name = "enabled", havingValue = "true")
 public class DashScopeAsyncToolCallingManagerAutoConfiguration {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashScopeAsyncToolCallingManagerAutoConfiguration.class);
+
     @Bean
     @Primary
     ToolCallingManager toolCallingManager(ToolCallbackResolver toolCallbackResolver,
                                           ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
                                           ObjectProvider<ObservationRegistry> observationRegistry,
                                           ObjectProvider<ToolCallingObservationConvention> observationConvention,
+                                          ObjectProvider<MeterRegistry> meterRegistry,
+                                          ObjectProvider<ToolResultCache> toolResultCache,
                                           DashScopeAsyncToolCallingProperties dashScopeAsyncToolCallingProperties) {
 
+        Map<String, Duration> toolTimeouts = new HashMap<>();
+        Map<String, Integer> maxConcurrentCalls = new HashMap<>();
+        dashScopeAsyncToolCallingProperties.getTools().forEach((toolName, tool) -> {
+            if (tool.getTimeout() != null) {
+                toolTimeouts.put(toolName, tool.getTimeout());
+            }
+            if (tool.getMaxConcurrentCalls() != null) {
+                maxConcurrentCalls.put(toolName, tool.getMaxConcurrentCalls());
+            }
+        });
+
         // init toolCallingManager
         var toolCallingManager = DashScopeAsyncToolCallingManager.builder()
                 .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
                 .toolCallbackResolver(toolCallbackResolver)
                 .toolExecutionExceptionProcessor(toolExecutionExceptionProcessor)
-                .taskExecutor(buildAsyncToolCallThreadPool(dashScopeAsyncToolCallingProperties))
+                .taskExecutor(buildAsyncToolCallExecutor(dashScopeAsyncToolCallingProperties))
+                .toolTimeout(dashScopeAsyncToolCallingProperties.getToolTimeout())
+                .toolTimeouts(toolTimeouts)
+                .turnTimeout(dashScopeAsyncToolCallingProperties.getTurnTimeout())
+                .maxConcurrentCallsPerTool(dashScopeAsyncToolCallingProperties.getMaxConcurrentCallsPerTool())
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .meterRegistry(meterRegistry.getIfUnique(() -> Metrics.globalRegistry))
                 .build();
         observationConvention.ifAvailable(toolCallingManager::setObservationConvention);
+        toolResultCache.ifAvailable(toolCallingManager::setToolResultCache);
 
         return toolCallingManager;
     }
 
 
+    private Executor buildAsyncToolCallExecutor(DashScopeAsyncToolCallingProperties asyncToolCallingProperties) {
+        if (asyncToolCallingProperties.isVirtualThreads()) {
+            try {
+                return new VirtualThreadTaskExecutor("dashscope-async-tool-");
+            }
+            catch (UnsupportedOperationException ex) {
+                logger.warn("Virtual threads require Java 21+, running async tool calls on a thread pool instead");
+            }
+        }
+        return buildAsyncToolCallThreadPool(asyncToolCallingProperties);
+    }
+
     private ThreadPoolExecutor buildAsyncToolCallThreadPool(DashScopeAsyncToolCallingProperties asyncToolCallingProperties) {
         return new ThreadPoolExecutor(
                 asyncToolCallingProperties.getCorePoolSize(),
@@ -17,6 +17,10 @@ package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 @ConfigurationProperties(DashScopeAsyncToolCallingProperties.CONFIG_PREFIX)
 public class DashScopeAsyncToolCallingProperties {
 
@@ -38,6 +42,33 @@ public class DashScopeAsyncToolCallingProperties {
     private int keepAliveTime = 60;
     private int queueCapacity = 1000;
 
+    /**
+     * Run tool calls on virtual threads instead of the thread pool. Requires Java 21+,
+     * on older runtimes the thread pool is used.
+     */
+    private boolean virtualThreads;
+
+    /**
+     * Deadline of every tool call, none if not set. A call that misses it is cancelled
+     * and the model gets a timeout result for it.
+     */
+    private Duration toolTimeout;
+
+    /**
+     * Deadline of all tool calls of one model turn, none if not set.
+     */
+    private Duration turnTimeout;
+
+    /**
+     * Maximum concurrently running calls of each tool, 0 for no limit.
+     */
+    private int maxConcurrentCallsPerTool;
+
+    /**
+     * Settings of individual tools by tool name, overriding the defaults above.
+     */
+    private Map<String, Tool> tools = new HashMap<>();
+
     public boolean isEnable() {
         return enabled;
     }
@@ -77,4 +108,73 @@ public class DashScopeAsyncToolCallingProperties {
     public void setQueueCapacity(int queueCapacity) {
         this.queueCapacity = queueCapacity;
     }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public Duration getToolTimeout() {
+        return toolTimeout;
+    }
+
+    public void setToolTimeout(Duration toolTimeout) {
+        this.toolTimeout = toolTimeout;
+    }
+
+    public Duration getTurnTimeout() {
+        return turnTimeout;
+    }
+
+    public void setTurnTimeout(Duration turnTimeout) {
+        this.turnTimeout = turnTimeout;
+    }
+
+    public int getMaxConcurrentCallsPerTool() {
+        return maxConcurrentCallsPerTool;
+    }
+
+    public void setMaxConcurrentCallsPerTool(int maxConcurrentCallsPerTool) {
+        this.maxConcurrentCallsPerTool = maxConcurrentCallsPerTool;
+    }
+
+    public Map<String, Tool> getTools() {
+        return tools;
+    }
+
+    public void setTools(Map<String, Tool> tools) {
+        this.tools = tools;
+    }
+
+    public static class Tool {
+
+        /**
+         * Deadline of the calls of this tool.
+         */
+        private Duration timeout;
+
+        /**
+         * Maximum concurrently running calls of this tool.
+         */
+        private Integer maxConcurrentCalls;
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Integer getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(Integer maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+    }
 }
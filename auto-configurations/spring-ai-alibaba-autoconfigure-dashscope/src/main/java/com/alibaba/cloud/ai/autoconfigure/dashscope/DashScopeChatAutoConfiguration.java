@@ -17,6 +17,7 @@ package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
 import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatModel;
+import com.alibaba.cloud.ai.dashscope.chat.SpeculativeToolCallPredicate;
 import com.alibaba.cloud.ai.model.SpringAIAlibabaModels;
 import com.alibaba.cloud.ai.tool.validator.DefaultToolCallValidator;
 import com.alibaba.cloud.ai.tool.validator.ToolCallValidator;
@@ -88,7 +89,8 @@ public class DashScopeChatAutoConfiguration {
 				ObjectProvider<RestClient.Builder> restClientBuilderProvider,
 				ObjectProvider<ChatModelObservationConvention> observationConvention,
 				ObjectProvider<ToolExecutionEligibilityPredicate> dashscopeToolExecutionEligibilityPredicate,
-				ObjectProvider<ToolCallValidator> toolCallValidatorProvider
+				ObjectProvider<ToolCallValidator> toolCallValidatorProvider,
+				ObjectProvider<SpeculativeToolCallPredicate> speculativeToolCallPredicate
 		) {
 
 			var dashscopeApi = dashscopeChatApi(
@@ -112,6 +114,7 @@ public class DashScopeChatAutoConfiguration {
 					.build();
 
 			observationConvention.ifAvailable(dashscopeModel::setObservationConvention);
+			speculativeToolCallPredicate.ifUnique(dashscopeModel::setSpeculativeToolCallPredicate);
 
 			return dashscopeModel;
 		}
@@ -137,6 +140,7 @@ public class DashScopeChatAutoConfiguration {
 					.headers(resolved.headers())
 					.baseUrl(resolved.baseUrl())
 					.completionsPath(chatProperties.getCompletionsPath())
+					.streamDecoderMode(chatProperties.getStreamDecoderMode())
 					.webClientBuilder(webClientBuilder)
 					.restClientBuilder(restClientBuilder)
 					.responseErrorHandler(responseErrorHandler)
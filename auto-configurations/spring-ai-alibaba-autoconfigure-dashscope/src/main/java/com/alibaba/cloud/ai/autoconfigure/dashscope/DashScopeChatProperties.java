@@ -15,6 +15,7 @@
  */
 package com.alibaba.cloud.ai.autoconfigure.dashscope;
 
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
 import com.alibaba.cloud.ai.dashscope.chat.DashScopeChatOptions;
 import com.alibaba.cloud.ai.dashscope.common.DashScopeApiConstants;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -49,6 +50,11 @@ public class DashScopeChatProperties extends DashScopeParentProperties {
 	 */
 	private String completionsPath = DashScopeApiConstants.TEXT_GENERATION_RESTFUL_URL;
 
+	/**
+	 * How streaming chat responses are decoded.
+	 */
+	private DashScopeApi.StreamDecoderMode streamDecoderMode = DashScopeApi.StreamDecoderMode.DEFAULT;
+
 	@NestedConfigurationProperty
 	private DashScopeChatOptions options = DashScopeChatOptions.builder()
 		.model(DEFAULT_DEPLOYMENT_NAME)
@@ -70,6 +76,14 @@ public class DashScopeChatProperties extends DashScopeParentProperties {
 		this.completionsPath = completionsPath;
 	}
 
+	public DashScopeApi.StreamDecoderMode getStreamDecoderMode() {
+		return streamDecoderMode;
+	}
+
+	public void setStreamDecoderMode(DashScopeApi.StreamDecoderMode streamDecoderMode) {
+		this.streamDecoderMode = streamDecoderMode;
+	}
+
 	public boolean isEnabled() {
 
 		return this.enabled;
@@ -19,6 +19,8 @@ package com.alibaba.cloud.ai.autoconfigure.dashscope;
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
 import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingModel;
 import com.alibaba.cloud.ai.model.SpringAIAlibabaModels;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.micrometer.observation.ObservationRegistry;
 
 import org.springframework.ai.embedding.observation.EmbeddingModelObservationConvention;
@@ -64,7 +66,8 @@ public class DashScopeEmbeddingAutoConfiguration {
 			ObjectProvider<WebClient.Builder> webClientBuilderProvider,
 			ObjectProvider<RestClient.Builder> restClientBuilderProvider, RetryTemplate retryTemplate,
 			ResponseErrorHandler responseErrorHandler, ObjectProvider<ObservationRegistry> observationRegistry,
-			ObjectProvider<EmbeddingModelObservationConvention> observationConvention) {
+			ObjectProvider<EmbeddingModelObservationConvention> observationConvention,
+			ObjectProvider<MeterRegistry> meterRegistry) {
 
 		var dashScopeApi = dashscopeEmbeddingApi(commonProperties, embeddingProperties,
 				restClientBuilderProvider.getIfAvailable(RestClient::builder),
@@ -76,6 +79,9 @@ public class DashScopeEmbeddingAutoConfiguration {
                 .defaultOptions(embeddingProperties.getOptions())
                 .retryTemplate(retryTemplate)
                 .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                .maxConcurrentBatches(embeddingProperties.getMaxConcurrentBatches())
+                .tokensPerMinute(embeddingProperties.getTokensPerMinute())
+                .meterRegistry(meterRegistry.getIfUnique(() -> Metrics.globalRegistry))
                 .build();
 
 		observationConvention.ifAvailable(embeddingModel::setObservationConvention);
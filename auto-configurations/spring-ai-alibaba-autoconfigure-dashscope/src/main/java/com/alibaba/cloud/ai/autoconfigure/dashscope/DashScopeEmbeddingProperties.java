@@ -39,6 +39,16 @@ public class DashScopeEmbeddingProperties extends DashScopeParentProperties {
 
   private MetadataMode metadataMode = MetadataMode.EMBED;
 
+  /**
+   * Maximum number of batches embedded concurrently, 1 embeds one batch at a time.
+   */
+  private int maxConcurrentBatches = 1;
+
+  /**
+   * Tokens per minute budget of concurrent batch embedding, 0 for no budget.
+   */
+  private long tokensPerMinute;
+
   @NestedConfigurationProperty
   private DashScopeEmbeddingOptions options =
       DashScopeEmbeddingOptions.builder().model(DEFAULT_EMBEDDING_MODEL).build();
@@ -59,6 +69,22 @@ public class DashScopeEmbeddingProperties extends DashScopeParentProperties {
     this.metadataMode = metadataMode;
   }
 
+  public int getMaxConcurrentBatches() {
+    return this.maxConcurrentBatches;
+  }
+
+  public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+    this.maxConcurrentBatches = maxConcurrentBatches;
+  }
+
+  public long getTokensPerMinute() {
+    return this.tokensPerMinute;
+  }
+
+  public void setTokensPerMinute(long tokensPerMinute) {
+    this.tokensPerMinute = tokensPerMinute;
+  }
+
   public boolean isEnabled() {
     return this.enabled;
   }
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.autoconfigure.mcp.discovery.client;
+
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.LeastRequestsMcpClientSelector;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientOutlierDetection;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientSelector;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.PeakEwmaMcpClientSelector;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.RoundRobinMcpClientSelector;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.WeightedMcpClientSelector;
+import com.alibaba.cloud.ai.mcp.nacos.NacosMcpClientProperties;
+
+/**
+ * Maps {@link NacosMcpClientProperties.LoadBalance} to the load balancing settings of the
+ * distributed mcp clients. Every client gets its own selector.
+ */
+final class NacosMcpClientLoadBalancing {
+
+    private NacosMcpClientLoadBalancing() {
+    }
+
+    static McpClientSelector clientSelector(NacosMcpClientProperties.LoadBalance loadBalance) {
+        return switch (loadBalance.getStrategy()) {
+            case LEAST_REQUESTS -> new LeastRequestsMcpClientSelector();
+            case PEAK_EWMA -> new PeakEwmaMcpClientSelector();
+            case WEIGHTED -> new WeightedMcpClientSelector();
+            case ROUND_ROBIN -> new RoundRobinMcpClientSelector();
+        };
+    }
+
+    static McpClientOutlierDetection outlierDetection(NacosMcpClientProperties.LoadBalance loadBalance) {
+        return McpClientOutlierDetection.builder()
+                .consecutiveFailures(loadBalance.getConsecutiveFailures())
+                .baseEjectionTime(loadBalance.getBaseEjectionTime())
+                .maxEjectionTime(loadBalance.getMaxEjectionTime())
+                .maxEjectionPercent(loadBalance.getMaxEjectionPercent())
+                .build();
+    }
+
+}
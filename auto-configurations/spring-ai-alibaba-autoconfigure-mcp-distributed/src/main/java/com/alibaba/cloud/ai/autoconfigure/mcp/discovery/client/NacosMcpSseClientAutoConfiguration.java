@@ -61,6 +61,8 @@ public class NacosMcpSseClientAutoConfiguration {
                     .nacosMcpOperationService(nacosMcpOperationServiceMap.get(name))
                     .applicationContext(applicationContext)
                     .lazyInit(nacosMcpClientProperties.isLazyInit())
+                    .clientSelector(NacosMcpClientLoadBalancing.clientSelector(nacosMcpClientProperties.getLoadBalance()))
+                    .outlierDetection(NacosMcpClientLoadBalancing.outlierDetection(nacosMcpClientProperties.getLoadBalance()))
                     .build();
             client.init();
             client.subscribe();
@@ -86,6 +88,8 @@ public class NacosMcpSseClientAutoConfiguration {
                     .nacosMcpOperationService(nacosMcpOperationServiceMap.get(name))
                     .applicationContext(applicationContext)
                     .lazyInit(nacosMcpClientProperties.isLazyInit())
+                    .clientSelector(NacosMcpClientLoadBalancing.clientSelector(nacosMcpClientProperties.getLoadBalance()))
+                    .outlierDetection(NacosMcpClientLoadBalancing.outlierDetection(nacosMcpClientProperties.getLoadBalance()))
                     .build();
             client.init();
             client.subscribe();
@@ -22,6 +22,7 @@ import com.alibaba.cloud.ai.dashscope.embedding.DashScopeEmbeddingOptions;
 import com.alibaba.cloud.ai.mcp.nacos.NacosMcpProperties;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
 import com.alibaba.cloud.ai.mcp.router.config.McpRouterProperties;
+import com.alibaba.cloud.ai.mcp.router.core.McpClientSessionPool;
 import com.alibaba.cloud.ai.mcp.router.core.McpRouterWatcher;
 import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscovery;
 import com.alibaba.cloud.ai.mcp.router.core.discovery.McpServiceDiscoveryFactory;
@@ -108,8 +109,19 @@ public class NacosMcpRouterAutoConfiguration {
 	 */
 	@Bean
 	@ConditionalOnMissingBean
-	public McpProxyService mcpProxyService(NacosMcpOperationService nacosMcpOperationService) {
-		return new McpProxyService(nacosMcpOperationService);
+	public McpProxyService mcpProxyService(NacosMcpOperationService nacosMcpOperationService,
+			McpRouterProperties mcpRouterProperties) {
+		McpRouterProperties.SessionPool sessionPool = mcpRouterProperties.getSessionPool();
+		return new McpProxyService(nacosMcpOperationService,
+				McpClientSessionPool.builder()
+					.maxSessionsPerEndpoint(sessionPool.getMaxSessionsPerEndpoint())
+					.maxIdleTime(sessionPool.getMaxIdleTime())
+					.healthCheckInterval(sessionPool.getHealthCheckInterval())
+					.acquireTimeout(sessionPool.getAcquireTimeout())
+					.pingTimeout(sessionPool.getPingTimeout())
+					.initialBackoff(sessionPool.getInitialBackoff())
+					.maxBackoff(sessionPool.getMaxBackoff())
+					.build());
 	}
 
 	/**
@@ -16,18 +16,27 @@
 
 package com.alibaba.cloud.ai.autoconfigure.memory;
 
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.ChatMemoryInvalidationChannel;
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.InProcessChatMemoryInvalidationChannel;
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.NearCacheChatMemoryRepository;
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.RedisChatMemoryInvalidationChannel;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.memory.ChatMemory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
 import org.springframework.ai.chat.memory.MessageWindowChatMemory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 
 @AutoConfiguration
 @ConditionalOnClass({ ChatMemory.class, ChatMemoryRepository.class })
@@ -49,10 +58,59 @@ public class ChatMemoryAutoConfiguration {
 
 	@Bean
 	@ConditionalOnMissingBean
-	ChatMemory chatMemory(ChatMemoryRepository chatMemoryRepository, ChatMemoryProperties properties) {
+	ChatMemory chatMemory(ChatMemoryRepository chatMemoryRepository, ChatMemoryProperties properties,
+			ObjectProvider<ChatMemoryInvalidationChannel> invalidationChannel,
+			ObjectProvider<MeterRegistry> meterRegistry) {
+		ChatMemoryProperties.NearCache nearCache = properties.getNearCache();
+		if (nearCache.isEnabled()) {
+			logger.info("Caching chat memory of {} in a near cache", chatMemoryRepository.getClass().getSimpleName());
+			if (nearCache.getInvalidation() == ChatMemoryProperties.Invalidation.IN_PROCESS) {
+				logger.info("Near cache invalidations only reach this JVM, set {}.near-cache.invalidation=redis "
+						+ "when several nodes share the chat memory", ChatMemoryProperties.CONFIG_PREFIX);
+			}
+			chatMemoryRepository = NearCacheChatMemoryRepository.builder()
+				.delegate(chatMemoryRepository)
+				.maxConversations(nearCache.getMaxConversations())
+				.expireAfterAccess(nearCache.getExpireAfterAccess())
+				.invalidationChannel(invalidationChannel.getIfAvailable())
+				.meterRegistry(meterRegistry.getIfUnique(() -> Metrics.globalRegistry))
+				.build();
+		}
 		return MessageWindowChatMemory.builder().chatMemoryRepository(chatMemoryRepository)
 				.maxMessages(properties.getMaxMessages())
 				.build();
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = ChatMemoryProperties.CONFIG_PREFIX + ".near-cache", name = "enabled",
+			havingValue = "true")
+	static class NearCacheInvalidationConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = ChatMemoryProperties.CONFIG_PREFIX + ".near-cache", name = "invalidation",
+				havingValue = "in-process", matchIfMissing = true)
+		ChatMemoryInvalidationChannel inProcessChatMemoryInvalidationChannel() {
+			return new InProcessChatMemoryInvalidationChannel();
+		}
+
+		@Configuration(proxyBeanMethods = false)
+		@ConditionalOnClass(RedisConnectionFactory.class)
+		@ConditionalOnProperty(prefix = ChatMemoryProperties.CONFIG_PREFIX + ".near-cache", name = "invalidation",
+				havingValue = "redis")
+		static class RedisInvalidationConfiguration {
+
+			@Bean
+			@ConditionalOnMissingBean
+			ChatMemoryInvalidationChannel redisChatMemoryInvalidationChannel(RedisConnectionFactory connectionFactory,
+					ChatMemoryProperties properties) {
+				logger.info("Broadcasting chat memory near cache invalidations over Redis");
+				return new RedisChatMemoryInvalidationChannel(connectionFactory,
+						properties.getNearCache().getInvalidationTopic());
+			}
+
+		}
+
+	}
+
 }
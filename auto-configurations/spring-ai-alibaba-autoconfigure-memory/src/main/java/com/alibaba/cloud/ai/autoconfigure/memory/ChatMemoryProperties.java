@@ -16,8 +16,12 @@
 
 package com.alibaba.cloud.ai.autoconfigure.memory;
 
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.NearCacheChatMemoryRepository;
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.RedisChatMemoryInvalidationChannel;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * @author yingzi
  * @since 2025/11/30
@@ -29,6 +33,8 @@ public class ChatMemoryProperties {
 
     private int maxMessages = 20;
 
+    private final NearCache nearCache = new NearCache();
+
     public int getMaxMessages() {
         return maxMessages;
     }
@@ -37,4 +43,96 @@ public class ChatMemoryProperties {
         this.maxMessages = maxMessages;
     }
 
+    public NearCache getNearCache() {
+        return nearCache;
+    }
+
+    /**
+     * Local cache of the recently used conversations in front of the chat memory
+     * repository.
+     */
+    public static class NearCache {
+
+        private boolean enabled = false;
+
+        /**
+         * Maximum number of cached conversations.
+         */
+        private int maxConversations = NearCacheChatMemoryRepository.DEFAULT_MAX_CONVERSATIONS;
+
+        /**
+         * How long a conversation stays cached without being read or written.
+         */
+        private Duration expireAfterAccess = NearCacheChatMemoryRepository.DEFAULT_EXPIRE_AFTER_ACCESS;
+
+        /**
+         * How the other nodes are told to drop a conversation that changed. The default
+         * only reaches the caches of the same JVM, several nodes sharing the repository
+         * need {@code redis}, otherwise they serve conversations changed on another node
+         * until these expire.
+         */
+        private Invalidation invalidation = Invalidation.IN_PROCESS;
+
+        /**
+         * Redis pub/sub channel of the invalidations.
+         */
+        private String invalidationTopic = RedisChatMemoryInvalidationChannel.DEFAULT_TOPIC;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxConversations() {
+            return maxConversations;
+        }
+
+        public void setMaxConversations(int maxConversations) {
+            this.maxConversations = maxConversations;
+        }
+
+        public Duration getExpireAfterAccess() {
+            return expireAfterAccess;
+        }
+
+        public void setExpireAfterAccess(Duration expireAfterAccess) {
+            this.expireAfterAccess = expireAfterAccess;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public void setInvalidation(Invalidation invalidation) {
+            this.invalidation = invalidation;
+        }
+
+        public String getInvalidationTopic() {
+            return invalidationTopic;
+        }
+
+        public void setInvalidationTopic(String invalidationTopic) {
+            this.invalidationTopic = invalidationTopic;
+        }
+
+    }
+
+    public enum Invalidation {
+
+        /**
+         * Only the caches of the same JVM are invalidated, for a single node.
+         */
+        IN_PROCESS,
+
+        /**
+         * Invalidations are broadcast over Redis pub/sub, using the application's
+         * {@code RedisConnectionFactory}.
+         */
+        REDIS
+
+    }
+
 }
@@ -16,6 +16,7 @@
 
 package com.alibaba.cloud.ai.autoconfigure.memory;
 
+import co.elastic.clients.elasticsearch._types.Refresh;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.ArrayList;
@@ -73,6 +74,12 @@ public class ElasticsearchChatMemoryProperties {
 	 */
 	private String scheme = "http";
 
+	/**
+	 * When chat memory writes become visible to searches: wait_for (the next refresh),
+	 * true (refresh immediately) or false (the index refresh interval)
+	 */
+	private Refresh refresh = Refresh.WaitFor;
+
 	public String getHost() {
 		return host;
 	}
@@ -145,4 +152,12 @@ public class ElasticsearchChatMemoryProperties {
 		this.scheme = scheme;
 	}
 
+	public Refresh getRefresh() {
+		return refresh;
+	}
+
+	public void setRefresh(final Refresh refresh) {
+		this.refresh = refresh;
+	}
+
 }
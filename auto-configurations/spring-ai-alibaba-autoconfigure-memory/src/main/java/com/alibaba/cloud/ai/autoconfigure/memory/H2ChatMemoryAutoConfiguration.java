@@ -43,9 +43,12 @@ public class H2ChatMemoryAutoConfiguration {
 
 	@Bean(value = H2_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
 	@ConditionalOnMissingBean(name = H2_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
-	H2ChatMemoryRepository h2ChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+	H2ChatMemoryRepository h2ChatMemoryRepository(JdbcTemplate jdbcTemplate, H2ChatMemoryProperties properties) {
 		logger.info("Configuring H2 chat memory repository");
-		return H2ChatMemoryRepository.h2Builder().jdbcTemplate(jdbcTemplate).build();
+		return H2ChatMemoryRepository.h2Builder()
+			.jdbcTemplate(jdbcTemplate)
+			.appendOnly(properties.isAppendOnly())
+			.build();
 	}
 
 }
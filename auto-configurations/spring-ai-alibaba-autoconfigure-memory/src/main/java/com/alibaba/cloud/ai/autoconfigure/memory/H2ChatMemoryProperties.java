@@ -36,6 +36,20 @@ public class H2ChatMemoryProperties {
 		this.initializeSchema = initializeSchema;
 	}
 
+	/**
+	 * Whether to only insert the messages that are new since the last save and delete
+	 * the ones evicted from the window, instead of rewriting the whole conversation.
+	 */
+	private boolean appendOnly = false;
+
+	public boolean isAppendOnly() {
+		return this.appendOnly;
+	}
+
+	public void setAppendOnly(boolean appendOnly) {
+		this.appendOnly = appendOnly;
+	}
+
 	/**
 	 * JDBC URL of the database.
 	 */
@@ -16,6 +16,9 @@
 package com.alibaba.cloud.ai.autoconfigure.memory;
 
 import com.alibaba.cloud.ai.memory.memcached.MemcachedChatMemoryRepository;
+import com.alibaba.cloud.ai.memory.serializer.JsonMessageCodec;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
+import com.alibaba.cloud.ai.memory.serializer.SmileMessageCodec;
 import com.alibaba.cloud.ai.toolcalling.memcached.MemcachedService;
 import net.spy.memcached.MemcachedClient;
 import org.slf4j.Logger;
@@ -51,7 +54,13 @@ public class MemcachedChatMemoryAutoConfiguration {
 		MemcachedClient memcachedClient = new MemcachedClient(
 				new InetSocketAddress(properties.getHost(), properties.getPort()));
 		logger.info("Configuring Memcached chat memory repository");
-		return new MemcachedChatMemoryRepository(new MemcachedService(memcachedClient));
+		MessageCodec messageCodec = (properties.getCodec() == MemcachedChatMemoryProperties.Codec.SMILE)
+				? new SmileMessageCodec(properties.getCompression(), properties.getCompressionThreshold())
+				: new JsonMessageCodec();
+		int indexBuckets = (properties.getIndexBuckets() != null) ? properties.getIndexBuckets()
+				: MemcachedChatMemoryRepository.indexBucketsFor(properties.getExpectedConversations());
+		return new MemcachedChatMemoryRepository(new MemcachedService(memcachedClient), properties.isAppendOnly(),
+				indexBuckets, messageCodec);
 	}
 
 }
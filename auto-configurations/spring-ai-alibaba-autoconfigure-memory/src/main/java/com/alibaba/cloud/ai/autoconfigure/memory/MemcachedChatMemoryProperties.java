@@ -15,6 +15,8 @@
  */
 package com.alibaba.cloud.ai.autoconfigure.memory;
 
+import com.alibaba.cloud.ai.memory.serializer.MessageCompression;
+import com.alibaba.cloud.ai.memory.serializer.SmileMessageCodec;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -29,6 +31,41 @@ public class MemcachedChatMemoryProperties {
 
 	private int port = 11211;
 
+	/**
+	 * Whether to store every message under its own key and only write the new ones on
+	 * save, instead of rewriting the whole conversation.
+	 */
+	private boolean appendOnly = false;
+
+	/**
+	 * Number of conversations the store is expected to hold, used to size the
+	 * conversation index when index-buckets is not set. Keep it fixed once conversations
+	 * are stored.
+	 */
+	private long expectedConversations = 131_072;
+
+	/**
+	 * Number of keys the conversation index is sharded into. Derived from
+	 * expected-conversations by default.
+	 */
+	private Integer indexBuckets;
+
+	/**
+	 * Encoding of the stored messages. Every codec also reads the JSON entries, so it can
+	 * be changed on a live store.
+	 */
+	private Codec codec = Codec.JSON;
+
+	/**
+	 * Compression of the messages encoded with the smile codec.
+	 */
+	private MessageCompression compression = MessageCompression.NONE;
+
+	/**
+	 * Size in bytes from which a message is compressed.
+	 */
+	private int compressionThreshold = SmileMessageCodec.DEFAULT_COMPRESSION_THRESHOLD;
+
 	public String getHost() {
 		return host;
 	}
@@ -45,4 +82,66 @@ public class MemcachedChatMemoryProperties {
 		this.port = port;
 	}
 
+	public boolean isAppendOnly() {
+		return appendOnly;
+	}
+
+	public void setAppendOnly(boolean appendOnly) {
+		this.appendOnly = appendOnly;
+	}
+
+	public long getExpectedConversations() {
+		return expectedConversations;
+	}
+
+	public void setExpectedConversations(long expectedConversations) {
+		this.expectedConversations = expectedConversations;
+	}
+
+	public Integer getIndexBuckets() {
+		return indexBuckets;
+	}
+
+	public void setIndexBuckets(Integer indexBuckets) {
+		this.indexBuckets = indexBuckets;
+	}
+
+	public Codec getCodec() {
+		return codec;
+	}
+
+	public void setCodec(Codec codec) {
+		this.codec = codec;
+	}
+
+	public MessageCompression getCompression() {
+		return compression;
+	}
+
+	public void setCompression(MessageCompression compression) {
+		this.compression = compression;
+	}
+
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	public enum Codec {
+
+		/**
+		 * JSON text, readable by every version
+		 */
+		JSON,
+
+		/**
+		 * Binary Smile, needs jackson-dataformat-smile
+		 */
+		SMILE
+
+	}
+
 }
@@ -46,9 +46,13 @@ public class MysqlChatMemoryAutoConfiguration {
 
 	@Bean(value = MYSQL_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
 	@ConditionalOnMissingBean(name = MYSQL_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
-	MysqlChatMemoryRepository mysqlChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+	MysqlChatMemoryRepository mysqlChatMemoryRepository(JdbcTemplate jdbcTemplate,
+			MysqlChatMemoryProperties properties) {
 		logger.info("Configuring MySQL chat memory repository");
-		return MysqlChatMemoryRepository.mysqlBuilder().jdbcTemplate(jdbcTemplate).build();
+		return MysqlChatMemoryRepository.mysqlBuilder()
+			.jdbcTemplate(jdbcTemplate)
+			.appendOnly(properties.isAppendOnly())
+			.build();
 	}
 
 }
@@ -47,9 +47,13 @@ public class OracleChatMemoryAutoConfiguration {
 
 	@Bean(value = ORACLE_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
 	@ConditionalOnMissingBean(name = ORACLE_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
-	OracleChatMemoryRepository oracleChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+	OracleChatMemoryRepository oracleChatMemoryRepository(JdbcTemplate jdbcTemplate,
+			OracleChatMemoryProperties properties) {
 		logger.info("Configuring Oracle chat memory repository");
-		return OracleChatMemoryRepository.oracleBuilder().jdbcTemplate(jdbcTemplate).build();
+		return OracleChatMemoryRepository.oracleBuilder()
+			.jdbcTemplate(jdbcTemplate)
+			.appendOnly(properties.isAppendOnly())
+			.build();
 	}
 
 }
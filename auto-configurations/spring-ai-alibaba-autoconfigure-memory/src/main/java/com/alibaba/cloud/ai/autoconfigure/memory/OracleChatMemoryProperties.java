@@ -36,4 +36,18 @@ public class OracleChatMemoryProperties {
 		this.initializeSchema = initializeSchema;
 	}
 
+	/**
+	 * Whether to only insert the messages that are new since the last save and delete
+	 * the ones evicted from the window, instead of rewriting the whole conversation.
+	 */
+	private boolean appendOnly = false;
+
+	public boolean isAppendOnly() {
+		return this.appendOnly;
+	}
+
+	public void setAppendOnly(boolean appendOnly) {
+		this.appendOnly = appendOnly;
+	}
+
 }
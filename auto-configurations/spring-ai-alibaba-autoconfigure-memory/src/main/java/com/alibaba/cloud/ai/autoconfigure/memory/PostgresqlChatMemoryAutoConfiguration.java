@@ -47,9 +47,13 @@ public class PostgresqlChatMemoryAutoConfiguration {
 
 	@Bean(value = POSTGRESQL_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
 	@ConditionalOnMissingBean(name = POSTGRESQL_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
-	PostgresChatMemoryRepository postgresChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+	PostgresChatMemoryRepository postgresChatMemoryRepository(JdbcTemplate jdbcTemplate,
+			PostgresqlChatMemoryProperties properties) {
 		logger.info("Configuring PostgreSQL chat memory repository");
-		return PostgresChatMemoryRepository.postgresBuilder().jdbcTemplate(jdbcTemplate).build();
+		return PostgresChatMemoryRepository.postgresBuilder()
+			.jdbcTemplate(jdbcTemplate)
+			.appendOnly(properties.isAppendOnly())
+			.build();
 	}
 
 }
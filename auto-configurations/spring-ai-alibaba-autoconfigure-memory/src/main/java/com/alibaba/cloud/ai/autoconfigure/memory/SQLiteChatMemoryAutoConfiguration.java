@@ -46,9 +46,13 @@ public class SQLiteChatMemoryAutoConfiguration {
 
 	@Bean(name = SQLITE_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
 	@ConditionalOnMissingBean(name = SQLITE_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
-	SQLiteChatMemoryRepository sqliteChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+	SQLiteChatMemoryRepository sqliteChatMemoryRepository(JdbcTemplate jdbcTemplate,
+			SQLiteChatMemoryProperties properties) {
 		logger.info("Configuring SQLite chat memory repository");
-		return SQLiteChatMemoryRepository.sqliteBuilder().jdbcTemplate(jdbcTemplate).build();
+		return SQLiteChatMemoryRepository.sqliteBuilder()
+			.jdbcTemplate(jdbcTemplate)
+			.appendOnly(properties.isAppendOnly())
+			.build();
 	}
 
 }
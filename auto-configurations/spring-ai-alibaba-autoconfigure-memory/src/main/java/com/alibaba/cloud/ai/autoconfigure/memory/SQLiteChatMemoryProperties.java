@@ -33,4 +33,18 @@ public class SQLiteChatMemoryProperties {
 		this.initializeSchema = initializeSchema;
 	}
 
+	/**
+	 * Whether to only insert the messages that are new since the last save and delete
+	 * the ones evicted from the window, instead of rewriting the whole conversation.
+	 */
+	private boolean appendOnly = false;
+
+	public boolean isAppendOnly() {
+		return this.appendOnly;
+	}
+
+	public void setAppendOnly(boolean appendOnly) {
+		this.appendOnly = appendOnly;
+	}
+
 }
@@ -46,9 +46,13 @@ public class SqlServerChatMemoryAutoConfiguration {
 
 	@Bean(value = SQL_SERVER_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
 	@ConditionalOnMissingBean(name = SQL_SERVER_CHAT_MEMORY_REPOSITORY_BEAN_NAME)
-	SqlServerChatMemoryRepository sqlServerChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+	SqlServerChatMemoryRepository sqlServerChatMemoryRepository(JdbcTemplate jdbcTemplate,
+			SqlServerChatMemoryProperties properties) {
 		logger.info("Configuring SQL Server chat memory repository");
-		return SqlServerChatMemoryRepository.sqlServerBuilder().jdbcTemplate(jdbcTemplate).build();
+		return SqlServerChatMemoryRepository.sqlServerBuilder()
+			.jdbcTemplate(jdbcTemplate)
+			.appendOnly(properties.isAppendOnly())
+			.build();
 	}
 
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts that a conversation changed, so that the
+ * {@link NearCacheChatMemoryRepository near caches} of the other nodes drop their copy of
+ * it. Delivery is best effort: a lost invalidation leaves a stale entry until it is
+ * evicted for being idle.
+ *
+ * @since 1.1.0.0
+ */
+public interface ChatMemoryInvalidationChannel {
+
+	/**
+	 * Publish an invalidation to every subscriber, including the ones of the publishing
+	 * node.
+	 * @param invalidation the invalidation
+	 */
+	void publish(Invalidation invalidation);
+
+	/**
+	 * Register a listener for the invalidations published from now on.
+	 * @param listener the listener
+	 */
+	void subscribe(Consumer<Invalidation> listener);
+
+	/**
+	 * A conversation that changed.
+	 *
+	 * @param origin the id of the near cache that changed it, so that it can ignore its
+	 * own invalidations
+	 * @param conversationId the id of the conversation
+	 */
+	record Invalidation(String origin, String conversationId) {
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * {@link ChatMemoryInvalidationChannel} that delivers invalidations synchronously to the
+ * listeners of the same JVM. Useful for a single node and for tests.
+ *
+ * @since 1.1.0.0
+ */
+public class InProcessChatMemoryInvalidationChannel implements ChatMemoryInvalidationChannel {
+
+	private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(Invalidation invalidation) {
+		this.listeners.forEach(listener -> listener.accept(invalidation));
+	}
+
+	@Override
+	public void subscribe(Consumer<Invalidation> listener) {
+		this.listeners.add(listener);
+	}
+
+}
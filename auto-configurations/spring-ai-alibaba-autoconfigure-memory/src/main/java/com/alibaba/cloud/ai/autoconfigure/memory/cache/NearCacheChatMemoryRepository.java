@@ -0,0 +1,399 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory.cache;
+
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.ChatMemoryInvalidationChannel.Invalidation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ChatMemoryRepository} that keeps the recently used conversations of a delegate
+ * repository in a bounded local cache, so that a node serving a sticky conversation does
+ * not load and deserialize the whole history on every turn.
+ * <p>
+ * Writes go through to the delegate first, then refresh the local entry and publish an
+ * invalidation on the {@link ChatMemoryInvalidationChannel} so that the other nodes drop
+ * their copy. A write racing with another change of the same conversation drops the local
+ * entry instead of refreshing it. The cache holds at most {@code maxConversations}
+ * entries, least recently used first out, and drops the ones not accessed for
+ * {@code expireAfterAccess}, which also bounds how long a lost invalidation can leave a
+ * stale entry behind. Several nodes sharing the delegate need a channel reaching all of
+ * them, with an in-process channel or none a node serves its copy of a conversation
+ * changed on another node until it expires.
+ * <p>
+ * Metrics:
+ * <ul>
+ * <li>{@code spring.ai.memory.near.cache.gets}: lookups, tagged {@code result=hit|miss}
+ * </li>
+ * <li>{@code spring.ai.memory.near.cache.hit.ratio}: hits over lookups so far</li>
+ * <li>{@code spring.ai.memory.near.cache.load}: time spent loading misses from the
+ * delegate</li>
+ * <li>{@code spring.ai.memory.near.cache.load.saved}: load time saved by hits, each hit
+ * counting the time its conversation last took to load, or the mean load time if it was
+ * only ever written through this repository</li>
+ * </ul>
+ *
+ * @since 1.1.0.0
+ */
+public class NearCacheChatMemoryRepository implements ChatMemoryRepository {
+
+	private static final Logger logger = LoggerFactory.getLogger(NearCacheChatMemoryRepository.class);
+
+	public static final int DEFAULT_MAX_CONVERSATIONS = 1000;
+
+	public static final Duration DEFAULT_EXPIRE_AFTER_ACCESS = Duration.ofMinutes(10);
+
+	private static final String METRIC_PREFIX = "spring.ai.memory.near.cache";
+
+	private static final long UNKNOWN_LOAD_NANOS = -1;
+
+	private final ChatMemoryRepository delegate;
+
+	private final ChatMemoryInvalidationChannel invalidationChannel;
+
+	private final long expireAfterAccessMillis;
+
+	private final Clock clock;
+
+	private final String origin = UUID.randomUUID().toString();
+
+	private final Map<String, Entry> entries;
+
+	/**
+	 * Versions of the conversations being loaded or written, bumped when they are written
+	 * or invalidated. A load or a write only populates the cache if the version of its
+	 * conversation did not change while it was running, so it never overwrites a newer
+	 * entry with the state it read or wrote before. Only conversations with a load or a
+	 * write in flight are tracked.
+	 */
+	private final Map<String, Version> inFlight = new HashMap<>();
+
+	private final Counter hits;
+
+	private final Counter misses;
+
+	private final Timer loadTimer;
+
+	private final Counter loadTimeSaved;
+
+	private NearCacheChatMemoryRepository(Builder builder) {
+		this.delegate = builder.delegate;
+		this.invalidationChannel = builder.invalidationChannel;
+		this.expireAfterAccessMillis = builder.expireAfterAccess.toMillis();
+		this.clock = builder.clock;
+		int maxConversations = builder.maxConversations;
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxConversations;
+			}
+		};
+		MeterRegistry meterRegistry = builder.meterRegistry;
+		this.hits = Counter.builder(METRIC_PREFIX + ".gets").tag("result", "hit").register(meterRegistry);
+		this.misses = Counter.builder(METRIC_PREFIX + ".gets").tag("result", "miss").register(meterRegistry);
+		Gauge.builder(METRIC_PREFIX + ".hit.ratio", this, NearCacheChatMemoryRepository::hitRatio)
+			.register(meterRegistry);
+		this.loadTimer = Timer.builder(METRIC_PREFIX + ".load").register(meterRegistry);
+		this.loadTimeSaved = Counter.builder(METRIC_PREFIX + ".load.saved").baseUnit("seconds").register(meterRegistry);
+		if (this.invalidationChannel != null) {
+			this.invalidationChannel.subscribe(this::onInvalidation);
+		}
+	}
+
+	@Override
+	public List<String> findConversationIds() {
+		return this.delegate.findConversationIds();
+	}
+
+	@Override
+	public List<Message> findByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Version version;
+		long loadingVersion;
+		synchronized (this.entries) {
+			Entry entry = this.entries.get(conversationId);
+			long now = this.clock.millis();
+			if (entry != null && now - entry.lastAccess() <= this.expireAfterAccessMillis) {
+				this.entries.put(conversationId, entry.accessedAt(now));
+				this.hits.increment();
+				this.loadTimeSaved.increment((entry.loadNanos() >= 0) ? entry.loadNanos() / 1e9
+						: this.loadTimer.mean(TimeUnit.SECONDS));
+				return entry.messages();
+			}
+			evictExpired(now);
+			version = begin(conversationId);
+			loadingVersion = version.value;
+		}
+		this.misses.increment();
+		List<Message> messages = null;
+		long loadNanos = 0;
+		try {
+			long start = System.nanoTime();
+			messages = List.copyOf(this.delegate.findByConversationId(conversationId));
+			loadNanos = System.nanoTime() - start;
+			this.loadTimer.record(loadNanos, TimeUnit.NANOSECONDS);
+		}
+		finally {
+			synchronized (this.entries) {
+				if (messages != null && version.value == loadingVersion) {
+					this.entries.put(conversationId, new Entry(messages, loadNanos, this.clock.millis()));
+				}
+				end(conversationId, version);
+			}
+		}
+		return messages;
+	}
+
+	@Override
+	public void saveAll(String conversationId, List<Message> messages) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.notNull(messages, "messages cannot be null");
+		List<Message> saved = List.copyOf(messages);
+		Version version;
+		long writingVersion;
+		synchronized (this.entries) {
+			version = begin(conversationId);
+			// loads in flight may read the state before this write
+			writingVersion = ++version.value;
+		}
+		boolean written = false;
+		try {
+			this.delegate.saveAll(conversationId, saved);
+			written = true;
+		}
+		finally {
+			synchronized (this.entries) {
+				if (written && version.value == writingVersion) {
+					// keep the load time measured last, if any, for the load saved metric
+					Entry previous = this.entries.get(conversationId);
+					long loadNanos = (previous != null) ? previous.loadNanos() : UNKNOWN_LOAD_NANOS;
+					this.entries.put(conversationId, new Entry(saved, loadNanos, this.clock.millis()));
+				}
+				else {
+					// another change of the conversation ran concurrently, or the write
+					// failed, the state of the delegate is unknown
+					this.entries.remove(conversationId);
+				}
+				// loads started during this write may have read the previous state
+				version.value++;
+				end(conversationId, version);
+			}
+		}
+		publish(conversationId);
+	}
+
+	@Override
+	public void deleteByConversationId(String conversationId) {
+		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		this.delegate.deleteByConversationId(conversationId);
+		invalidate(conversationId);
+		publish(conversationId);
+	}
+
+	/**
+	 * Drop the local copy of a conversation, e.g. after it was changed bypassing this
+	 * repository.
+	 * @param conversationId the id of the conversation
+	 */
+	public void invalidate(String conversationId) {
+		synchronized (this.entries) {
+			bumpVersion(conversationId);
+			this.entries.remove(conversationId);
+		}
+	}
+
+	/**
+	 * @return the number of cached conversations, including idle ones not evicted yet
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	/**
+	 * @return hits over lookups since the repository was created, {@code 0} without
+	 * lookups
+	 */
+	public double hitRatio() {
+		double hits = this.hits.count();
+		double total = hits + this.misses.count();
+		return (total > 0) ? hits / total : 0;
+	}
+
+	private void onInvalidation(Invalidation invalidation) {
+		if (!this.origin.equals(invalidation.origin())) {
+			invalidate(invalidation.conversationId());
+		}
+	}
+
+	private void publish(String conversationId) {
+		if (this.invalidationChannel == null) {
+			return;
+		}
+		try {
+			this.invalidationChannel.publish(new Invalidation(this.origin, conversationId));
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to publish the invalidation of conversation {}", conversationId, e);
+		}
+	}
+
+	private void bumpVersion(String conversationId) {
+		Version version = this.inFlight.get(conversationId);
+		if (version != null) {
+			version.value++;
+		}
+	}
+
+	/**
+	 * Track the version of a conversation for a load or a write, under the lock on
+	 * {@code entries}.
+	 */
+	private Version begin(String conversationId) {
+		Version version = this.inFlight.computeIfAbsent(conversationId, id -> new Version());
+		version.operations++;
+		return version;
+	}
+
+	private void end(String conversationId, Version version) {
+		if (--version.operations == 0) {
+			this.inFlight.remove(conversationId);
+		}
+	}
+
+	/**
+	 * Entries are in access order, so the idle ones are at the head.
+	 */
+	private void evictExpired(long now) {
+		Iterator<Entry> iterator = this.entries.values().iterator();
+		while (iterator.hasNext()) {
+			if (now - iterator.next().lastAccess() <= this.expireAfterAccessMillis) {
+				return;
+			}
+			iterator.remove();
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * The version of a conversation and the number of loads and writes in flight for it,
+	 * guarded by the lock on {@code entries}.
+	 */
+	private static final class Version {
+
+		private long value;
+
+		private int operations;
+
+	}
+
+	/**
+	 * @param loadNanos the time the conversation took to load from the delegate, or
+	 * {@link #UNKNOWN_LOAD_NANOS} if it was never loaded
+	 */
+	private record Entry(List<Message> messages, long loadNanos, long lastAccess) {
+
+		Entry accessedAt(long now) {
+			return new Entry(this.messages, this.loadNanos, now);
+		}
+
+	}
+
+	public static final class Builder {
+
+		private ChatMemoryRepository delegate;
+
+		private ChatMemoryInvalidationChannel invalidationChannel;
+
+		private int maxConversations = DEFAULT_MAX_CONVERSATIONS;
+
+		private Duration expireAfterAccess = DEFAULT_EXPIRE_AFTER_ACCESS;
+
+		private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+		}
+
+		public Builder delegate(ChatMemoryRepository delegate) {
+			this.delegate = delegate;
+			return this;
+		}
+
+		/**
+		 * The channel to publish and receive invalidations on, {@code null} for a single
+		 * node. It has to reach every node sharing the delegate.
+		 */
+		public Builder invalidationChannel(ChatMemoryInvalidationChannel invalidationChannel) {
+			this.invalidationChannel = invalidationChannel;
+			return this;
+		}
+
+		public Builder maxConversations(int maxConversations) {
+			this.maxConversations = maxConversations;
+			return this;
+		}
+
+		public Builder expireAfterAccess(Duration expireAfterAccess) {
+			this.expireAfterAccess = expireAfterAccess;
+			return this;
+		}
+
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		public NearCacheChatMemoryRepository build() {
+			Assert.notNull(this.delegate, "delegate cannot be null");
+			Assert.isTrue(this.maxConversations > 0, "maxConversations must be positive");
+			Assert.notNull(this.expireAfterAccess, "expireAfterAccess cannot be null");
+			Assert.notNull(this.meterRegistry, "meterRegistry cannot be null");
+			Assert.notNull(this.clock, "clock cannot be null");
+			return new NearCacheChatMemoryRepository(this);
+		}
+
+	}
+
+}
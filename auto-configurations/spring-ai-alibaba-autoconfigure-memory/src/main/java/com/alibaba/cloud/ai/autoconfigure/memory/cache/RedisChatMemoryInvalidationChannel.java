@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory.cache;
+
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * {@link ChatMemoryInvalidationChannel} backed by Redis pub/sub. Invalidations are
+ * published as {@code <origin>:<conversationId>} on a single channel.
+ *
+ * @since 1.1.0.0
+ */
+public class RedisChatMemoryInvalidationChannel implements ChatMemoryInvalidationChannel, AutoCloseable {
+
+	public static final String DEFAULT_TOPIC = "spring_ai_alibaba_chat_memory_invalidation";
+
+	private final RedisConnectionFactory connectionFactory;
+
+	private final String topic;
+
+	private final RedisMessageListenerContainer listenerContainer;
+
+	public RedisChatMemoryInvalidationChannel(RedisConnectionFactory connectionFactory) {
+		this(connectionFactory, DEFAULT_TOPIC);
+	}
+
+	public RedisChatMemoryInvalidationChannel(RedisConnectionFactory connectionFactory, String topic) {
+		Assert.notNull(connectionFactory, "connectionFactory cannot be null");
+		Assert.hasText(topic, "topic cannot be null or empty");
+		this.connectionFactory = connectionFactory;
+		this.topic = topic;
+		this.listenerContainer = new RedisMessageListenerContainer();
+		this.listenerContainer.setConnectionFactory(connectionFactory);
+		this.listenerContainer.afterPropertiesSet();
+		this.listenerContainer.start();
+	}
+
+	@Override
+	public void publish(Invalidation invalidation) {
+		byte[] message = (invalidation.origin() + ":" + invalidation.conversationId())
+			.getBytes(StandardCharsets.UTF_8);
+		try (RedisConnection connection = this.connectionFactory.getConnection()) {
+			connection.publish(this.topic.getBytes(StandardCharsets.UTF_8), message);
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<Invalidation> listener) {
+		this.listenerContainer.addMessageListener((message, pattern) -> {
+			String body = new String(message.getBody(), StandardCharsets.UTF_8);
+			int separator = body.indexOf(':');
+			if (separator > 0) {
+				listener.accept(new Invalidation(body.substring(0, separator), body.substring(separator + 1)));
+			}
+		}, new ChannelTopic(this.topic));
+	}
+
+	@Override
+	public void close() throws Exception {
+		this.listenerContainer.destroy();
+	}
+
+}
@@ -71,6 +71,9 @@ public class JedisRedisChatMemoryConnectionAutoConfiguration
 			.timeout(standaloneConfiguration.timeout())
             .database(standaloneConfiguration.database())
             .keyPrefix(standaloneConfiguration.keyPrefix())
+            .appendOnly(standaloneConfiguration.appendOnly())
+            .activityIndex(standaloneConfiguration.activityIndex())
+            .messageCodec(standaloneConfiguration.messageCodec())
 			.sslBundles(standaloneConfiguration.sslBundles())
 			.useSsl(standaloneConfiguration.ssl().isEnabled())
 			.bundle(standaloneConfiguration.ssl().getBundle())
@@ -88,6 +91,9 @@ public class JedisRedisChatMemoryConnectionAutoConfiguration
 			.timeout(clusterConfiguration.timeout())
             .maxRedirects(clusterConfiguration.maxRedirects())
             .keyPrefix(clusterConfiguration.keyPrefix())
+            .appendOnly(clusterConfiguration.appendOnly())
+            .activityIndex(clusterConfiguration.activityIndex())
+            .messageCodec(clusterConfiguration.messageCodec())
 			.sslBundles(clusterConfiguration.sslBundles())
 			.useSsl(clusterConfiguration.ssl().isEnabled())
 			.bundle(clusterConfiguration.ssl().getBundle())
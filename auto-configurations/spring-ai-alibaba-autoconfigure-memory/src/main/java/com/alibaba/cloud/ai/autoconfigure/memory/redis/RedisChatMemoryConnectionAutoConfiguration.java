@@ -17,6 +17,9 @@ package com.alibaba.cloud.ai.autoconfigure.memory.redis;
 
 import com.alibaba.cloud.ai.autoconfigure.memory.redis.model.RedisChatMemoryCluster;
 import com.alibaba.cloud.ai.autoconfigure.memory.redis.model.RedisChatMemoryStandalone;
+import com.alibaba.cloud.ai.memory.serializer.JsonMessageCodec;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
+import com.alibaba.cloud.ai.memory.serializer.SmileMessageCodec;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.ssl.SslBundles;
@@ -110,7 +113,8 @@ public abstract class RedisChatMemoryConnectionAutoConfiguration<T extends ChatM
 		RedisMemoryConnectionDetails.Standalone standalone = connectionDetails.getStandalone();
 		return new RedisChatMemoryStandalone(standalone.getHost(), standalone.getPort(),
 				connectionDetails.getUsername(), connectionDetails.getPassword(), properties.getTimeout(),
-                standalone.getDatabase(), properties.getKeyPrefix(), properties.getSsl(), sslBundles);
+                standalone.getDatabase(), properties.getKeyPrefix(), properties.isAppendOnly(),
+				properties.isActivityIndex(), getMessageCodec(), properties.getSsl(), sslBundles);
 	}
 
 	/**
@@ -123,7 +127,19 @@ public abstract class RedisChatMemoryConnectionAutoConfiguration<T extends ChatM
 		}
 		List<String> nodes = getNodes(connectionDetails.getCluster());
 		return new RedisChatMemoryCluster(nodes, properties.getCluster().getMaxRedirects(), connectionDetails.getUsername(),
-				connectionDetails.getPassword(), properties.getTimeout(), properties.getKeyPrefix(), properties.getSsl(), sslBundles);
+				connectionDetails.getPassword(), properties.getTimeout(), properties.getKeyPrefix(), properties.isAppendOnly(),
+				properties.isActivityIndex(), getMessageCodec(), properties.getSsl(), sslBundles);
+	}
+
+	/**
+	 * Builds the codec of the stored messages from the configuration properties
+	 * @return The configured message codec
+	 */
+	protected MessageCodec getMessageCodec() {
+		if (properties.getCodec() == RedisChatMemoryProperties.Codec.SMILE) {
+			return new SmileMessageCodec(properties.getCompression(), properties.getCompressionThreshold());
+		}
+		return new JsonMessageCodec();
 	}
 
 	/**
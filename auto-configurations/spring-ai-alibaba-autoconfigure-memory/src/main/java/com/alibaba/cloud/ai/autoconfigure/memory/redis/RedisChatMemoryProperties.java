@@ -16,6 +16,8 @@
 
 package com.alibaba.cloud.ai.autoconfigure.memory.redis;
 
+import com.alibaba.cloud.ai.memory.serializer.MessageCompression;
+import com.alibaba.cloud.ai.memory.serializer.SmileMessageCodec;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.List;
@@ -66,6 +68,34 @@ public class RedisChatMemoryProperties {
      */
     private String keyPrefix;
 
+	/**
+	 * Whether to only push the messages that are new since the last save and trim the
+	 * evicted ones, instead of rewriting the whole conversation list.
+	 */
+	private boolean appendOnly = false;
+
+	/**
+	 * Whether to keep the conversation ids in a sorted set scored by their last save, to
+	 * list the most recent conversations without scanning the keyspace.
+	 */
+	private boolean activityIndex = false;
+
+	/**
+	 * Encoding of the stored messages. Every codec also reads the JSON entries, so it can
+	 * be changed on a live store.
+	 */
+	private Codec codec = Codec.JSON;
+
+	/**
+	 * Compression of the messages encoded with the smile codec.
+	 */
+	private MessageCompression compression = MessageCompression.NONE;
+
+	/**
+	 * Size in bytes from which a message is compressed.
+	 */
+	private int compressionThreshold = SmileMessageCodec.DEFAULT_COMPRESSION_THRESHOLD;
+
 	/**
 	 * Type of client to use. By default, auto-detected according to the classpath.
 	 */
@@ -134,6 +164,46 @@ public class RedisChatMemoryProperties {
         this.keyPrefix = keyPrefix;
     }
 
+	public boolean isAppendOnly() {
+		return appendOnly;
+	}
+
+	public void setAppendOnly(boolean appendOnly) {
+		this.appendOnly = appendOnly;
+	}
+
+	public boolean isActivityIndex() {
+		return activityIndex;
+	}
+
+	public void setActivityIndex(boolean activityIndex) {
+		this.activityIndex = activityIndex;
+	}
+
+	public Codec getCodec() {
+		return codec;
+	}
+
+	public void setCodec(Codec codec) {
+		this.codec = codec;
+	}
+
+	public MessageCompression getCompression() {
+		return compression;
+	}
+
+	public void setCompression(MessageCompression compression) {
+		this.compression = compression;
+	}
+
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+
     public int getDatabase() {
         return database;
     }
@@ -243,6 +313,20 @@ public class RedisChatMemoryProperties {
 
 	}
 
+	public enum Codec {
+
+		/**
+		 * JSON text, readable by every version
+		 */
+		JSON,
+
+		/**
+		 * Binary Smile, needs jackson-dataformat-smile
+		 */
+		SMILE
+
+	}
+
 	public static class Ssl {
 
 		/**
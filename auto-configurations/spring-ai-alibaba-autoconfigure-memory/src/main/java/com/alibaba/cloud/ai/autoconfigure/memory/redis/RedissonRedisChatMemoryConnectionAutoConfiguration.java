@@ -71,6 +71,9 @@ public class RedissonRedisChatMemoryConnectionAutoConfiguration
 			.timeout(standaloneConfiguration.timeout())
             .database(standaloneConfiguration.database())
             .keyPrefix(standaloneConfiguration.keyPrefix())
+            .appendOnly(standaloneConfiguration.appendOnly())
+            .activityIndex(standaloneConfiguration.activityIndex())
+            .messageCodec(standaloneConfiguration.messageCodec())
 			.sslBundles(standaloneConfiguration.sslBundles())
 			.useSsl(standaloneConfiguration.ssl().isEnabled())
 			.bundle(standaloneConfiguration.ssl().getBundle())
@@ -87,6 +90,9 @@ public class RedissonRedisChatMemoryConnectionAutoConfiguration
 			.password(clusterConfiguration.password())
 			.timeout(clusterConfiguration.timeout())
             .keyPrefix(clusterConfiguration.keyPrefix())
+            .appendOnly(clusterConfiguration.appendOnly())
+            .activityIndex(clusterConfiguration.activityIndex())
+            .messageCodec(clusterConfiguration.messageCodec())
 			.sslBundles(clusterConfiguration.sslBundles())
 			.useSsl(clusterConfiguration.ssl().isEnabled())
 			.bundle(clusterConfiguration.ssl().getBundle())
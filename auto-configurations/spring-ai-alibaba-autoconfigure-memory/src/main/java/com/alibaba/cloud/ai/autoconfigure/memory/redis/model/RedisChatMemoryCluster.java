@@ -16,6 +16,7 @@
 package com.alibaba.cloud.ai.autoconfigure.memory.redis.model;
 
 import com.alibaba.cloud.ai.autoconfigure.memory.redis.RedisChatMemoryProperties;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import org.springframework.boot.ssl.SslBundles;
 
 import java.util.List;
@@ -27,6 +28,8 @@ import java.util.List;
  * @since 2025/7/30 21:33
  */
 public record RedisChatMemoryCluster(List<String> nodeAddresses, int maxRedirects, String username, String password,
-									 int timeout, String keyPrefix, RedisChatMemoryProperties.Ssl ssl, SslBundles sslBundles) {
+									 int timeout, String keyPrefix, boolean appendOnly, boolean activityIndex,
+									 MessageCodec messageCodec,
+									 RedisChatMemoryProperties.Ssl ssl, SslBundles sslBundles) {
 
 }
@@ -16,6 +16,7 @@
 package com.alibaba.cloud.ai.autoconfigure.memory.redis.model;
 
 import com.alibaba.cloud.ai.autoconfigure.memory.redis.RedisChatMemoryProperties;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import org.springframework.boot.ssl.SslBundles;
 
 /**
@@ -25,6 +26,8 @@ import org.springframework.boot.ssl.SslBundles;
  * @since 2025/7/30 21:32
  */
 public record RedisChatMemoryStandalone(String hostName, int port, String username, String password,
-										int timeout, int database, String keyPrefix, RedisChatMemoryProperties.Ssl ssl, SslBundles sslBundles) {
+										int timeout, int database, String keyPrefix, boolean appendOnly, boolean activityIndex,
+										MessageCodec messageCodec,
+										RedisChatMemoryProperties.Ssl ssl, SslBundles sslBundles) {
 
 }
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory;
+
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.ChatMemoryInvalidationChannel;
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.InProcessChatMemoryInvalidationChannel;
+import com.alibaba.cloud.ai.autoconfigure.memory.cache.NearCacheChatMemoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ChatMemoryAutoConfiguration}.
+ */
+class ChatMemoryAutoConfigurationTests {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+		.withConfiguration(AutoConfigurations.of(ChatMemoryAutoConfiguration.class))
+		.withPropertyValues("spring.ai.memory.enabled=true");
+
+	@Test
+	void nearCacheIsDisabledByDefault() {
+		this.contextRunner.run(context -> {
+			assertThat(context).doesNotHaveBean(ChatMemoryInvalidationChannel.class);
+			assertThat(ReflectionTestUtils.getField(context.getBean(ChatMemory.class), "chatMemoryRepository"))
+				.isNotInstanceOf(NearCacheChatMemoryRepository.class);
+		});
+	}
+
+	@Test
+	void nearCacheWrapsTheRepository() {
+		this.contextRunner
+			.withPropertyValues("spring.ai.memory.near-cache.enabled=true",
+					"spring.ai.memory.near-cache.max-conversations=5")
+			.run(context -> {
+				assertThat(context).getBean(ChatMemoryInvalidationChannel.class)
+					.isInstanceOf(InProcessChatMemoryInvalidationChannel.class);
+				assertThat(ReflectionTestUtils.getField(context.getBean(ChatMemory.class), "chatMemoryRepository"))
+					.isInstanceOf(NearCacheChatMemoryRepository.class);
+			});
+	}
+
+}
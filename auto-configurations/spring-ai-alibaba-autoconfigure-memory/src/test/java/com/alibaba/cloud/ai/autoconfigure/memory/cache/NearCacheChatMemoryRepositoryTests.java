@@ -0,0 +1,246 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.autoconfigure.memory.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.ai.chat.memory.InMemoryChatMemoryRepository;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link NearCacheChatMemoryRepository}.
+ */
+class NearCacheChatMemoryRepositoryTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private final InMemoryChatMemoryRepository store = new InMemoryChatMemoryRepository();
+
+	private final InProcessChatMemoryInvalidationChannel channel = new InProcessChatMemoryInvalidationChannel();
+
+	private final Clock clock = mock(Clock.class);
+
+	private ChatMemoryRepository delegate;
+
+	@BeforeEach
+	void setUp() {
+		this.delegate = spy(this.store);
+		given(this.clock.millis()).willReturn(0L);
+	}
+
+	@Test
+	void servesRepeatedReadsFromTheCache() {
+		this.store.saveAll("c1", List.of(new UserMessage("hello")));
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+
+		repository.findByConversationId("c1");
+		List<Message> messages = repository.findByConversationId("c1");
+
+		assertThat(messages).extracting(Message::getText).containsExactly("hello");
+		verify(this.delegate, times(1)).findByConversationId("c1");
+		assertThat(repository.hitRatio()).isEqualTo(0.5);
+		assertThat(this.meterRegistry.get("spring.ai.memory.near.cache.gets").tag("result", "hit").counter().count())
+			.isEqualTo(1);
+		assertThat(this.meterRegistry.get("spring.ai.memory.near.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+		assertThat(this.meterRegistry.get("spring.ai.memory.near.cache.load").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	void writesThroughAndKeepsTheWrittenMessages() {
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+
+		repository.saveAll("c1", List.of(new UserMessage("hello"), new AssistantMessage("hi")));
+
+		assertThat(this.store.findByConversationId("c1")).hasSize(2);
+		assertThat(repository.findByConversationId("c1")).extracting(Message::getText).containsExactly("hello", "hi");
+		verify(this.delegate, times(0)).findByConversationId("c1");
+	}
+
+	@Test
+	void peersDropTheirCopyOfAChangedConversation() {
+		NearCacheChatMemoryRepository node1 = nearCache(this.delegate, 10);
+		NearCacheChatMemoryRepository node2 = nearCache(this.delegate, 10);
+		node1.saveAll("c1", List.of(new UserMessage("1")));
+		assertThat(node2.findByConversationId("c1")).extracting(Message::getText).containsExactly("1");
+
+		node1.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+
+		assertThat(node2.findByConversationId("c1")).extracting(Message::getText).containsExactly("1", "2");
+		node1.deleteByConversationId("c1");
+		assertThat(node2.findByConversationId("c1")).isEmpty();
+		assertThat(node1.findByConversationId("c1")).isEmpty();
+	}
+
+	@Test
+	void evictsIdleConversations() {
+		this.store.saveAll("c1", List.of(new UserMessage("hello")));
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+		repository.findByConversationId("c1");
+
+		given(this.clock.millis()).willReturn(Duration.ofMinutes(11).toMillis());
+		repository.findByConversationId("c1");
+
+		verify(this.delegate, times(2)).findByConversationId("c1");
+	}
+
+	@Test
+	void evictsTheLeastRecentlyUsedConversationBeyondTheMaximumSize() {
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 2);
+		repository.saveAll("c1", List.of(new UserMessage("1")));
+		repository.saveAll("c2", List.of(new UserMessage("2")));
+		repository.findByConversationId("c1");
+
+		repository.saveAll("c3", List.of(new UserMessage("3")));
+		repository.findByConversationId("c1");
+		repository.findByConversationId("c2");
+
+		assertThat(repository.size()).isEqualTo(2);
+		verify(this.delegate, times(0)).findByConversationId("c1");
+		verify(this.delegate, times(1)).findByConversationId("c2");
+	}
+
+	@Test
+	void cachesALoadWhileAnotherConversationIsWritten() {
+		this.store.saveAll("c1", List.of(new UserMessage("hello")));
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+		willAnswer(invocation -> {
+			repository.saveAll("c2", List.of(new UserMessage("other")));
+			return invocation.callRealMethod();
+		}).given(this.delegate).findByConversationId("c1");
+
+		repository.findByConversationId("c1");
+		repository.findByConversationId("c1");
+
+		verify(this.delegate, times(1)).findByConversationId("c1");
+	}
+
+	@Test
+	void dropsALoadThatRacedWithAWriteOfTheSameConversation() {
+		this.store.saveAll("c1", List.of(new UserMessage("1")));
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+		willAnswer(invocation -> {
+			Object stale = invocation.callRealMethod();
+			repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+			return stale;
+		}).given(this.delegate).findByConversationId("c1");
+
+		assertThat(repository.findByConversationId("c1")).extracting(Message::getText).containsExactly("1");
+
+		assertThat(repository.findByConversationId("c1")).extracting(Message::getText).containsExactly("1", "2");
+		verify(this.delegate, times(1)).findByConversationId("c1");
+	}
+
+	@Test
+	void dropsAWriteThatRacedWithAnotherWriteOfTheSameConversation() {
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+		willAnswer(invocation -> {
+			invocation.callRealMethod();
+			// the newer write lands in the delegate and the cache before the older one returns
+			repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+			return null;
+		}).willCallRealMethod().given(this.delegate).saveAll(eq("c1"), anyList());
+
+		repository.saveAll("c1", List.of(new UserMessage("1")));
+
+		assertThat(repository.size()).isZero();
+		assertThat(repository.findByConversationId("c1")).extracting(Message::getText).containsExactly("1", "2");
+	}
+
+	@Test
+	void dropsAWriteThatRacedWithAnInvalidationOfTheSameConversation() {
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+		NearCacheChatMemoryRepository peer = nearCache(this.store, 10);
+		willAnswer(invocation -> {
+			invocation.callRealMethod();
+			peer.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+			return null;
+		}).given(this.delegate).saveAll(eq("c1"), anyList());
+
+		repository.saveAll("c1", List.of(new UserMessage("1")));
+
+		assertThat(repository.findByConversationId("c1")).extracting(Message::getText).containsExactly("1", "2");
+	}
+
+	@Test
+	void dropsTheCachedConversationWhenAWriteFails() {
+		this.store.saveAll("c1", List.of(new UserMessage("1")));
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+		repository.findByConversationId("c1");
+		willThrow(new IllegalStateException("unavailable")).given(this.delegate).saveAll(eq("c1"), anyList());
+
+		assertThatIllegalStateException()
+			.isThrownBy(() -> repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2"))));
+
+		assertThat(repository.size()).isZero();
+		repository.findByConversationId("c1");
+		verify(this.delegate, times(2)).findByConversationId("c1");
+	}
+
+	@Test
+	void countsTheMeasuredLoadTimeAsSavedAfterAWrite() {
+		this.store.saveAll("c1", List.of(new UserMessage("1")));
+		NearCacheChatMemoryRepository repository = nearCache(this.delegate, 10);
+		willAnswer(invocation -> {
+			Thread.sleep(50);
+			return invocation.callRealMethod();
+		}).given(this.delegate).findByConversationId("c1");
+		repository.findByConversationId("c1");
+
+		repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+		repository.findByConversationId("c1");
+
+		double loadSeconds = this.meterRegistry.get("spring.ai.memory.near.cache.load")
+			.timer()
+			.totalTime(TimeUnit.SECONDS);
+		assertThat(loadSeconds).isGreaterThanOrEqualTo(0.05);
+		assertThat(this.meterRegistry.get("spring.ai.memory.near.cache.load.saved").counter().count())
+			.isCloseTo(loadSeconds, within(1e-6));
+	}
+
+	private NearCacheChatMemoryRepository nearCache(ChatMemoryRepository delegate, int maxConversations) {
+		return NearCacheChatMemoryRepository.builder()
+			.delegate(delegate)
+			.invalidationChannel(this.channel)
+			.maxConversations(maxConversations)
+			.expireAfterAccess(Duration.ofMinutes(10))
+			.meterRegistry(this.meterRegistry)
+			.clock(this.clock)
+			.build();
+	}
+
+}
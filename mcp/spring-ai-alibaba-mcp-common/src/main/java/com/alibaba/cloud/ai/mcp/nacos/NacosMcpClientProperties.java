@@ -18,6 +18,7 @@ package com.alibaba.cloud.ai.mcp.nacos;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -34,6 +35,8 @@ public class NacosMcpClientProperties {
 
 	private boolean lazyInit = false;
 
+	private final LoadBalance loadBalance = new LoadBalance();
+
     public Map<String, NacosConfig> getConfigs() {
         return configs;
     }
@@ -46,8 +49,108 @@ public class NacosMcpClientProperties {
 		this.lazyInit = lazyInit;
 	}
 
+	public LoadBalance getLoadBalance() {
+		return loadBalance;
+	}
+
     public record NacosConfig(String namespace, String serverAddr, String username, String password, String accessKey, String secretKey,
                                      String endpoint) {
     }
 
+    /**
+     * How calls are spread over the endpoints of a distributed mcp server.
+     */
+    public static class LoadBalance {
+
+        /**
+         * Strategy used to pick the endpoint of a call.
+         */
+        private Strategy strategy = Strategy.ROUND_ROBIN;
+
+        /**
+         * Consecutive failed calls after which an endpoint is ejected, 0 disables ejection.
+         */
+        private int consecutiveFailures = 5;
+
+        /**
+         * Ejection time of the first ejection, doubled on every further ejection.
+         */
+        private Duration baseEjectionTime = Duration.ofSeconds(30);
+
+        /**
+         * Upper bound of the ejection time.
+         */
+        private Duration maxEjectionTime = Duration.ofMinutes(5);
+
+        /**
+         * Maximum percentage of the endpoints that may be ejected at the same time.
+         */
+        private int maxEjectionPercent = 50;
+
+        public Strategy getStrategy() {
+            return strategy;
+        }
+
+        public void setStrategy(Strategy strategy) {
+            this.strategy = strategy;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        public void setConsecutiveFailures(int consecutiveFailures) {
+            this.consecutiveFailures = consecutiveFailures;
+        }
+
+        public Duration getBaseEjectionTime() {
+            return baseEjectionTime;
+        }
+
+        public void setBaseEjectionTime(Duration baseEjectionTime) {
+            this.baseEjectionTime = baseEjectionTime;
+        }
+
+        public Duration getMaxEjectionTime() {
+            return maxEjectionTime;
+        }
+
+        public void setMaxEjectionTime(Duration maxEjectionTime) {
+            this.maxEjectionTime = maxEjectionTime;
+        }
+
+        public int getMaxEjectionPercent() {
+            return maxEjectionPercent;
+        }
+
+        public void setMaxEjectionPercent(int maxEjectionPercent) {
+            this.maxEjectionPercent = maxEjectionPercent;
+        }
+
+    }
+
+    public enum Strategy {
+
+        /**
+         * Take the endpoints in turn.
+         */
+        ROUND_ROBIN,
+
+        /**
+         * Pick the endpoint with the fewest calls in flight.
+         */
+        LEAST_REQUESTS,
+
+        /**
+         * Pick the cheaper of two random endpoints by latency EWMA and calls in flight.
+         */
+        PEAK_EWMA,
+
+        /**
+         * Pick endpoints randomly in proportion to their Nacos instance weight.
+         */
+        WEIGHTED
+
+    }
+
 }
@@ -17,6 +17,7 @@
 package com.alibaba.cloud.ai.mcp.nacos.service;
 
 import com.alibaba.cloud.ai.mcp.nacos.service.model.NacosMcpServerEndpoint;
+import com.alibaba.cloud.ai.mcp.utils.NacosMcpClientUtil;
 import com.alibaba.nacos.api.NacosFactory;
 import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
@@ -36,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -113,7 +115,10 @@ public class NacosMcpOperationService {
 		String exportPath = mcpServerDetailInfo.getRemoteServerConfig().getExportPath();
 		String protocol = mcpServerDetailInfo.getProtocol();
 		String realVersion = mcpServerDetailInfo.getVersionDetail().getVersion();
-		return new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath, protocol, realVersion);
+		NacosMcpServerEndpoint serverEndpoint = new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath, protocol,
+				realVersion);
+		serverEndpoint.setServiceRef(mcpServerDetailInfo.getRemoteServerConfig().getServiceRef());
+		return serverEndpoint;
 	}
 
 	public NacosMcpServerEndpoint getServerEndpoint(String mcpName, String version) throws NacosException {
@@ -128,7 +133,10 @@ public class NacosMcpOperationService {
 		String exportPath = mcpServerDetailInfo.getRemoteServerConfig().getExportPath();
 		String protocol = mcpServerDetailInfo.getProtocol();
 		String realVersion = mcpServerDetailInfo.getVersionDetail().getVersion();
-		return new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath, protocol, realVersion);
+		NacosMcpServerEndpoint serverEndpoint = new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath, protocol,
+				realVersion);
+		serverEndpoint.setServiceRef(mcpServerDetailInfo.getRemoteServerConfig().getServiceRef());
+		return serverEndpoint;
 	}
 
 	public McpServerDetailInfo getServerDetail(String mcpNameAndVersion) throws NacosException {
@@ -174,6 +182,47 @@ public class NacosMcpOperationService {
 		return mcpEndpointInfo;
 	}
 
+	/**
+	 * Weights of the healthy instances of the service behind a mcp server.
+	 * @param mcpServiceRef the service reference of the mcp server
+	 * @return instance weight keyed by {@code ip:port}
+	 * @throws NacosException if the instances cannot be queried
+	 */
+	public Map<String, Double> getInstanceWeights(McpServiceRef mcpServiceRef) throws NacosException {
+		if (mcpServiceRef == null) {
+			throw new IllegalArgumentException("mcpServiceRef must not be null");
+		}
+		List<Instance> instances = namingService.selectInstances(mcpServiceRef.getServiceName(),
+				mcpServiceRef.getGroupName(), true);
+		Map<String, Double> weights = new HashMap<>();
+		for (Instance instance : instances) {
+			weights.put(instance.getIp() + ":" + instance.getPort(), instance.getWeight());
+		}
+		return weights;
+	}
+
+	/**
+	 * Weights of the endpoints of a mcp server.
+	 * @param endpoint the mcp server endpoint
+	 * @return instance weight keyed by {@link NacosMcpClientUtil#getMcpEndpointInfoId}, empty
+	 * if the mcp server has no service reference
+	 * @throws NacosException if the instances cannot be queried
+	 */
+	public Map<String, Double> getEndpointWeights(NacosMcpServerEndpoint endpoint) throws NacosException {
+		if (endpoint.getServiceRef() == null) {
+			return Map.of();
+		}
+		Map<String, Double> instanceWeights = getInstanceWeights(endpoint.getServiceRef());
+		Map<String, Double> weights = new HashMap<>();
+		for (McpEndpointInfo mcpEndpointInfo : endpoint.getMcpEndpointInfoList()) {
+			Double weight = instanceWeights.get(mcpEndpointInfo.getAddress() + ":" + mcpEndpointInfo.getPort());
+			if (weight != null) {
+				weights.put(NacosMcpClientUtil.getMcpEndpointInfoId(mcpEndpointInfo, endpoint.getExportPath()), weight);
+			}
+		}
+		return weights;
+	}
+
 	public String createMcpServer(String mcpName, McpServerBasicInfo serverSpec, McpToolSpecification toolSpec,
 			McpEndpointSpec endpointSpec) throws NacosException {
 		endpointSpec.getData().put("namespaceId", this.namespace);
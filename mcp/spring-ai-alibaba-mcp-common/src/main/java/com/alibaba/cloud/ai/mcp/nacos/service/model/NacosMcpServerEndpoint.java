@@ -17,6 +17,7 @@
 package com.alibaba.cloud.ai.mcp.nacos.service.model;
 
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
+import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
 
 import java.util.List;
 
@@ -33,6 +34,8 @@ public class NacosMcpServerEndpoint {
 
 	private String version;
 
+	private McpServiceRef serviceRef;
+
 	public NacosMcpServerEndpoint(List<McpEndpointInfo> mcpEndpointInfoList, String exportPath, String protocol,
 			String version) {
 		this.mcpEndpointInfoList = mcpEndpointInfoList;
@@ -73,4 +76,15 @@ public class NacosMcpServerEndpoint {
 		this.version = version;
 	}
 
+	/**
+	 * The service whose instances back the endpoints, may be null.
+	 */
+	public McpServiceRef getServiceRef() {
+		return serviceRef;
+	}
+
+	public void setServiceRef(McpServiceRef serviceRef) {
+		this.serviceRef = serviceRef;
+	}
+
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks the instance with the fewest calls in flight. The scan starts at a random
+ * instance so that ties do not all go to the first one.
+ */
+public class LeastRequestsMcpClientSelector implements McpClientSelector {
+
+    @Override
+    public <C> McpClientInstance<C> select(McpClientInstance<C>[] instances) {
+        int n = instances.length;
+        int start = n == 1 ? 0 : ThreadLocalRandom.current().nextInt(n);
+        McpClientInstance<C> selected = instances[start];
+        int least = selected.getOutstandingRequests();
+        for (int i = 1; i < n && least > 0; i++) {
+            McpClientInstance<C> instance = instances[(start + i) % n];
+            int outstanding = instance.getOutstandingRequests();
+            if (outstanding < least) {
+                selected = instance;
+                least = outstanding;
+            }
+        }
+        return selected;
+    }
+
+}
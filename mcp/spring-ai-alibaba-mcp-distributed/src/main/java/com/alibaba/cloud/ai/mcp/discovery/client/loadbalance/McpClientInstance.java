@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A client of one endpoint of a distributed mcp server, together with the call
+ * statistics the {@link McpClientSelector selectors} and the outlier ejection of
+ * {@link McpClientLoadBalancer} work on.
+ *
+ * @param <C> the mcp client type
+ */
+public final class McpClientInstance<C> {
+
+    private final String key;
+
+    private final C client;
+
+    private volatile double weight;
+
+    private final AtomicInteger outstandingRequests = new AtomicInteger();
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    // Peak EWMA of the call latency, guarded by this
+    private double latencyEwmaNanos;
+
+    private long lastObservedNanos;
+
+    // Outlier ejection state, changed under the lock of the load balancer
+    volatile long ejectedUntilNanos;
+
+    int ejections;
+
+    final AtomicBoolean probing = new AtomicBoolean();
+
+    McpClientInstance(String key, C client, double weight) {
+        this.key = key;
+        this.client = client;
+        this.weight = weight;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public C getClient() {
+        return client;
+    }
+
+    /**
+     * The Nacos instance weight of the endpoint, 1 when unknown.
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    void setWeight(double weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Calls sent to the endpoint that have not completed yet.
+     */
+    public int getOutstandingRequests() {
+        return outstandingRequests.get();
+    }
+
+    /**
+     * Peak EWMA of the call latency in nanoseconds, 0 before the first call completed.
+     */
+    public synchronized double getLatencyEwmaNanos() {
+        return latencyEwmaNanos;
+    }
+
+    public boolean isEjected() {
+        return ejectedUntilNanos != 0;
+    }
+
+    int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    void onStart() {
+        outstandingRequests.incrementAndGet();
+    }
+
+    void onComplete() {
+        outstandingRequests.decrementAndGet();
+    }
+
+    int onFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Fold a call latency into the EWMA. A latency above the average replaces it, so a
+     * degrading endpoint is noticed at once, while lower latencies decay it with the time
+     * since the previous observation.
+     */
+    synchronized void observeLatency(long latencyNanos, long nowNanos, long decayNanos) {
+        if (latencyNanos > latencyEwmaNanos || lastObservedNanos == 0) {
+            latencyEwmaNanos = latencyNanos;
+        }
+        else {
+            double elapsed = Math.max(nowNanos - lastObservedNanos, 0);
+            double w = Math.exp(-elapsed / decayNanos);
+            latencyEwmaNanos = latencyEwmaNanos * w + latencyNanos * (1 - w);
+        }
+        lastObservedNanos = nowNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "McpClientInstance{key='" + key + "', weight=" + weight + ", outstandingRequests="
+                + outstandingRequests.get() + ", ejected=" + isEjected() + '}';
+    }
+
+}
@@ -0,0 +1,375 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import io.modelcontextprotocol.spec.McpError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Spreads the calls of a distributed mcp client over the clients of its endpoints.
+ * <p>
+ * The clients are kept in an immutable snapshot array that {@link #update} replaces
+ * copy-on-write, so picking a client takes no lock and allocates nothing while no
+ * endpoint is ejected. Calls made through {@link #execute} and {@link #call} are tracked
+ * for the {@link McpClientSelector selector} (calls in flight, latency EWMA) and for the
+ * {@link McpClientOutlierDetection outlier ejection}.
+ *
+ * @param <C> the mcp client type
+ */
+public class McpClientLoadBalancer<C> {
+
+    private static final Logger logger = LoggerFactory.getLogger(McpClientLoadBalancer.class);
+
+    // Time constant of the latency EWMA
+    private static final long LATENCY_DECAY_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final String name;
+
+    private final McpClientSelector selector;
+
+    private final McpClientOutlierDetection outlierDetection;
+
+    private final LongSupplier nanoClock;
+
+    private volatile Snapshot<C> snapshot = Snapshot.empty();
+
+    // Ejected instances of the current snapshot, changed under the lock of this
+    private volatile int ejectedInstances;
+
+    // Weights of the last update, reused by updates that only change the clients
+    private volatile Map<String, Double> weights;
+
+    public McpClientLoadBalancer(McpClientSelector selector, McpClientOutlierDetection outlierDetection) {
+        this("mcp server", selector, outlierDetection);
+    }
+
+    /**
+     * @param name the name of the mcp server, used in messages
+     */
+    public McpClientLoadBalancer(String name, McpClientSelector selector, McpClientOutlierDetection outlierDetection) {
+        this(name, selector, outlierDetection, System::nanoTime);
+    }
+
+    McpClientLoadBalancer(McpClientSelector selector, McpClientOutlierDetection outlierDetection,
+            LongSupplier nanoClock) {
+        this("mcp server", selector, outlierDetection, nanoClock);
+    }
+
+    McpClientLoadBalancer(String name, McpClientSelector selector, McpClientOutlierDetection outlierDetection,
+            LongSupplier nanoClock) {
+        Assert.hasText(name, "name cannot be empty");
+        Assert.notNull(selector, "selector cannot be null");
+        Assert.notNull(outlierDetection, "outlierDetection cannot be null");
+        this.name = name;
+        this.selector = selector;
+        this.outlierDetection = outlierDetection;
+        this.nanoClock = nanoClock;
+    }
+
+    public McpClientSelector getSelector() {
+        return selector;
+    }
+
+    /**
+     * Replace the clients. Instances whose key maps to the same client keep their
+     * statistics and ejection state.
+     * @param clients the clients keyed by endpoint, {@code null} for none
+     * @param weights instance weights keyed like the clients, missing weights count as 1
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized void update(Map<String, C> clients, Map<String, Double> weights) {
+        this.weights = weights;
+        if (clients == null) {
+            clients = Map.of();
+        }
+        Map<String, McpClientInstance<C>> current = new HashMap<>();
+        for (McpClientInstance<C> instance : snapshot.instances()) {
+            current.put(instance.getKey(), instance);
+        }
+        McpClientInstance<C>[] instances = new McpClientInstance[clients.size()];
+        Object[] clientArray = new Object[clients.size()];
+        int i = 0;
+        int ejected = 0;
+        for (Map.Entry<String, C> entry : clients.entrySet()) {
+            double weight = weights != null ? weights.getOrDefault(entry.getKey(), 1.0) : 1.0;
+            McpClientInstance<C> instance = current.get(entry.getKey());
+            if (instance == null || instance.getClient() != entry.getValue()) {
+                instance = new McpClientInstance<>(entry.getKey(), entry.getValue(), weight);
+            }
+            else {
+                instance.setWeight(weight);
+            }
+            if (instance.isEjected()) {
+                ejected++;
+            }
+            instances[i] = instance;
+            clientArray[i++] = instance.getClient();
+        }
+        this.snapshot = new Snapshot<>(instances, (List<C>) Collections.unmodifiableList(Arrays.asList(clientArray)));
+        this.ejectedInstances = ejected;
+    }
+
+    /**
+     * Replace the clients and keep the weights of the last update.
+     * @param clients the clients keyed by endpoint, {@code null} for none
+     */
+    public synchronized void update(Map<String, C> clients) {
+        update(clients, weights);
+    }
+
+    /**
+     * Replace the clients and resolve their weights, only when the selector uses them.
+     * If the weights cannot be resolved, the clients get equal weights.
+     * @param clients the clients keyed by endpoint, {@code null} for none
+     * @param weights resolves the instance weights keyed like the clients
+     */
+    public void update(Map<String, C> clients, WeightResolver weights) {
+        Map<String, Double> resolved = null;
+        if (selector.usesWeight()) {
+            try {
+                resolved = weights.resolve();
+            }
+            catch (Exception e) {
+                logger.warn("[Mcp Client LoadBalancer] Failed to resolve the instance weights of {}, use equal weights",
+                        name, e);
+            }
+        }
+        update(clients, resolved);
+    }
+
+    /**
+     * @throws IllegalStateException if there is no client
+     */
+    public void checkAvailable() {
+        if (snapshot.instances().length == 0) {
+            throw new IllegalStateException("No mcp client available for " + name);
+        }
+    }
+
+    /**
+     * The clients of the current snapshot, an unmodifiable list.
+     */
+    public List<C> getClients() {
+        return snapshot.clients();
+    }
+
+    /**
+     * The instances of the current snapshot.
+     */
+    public List<McpClientInstance<C>> getInstances() {
+        return List.of(snapshot.instances());
+    }
+
+    /**
+     * Pick a client without tracking a call, for reading the state of a client. Ejected
+     * clients are skipped even once their ejection time has passed, since nothing would
+     * report the outcome of the probe.
+     * @throws IllegalStateException if there is no client
+     */
+    public C choose() {
+        return select(false).getClient();
+    }
+
+    /**
+     * Run a reactive call on the selected client. The client is picked on subscription.
+     */
+    public <T> Mono<T> execute(Function<C, Mono<T>> call) {
+        return Mono.defer(() -> {
+            McpClientInstance<C> instance = select(true);
+            long start = nanoClock.getAsLong();
+            instance.onStart();
+            Mono<T> result;
+            try {
+                result = call.apply(instance.getClient());
+            }
+            catch (RuntimeException e) {
+                instance.onComplete();
+                onError(instance, start, e);
+                return Mono.error(e);
+            }
+            return result.doOnSuccess(value -> onSuccess(instance, start))
+                .doOnError(e -> onError(instance, start, e))
+                .doFinally(signal -> {
+                    instance.onComplete();
+                    if (signal == SignalType.CANCEL) {
+                        // Let another call probe the instance
+                        instance.probing.set(false);
+                    }
+                });
+        });
+    }
+
+    /**
+     * Run a blocking call on the selected client.
+     */
+    public <T> T call(Function<C, T> call) {
+        McpClientInstance<C> instance = select(true);
+        long start = nanoClock.getAsLong();
+        instance.onStart();
+        try {
+            T result = call.apply(instance.getClient());
+            onSuccess(instance, start);
+            return result;
+        }
+        catch (RuntimeException e) {
+            onError(instance, start, e);
+            throw e;
+        }
+        finally {
+            instance.onComplete();
+        }
+    }
+
+    /**
+     * @param probe whether an instance whose ejection time has passed may be returned as
+     * the probe, the caller must then report the outcome of its call
+     */
+    @SuppressWarnings("unchecked")
+    McpClientInstance<C> select(boolean probe) {
+        McpClientInstance<C>[] instances = snapshot.instances();
+        if (instances.length == 0) {
+            throw new IllegalStateException("No mcp client available for " + name);
+        }
+        if (ejectedInstances == 0) {
+            return selector.select(instances);
+        }
+        long now = nanoClock.getAsLong();
+        McpClientInstance<C>[] available = new McpClientInstance[instances.length];
+        int count = 0;
+        for (McpClientInstance<C> instance : instances) {
+            long ejectedUntil = instance.ejectedUntilNanos;
+            if (ejectedUntil == 0) {
+                available[count++] = instance;
+            }
+            else if (probe && now - ejectedUntil >= 0 && instance.probing.compareAndSet(false, true)) {
+                logger.info("[Mcp Client LoadBalancer] Probing ejected mcp client: {}", instance.getKey());
+                return instance;
+            }
+        }
+        if (count == 0) {
+            // Every instance is ejected, rather try them than fail every call
+            return selector.select(instances);
+        }
+        return selector.select(count == instances.length ? instances : Arrays.copyOf(available, count));
+    }
+
+    private void onSuccess(McpClientInstance<C> instance, long start) {
+        long now = nanoClock.getAsLong();
+        instance.observeLatency(now - start, now, LATENCY_DECAY_NANOS);
+        instance.onSuccess();
+        if (instance.isEjected() && instance.probing.get()) {
+            restore(instance);
+        }
+    }
+
+    private void onError(McpClientInstance<C> instance, long start, Throwable error) {
+        if (error instanceof McpError) {
+            // The endpoint answered, it is the call that failed
+            onSuccess(instance, start);
+            return;
+        }
+        long now = nanoClock.getAsLong();
+        instance.observeLatency(now - start, now, LATENCY_DECAY_NANOS);
+        int failures = instance.onFailure();
+        if (!outlierDetection.isEnabled()) {
+            return;
+        }
+        if (instance.isEjected()) {
+            if (instance.probing.get()) {
+                eject(instance, now, error);
+            }
+        }
+        else if (failures >= outlierDetection.getConsecutiveFailures()) {
+            eject(instance, now, error);
+        }
+    }
+
+    private synchronized void eject(McpClientInstance<C> instance, long now, Throwable error) {
+        McpClientInstance<C>[] instances = snapshot.instances();
+        if (!contains(instances, instance)) {
+            return;
+        }
+        if (!instance.isEjected()) {
+            if ((ejectedInstances + 1) * 100 > outlierDetection.getMaxEjectionPercent() * instances.length) {
+                return;
+            }
+            ejectedInstances++;
+        }
+        long ejectionTime = outlierDetection.ejectionTimeNanos(instance.ejections++);
+        instance.ejectedUntilNanos = now + ejectionTime;
+        instance.probing.set(false);
+        logger.warn("[Mcp Client LoadBalancer] Ejected mcp client {} for {} ms after {} consecutive failures: {}",
+                instance.getKey(), TimeUnit.NANOSECONDS.toMillis(ejectionTime), instance.getConsecutiveFailures(),
+                error.toString());
+    }
+
+    private synchronized void restore(McpClientInstance<C> instance) {
+        if (!instance.isEjected()) {
+            return;
+        }
+        instance.ejectedUntilNanos = 0;
+        instance.ejections = 0;
+        instance.probing.set(false);
+        if (contains(snapshot.instances(), instance)) {
+            ejectedInstances--;
+        }
+        logger.info("[Mcp Client LoadBalancer] Mcp client {} passed the probe and is back in rotation",
+                instance.getKey());
+    }
+
+    private static boolean contains(McpClientInstance<?>[] instances, McpClientInstance<?> instance) {
+        for (McpClientInstance<?> candidate : instances) {
+            if (candidate == instance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Resolves instance weights, for example from the service registry.
+     */
+    @FunctionalInterface
+    public interface WeightResolver {
+
+        Map<String, Double> resolve() throws Exception;
+
+    }
+
+    private record Snapshot<C>(McpClientInstance<C>[] instances, List<C> clients) {
+
+        @SuppressWarnings("unchecked")
+        static <C> Snapshot<C> empty() {
+            return new Snapshot<>(new McpClientInstance[0], List.of());
+        }
+
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Passive outlier ejection settings of {@link McpClientLoadBalancer}. An endpoint whose
+ * calls fail or time out {@code consecutiveFailures} times in a row is taken out of the
+ * rotation for the ejection time. When it has passed a single probe call is let through:
+ * if it succeeds the endpoint is back, otherwise it is ejected again for twice as long,
+ * up to {@code maxEjectionTime}. Calls answered with an mcp error do not count as
+ * failures, the endpoint did respond.
+ */
+public final class McpClientOutlierDetection {
+
+    public static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+
+    public static final Duration DEFAULT_BASE_EJECTION_TIME = Duration.ofSeconds(30);
+
+    public static final Duration DEFAULT_MAX_EJECTION_TIME = Duration.ofMinutes(5);
+
+    public static final int DEFAULT_MAX_EJECTION_PERCENT = 50;
+
+    private final int consecutiveFailures;
+
+    private final Duration baseEjectionTime;
+
+    private final Duration maxEjectionTime;
+
+    private final int maxEjectionPercent;
+
+    private McpClientOutlierDetection(Builder builder) {
+        this.consecutiveFailures = builder.consecutiveFailures;
+        this.baseEjectionTime = builder.baseEjectionTime;
+        this.maxEjectionTime = builder.maxEjectionTime;
+        this.maxEjectionPercent = builder.maxEjectionPercent;
+    }
+
+    /**
+     * Settings that never eject an endpoint.
+     */
+    public static McpClientOutlierDetection disabled() {
+        return builder().consecutiveFailures(0).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isEnabled() {
+        return consecutiveFailures > 0 && maxEjectionPercent > 0;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public Duration getBaseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    public Duration getMaxEjectionTime() {
+        return maxEjectionTime;
+    }
+
+    public int getMaxEjectionPercent() {
+        return maxEjectionPercent;
+    }
+
+    /**
+     * Ejection time of the given ejection of an endpoint, counted from 0.
+     */
+    long ejectionTimeNanos(int ejections) {
+        long base = baseEjectionTime.toNanos();
+        long max = maxEjectionTime.toNanos();
+        int shift = Math.min(ejections, 30);
+        return base > (max >> shift) ? max : base << shift;
+    }
+
+    public static class Builder {
+
+        private int consecutiveFailures = DEFAULT_CONSECUTIVE_FAILURES;
+
+        private Duration baseEjectionTime = DEFAULT_BASE_EJECTION_TIME;
+
+        private Duration maxEjectionTime = DEFAULT_MAX_EJECTION_TIME;
+
+        private int maxEjectionPercent = DEFAULT_MAX_EJECTION_PERCENT;
+
+        public Builder consecutiveFailures(int consecutiveFailures) {
+            Assert.isTrue(consecutiveFailures >= 0, "consecutiveFailures must not be negative");
+            this.consecutiveFailures = consecutiveFailures;
+            return this;
+        }
+
+        public Builder baseEjectionTime(Duration baseEjectionTime) {
+            Assert.notNull(baseEjectionTime, "baseEjectionTime cannot be null");
+            Assert.isTrue(!baseEjectionTime.isNegative(), "baseEjectionTime must not be negative");
+            this.baseEjectionTime = baseEjectionTime;
+            return this;
+        }
+
+        public Builder maxEjectionTime(Duration maxEjectionTime) {
+            Assert.notNull(maxEjectionTime, "maxEjectionTime cannot be null");
+            Assert.isTrue(!maxEjectionTime.isNegative(), "maxEjectionTime must not be negative");
+            this.maxEjectionTime = maxEjectionTime;
+            return this;
+        }
+
+        public Builder maxEjectionPercent(int maxEjectionPercent) {
+            Assert.isTrue(maxEjectionPercent >= 0 && maxEjectionPercent <= 100,
+                    "maxEjectionPercent must be between 0 and 100");
+            this.maxEjectionPercent = maxEjectionPercent;
+            return this;
+        }
+
+        public McpClientOutlierDetection build() {
+            Assert.isTrue(maxEjectionTime.compareTo(baseEjectionTime) >= 0,
+                    "maxEjectionTime must not be shorter than baseEjectionTime");
+            return new McpClientOutlierDetection(this);
+        }
+
+    }
+
+}
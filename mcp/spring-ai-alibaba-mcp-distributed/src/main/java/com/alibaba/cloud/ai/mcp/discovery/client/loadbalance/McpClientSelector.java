@@ -0,0 +1,41 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+/**
+ * Strategy that picks the endpoint of a call from the available instances of a
+ * distributed mcp server. Implementations are called concurrently and must not block.
+ */
+public interface McpClientSelector {
+
+    /**
+     * Select one of the instances.
+     * @param instances the available instances, never empty; must not be modified
+     * @param <C> the mcp client type
+     * @return the selected instance
+     */
+    <C> McpClientInstance<C> select(McpClientInstance<C>[] instances);
+
+    /**
+     * Whether the selector uses {@link McpClientInstance#getWeight() instance weights}, so
+     * that the clients resolve them from Nacos.
+     */
+    default boolean usesWeight() {
+        return false;
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power of two choices: picks two random instances and takes the one with the lower
+ * cost, the peak EWMA latency weighted by the calls in flight. Comparing two random
+ * instances instead of all of them keeps a fast instance from being flooded by every
+ * caller at once.
+ */
+public class PeakEwmaMcpClientSelector implements McpClientSelector {
+
+    // Cost of an instance with calls in flight but no latency observed yet
+    private static final double PENALTY = Long.MAX_VALUE >> 16;
+
+    @Override
+    public <C> McpClientInstance<C> select(McpClientInstance<C>[] instances) {
+        int n = instances.length;
+        if (n == 1) {
+            return instances[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(n);
+        int j = random.nextInt(n - 1);
+        if (j >= i) {
+            j++;
+        }
+        return cost(instances[j]) < cost(instances[i]) ? instances[j] : instances[i];
+    }
+
+    static double cost(McpClientInstance<?> instance) {
+        double latency = instance.getLatencyEwmaNanos();
+        int outstanding = instance.getOutstandingRequests();
+        if (latency == 0 && outstanding != 0) {
+            return PENALTY + outstanding;
+        }
+        return latency * (outstanding + 1);
+    }
+
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes the instances in turn.
+ */
+public class RoundRobinMcpClientSelector implements McpClientSelector {
+
+    private final AtomicInteger index = new AtomicInteger();
+
+    @Override
+    public <C> McpClientInstance<C> select(McpClientInstance<C>[] instances) {
+        return instances[Math.floorMod(index.getAndIncrement(), instances.length)];
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Picks instances randomly in proportion to their Nacos instance weight. Falls back to a
+ * uniform pick when no instance has a positive weight.
+ */
+public class WeightedMcpClientSelector implements McpClientSelector {
+
+    @Override
+    public <C> McpClientInstance<C> select(McpClientInstance<C>[] instances) {
+        int n = instances.length;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double total = 0;
+        for (McpClientInstance<C> instance : instances) {
+            total += Math.max(instance.getWeight(), 0);
+        }
+        if (total <= 0) {
+            return instances[random.nextInt(n)];
+        }
+        double point = random.nextDouble(total);
+        for (McpClientInstance<C> instance : instances) {
+            point -= Math.max(instance.getWeight(), 0);
+            if (point < 0) {
+                return instance;
+            }
+        }
+        return instances[n - 1];
+    }
+
+    @Override
+    public boolean usesWeight() {
+        return true;
+    }
+
+}
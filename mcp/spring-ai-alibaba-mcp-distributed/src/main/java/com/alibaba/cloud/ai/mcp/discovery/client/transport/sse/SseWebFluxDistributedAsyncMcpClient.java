@@ -17,6 +17,10 @@
 package com.alibaba.cloud.ai.mcp.discovery.client.transport.sse;
 
 import com.alibaba.cloud.ai.mcp.common.transport.builder.WebFluxSseClientTransportBuilder;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientLoadBalancer;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientOutlierDetection;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientSelector;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.RoundRobinMcpClientSelector;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedAsyncMcpClient;
 import com.alibaba.cloud.ai.mcp.utils.CommonUtil;
 import com.alibaba.cloud.ai.mcp.utils.NacosMcpClientUtil;
@@ -45,11 +49,10 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -77,7 +80,8 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
 
     private final boolean lazyInit;
 
-    private final AtomicInteger index = new AtomicInteger(0);
+    private final McpClientLoadBalancer<McpAsyncClient> loadBalancer;
+
 
     private Map<String, McpAsyncClient> keyToClientMap;
 
@@ -89,6 +93,14 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     public SseWebFluxDistributedAsyncMcpClient(String serverName, String version,
                                                NacosMcpOperationService nacosMcpOperationService,
                                                ApplicationContext applicationContext, boolean lazyInit) {
+        this(serverName, version, nacosMcpOperationService, applicationContext, lazyInit,
+                new RoundRobinMcpClientSelector(), McpClientOutlierDetection.builder().build());
+    }
+
+    public SseWebFluxDistributedAsyncMcpClient(String serverName, String version,
+                                               NacosMcpOperationService nacosMcpOperationService,
+                                               ApplicationContext applicationContext, boolean lazyInit,
+                                               McpClientSelector clientSelector, McpClientOutlierDetection outlierDetection) {
         Assert.notNull(serverName, "serviceName cannot be null");
         Assert.notNull(version, "version cannot be null");
         Assert.notNull(nacosMcpOperationService, "nacosMcpOperationService cannot be null");
@@ -98,6 +110,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
         this.version = version;
         this.nacosMcpOperationService = nacosMcpOperationService;
         this.lazyInit = lazyInit;
+        this.loadBalancer = new McpClientLoadBalancer<>(serverName, clientSelector, outlierDetection);
 
         commonProperties = applicationContext.getBean(McpClientCommonProperties.class);
         mcpAsyncClientConfigurer = applicationContext.getBean(McpAsyncClientConfigurer.class);
@@ -127,6 +140,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
         for (McpEndpointInfo mcpEndpointInfo : serverEndpoint.getMcpEndpointInfoList()) {
             updateByAddEndpoint(mcpEndpointInfo, serverEndpoint.getExportPath());
         }
+        loadBalancer.update(keyToClientMap, () -> nacosMcpOperationService.getEndpointWeights(serverEndpoint));
         logger.info("[Nacos Mcp Async Client] McpAsyncClient init, serverName: {}, version: {}, endpoint: {}", serverName,
                 version, serverEndpoint);
         return keyToClientMap;
@@ -142,6 +156,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
             String realVersion = mcpServerDetailInfo.getVersionDetail().getVersion();
             NacosMcpServerEndpoint nacosMcpServerEndpoint = new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath,
                     protocol, realVersion);
+            nacosMcpServerEndpoint.setServiceRef(mcpServerDetailInfo.getRemoteServerConfig().getServiceRef());
             if (!StringUtils.equals(protocol, AiConstants.Mcp.MCP_PROTOCOL_SSE)) {
                 return;
             }
@@ -152,17 +167,12 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     }
 
     public McpAsyncClient getMcpAsyncClient() {
-        List<McpAsyncClient> asynClients = getMcpAsyncClientList();
-        if (asynClients.isEmpty()) {
-            throw new IllegalStateException("[Nacos Mcp Async Client] No McpAsyncClient available, name:" + serverName);
-        }
-
-        int currentIndex = index.getAndUpdate(index -> (index + 1) % asynClients.size());
-        return asynClients.get(currentIndex);
+        loadBalancer.checkAvailable();
+        return loadBalancer.choose();
     }
 
     public List<McpAsyncClient> getMcpAsyncClientList() {
-        return keyToClientMap.values().stream().toList();
+        return loadBalancer.getClients();
     }
 
     public String getServerName() {
@@ -219,6 +229,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
                 updateByAddEndpoint(mcpEndpointInfo, newServerEndpoint.getExportPath());
             }
             this.serverEndpoint = newServerEndpoint;
+            loadBalancer.update(keyToClientMap, () -> nacosMcpOperationService.getEndpointWeights(newServerEndpoint));
             return;
         }
         if (!StringUtils.equals(this.serverEndpoint.getExportPath(), newServerEndpoint.getExportPath())
@@ -257,6 +268,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
             }
         }
         this.serverEndpoint = newServerEndpoint;
+        loadBalancer.update(keyToClientMap, () -> nacosMcpOperationService.getEndpointWeights(newServerEndpoint));
     }
 
     private boolean initServerEndpoint(String serverName, String version) {
@@ -297,6 +309,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
             newKeyToCountMap.putIfAbsent(key, 0);
         }
         this.keyToClientMap = newKeyToClientMap;
+        loadBalancer.update(keyToClientMap);
         for (Map.Entry<String, McpAsyncClient> entry : oldKeyToClientMap.entrySet()) {
             McpAsyncClient asyncClient = entry.getValue();
             logger.info("Removing McpAsyncClient: {}", asyncClient.getClientInfo().name());
@@ -309,12 +322,18 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
         String key = NacosMcpClientUtil.getMcpEndpointInfoId(serverEndpoint, exportPath);
         if (keyToClientMap.containsKey(key)) {
             McpAsyncClient asyncClient = keyToClientMap.remove(key);
+            loadBalancer.update(keyToClientMap);
             logger.info("Removing McpAsyncClient: {}", asyncClient.getClientInfo().name());
             asyncClient.closeGracefully().block();
             logger.info("Removed McpAsyncClient: {} Success", asyncClient.getClientInfo().name());
         }
     }
 
+    private <T> Mono<T> execute(Function<McpAsyncClient, Mono<T>> call) {
+        loadBalancer.checkAvailable();
+        return loadBalancer.execute(call);
+    }
+
     // ---------------------------原始调用方法------------------------------//
     public McpSchema.ServerCapabilities getServerCapabilities() {
         return getMcpAsyncClient().getServerCapabilities();
@@ -337,23 +356,21 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     }
 
     public void close() {
-        Iterator<McpAsyncClient> iterator = getMcpAsyncClientList().iterator();
-        while (iterator.hasNext()) {
-            McpAsyncClient mcpAsyncClient = iterator.next();
+        for (McpAsyncClient mcpAsyncClient : getMcpAsyncClientList()) {
             mcpAsyncClient.close();
-            iterator.remove();
+            keyToClientMap.values().remove(mcpAsyncClient);
+            loadBalancer.update(keyToClientMap);
             logger.info("[Nacos Mcp Async Client] Closed and removed McpAsyncClient: {}",
                     mcpAsyncClient.getClientInfo().name());
         }
     }
 
     public Mono<Void> closeGracefully() {
-        Iterator<McpAsyncClient> iterator = getMcpAsyncClientList().iterator();
         List<Mono<Void>> closeMonos = new ArrayList<>();
-        while (iterator.hasNext()) {
-            McpAsyncClient mcpAsyncClient = iterator.next();
+        for (McpAsyncClient mcpAsyncClient : getMcpAsyncClientList()) {
             Mono<Void> voidMono = mcpAsyncClient.closeGracefully().doOnSuccess(v -> {
-                iterator.remove();
+                keyToClientMap.values().remove(mcpAsyncClient);
+                loadBalancer.update(keyToClientMap);
                 logger.info("[Nacos Mcp Async Client] Closed and removed McpAsyncClient: {}",
                         mcpAsyncClient.getClientInfo().name());
             });
@@ -363,7 +380,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     }
 
     public Mono<Object> ping() {
-        return getMcpAsyncClient().ping();
+        return execute(McpAsyncClient::ping);
     }
 
     public Mono<Void> addRoot(McpSchema.Root root) {
@@ -385,7 +402,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     }
 
     public Mono<McpSchema.CallToolResult> callTool(McpSchema.CallToolRequest callToolRequest) {
-        return getMcpAsyncClient().callTool(callToolRequest);
+        return execute(client -> client.callTool(callToolRequest));
     }
 
     public Mono<McpSchema.ListToolsResult> listTools() {
@@ -397,30 +414,30 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     }
 
     private Mono<McpSchema.ListToolsResult> listToolsInternal(String cursor) {
-        return getMcpAsyncClient().listTools(cursor);
+        return execute(client -> client.listTools(cursor));
     }
 
     public Mono<McpSchema.ListResourcesResult> listResources() {
-        return getMcpAsyncClient().listResources();
+        return execute(McpAsyncClient::listResources);
     }
 
     public Mono<McpSchema.ListResourcesResult> listResources(String cursor) {
-        return getMcpAsyncClient().listResources(cursor);
+        return execute(client -> client.listResources(cursor));
     }
 
     public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.Resource resource) {
-        return getMcpAsyncClient().readResource(resource);
+        return execute(client -> client.readResource(resource));
     }
 
     public Mono<McpSchema.ReadResourceResult> readResource(McpSchema.ReadResourceRequest readResourceRequest) {
-        return getMcpAsyncClient().readResource(readResourceRequest);
+        return execute(client -> client.readResource(readResourceRequest));
     }
 
     public Mono<McpSchema.ListResourceTemplatesResult> listResourceTemplates() {
-        return getMcpAsyncClient().listResourceTemplates();
+        return execute(McpAsyncClient::listResourceTemplates);
     }
     public Mono<McpSchema.ListResourceTemplatesResult> listResourceTemplates(String cursor) {
-        return getMcpAsyncClient().listResourceTemplates(cursor);
+        return execute(client -> client.listResourceTemplates(cursor));
     }
 
     public Mono<Void> subscribeResource(McpSchema.SubscribeRequest subscribeRequest) {
@@ -436,15 +453,15 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     }
 
     public Mono<McpSchema.ListPromptsResult> listPrompts() {
-        return getMcpAsyncClient().listPrompts();
+        return execute(McpAsyncClient::listPrompts);
     }
 
     public Mono<McpSchema.ListPromptsResult> listPrompts(String cursor) {
-        return getMcpAsyncClient().listPrompts(cursor);
+        return execute(client -> client.listPrompts(cursor));
     }
 
     public Mono<McpSchema.GetPromptResult> getPrompt(McpSchema.GetPromptRequest getPromptRequest) {
-        return getMcpAsyncClient().getPrompt(getPromptRequest);
+        return execute(client -> client.getPrompt(getPromptRequest));
     }
 
     public Mono<Void> setLoggingLevel(McpSchema.LoggingLevel loggingLevel) {
@@ -454,7 +471,7 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
     }
 
     public Mono<McpSchema.CompleteResult> completeCompletion(McpSchema.CompleteRequest completeRequest) {
-        return getMcpAsyncClient().completeCompletion(completeRequest);
+        return execute(client -> client.completeCompletion(completeRequest));
     }
     // ---------------------------原始调用方法------------------------------//
 
@@ -474,6 +491,10 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
 
         private boolean lazyInit;
 
+        private McpClientSelector clientSelector = new RoundRobinMcpClientSelector();
+
+        private McpClientOutlierDetection outlierDetection = McpClientOutlierDetection.builder().build();
+
         public Builder serverName(String serverName) {
             this.serverName = serverName;
             return this;
@@ -499,9 +520,20 @@ public class SseWebFluxDistributedAsyncMcpClient implements DistributedAsyncMcpC
             return this;
         }
 
+        public Builder clientSelector(McpClientSelector clientSelector) {
+            this.clientSelector = clientSelector;
+            return this;
+        }
+
+        public Builder outlierDetection(McpClientOutlierDetection outlierDetection) {
+            this.outlierDetection = outlierDetection;
+            return this;
+        }
+
         public SseWebFluxDistributedAsyncMcpClient build() {
             return new SseWebFluxDistributedAsyncMcpClient(this.serverName, this.version,
-                this.nacosMcpOperationService, this.applicationContext, this.lazyInit);
+                this.nacosMcpOperationService, this.applicationContext, this.lazyInit,
+                this.clientSelector, this.outlierDetection);
         }
 
     }
@@ -17,6 +17,10 @@
 package com.alibaba.cloud.ai.mcp.discovery.client.transport.streamable;
 
 import com.alibaba.cloud.ai.mcp.common.transport.builder.WebFluxStreamableClientTransportBuilder;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientLoadBalancer;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientOutlierDetection;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.McpClientSelector;
+import com.alibaba.cloud.ai.mcp.discovery.client.loadbalance.RoundRobinMcpClientSelector;
 import com.alibaba.cloud.ai.mcp.discovery.client.transport.DistributedSyncMcpClient;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
 import com.alibaba.cloud.ai.mcp.nacos.service.model.NacosMcpServerEndpoint;
@@ -44,11 +48,10 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * @author yingzi
@@ -75,7 +78,8 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
 
     private final boolean lazyInit;
 
-    private final AtomicInteger index = new AtomicInteger(0);
+    private final McpClientLoadBalancer<McpSyncClient> loadBalancer;
+
 
     private Map<String, McpSyncClient> keyToClientMap = new ConcurrentHashMap<>();
 
@@ -87,6 +91,14 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
     public StreamWebFluxDistributedSyncMcpClient(String serverName, String version,
                                                  NacosMcpOperationService nacosMcpOperationService,
                                                  ApplicationContext applicationContext, boolean lazyInit) {
+        this(serverName, version, nacosMcpOperationService, applicationContext, lazyInit,
+                new RoundRobinMcpClientSelector(), McpClientOutlierDetection.builder().build());
+    }
+
+    public StreamWebFluxDistributedSyncMcpClient(String serverName, String version,
+                                                 NacosMcpOperationService nacosMcpOperationService,
+                                                 ApplicationContext applicationContext, boolean lazyInit,
+                                                 McpClientSelector clientSelector, McpClientOutlierDetection outlierDetection) {
         Assert.notNull(serverName, "serviceName cannot be null");
         Assert.notNull(version, "version cannot be null");
         Assert.notNull(nacosMcpOperationService, "nacosMcpOperationService cannot be null");
@@ -96,6 +108,7 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
         this.version = version;
         this.nacosMcpOperationService = nacosMcpOperationService;
         this.lazyInit = lazyInit;
+        this.loadBalancer = new McpClientLoadBalancer<>(serverName, clientSelector, outlierDetection);
 
         commonProperties = applicationContext.getBean(McpClientCommonProperties.class);
         mcpSyncClientConfigurer = applicationContext.getBean(McpSyncClientConfigurer.class);
@@ -125,6 +138,7 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
         for (McpEndpointInfo mcpEndpointInfo : serverEndpoint.getMcpEndpointInfoList()) {
             updateByAddEndpoint(mcpEndpointInfo, serverEndpoint.getExportPath());
         }
+        loadBalancer.update(keyToClientMap, () -> nacosMcpOperationService.getEndpointWeights(serverEndpoint));
         logger.info("[Nacos Mcp Sync Client] McpSyncClient init, serverName: {}, version: {}, endpoint: {}", serverName,
                 version, serverEndpoint);
         return keyToClientMap;
@@ -140,6 +154,7 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
             String realVersion = mcpServerDetailInfo.getVersionDetail().getVersion();
             NacosMcpServerEndpoint nacosMcpServerEndpoint = new NacosMcpServerEndpoint(mcpEndpointInfoList, exportPath,
                     protocol, realVersion);
+            nacosMcpServerEndpoint.setServiceRef(mcpServerDetailInfo.getRemoteServerConfig().getServiceRef());
             updateClientList(nacosMcpServerEndpoint);
         });
         logger.info("[Nacos Mcp Sync Client] Subscribe Mcp Server from nacos, serverName: {}, version: {}", serverName,
@@ -147,17 +162,12 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
     }
 
     public McpSyncClient getMcpSyncClient() {
-        List<McpSyncClient> syncClients = getMcpSyncClientList();
-        if (syncClients.isEmpty()) {
-            throw new IllegalStateException("[Nacos Mcp Sync Client] No McpSyncClient available, name :" + serverName);
-        }
-        int currentIndex = index.getAndUpdate(index -> (index + 1) % syncClients.size());
-
-        return syncClients.get(currentIndex);
+        loadBalancer.checkAvailable();
+        return loadBalancer.choose();
     }
 
     public List<McpSyncClient> getMcpSyncClientList() {
-        return keyToClientMap.values().stream().toList();
+        return loadBalancer.getClients();
     }
 
     public String getServerName() {
@@ -215,6 +225,7 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
                 updateByAddEndpoint(mcpEndpointInfo, newServerEndpoint.getExportPath());
             }
             this.serverEndpoint = newServerEndpoint;
+            loadBalancer.update(keyToClientMap, () -> nacosMcpOperationService.getEndpointWeights(newServerEndpoint));
             return;
         }
         if (!StringUtils.equals(this.serverEndpoint.getExportPath(), newServerEndpoint.getExportPath())
@@ -253,6 +264,7 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
             }
         }
         this.serverEndpoint = newServerEndpoint;
+        loadBalancer.update(keyToClientMap, () -> nacosMcpOperationService.getEndpointWeights(newServerEndpoint));
     }
 
     protected boolean initServerEndpoint(String serverName, String version) {
@@ -293,6 +305,7 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
             newKeyToCountMap.putIfAbsent(key, 0);
         }
         this.keyToClientMap = newKeyToClientMap;
+        loadBalancer.update(keyToClientMap);
         for (Map.Entry<String, McpSyncClient> entry : oldKeyToClientMap.entrySet()) {
             McpSyncClient syncClient = entry.getValue();
             logger.info("Removing McpSyncClient: {}", syncClient.getClientInfo().name());
@@ -305,12 +318,18 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
         String key = NacosMcpClientUtil.getMcpEndpointInfoId(serverEndpoint, exportPath);
         if (keyToClientMap.containsKey(key)) {
             McpSyncClient syncClient = keyToClientMap.remove(key);
+            loadBalancer.update(keyToClientMap);
             logger.info("Removing McpSyncClient: {}", syncClient.getClientInfo().name());
             syncClient.closeGracefully();
             logger.info("Removed McpSyncClient: {} Success", syncClient.getClientInfo().name());
         }
     }
 
+    private <T> T execute(Function<McpSyncClient, T> call) {
+        loadBalancer.checkAvailable();
+        return loadBalancer.call(call);
+    }
+
     // ---------------------------原始调用方法------------------------------//
     public McpSchema.ServerCapabilities getServerCapabilities() {
         return getMcpSyncClient().getServerCapabilities();
@@ -333,11 +352,10 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
     }
 
     public void close() {
-        Iterator<McpSyncClient> iterator = getMcpSyncClientList().iterator();
-        while (iterator.hasNext()) {
-            McpSyncClient mcpSyncClient = iterator.next();
+        for (McpSyncClient mcpSyncClient : getMcpSyncClientList()) {
             mcpSyncClient.close();
-            iterator.remove();
+            keyToClientMap.values().remove(mcpSyncClient);
+            loadBalancer.update(keyToClientMap);
             logger.info("[Nacos Mcp Sync Client] Closed and removed McpSyncClient: {}",
                     mcpSyncClient.getClientInfo().name());
         }
@@ -345,13 +363,12 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
 
     public boolean closeGracefully() {
         List<Boolean> flagList = new ArrayList<>();
-        Iterator<McpSyncClient> iterator = getMcpSyncClientList().iterator();
-        while (iterator.hasNext()) {
-            McpSyncClient mcpSyncClient = iterator.next();
+        for (McpSyncClient mcpSyncClient : getMcpSyncClientList()) {
             boolean flag = mcpSyncClient.closeGracefully();
             flagList.add(flag);
             if (flag) {
-                iterator.remove();
+                keyToClientMap.values().remove(mcpSyncClient);
+                loadBalancer.update(keyToClientMap);
                 logger.info("[Nacos Mcp Sync Client] Closed and removed McpSyncClient: {}",
                         mcpSyncClient.getClientInfo().name());
             }
@@ -376,43 +393,43 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
     }
 
     public Object ping() {
-        return getMcpSyncClient().ping();
+        return execute(McpSyncClient::ping);
     }
 
     public McpSchema.CallToolResult callTool(McpSchema.CallToolRequest callToolRequest) {
-        return getMcpSyncClient().callTool(callToolRequest);
+        return execute(client -> client.callTool(callToolRequest));
     }
 
     public McpSchema.ListToolsResult listTools() {
-        return getMcpSyncClient().listTools();
+        return execute(McpSyncClient::listTools);
     }
 
     public McpSchema.ListToolsResult listTools(String cursor) {
-        return getMcpSyncClient().listTools(cursor);
+        return execute(client -> client.listTools(cursor));
     }
 
     public McpSchema.ListResourcesResult listResources(String cursor) {
-        return getMcpSyncClient().listResources(cursor);
+        return execute(client -> client.listResources(cursor));
     }
 
     public McpSchema.ListResourcesResult listResources() {
-        return getMcpSyncClient().listResources();
+        return execute(McpSyncClient::listResources);
     }
 
     public McpSchema.ReadResourceResult readResource(McpSchema.Resource resource) {
-        return getMcpSyncClient().readResource(resource);
+        return execute(client -> client.readResource(resource));
     }
 
     public McpSchema.ReadResourceResult readResource(McpSchema.ReadResourceRequest readResourceRequest) {
-        return getMcpSyncClient().readResource(readResourceRequest);
+        return execute(client -> client.readResource(readResourceRequest));
     }
 
     public McpSchema.ListResourceTemplatesResult listResourceTemplates(String cursor) {
-        return getMcpSyncClient().listResourceTemplates(cursor);
+        return execute(client -> client.listResourceTemplates(cursor));
     }
 
     public McpSchema.ListResourceTemplatesResult listResourceTemplates() {
-        return getMcpSyncClient().listResourceTemplates();
+        return execute(McpSyncClient::listResourceTemplates);
     }
 
     public void subscribeResource (McpSchema.SubscribeRequest subscribeRequest) {
@@ -428,15 +445,15 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
     }
 
     public McpSchema.ListPromptsResult listPrompts(String cursor) {
-        return getMcpSyncClient().listPrompts(cursor);
+        return execute(client -> client.listPrompts(cursor));
     }
 
     public McpSchema.ListPromptsResult listPrompts() {
-        return getMcpSyncClient().listPrompts();
+        return execute(McpSyncClient::listPrompts);
     }
 
     public McpSchema.GetPromptResult getPrompt(McpSchema.GetPromptRequest getPromptRequest) {
-        return getMcpSyncClient().getPrompt(getPromptRequest);
+        return execute(client -> client.getPrompt(getPromptRequest));
     }
 
     public void setLoggingLevel(McpSchema.LoggingLevel loggingLevel) {
@@ -446,7 +463,7 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
     }
 
     public McpSchema.CompleteResult completeCompletion(McpSchema.CompleteRequest completeRequest) {
-        return getMcpSyncClient().completeCompletion(completeRequest);
+        return execute(client -> client.completeCompletion(completeRequest));
     }
 
     // ---------------------------原始调用方法------------------------------//
@@ -467,6 +484,10 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
 
         private boolean lazyInit;
 
+        private McpClientSelector clientSelector = new RoundRobinMcpClientSelector();
+
+        private McpClientOutlierDetection outlierDetection = McpClientOutlierDetection.builder().build();
+
         public Builder serverName(String serverName) {
             this.serverName = serverName;
             return this;
@@ -492,9 +513,20 @@ public class StreamWebFluxDistributedSyncMcpClient implements DistributedSyncMcp
             return this;
         }
 
+        public Builder clientSelector(McpClientSelector clientSelector) {
+            this.clientSelector = clientSelector;
+            return this;
+        }
+
+        public Builder outlierDetection(McpClientOutlierDetection outlierDetection) {
+            this.outlierDetection = outlierDetection;
+            return this;
+        }
+
         public StreamWebFluxDistributedSyncMcpClient build() {
             return new StreamWebFluxDistributedSyncMcpClient(this.serverName, this.version,
-                this.nacosMcpOperationService, this.applicationContext, this.lazyInit);
+                this.nacosMcpOperationService, this.applicationContext, this.lazyInit,
+                this.clientSelector, this.outlierDetection);
         }
 
     }
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.discovery.client.loadbalance;
+
+import io.modelcontextprotocol.spec.McpError;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class McpClientLoadBalancerTests {
+
+    private final AtomicLong clock = new AtomicLong(1);
+
+    private final McpClientOutlierDetection outlierDetection = McpClientOutlierDetection.builder()
+            .consecutiveFailures(2)
+            .baseEjectionTime(Duration.ofSeconds(10))
+            .maxEjectionTime(Duration.ofSeconds(30))
+            .maxEjectionPercent(50)
+            .build();
+
+    @Test
+    void roundRobinTakesTheClientsInTurn() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector(), "a", "b", "c");
+
+        List<String> picked = List.of(loadBalancer.choose(), loadBalancer.choose(), loadBalancer.choose(),
+                loadBalancer.choose());
+
+        assertThat(picked.subList(0, 3)).containsExactlyInAnyOrder("a", "b", "c");
+        assertThat(picked.get(3)).isEqualTo(picked.get(0));
+    }
+
+    @Test
+    void failsWithoutClients() {
+        McpClientLoadBalancer<String> loadBalancer = new McpClientLoadBalancer<>(new RoundRobinMcpClientSelector(),
+                outlierDetection);
+
+        assertThatThrownBy(loadBalancer::choose).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> loadBalancer.execute(Mono::just).block()).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void updateKeepsTheStateOfUnchangedClients() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector(), "a", "b");
+        McpClientInstance<String> a = instance(loadBalancer, "a");
+        a.onFailure();
+
+        loadBalancer.update(clients("a", "c"));
+
+        assertThat(loadBalancer.getClients()).containsExactly("a", "c");
+        assertThat(instance(loadBalancer, "a")).isSameAs(a);
+        assertThat(a.getConsecutiveFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void ejectsAfterConsecutiveFailuresAndProbesWhenTheEjectionTimeHasPassed() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector(), "a", "b", "c",
+                "d");
+        fail(loadBalancer, "a", 2);
+
+        assertThat(instance(loadBalancer, "a").isEjected()).isTrue();
+        for (int i = 0; i < 12; i++) {
+            assertThat(loadBalancer.choose()).isNotEqualTo("a");
+        }
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        // A single call probes the endpoint, the others still go elsewhere
+        assertThat(loadBalancer.<String>call(client -> {
+            assertThat(loadBalancer.<String>call(other -> other)).isNotEqualTo("a");
+            return client;
+        })).isEqualTo("a");
+        assertThat(instance(loadBalancer, "a").isEjected()).isFalse();
+    }
+
+    @Test
+    void chooseNeverClaimsTheProbe() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector(), "a", "b", "c",
+                "d");
+        fail(loadBalancer, "a", 2);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        for (int i = 0; i < 12; i++) {
+            assertThat(loadBalancer.choose()).isNotEqualTo("a");
+        }
+        McpClientInstance<String> a = instance(loadBalancer, "a");
+        assertThat(a.probing.get()).isFalse();
+
+        assertThat(loadBalancer.execute(Mono::just).block()).isEqualTo("a");
+        assertThat(a.isEjected()).isFalse();
+        assertThat(a.probing.get()).isFalse();
+        assertThat(loadBalancer.getInstances()).noneMatch(McpClientInstance::isEjected);
+        assertThat(List.of(loadBalancer.choose(), loadBalancer.choose(), loadBalancer.choose(),
+                loadBalancer.choose())).contains("a");
+    }
+
+    @Test
+    void failedProbeEjectsForLonger() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector(), "a", "b");
+        fail(loadBalancer, "a", 2);
+        McpClientInstance<String> a = instance(loadBalancer, "a");
+        long firstEjection = a.ejectedUntilNanos - clock.get();
+
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThatThrownBy(() -> loadBalancer.call(client -> {
+            assertThat(client).isEqualTo("a");
+            throw new IllegalStateException("connection refused");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(a.isEjected()).isTrue();
+        assertThat(a.ejectedUntilNanos - clock.get()).isEqualTo(2 * firstEjection);
+    }
+
+    @Test
+    void doesNotEjectMoreThanTheMaxEjectionPercent() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector(), "a", "b", "c",
+                "d");
+
+        fail(loadBalancer, "a", 2);
+        fail(loadBalancer, "b", 2);
+        fail(loadBalancer, "c", 2);
+
+        assertThat(loadBalancer.getInstances()).filteredOn(McpClientInstance::isEjected)
+            .extracting(McpClientInstance::getKey)
+            .containsExactlyInAnyOrder("a", "b");
+    }
+
+    @Test
+    void mcpErrorsDoNotCountAsFailures() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector(), "a");
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> loadBalancer.execute(client -> Mono.error(new McpError("unknown tool"))).block())
+                .isInstanceOf(McpError.class);
+        }
+
+        assertThat(instance(loadBalancer, "a").getConsecutiveFailures()).isZero();
+        assertThat(instance(loadBalancer, "a").getOutstandingRequests()).isZero();
+    }
+
+    @Test
+    void disabledOutlierDetectionNeverEjects() {
+        McpClientLoadBalancer<String> loadBalancer = new McpClientLoadBalancer<>(new RoundRobinMcpClientSelector(),
+                McpClientOutlierDetection.disabled(), clock::get);
+        loadBalancer.update(clients("a", "b"));
+
+        fail(loadBalancer, "a", 10);
+
+        assertThat(instance(loadBalancer, "a").isEjected()).isFalse();
+    }
+
+    @Test
+    void leastRequestsAvoidsBusyClients() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new LeastRequestsMcpClientSelector(), "a", "b",
+                "c");
+        instance(loadBalancer, "a").onStart();
+        instance(loadBalancer, "c").onStart();
+        instance(loadBalancer, "c").onStart();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose()).isEqualTo("b");
+        }
+    }
+
+    @Test
+    void peakEwmaPrefersTheFasterClient() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new PeakEwmaMcpClientSelector(), "a", "b");
+        instance(loadBalancer, "a").observeLatency(Duration.ofMillis(200).toNanos(), clock.get(), 1);
+        instance(loadBalancer, "b").observeLatency(Duration.ofMillis(5).toNanos(), clock.get(), 1);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(loadBalancer.choose()).isEqualTo("b");
+        }
+    }
+
+    @Test
+    void weightedSelectionFollowsTheWeights() {
+        McpClientLoadBalancer<String> loadBalancer = new McpClientLoadBalancer<>(new WeightedMcpClientSelector(),
+                outlierDetection, clock::get);
+        loadBalancer.update(clients("a", "b", "c"), Map.of("a", 3.0, "b", 1.0, "c", 0.0));
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 4000; i++) {
+            counts.merge(loadBalancer.choose(), 1, Integer::sum);
+        }
+
+        assertThat(counts).doesNotContainKey("c");
+        assertThat(counts.get("a")).isBetween(2700, 3300);
+    }
+
+    @Test
+    void keepsTheWeightsWhenOnlyTheClientsChange() {
+        McpClientLoadBalancer<String> loadBalancer = new McpClientLoadBalancer<>(new WeightedMcpClientSelector(),
+                outlierDetection, clock::get);
+        loadBalancer.update(clients("a", "b"), () -> Map.of("a", 3.0));
+
+        loadBalancer.update(clients("a", "b", "c"));
+
+        assertThat(instance(loadBalancer, "a").getWeight()).isEqualTo(3.0);
+        assertThat(instance(loadBalancer, "c").getWeight()).isEqualTo(1.0);
+    }
+
+    @Test
+    void resolvesTheWeightsOnlyForAWeightedSelector() {
+        AtomicLong resolved = new AtomicLong();
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new RoundRobinMcpClientSelector());
+
+        loadBalancer.update(clients("a", "b"), () -> {
+            resolved.incrementAndGet();
+            return Map.of("a", 3.0);
+        });
+
+        assertThat(resolved).hasValue(0);
+        assertThat(instance(loadBalancer, "a").getWeight()).isEqualTo(1.0);
+    }
+
+    @Test
+    void fallsBackToEqualWeightsWhenTheWeightsCannotBeResolved() {
+        McpClientLoadBalancer<String> loadBalancer = loadBalancer(new WeightedMcpClientSelector());
+
+        loadBalancer.update(clients("a", "b"), () -> {
+            throw new IllegalStateException("registry unavailable");
+        });
+
+        assertThat(loadBalancer.getInstances()).extracting(McpClientInstance::getWeight).containsOnly(1.0);
+    }
+
+    @Test
+    void namesTheServerWhenNoClientIsAvailable() {
+        McpClientLoadBalancer<String> loadBalancer = new McpClientLoadBalancer<>("weather",
+                new RoundRobinMcpClientSelector(), outlierDetection);
+
+        assertThatThrownBy(loadBalancer::checkAvailable).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("weather");
+
+        loadBalancer.update(clients("a"));
+        loadBalancer.checkAvailable();
+    }
+
+    private McpClientLoadBalancer<String> loadBalancer(McpClientSelector selector, String... keys) {
+        McpClientLoadBalancer<String> loadBalancer = new McpClientLoadBalancer<>(selector, outlierDetection,
+                clock::get);
+        loadBalancer.update(clients(keys));
+        return loadBalancer;
+    }
+
+    private static Map<String, String> clients(String... keys) {
+        Map<String, String> clients = new LinkedHashMap<>();
+        for (String key : keys) {
+            clients.put(key, key);
+        }
+        return clients;
+    }
+
+    private static McpClientInstance<String> instance(McpClientLoadBalancer<String> loadBalancer, String key) {
+        return loadBalancer.getInstances()
+            .stream()
+            .filter(instance -> instance.getKey().equals(key))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    // Fails calls that land on the given client until it saw the given number of failures
+    private static void fail(McpClientLoadBalancer<String> loadBalancer, String key, int times) {
+        int failed = 0;
+        while (failed < times) {
+            String answered = loadBalancer
+                .execute(client -> client.equals(key) ? Mono.<String>error(new IllegalStateException(key))
+                        : Mono.just(client))
+                .onErrorResume(IllegalStateException.class, e -> Mono.empty())
+                .block();
+            if (answered == null) {
+                failed++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.gateway.nacos.callback;
+
+import com.alibaba.cloud.ai.mcp.gateway.core.utils.SpringBeanUtils;
+import com.alibaba.cloud.ai.mcp.gateway.nacos.definition.NacosMcpGatewayToolDefinition;
+import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
+import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
+import com.alibaba.nacos.api.ai.model.mcp.McpServerRemoteServiceConfig;
+import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
+import com.alibaba.nacos.api.ai.model.mcp.McpToolMeta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-call overhead of {@link NacosMcpGatewayToolCallback} for http tools
+ * against a local stub backend. {@code direct} sends the same request with a plain
+ * {@link WebClient}; the difference to {@code gateway} is what the callback adds on top
+ * of the HTTP round trip:
+ *
+ * <pre>
+ * mvn -Ptest,jmh test-compile exec:exec -Djmh.args="NacosMcpGatewayToolCallbackBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NacosMcpGatewayToolCallbackBenchmark {
+
+	private static final String RESPONSE = "{\"city\":\"hangzhou\",\"temp\":20.5,\"humidity\":71,\"wind\":\"NE 3\"}";
+
+	private static final Map<String, String> TEMPLATES = Map.of("plain", """
+			{"requestTemplate":{"url":"/weather/{city}","method":"GET"},
+			"argsPosition":{"city":"path","unit":"query"}}
+			""", "templated", """
+			{"requestTemplate":{"url":"/weather/{city}","method":"POST",
+			"headers":[{"key":"X-City","value":"{{ .args.city }}"},{"key":"Content-Type","value":"application/json"}],
+			"body":"{\\"city\\":\\"{{ .args.city }}\\",\\"unit\\":\\"{{ .args.unit }}\\"}"},
+			"argsPosition":{"city":"path"},
+			"responseTemplate":{"body":"{{.city}}: {{.temp}} {{.args.unit}}, humidity {{.humidity}}%"}}
+			""");
+
+	private static final String INPUT = "{\"city\":\"hangzhou\",\"unit\":\"C\"}";
+
+	@Param({ "plain", "templated" })
+	public String template;
+
+	private HttpServer server;
+
+	private GenericApplicationContext applicationContext;
+
+	private NacosMcpGatewayToolCallback callback;
+
+	private WebClient webClient;
+
+	@Setup
+	public void setUp() throws Exception {
+		// Without TCP_NODELAY delayed ACKs add ~40ms to every exchange with the stub
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		byte[] response = RESPONSE.getBytes(StandardCharsets.UTF_8);
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newFixedThreadPool(4));
+		server.createContext("/", exchange -> {
+			exchange.getRequestBody().readAllBytes();
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, response.length);
+			exchange.getResponseBody().write(response);
+			exchange.close();
+		});
+		server.start();
+
+		McpEndpointInfo endpoint = new McpEndpointInfo();
+		endpoint.setAddress("127.0.0.1");
+		endpoint.setPort(server.getAddress().getPort());
+		NacosMcpOperationService operationService = Mockito.mock(NacosMcpOperationService.class);
+		Mockito.when(operationService.selectEndpoint(Mockito.any())).thenReturn(endpoint);
+
+		applicationContext = new GenericApplicationContext();
+		applicationContext.registerBean(WebClient.Builder.class, WebClient::builder);
+		applicationContext.registerBean(NacosMcpOperationService.class, () -> operationService);
+		applicationContext.refresh();
+		SpringBeanUtils.getInstance().setApplicationContext(applicationContext);
+
+		McpToolMeta toolMeta = new McpToolMeta();
+		toolMeta.setTemplates(Map.of("json-go-template", new ObjectMapper().readValue(TEMPLATES.get(template), Map.class)));
+		McpServerRemoteServiceConfig remoteServerConfig = new McpServerRemoteServiceConfig();
+		remoteServerConfig.setServiceRef(new McpServiceRef());
+		callback = new NacosMcpGatewayToolCallback(NacosMcpGatewayToolDefinition.builder()
+			.name("weather_tools_query")
+			.description("query weather")
+			.inputSchema(Map.of())
+			.version("1.0.0")
+			.protocol("http")
+			.remoteServerConfig(remoteServerConfig)
+			.toolsMeta(toolMeta)
+			.build());
+		webClient = WebClient.builder().baseUrl("http://127.0.0.1:" + server.getAddress().getPort()).build();
+	}
+
+	@TearDown
+	public void tearDown() {
+		callback.close();
+		applicationContext.close();
+		SpringBeanUtils.getInstance().setApplicationContext(null);
+		server.stop(0);
+	}
+
+	@Benchmark
+	public String gateway() {
+		return callback.call(INPUT);
+	}
+
+	@Benchmark
+	public String direct() {
+		return webClient.get().uri("/weather/hangzhou?unit=C").retrieve().bodyToMono(String.class).block();
+	}
+
+}
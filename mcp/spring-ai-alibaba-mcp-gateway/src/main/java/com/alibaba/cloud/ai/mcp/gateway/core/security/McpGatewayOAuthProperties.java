@@ -185,6 +185,11 @@ public class McpGatewayOAuthProperties {
 		 */
 		private int maxSize = 1000;
 
+		/**
+		 * 是否在Token即将过期前于后台提前刷新，使请求无需等待Token获取
+		 */
+		private boolean backgroundRefresh = true;
+
 		// Getters and Setters
 		public boolean isEnabled() {
 			return enabled;
@@ -210,6 +215,14 @@ public class McpGatewayOAuthProperties {
 			this.maxSize = maxSize;
 		}
 
+		public boolean isBackgroundRefresh() {
+			return backgroundRefresh;
+		}
+
+		public void setBackgroundRefresh(boolean backgroundRefresh) {
+			this.backgroundRefresh = backgroundRefresh;
+		}
+
 	}
 
 	public static class Retry {
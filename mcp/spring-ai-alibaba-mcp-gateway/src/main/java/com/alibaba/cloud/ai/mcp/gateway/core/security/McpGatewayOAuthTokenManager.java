@@ -18,26 +18,41 @@ package com.alibaba.cloud.ai.mcp.gateway.core.security;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * OAuth Token管理器 负责Token的获取、缓存和刷新
+ * <p>
+ * 同一时刻只会有一个Token请求发往OAuth服务端，并发的调用方共享其结果；开启缓存时会在Token即将过期前于后台刷新。
  */
-public class McpGatewayOAuthTokenManager {
+public class McpGatewayOAuthTokenManager implements AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpGatewayOAuthTokenManager.class);
 
+	public static final String REFRESH_METER_NAME = "spring.ai.alibaba.mcp.gateway.oauth.token.refresh";
+
 	private final WebClient webClient;
 
 	private final McpGatewayOAuthProperties oauthProperties;
@@ -46,13 +61,43 @@ public class McpGatewayOAuthTokenManager {
 
 	private volatile CachedToken cachedToken;
 
+	// 正在进行的Token请求，并发调用方共享
+	private final AtomicReference<Mono<String>> inflightFetch = new AtomicReference<>();
+
+	private final ScheduledExecutorService refreshScheduler;
+
+	private ScheduledFuture<?> scheduledRefresh;
+
+	private final Timer refreshSuccess;
+
+	private final Timer refreshFailure;
+
 	private final static Integer DEFAULT_EXPIRED_TIME = 3600;
 
 	public McpGatewayOAuthTokenManager(WebClient.Builder webClientBuilder, McpGatewayOAuthProperties oauthProperties) {
+		this(webClientBuilder, oauthProperties, Metrics.globalRegistry);
+	}
+
+	public McpGatewayOAuthTokenManager(WebClient.Builder webClientBuilder, McpGatewayOAuthProperties oauthProperties,
+			MeterRegistry meterRegistry) {
+		Assert.notNull(meterRegistry, "meterRegistry cannot be null");
 		this.webClient = webClientBuilder.build();
 		this.oauthProperties = oauthProperties;
 		this.objectMapper = new ObjectMapper();
 		this.cachedToken = null;
+		this.refreshSuccess = Timer.builder(REFRESH_METER_NAME).tag("outcome", "success").register(meterRegistry);
+		this.refreshFailure = Timer.builder(REFRESH_METER_NAME).tag("outcome", "failure").register(meterRegistry);
+		if (oauthProperties.isEnabled() && oauthProperties.getTokenCache().isEnabled()
+				&& oauthProperties.getTokenCache().isBackgroundRefresh()) {
+			this.refreshScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "mcp-gateway-oauth-token-refresh");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		else {
+			this.refreshScheduler = null;
+		}
 	}
 
 	/**
@@ -63,19 +108,46 @@ public class McpGatewayOAuthTokenManager {
 			return Mono.empty();
 		}
 
-		return Mono.fromCallable(() -> {
-			// 检查缓存
-			if (oauthProperties.getTokenCache().isEnabled()) {
-				if (cachedToken != null && !isTokenExpiring(cachedToken)) {
-					logger.debug("使用缓存的token");
-					return cachedToken.getAccessToken();
+		// 检查缓存
+		CachedToken token = cachedToken;
+		if (oauthProperties.getTokenCache().isEnabled() && token != null && !isTokenExpiring(token)) {
+			logger.debug("使用缓存的token");
+			return Mono.just(token.getAccessToken());
+		}
+		return fetchTokenShared();
+	}
+
+	/**
+	 * 获取新的访问Token，已有请求在进行时复用其结果而不再发起新的请求
+	 */
+	private Mono<String> fetchTokenShared() {
+		return Mono.defer(() -> {
+			while (true) {
+				Mono<String> inflight = inflightFetch.get();
+				if (inflight != null) {
+					return inflight;
+				}
+				Sinks.One<String> sink = Sinks.one();
+				Mono<String> shared = sink.asMono();
+				if (inflightFetch.compareAndSet(null, shared)) {
+					long start = System.nanoTime();
+					// 请求不随调用方取消，其他等待方仍需要结果
+					fetchNewToken().subscribe(token -> {
+						refreshSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+						inflightFetch.compareAndSet(shared, null);
+						sink.tryEmitValue(token);
+					}, error -> {
+						refreshFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+						inflightFetch.compareAndSet(shared, null);
+						sink.tryEmitError(error);
+					}, () -> {
+						inflightFetch.compareAndSet(shared, null);
+						sink.tryEmitEmpty();
+					});
+					return shared;
 				}
 			}
-			return null;
-		}).onErrorResume(throwable -> {
-			logger.error("获取访问token失败", throwable);
-			return Mono.empty();
-		}).switchIfEmpty(fetchNewToken());
+		});
 	}
 
 	/**
@@ -131,6 +203,7 @@ public class McpGatewayOAuthTokenManager {
 							.plusSeconds(tokenResponse.getExpiresIn() != null ? tokenResponse.getExpiresIn() : DEFAULT_EXPIRED_TIME),
 						tokenResponse.getTokenType());
 				logger.debug("缓存访问token");
+				scheduleRefresh(cachedToken);
 			}
 
 			return tokenResponse.getAccessToken();
@@ -155,6 +228,54 @@ public class McpGatewayOAuthTokenManager {
 		return Instant.now().isAfter(refreshThreshold);
 	}
 
+	/**
+	 * 在Token被判定为即将过期之前安排后台刷新
+	 */
+	private synchronized void scheduleRefresh(CachedToken token) {
+		if (refreshScheduler == null || refreshScheduler.isShutdown() || token.getExpiresAt() == null) {
+			return;
+		}
+		Duration untilExpiring = Duration.between(Instant.now(),
+				token.getExpiresAt().minus(oauthProperties.getTokenCache().getRefreshBeforeExpiry()));
+		if (untilExpiring.isNegative() || untilExpiring.isZero()) {
+			// 有效期短于提前刷新时间，交由请求时获取
+			return;
+		}
+		// 留出十分之一的余量，保证新Token在旧Token被判定过期前就绪
+		schedule(untilExpiring.minus(untilExpiring.dividedBy(10)), token);
+	}
+
+	private synchronized void schedule(Duration delay, CachedToken token) {
+		if (scheduledRefresh != null) {
+			scheduledRefresh.cancel(false);
+		}
+		scheduledRefresh = refreshScheduler.schedule(() -> backgroundRefresh(token), delay.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	private void backgroundRefresh(CachedToken token) {
+		if (cachedToken != token) {
+			// Token已被替换或清除，新的Token会重新安排刷新
+			return;
+		}
+		logger.debug("后台刷新访问token");
+		fetchTokenShared().subscribe(accessToken -> {
+		}, error -> {
+			Duration backoff = oauthProperties.getRetry().getBackoff();
+			if (cachedToken == token && Instant.now().plus(backoff).isBefore(token.getExpiresAt())) {
+				logger.warn("后台刷新访问token失败，{} 后重试: {}", backoff, error.getMessage());
+				synchronized (this) {
+					if (!refreshScheduler.isShutdown()) {
+						schedule(backoff, token);
+					}
+				}
+			}
+			else {
+				logger.warn("后台刷新访问token失败: {}", error.getMessage());
+			}
+		});
+	}
+
 	/**
 	 * 强制刷新访问Token
 	 */
@@ -169,7 +290,7 @@ public class McpGatewayOAuthTokenManager {
 		clearCachedToken();
 
 		// 获取新的token
-		return fetchNewToken();
+		return fetchTokenShared();
 	}
 
 	/**
@@ -185,6 +306,16 @@ public class McpGatewayOAuthTokenManager {
 		}
 	}
 
+	/**
+	 * 停止后台刷新
+	 */
+	@Override
+	public synchronized void close() {
+		if (refreshScheduler != null) {
+			refreshScheduler.shutdownNow();
+		}
+	}
+
 	/**
 	 * Token响应信息
 	 */
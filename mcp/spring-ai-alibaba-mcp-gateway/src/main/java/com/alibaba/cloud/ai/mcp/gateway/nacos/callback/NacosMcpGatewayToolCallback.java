@@ -53,7 +53,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.definition.ToolDefinition;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.lang.NonNull;
 import org.springframework.util.CollectionUtils;
@@ -65,6 +64,8 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -75,7 +76,7 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
 
     private static final Logger logger = LoggerFactory.getLogger(NacosMcpGatewayToolCallback.class);
 
-    private static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\{\\{\\s*(\\.(?:[\\w]+(?:\\.[\\w]+)*)?)\\s*\\}\\}");
+    private static final int MAX_CACHED_WEB_CLIENTS = 64;
 
     // Match {{ ${nacos.dataId/group} }} or {{ ${nacos.dataId/group}.key1.key2 }}
     private static final Pattern NACOS_TEMPLATE_PATTERN = Pattern
@@ -101,6 +102,17 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
 
     private final WebClient.Builder webClientBuilder;
 
+    /**
+     * WebClients of the endpoints this tool has called, keyed by base url. Cleared when it
+     * grows beyond {@link #MAX_CACHED_WEB_CLIENTS} as endpoints come and go.
+     */
+    private final Map<String, WebClient> webClients = new ConcurrentHashMap<>();
+
+    /**
+     * Execution plan compiled from the json-go-template of the current tool version.
+     */
+    private volatile NacosMcpGatewayToolPlan plan;
+
     /**
      * Instantiates a new Nacos mcp gateway tool callback.
      *
@@ -138,43 +150,45 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     }
 
     /**
-     * Process tool request
+     * Get the execution plan of the json-go-template, compiling it when the tool has no
+     * plan yet or the template or version changed.
      */
-    private Mono<String> processToolRequest(String configJson, Map<String, Object> args, String baseUrl) {
-        try {
-            JsonNode toolConfig = objectMapper.readTree(configJson);
-            logger.info("[processToolRequest] toolConfig: {} args: {} baseUrl: {}", toolConfig, args, baseUrl);
-
-            // Validate configuration integrity
-            if (toolConfig == null || toolConfig.isEmpty()) {
-                return Mono.error(new IllegalArgumentException("Tool configuration is empty or invalid"));
+    private NacosMcpGatewayToolPlan getPlan(Object jsonGoTemplate) {
+        NacosMcpGatewayToolPlan current = this.plan;
+        String version = this.toolDefinition.getVersion();
+        if (current == null || !current.isCompiledFrom(jsonGoTemplate, version)) {
+            current = NacosMcpGatewayToolPlan.compile(jsonGoTemplate, version, objectMapper);
+            this.plan = current;
+            if (logger.isDebugEnabled()) {
+                logger.debug("[getPlan] compiled tool: {} version: {} template: {}", this.toolDefinition.name(),
+                        version, JacksonUtils.toJson(jsonGoTemplate));
             }
+        }
+        return current;
+    }
 
-            JsonNode requestTemplate = toolConfig.path("requestTemplate");
-            JsonNode argsPosition = toolConfig.path("argsPosition");
-            String url = requestTemplate.path("url").asText();
-            String method = requestTemplate.path("method").asText();
-            logger.info("[processToolRequest] requestTemplate: {} url: {} method: {}", requestTemplate, url, method);
-
-            // Check URL and method
-            if (url.isEmpty() || method.isEmpty()) {
-                return Mono.error(new IllegalArgumentException("URL and method are required in requestTemplate"));
-            }
-
-            // Validate HTTP method
-            try {
-                HttpMethod.valueOf(method.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                return Mono.error(new IllegalArgumentException("Invalid HTTP method: " + method));
+    private WebClient getWebClient(String baseUrl) {
+        WebClient client = webClients.get(baseUrl);
+        if (client == null) {
+            if (webClients.size() >= MAX_CACHED_WEB_CLIENTS) {
+                webClients.clear();
             }
+            client = webClients.computeIfAbsent(baseUrl, url -> webClientBuilder.clone().baseUrl(url).build());
+        }
+        return client;
+    }
 
-            // Create WebClient
+    /**
+     * Process tool request
+     */
+    private Mono<String> processToolRequest(NacosMcpGatewayToolPlan plan, Map<String, Object> args, String baseUrl) {
+        try {
+            logger.debug("[processToolRequest] args: {} baseUrl: {}", args, baseUrl);
             baseUrl = baseUrl != null ? baseUrl : "http://localhost";
-            WebClient client = webClientBuilder.baseUrl(baseUrl).build();
+            WebClient client = getWebClient(baseUrl);
 
             // Build and execute request
-            return buildAndExecuteRequest(client, requestTemplate, argsPosition, toolConfig.path("responseTemplate"),
-                    args, baseUrl)
+            return buildAndExecuteRequest(client, plan, args, baseUrl)
                     .onErrorResume(e -> {
                         logger.error("Failed to execute tool request:", e);
                         return Mono.error(new RuntimeException("Tool execution failed: " + e.getMessage(), e));
@@ -188,31 +202,26 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     /**
      * Build and execute WebClient request
      */
-    private Mono<String> buildAndExecuteRequest(WebClient client, JsonNode requestTemplate, JsonNode argsPosition,
-                                                JsonNode responseTemplate, Map<String, Object> args, String baseUrl) {
-
-        RequestTemplateInfo info = RequestTemplateParser.parseRequestTemplate(requestTemplate, argsPosition);
-        String url = info.url;
-        String method = info.method;
-        HttpMethod httpMethod = HttpMethod.valueOf(method.toUpperCase());
-
-        // Process path parameters in URL
-        String processingUrl = RequestTemplateParser.addPathVariables(url, info, args);
-        Map<String, Object> params = new HashMap<>();
-        params.put("args", args);
-        params.put("extendedData", "");
-        String processedUrl = processTemplateString(processingUrl, params);
-        logger.info("[buildAndExecuteRequest] original url template: {} processed url: {}", url, processedUrl);
+    private Mono<String> buildAndExecuteRequest(WebClient client, NacosMcpGatewayToolPlan plan,
+                                                Map<String, Object> args, String baseUrl) {
+
+        RequestTemplateInfo info = plan.requestTemplate();
+        BiFunction<String, Map<String, Object>, String> templateProcessor = (template, params) -> renderTemplate(
+                plan.template(template), params);
+
+        // Process path parameters and templates in URL
+        String processedUrl = renderTemplate(plan.url(), args, "");
+        logger.debug("[buildAndExecuteRequest] original url template: {} processed url: {}", info.url, processedUrl);
 
         String hostFromUrl = extractHostFromUrl(processedUrl);
         String pathOnlyUrl = extractPathFromUrl(processedUrl);
         // Build request
-        WebClient.RequestBodySpec requestBodySpec = client.method(httpMethod)
+        WebClient.RequestBodySpec requestBodySpec = client.method(plan.httpMethod())
                 .uri(builder -> RequestTemplateParser.buildUri(builder, pathOnlyUrl, info, args));
 
         // Add request headers
         MultiValueMap<String, String> headers = RequestTemplateParser.addHeaders(requestBodySpec, info, args,
-                this::processTemplateString);
+                templateProcessor);
 
         if (hostFromUrl != null && !hostFromUrl.isEmpty()) {
             requestBodySpec.header("Host", hostFromUrl);
@@ -220,12 +229,14 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         }
         // Process request body
         WebClient.RequestHeadersSpec<?> headersSpec = RequestTemplateParser.addRequestBody(requestBodySpec, headers,
-                info, args, this::processTemplateString, objectMapper, logger);
+                info, args, templateProcessor, objectMapper, logger);
 
-        // Output final request information
-        String fullUrl = baseUrl.endsWith("/") && pathOnlyUrl.startsWith("/") ? baseUrl + pathOnlyUrl.substring(1)
-                : baseUrl + pathOnlyUrl;
-        logger.info("[buildAndExecuteRequest] final request: method={} url={} args={}", method, fullUrl, args);
+        if (logger.isDebugEnabled()) {
+            String fullUrl = baseUrl.endsWith("/") && pathOnlyUrl.startsWith("/")
+                    ? baseUrl + pathOnlyUrl.substring(1) : baseUrl + pathOnlyUrl;
+            logger.debug("[buildAndExecuteRequest] final request: method={} url={} args={}", info.method, fullUrl,
+                    args);
+        }
 
         return headersSpec.retrieve()
                 .onStatus(HttpStatusCode::is4xxClientError,
@@ -234,8 +245,8 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
                         response -> Mono.error(new RuntimeException("Server error: " + response.statusCode())))
                 .bodyToMono(String.class)
                 .timeout(getTimeoutDuration()) // Use configured timeout
-                .doOnNext(responseBody -> logger.info("[buildAndExecuteRequest] received responseBody: {}", responseBody))
-                .map(responseBody -> processResponse(responseBody, responseTemplate, args))
+                .doOnNext(responseBody -> logger.debug("[buildAndExecuteRequest] received responseBody: {}", responseBody))
+                .map(responseBody -> processResponse(responseBody, plan.responseTemplate(), args))
                 .onErrorResume(e -> {
                     logger.error("[buildAndExecuteRequest] Request failed: {}", e.getMessage(), e);
                     return Mono.error(new RuntimeException("HTTP request failed: " + e.getMessage(), e));
@@ -307,29 +318,21 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
      * Process response
      */
     private String processResponse(String responseBody, JsonNode responseTemplate, Map<String, Object> args) {
-        logger.info("[processResponse] received responseBody: {}", responseBody);
-        String result = null;
-        Map<String, Object> params = new HashMap<>();
-        params.put("args", args);
-        params.put("extendedData", responseBody);
-        if (!responseTemplate.isEmpty()) {
-            if (responseTemplate.has("body") && !responseTemplate.path("body").asText().isEmpty()) {
-                String bodyTemplate = responseTemplate.path("body").asText();
-                // Hand over to ResponseTemplateParser for unified processing
-                result = processTemplateString(bodyTemplate, params);
-                logger.info("[processResponse] ResponseTemplateParser result: {}", result);
-                return result;
-            } else if (responseTemplate.has("prependBody") || responseTemplate.has("appendBody")) {
-                String prependText = responseTemplate.path("prependBody").asText("");
-                String appendText = responseTemplate.path("appendBody").asText("");
-                result = processTemplateString(prependText, params) + responseBody
-                        + processTemplateString(appendText, params);
-                logger.info("[processResponse] prepend/append result: {}", result);
-                return result;
-            }
+        return processResponse(responseBody, NacosMcpGatewayToolPlan.ResponseTemplate.compile(responseTemplate), args);
+    }
+
+    private String processResponse(String responseBody, NacosMcpGatewayToolPlan.ResponseTemplate responseTemplate,
+                                   Map<String, Object> args) {
+        String result;
+        if (responseTemplate.body() != null) {
+            result = renderTemplate(responseTemplate.body(), args, responseBody);
+        } else if (!responseTemplate.isRaw()) {
+            result = renderTemplate(responseTemplate.prepend(), args, responseBody) + responseBody
+                    + renderTemplate(responseTemplate.append(), args, responseBody);
+        } else {
+            result = responseBody;
         }
-        result = responseBody;
-        logger.info("[processResponse] default result: {}", result);
+        logger.debug("[processResponse] result: {}", result);
         return result;
     }
 
@@ -488,118 +491,18 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         }
     }
 
-    private String processTemplateString(String template, Map<String, Object> params) {
-        Map<String, Object> args = (Map<String, Object>) params.get("args");
-        String extendedData = (String) params.get("extendedData");
-        logger.debug("[processTemplateString] template: {} args: {} extendedData: {}", template, args, extendedData);
-        if (template == null || template.isEmpty()) {
-            return "";
-        }
-        Matcher matcher = TEMPLATE_PATTERN.matcher(template);
-        StringBuilder result = new StringBuilder();
-        while (matcher.find()) {
-            // Get full path, e.g. .args.name or .data.key1.key2
-            String fullPath = matcher.group(1);
-            String replacement = resolvePathValue(fullPath, args, extendedData);
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(result);
-        String finalResult = result.toString();
-        finalResult = processNacosConfigRefTemplate(finalResult);
-        logger.debug("[processTemplateString] final result: {}", finalResult);
-
-        return finalResult;
+    @SuppressWarnings("unchecked")
+    private String renderTemplate(NacosMcpGatewayToolPlan.CompiledTemplate template, Map<String, Object> params) {
+        return renderTemplate(template, (Map<String, Object>) params.get("args"), (String) params.get("extendedData"));
     }
 
-    /**
-     * Resolve value by path
-     *
-     * @param fullPath Full path, e.g. .args.name or .data.key1.key2
-     * @param args Parameter data mapping
-     * @param extendedData Extended data (JSON string)
-     * @return Resolved value
-     */
-    private String resolvePathValue(String fullPath, Map<String, Object> args, String extendedData) {
-        if (fullPath == null) {
-            return extendedData != null ? extendedData : "";
-        }
-        // Remove leading dot
-        if (fullPath.startsWith(".")) {
-            fullPath = fullPath.substring(1);
-        }
-        if (StringUtils.isBlank(fullPath)) {
-            return extendedData != null ? extendedData : "";
-        }
-
-        String[] pathParts = fullPath.split("\\.");
-        if (pathParts.length == 0) {
-            return "";
-        }
-
-        // Determine data source
-        Object dataSource;
-        if (pathParts[0].equals("args")) {
-            // Get value from args
-            dataSource = args;
-            // If only args without specific field name
-            if (pathParts.length == 1) {
-                if (args != null && args.size() == 1) {
-                    return String.valueOf(args.values().iterator().next());
-                } else if (args != null && !args.isEmpty()) {
-                    return args.toString();
-                } else {
-                    return "";
-                }
-            }
-        } else {
-            // Get value from extendedData
-            // First parse extendedData string as JSON object
-            try {
-                if (StringUtils.isNoneBlank(extendedData)) {
-                    dataSource = objectMapper.readValue(extendedData, Map.class);
-                } else {
-                    dataSource = null;
-                }
-            } catch (Exception e) {
-                logger.warn("[resolvePathValue] Failed to parse extendedData as JSON: {}", e.getMessage());
-                // If parsing fails, treat extendedData as plain string
-                if (pathParts.length == 1 && fullPath.equals("extendedData")) {
-                    return extendedData != null ? extendedData : "";
-                }
-                return "";
-            }
-
-            // Special handling for direct access to extendedData
-            if (pathParts.length == 1 && fullPath.equals("extendedData")) {
-                return extendedData != null ? extendedData : "";
-            }
+    private String renderTemplate(NacosMcpGatewayToolPlan.CompiledTemplate template, Map<String, Object> args,
+                                  String extendedData) {
+        String result = template.render(args, new NacosMcpGatewayToolPlan.ExtendedData(extendedData, objectMapper));
+        if (result.contains("${nacos.")) {
+            result = processNacosConfigRefTemplate(result);
         }
-
-        // If data source is empty
-        if (dataSource == null) {
-            return "";
-        }
-        // Process nested path
-        Object currentValue = dataSource;
-        int startIndex = pathParts[0].equals("args") ? 1 : 0;
-        // If args, start from index 1; otherwise start from index 0
-
-        for (int i = startIndex; i < pathParts.length; i++) {
-            String key = pathParts[i];
-            if (currentValue instanceof Map) {
-                Map<String, Object> currentMap = (Map<String, Object>) currentValue;
-                currentValue = currentMap.get(key);
-            } else {
-                logger.warn("[resolvePathValue] Cannot access key '{}' from non-map value", key);
-                return "";
-            }
-
-            if (currentValue == null) {
-                logger.warn("[resolvePathValue] Key '{}' not found in nested path", key);
-                return "";
-            }
-        }
-        return currentValue.toString();
+        return result;
     }
 
     @Override
@@ -616,7 +519,9 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
     @SuppressWarnings("unchecked")
     public String call(@NonNull final String input, final ToolContext toolContext) {
         try {
-            logger.info("[call] input: {} toolContext: {}", input, JacksonUtils.toJson(toolContext));
+            if (logger.isDebugEnabled()) {
+                logger.debug("[call] input: {} toolContext: {}", input, JacksonUtils.toJson(toolContext));
+            }
 
             // Parameter validation
             if (this.toolDefinition == null) {
@@ -624,12 +529,11 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
             }
 
             // input parsing
-            logger.info("[call] input string: {}", input);
             Map<String, Object> args = new HashMap<>();
             if (!input.isEmpty()) {
                 try {
                     args = objectMapper.readValue(input, Map.class);
-                    logger.info("[call] parsed args: {}", args);
+                    logger.debug("[call] parsed args: {}", args);
                 } catch (Exception e) {
                     logger.error("[call] Failed to parse input to args", e);
                     // If parsing fails, try to handle as single parameter
@@ -676,7 +580,9 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
             throw new RuntimeException("No available endpoint found for service: " + serviceRef.getServiceName());
         }
 
-        logger.info("Tool callback instance: {}", JacksonUtils.toJson(mcpEndpointInfo));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Tool callback instance: {}", JacksonUtils.toJson(mcpEndpointInfo));
+        }
         McpToolMeta toolMeta = this.toolDefinition.getToolMeta();
         String baseUrl = protocol + "://" + mcpEndpointInfo.getAddress() + ":" + mcpEndpointInfo.getPort();
 
@@ -688,18 +594,15 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
         Map<String, Object> templates = toolMeta.getTemplates();
         if (templates != null && templates.containsKey("json-go-template")) {
             Object jsonGoTemplate = templates.get("json-go-template");
+            NacosMcpGatewayToolPlan plan;
             try {
-                logger.info("[handleHttpHttpsProtocol] json-go-template: {}",
-                        objectMapper.writeValueAsString(jsonGoTemplate));
-            } catch (JsonProcessingException e) {
-                logger.error("[handleHttpHttpsProtocol] Failed to serialize json-go-template", e);
+                plan = getPlan(jsonGoTemplate);
+            } catch (IllegalArgumentException e) {
+                logger.error("Failed to compile tool configuration", e);
+                return "Error: " + e.getMessage();
             }
             try {
-                // Call executeToolRequest
-                String configJson = objectMapper.writeValueAsString(jsonGoTemplate);
-                logger.info("[handleHttpHttpsProtocol] configJson: {} args: {} baseUrl: {}", configJson, args,
-                        baseUrl);
-                return processToolRequest(configJson, args, baseUrl).block();
+                return processToolRequest(plan, args, baseUrl).block();
             } catch (Exception e) {
                 logger.error("Failed to execute tool request", e);
                 return "Error: " + e.getMessage();
@@ -833,6 +736,8 @@ public class NacosMcpGatewayToolCallback implements ToolCallback {
      * Close.
      */
     public void close() {
+        this.plan = null;
+        this.webClients.clear();
 
         for (Map.Entry<String, AbstractListener> entry : nacosConfigListeners.entrySet()) {
             String cacheKey = entry.getKey();
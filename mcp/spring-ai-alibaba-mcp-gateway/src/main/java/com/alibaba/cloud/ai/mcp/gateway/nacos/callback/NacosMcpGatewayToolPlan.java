@@ -0,0 +1,391 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.gateway.nacos.callback;
+
+import com.alibaba.cloud.ai.mcp.gateway.core.jsontemplate.RequestTemplateInfo;
+import com.alibaba.cloud.ai.mcp.gateway.core.jsontemplate.RequestTemplateParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable execution plan of an http/https gateway tool, compiled once from the
+ * {@code json-go-template} of the tool meta. It holds the parsed request template, the
+ * resolved http method and every template string of the tool split into literal and
+ * placeholder segments, so a call only has to fill in the arguments.
+ */
+final class NacosMcpGatewayToolPlan {
+
+	private static final Logger logger = LoggerFactory.getLogger(NacosMcpGatewayToolPlan.class);
+
+	// Match {{ . }}, {{ .args.name }} or {{ .data.key1.key2 }}
+	static final Pattern TEMPLATE_PATTERN = Pattern.compile("\\{\\{\\s*(\\.(?:[\\w]+(?:\\.[\\w]+)*)?)\\s*\\}\\}");
+
+	private final Object source;
+
+	private final String version;
+
+	private final RequestTemplateInfo requestTemplate;
+
+	private final HttpMethod httpMethod;
+
+	private final CompiledTemplate url;
+
+	private final ResponseTemplate responseTemplate;
+
+	private final Map<String, CompiledTemplate> templates;
+
+	private NacosMcpGatewayToolPlan(Object source, String version, RequestTemplateInfo requestTemplate,
+			HttpMethod httpMethod, CompiledTemplate url, ResponseTemplate responseTemplate,
+			Map<String, CompiledTemplate> templates) {
+		this.source = source;
+		this.version = version;
+		this.requestTemplate = requestTemplate;
+		this.httpMethod = httpMethod;
+		this.url = url;
+		this.responseTemplate = responseTemplate;
+		this.templates = templates;
+	}
+
+	/**
+	 * Compile the json-go-template of a tool.
+	 * @param jsonGoTemplate the json-go-template object of the tool meta
+	 * @param version the tool version the template belongs to, may be null
+	 * @param objectMapper the object mapper used to read the template
+	 * @return the compiled plan
+	 * @throws IllegalArgumentException if the template is empty or invalid
+	 */
+	static NacosMcpGatewayToolPlan compile(Object jsonGoTemplate, String version, ObjectMapper objectMapper) {
+		JsonNode toolConfig = objectMapper.valueToTree(jsonGoTemplate);
+		if (toolConfig == null || toolConfig.isEmpty()) {
+			throw new IllegalArgumentException("Tool configuration is empty or invalid");
+		}
+		JsonNode requestTemplate = toolConfig.path("requestTemplate");
+		String url = requestTemplate.path("url").asText();
+		String method = requestTemplate.path("method").asText();
+		if (url.isEmpty() || method.isEmpty()) {
+			throw new IllegalArgumentException("URL and method are required in requestTemplate");
+		}
+		HttpMethod httpMethod;
+		try {
+			httpMethod = HttpMethod.valueOf(method.toUpperCase());
+		}
+		catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid HTTP method: " + method);
+		}
+		RequestTemplateInfo info = RequestTemplateParser.parseRequestTemplate(requestTemplate,
+				toolConfig.path("argsPosition"));
+
+		// Templates handed to RequestTemplateParser are looked up by their source text
+		Map<String, CompiledTemplate> templates = new HashMap<>();
+		if (info.headers != null && info.headers.isArray()) {
+			for (JsonNode header : info.headers) {
+				String value = header.path("value").asText();
+				templates.computeIfAbsent(value, CompiledTemplate::compile);
+			}
+		}
+		if (info.body != null && !info.body.asText().isEmpty()) {
+			templates.computeIfAbsent(info.body.asText(), CompiledTemplate::compile);
+		}
+		return new NacosMcpGatewayToolPlan(jsonGoTemplate, version, info, httpMethod,
+				CompiledTemplate.compileUrl(url, info.argsPosition),
+				ResponseTemplate.compile(toolConfig.path("responseTemplate")), Collections.unmodifiableMap(templates));
+	}
+
+	/**
+	 * Whether this plan was compiled from the given template and version.
+	 */
+	boolean isCompiledFrom(Object jsonGoTemplate, String version) {
+		return this.source == jsonGoTemplate && StringUtils.equals(this.version, version);
+	}
+
+	RequestTemplateInfo requestTemplate() {
+		return requestTemplate;
+	}
+
+	HttpMethod httpMethod() {
+		return httpMethod;
+	}
+
+	CompiledTemplate url() {
+		return url;
+	}
+
+	ResponseTemplate responseTemplate() {
+		return responseTemplate;
+	}
+
+	/**
+	 * The compiled form of a template string of this tool. Unknown strings are compiled
+	 * on the fly and not cached.
+	 */
+	CompiledTemplate template(String source) {
+		CompiledTemplate template = templates.get(source);
+		return template != null ? template : CompiledTemplate.compile(source);
+	}
+
+	/**
+	 * Resolve a template path against the call arguments or the extended data.
+	 * @param path path segments without the leading dot, empty for {@code {{.}}}
+	 * @param args call arguments
+	 * @param extendedData extended data of the call
+	 * @return resolved value, never null
+	 */
+	static String resolvePath(String[] path, Map<String, Object> args, ExtendedData extendedData) {
+		if (path.length == 0) {
+			return extendedData.raw();
+		}
+
+		Object dataSource;
+		if (path[0].equals("args")) {
+			// If only args without specific field name
+			if (path.length == 1) {
+				if (args != null && args.size() == 1) {
+					return String.valueOf(args.values().iterator().next());
+				}
+				else if (args != null && !args.isEmpty()) {
+					return args.toString();
+				}
+				return "";
+			}
+			dataSource = args;
+		}
+		else {
+			if (path.length == 1 && path[0].equals("extendedData")) {
+				return extendedData.raw();
+			}
+			dataSource = extendedData.json();
+		}
+
+		if (dataSource == null) {
+			return "";
+		}
+		Object currentValue = dataSource;
+		for (int i = path[0].equals("args") ? 1 : 0; i < path.length; i++) {
+			if (!(currentValue instanceof Map<?, ?> currentMap)) {
+				logger.warn("[resolvePathValue] Cannot access key '{}' from non-map value", path[i]);
+				return "";
+			}
+			currentValue = currentMap.get(path[i]);
+			if (currentValue == null) {
+				logger.warn("[resolvePathValue] Key '{}' not found in nested path", path[i]);
+				return "";
+			}
+		}
+		return currentValue.toString();
+	}
+
+	/**
+	 * Extended data of a template rendering, read as JSON at most once.
+	 */
+	static final class ExtendedData {
+
+		private static final Object NOT_JSON = new Object();
+
+		private final String raw;
+
+		private final ObjectMapper objectMapper;
+
+		private Object json;
+
+		ExtendedData(String raw, ObjectMapper objectMapper) {
+			this.raw = raw;
+			this.objectMapper = objectMapper;
+		}
+
+		String raw() {
+			return raw != null ? raw : "";
+		}
+
+		Object json() {
+			if (json == null) {
+				if (StringUtils.isBlank(raw)) {
+					json = NOT_JSON;
+				}
+				else {
+					try {
+						json = objectMapper.readValue(raw, Map.class);
+					}
+					catch (Exception e) {
+						logger.warn("[resolvePathValue] Failed to parse extendedData as JSON: {}", e.getMessage());
+						json = NOT_JSON;
+					}
+				}
+			}
+			return json != NOT_JSON ? json : null;
+		}
+
+	}
+
+	/**
+	 * A template string split into literal text, {@code {{ .path }}} placeholders and,
+	 * for the request url, {@code {name}} path variables.
+	 */
+	static final class CompiledTemplate {
+
+		private static final CompiledTemplate EMPTY = new CompiledTemplate(List.of());
+
+		private final Object[] segments;
+
+		private CompiledTemplate(List<Object> segments) {
+			this.segments = segments.toArray();
+		}
+
+		static CompiledTemplate compile(String template) {
+			if (template == null || template.isEmpty()) {
+				return EMPTY;
+			}
+			List<Object> segments = new ArrayList<>();
+			tokenize(template, segments, null);
+			return new CompiledTemplate(segments);
+		}
+
+		static CompiledTemplate compileUrl(String url, JsonNode argsPosition) {
+			List<Object> segments = new ArrayList<>();
+			tokenize(url, segments, argsPosition);
+			return new CompiledTemplate(segments);
+		}
+
+		private static void tokenize(String template, List<Object> segments, JsonNode argsPosition) {
+			Matcher matcher = TEMPLATE_PATTERN.matcher(template);
+			int last = 0;
+			while (matcher.find()) {
+				addText(template.substring(last, matcher.start()), segments, argsPosition);
+				String fullPath = matcher.group(1).substring(1);
+				segments.add(fullPath.isEmpty() ? new String[0] : fullPath.split("\\."));
+				last = matcher.end();
+			}
+			addText(template.substring(last), segments, argsPosition);
+		}
+
+		private static void addText(String text, List<Object> segments, JsonNode argsPosition) {
+			if (argsPosition != null) {
+				Matcher matcher = RequestTemplateParser.PATH_VARIABLES_PATTERN.matcher(text);
+				int last = 0;
+				while (matcher.find()) {
+					String name = matcher.group(1);
+					if ("path".equals(argsPosition.path(name).asText())) {
+						addText(text.substring(last, matcher.start()), segments, null);
+						segments.add(new PathVariable(name, matcher.group(0)));
+						last = matcher.end();
+					}
+				}
+				text = text.substring(last);
+			}
+			if (!text.isEmpty()) {
+				segments.add(text);
+			}
+		}
+
+		/**
+		 * Render the template.
+		 * @param args call arguments
+		 * @param extendedData extended data of the call
+		 * @return rendered string, before Nacos config references are resolved
+		 */
+		String render(Map<String, Object> args, ExtendedData extendedData) {
+			if (segments.length == 1 && segments[0] instanceof String text) {
+				return text;
+			}
+			StringBuilder result = new StringBuilder();
+			for (Object segment : segments) {
+				if (segment instanceof String text) {
+					result.append(text);
+				}
+				else if (segment instanceof String[] path) {
+					result.append(resolvePath(path, args, extendedData));
+				}
+				else {
+					PathVariable variable = (PathVariable) segment;
+					Object value = args != null ? args.get(variable.name()) : null;
+					result.append(value != null ? value.toString() : variable.raw());
+				}
+			}
+			return result.toString();
+		}
+
+	}
+
+	private record PathVariable(String name, String raw) {
+	}
+
+	/**
+	 * The compiled {@code responseTemplate}: a body template, prepend and append
+	 * templates around the raw response, or the raw response.
+	 */
+	static final class ResponseTemplate {
+
+		private static final ResponseTemplate RAW = new ResponseTemplate(null, null, null);
+
+		private final CompiledTemplate body;
+
+		private final CompiledTemplate prepend;
+
+		private final CompiledTemplate append;
+
+		private ResponseTemplate(CompiledTemplate body, CompiledTemplate prepend, CompiledTemplate append) {
+			this.body = body;
+			this.prepend = prepend;
+			this.append = append;
+		}
+
+		static ResponseTemplate compile(JsonNode responseTemplate) {
+			if (responseTemplate == null || responseTemplate.isEmpty()) {
+				return RAW;
+			}
+			if (responseTemplate.has("body") && !responseTemplate.path("body").asText().isEmpty()) {
+				return new ResponseTemplate(CompiledTemplate.compile(responseTemplate.path("body").asText()), null,
+						null);
+			}
+			if (responseTemplate.has("prependBody") || responseTemplate.has("appendBody")) {
+				return new ResponseTemplate(null,
+						CompiledTemplate.compile(responseTemplate.path("prependBody").asText("")),
+						CompiledTemplate.compile(responseTemplate.path("appendBody").asText("")));
+			}
+			return RAW;
+		}
+
+		CompiledTemplate body() {
+			return body;
+		}
+
+		CompiledTemplate prepend() {
+			return prepend;
+		}
+
+		CompiledTemplate append() {
+			return append;
+		}
+
+		boolean isRaw() {
+			return this == RAW;
+		}
+
+	}
+
+}
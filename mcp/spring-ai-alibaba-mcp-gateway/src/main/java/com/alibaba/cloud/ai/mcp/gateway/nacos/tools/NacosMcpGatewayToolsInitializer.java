@@ -115,6 +115,8 @@ public class NacosMcpGatewayToolsInitializer implements McpGatewayToolsInitializ
 					NacosMcpGatewayToolDefinition toolDefinition = NacosMcpGatewayToolDefinition.builder()
 						.name(mcpServerDetailInfo.getName() + "_tools_" + toolName)
 						.description(toolDescription)
+						.version(mcpServerDetailInfo.getVersionDetail() != null
+								? mcpServerDetailInfo.getVersionDetail().getVersion() : null)
 						.inputSchema(inputSchema)
 						.protocol(protocol)
 						.remoteServerConfig(mcpServerRemoteServiceConfig)
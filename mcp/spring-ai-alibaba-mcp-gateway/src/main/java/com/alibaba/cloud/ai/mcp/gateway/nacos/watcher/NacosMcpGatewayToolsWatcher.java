@@ -255,7 +255,7 @@ public class NacosMcpGatewayToolsWatcher extends AbstractMcpGatewayToolsWatcher
 				Map<String, McpToolMeta> toolsMeta = toolSpec.getToolsMeta();
 				for (McpTool tool : tools) {
 					if (!needToUpdateTools.contains(tool.getName())) {
-						return;
+						continue;
 					}
 					String toolName = tool.getName();
 					String toolDescription = tool.getDescription();
@@ -264,6 +264,8 @@ public class NacosMcpGatewayToolsWatcher extends AbstractMcpGatewayToolsWatcher
 					NacosMcpGatewayToolDefinition toolDefinition = NacosMcpGatewayToolDefinition.builder()
 						.name(mcpServerDetail.getName() + "_tools_" + toolName)
 						.description(toolDescription)
+						.version(mcpServerDetail.getVersionDetail() != null
+								? mcpServerDetail.getVersionDetail().getVersion() : null)
 						.inputSchema(inputSchema)
 						.protocol(protocol)
 						.remoteServerConfig(remoteServerConfig)
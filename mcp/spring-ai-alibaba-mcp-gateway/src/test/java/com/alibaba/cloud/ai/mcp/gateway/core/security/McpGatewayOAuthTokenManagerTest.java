@@ -0,0 +1,167 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.mcp.gateway.core.security;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class McpGatewayOAuthTokenManagerTest {
+
+	private final AtomicInteger tokenRequests = new AtomicInteger();
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private volatile CountDownLatch release = new CountDownLatch(0);
+
+	private volatile int status = 200;
+
+	private volatile long expiresIn = 3600;
+
+	private HttpServer server;
+
+	private McpGatewayOAuthTokenManager tokenManager;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/oauth/token", exchange -> {
+			exchange.getRequestBody().readAllBytes();
+			int request = tokenRequests.incrementAndGet();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = ("{\"access_token\":\"token-" + request + "\",\"expires_in\":" + expiresIn
+					+ ",\"token_type\":\"Bearer\"}")
+				.getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(status, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		server.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (tokenManager != null) {
+			tokenManager.close();
+		}
+		server.stop(0);
+	}
+
+	@Test
+	void concurrentCallersShareOneTokenRequest() throws Exception {
+		release = new CountDownLatch(1);
+		tokenManager = tokenManager(Duration.ofMinutes(5));
+
+		List<CompletableFuture<String>> callers = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			callers.add(tokenManager.getAccessToken().toFuture());
+		}
+		waitFor(() -> tokenRequests.get() == 1);
+		release.countDown();
+
+		for (CompletableFuture<String> caller : callers) {
+			assertEquals("token-1", caller.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, tokenRequests.get());
+		assertEquals("token-1", tokenManager.getAccessToken().block());
+		assertEquals(1, tokenRequests.get());
+		assertEquals(1, meterRegistry.get(McpGatewayOAuthTokenManager.REFRESH_METER_NAME)
+			.tag("outcome", "success")
+			.timer()
+			.count());
+	}
+
+	@Test
+	void backgroundRefreshRenewsTheTokenBeforeItExpires() {
+		expiresIn = 3;
+		tokenManager = tokenManager(Duration.ofSeconds(1));
+
+		assertEquals("token-1", tokenManager.getAccessToken().block());
+		waitFor(() -> tokenRequests.get() == 2);
+
+		waitFor(() -> "token-2".equals(tokenManager.getAccessToken().block()));
+		assertEquals(2, tokenRequests.get());
+	}
+
+	@Test
+	void failedRequestIsRecordedAndNotShared() {
+		status = 500;
+		tokenManager = tokenManager(Duration.ofMinutes(5));
+
+		assertThrows(RuntimeException.class, () -> tokenManager.getAccessToken().block());
+		assertEquals(1, meterRegistry.get(McpGatewayOAuthTokenManager.REFRESH_METER_NAME)
+			.tag("outcome", "failure")
+			.timer()
+			.count());
+
+		status = 200;
+		assertEquals("token-2", tokenManager.getAccessToken().block());
+	}
+
+	private McpGatewayOAuthTokenManager tokenManager(Duration refreshBeforeExpiry) {
+		McpGatewayOAuthProperties properties = new McpGatewayOAuthProperties();
+		properties.setEnabled(true);
+		properties.getProvider().setClientId("client");
+		properties.getProvider().setClientSecret("secret");
+		properties.getProvider().setTokenUri("http://127.0.0.1:" + server.getAddress().getPort() + "/oauth/token");
+		properties.getTokenCache().setRefreshBeforeExpiry(refreshBeforeExpiry);
+		properties.getRetry().setMaxAttempts(1);
+		return new McpGatewayOAuthTokenManager(WebClient.builder(), properties, meterRegistry);
+	}
+
+	private static void waitFor(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not met in time");
+			try {
+				Thread.sleep(20);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+}
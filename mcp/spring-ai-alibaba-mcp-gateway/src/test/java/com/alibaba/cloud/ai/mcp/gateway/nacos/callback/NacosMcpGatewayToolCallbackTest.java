@@ -19,10 +19,14 @@ package com.alibaba.cloud.ai.mcp.gateway.nacos.callback;
 import com.alibaba.cloud.ai.mcp.gateway.core.utils.SpringBeanUtils;
 import com.alibaba.cloud.ai.mcp.gateway.nacos.definition.NacosMcpGatewayToolDefinition;
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
+import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerRemoteServiceConfig;
+import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
+import com.alibaba.nacos.api.ai.model.mcp.McpToolMeta;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -30,11 +34,18 @@ import org.mockito.Mockito;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  * Tests for NacosMcpGatewayToolCallback response template processing
@@ -46,17 +57,25 @@ class NacosMcpGatewayToolCallbackTest {
 
 	private final ObjectMapper objectMapper = new ObjectMapper();
 
+	private HttpServer server;
+
+	private NacosMcpOperationService operationService;
+
 	@BeforeEach
 	void setUp() {
 		applicationContext = new GenericApplicationContext();
 		applicationContext.registerBean(WebClient.Builder.class, WebClient::builder);
-		applicationContext.registerBean(NacosMcpOperationService.class, () -> Mockito.mock(NacosMcpOperationService.class));
+		operationService = Mockito.mock(NacosMcpOperationService.class);
+		applicationContext.registerBean(NacosMcpOperationService.class, () -> operationService);
 		applicationContext.refresh();
 		SpringBeanUtils.getInstance().setApplicationContext(applicationContext);
 	}
 
 	@AfterEach
 	void tearDown() {
+		if (server != null) {
+			server.stop(0);
+		}
 		if (applicationContext != null) {
 			applicationContext.close();
 		}
@@ -88,4 +107,60 @@ class NacosMcpGatewayToolCallbackTest {
 		assertEquals(response, result);
 	}
 
+	@Test
+	void httpToolCompilesItsTemplateOnceAndRendersEveryCall() throws Exception {
+		List<String> requests = new CopyOnWriteArrayList<>();
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/", exchange -> {
+			requests.add(exchange.getRequestURI() + " " + exchange.getRequestHeaders().getFirst("X-City"));
+			byte[] body = "{\"temp\":20.5}".getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+			exchange.close();
+		});
+		server.start();
+
+		McpEndpointInfo endpoint = new McpEndpointInfo();
+		endpoint.setAddress("127.0.0.1");
+		endpoint.setPort(server.getAddress().getPort());
+		Mockito.when(operationService.selectEndpoint(Mockito.any())).thenReturn(endpoint);
+
+		Map<String, Object> jsonGoTemplate = objectMapper.readValue("""
+				{"requestTemplate":{"url":"/weather/{city}","method":"GET",
+				"headers":[{"key":"X-City","value":"{{ .args.city }}"}]},
+				"argsPosition":{"city":"path","unit":"query"},
+				"responseTemplate":{"body":"{{.args.city}}: {{.temp}} {{.args.unit}}"}}
+				""", Map.class);
+		McpToolMeta toolMeta = new McpToolMeta();
+		toolMeta.setTemplates(Map.of("json-go-template", jsonGoTemplate));
+		McpServerRemoteServiceConfig remoteServerConfig = new McpServerRemoteServiceConfig();
+		remoteServerConfig.setServiceRef(new McpServiceRef());
+		NacosMcpGatewayToolDefinition definition = NacosMcpGatewayToolDefinition.builder()
+			.name("weather_tools_query")
+			.description("query weather")
+			.inputSchema(Map.of())
+			.version("1.0.0")
+			.protocol("http")
+			.remoteServerConfig(remoteServerConfig)
+			.toolsMeta(toolMeta)
+			.build();
+
+		NacosMcpGatewayToolCallback callback = new NacosMcpGatewayToolCallback(definition);
+		assertEquals("hangzhou: 20.5 C", callback.call("{\"city\":\"hangzhou\",\"unit\":\"C\"}"));
+		Object plan = plan(callback);
+		assertEquals("beijing: 20.5 F", callback.call("{\"city\":\"beijing\",\"unit\":\"F\"}"));
+		assertSame(plan, plan(callback));
+		assertEquals(List.of("/weather/hangzhou?unit=C hangzhou", "/weather/beijing?unit=F beijing"), requests);
+
+		definition.setVersion("1.0.1");
+		callback.call("{\"city\":\"hangzhou\",\"unit\":\"C\"}");
+		assertNotSame(plan, plan(callback));
+	}
+
+	private static Object plan(NacosMcpGatewayToolCallback callback) throws Exception {
+		Field field = NacosMcpGatewayToolCallback.class.getDeclaredField("plan");
+		field.setAccessible(true);
+		return field.get(callback);
+	}
+
 }
@@ -17,9 +17,11 @@
 
 package com.alibaba.cloud.ai.mcp.router.config;
 
+import com.alibaba.cloud.ai.mcp.router.core.McpClientSessionPool;
 import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -78,4 +80,112 @@ public class McpRouterProperties {
 		this.discoveryOrder = discoveryOrder;
 	}
 
+	/**
+	 * MCP client session pool used to call tools on MCP servers
+	 */
+	private SessionPool sessionPool = new SessionPool();
+
+	public SessionPool getSessionPool() {
+		return sessionPool;
+	}
+
+	public void setSessionPool(SessionPool sessionPool) {
+		this.sessionPool = sessionPool;
+	}
+
+	public static class SessionPool {
+
+		/**
+		 * 每个端点的最大会话数
+		 */
+		private int maxSessionsPerEndpoint = McpClientSessionPool.DEFAULT_MAX_SESSIONS_PER_ENDPOINT;
+
+		/**
+		 * 空闲超过该时长的会话被关闭
+		 */
+		private Duration maxIdleTime = McpClientSessionPool.DEFAULT_MAX_IDLE_TIME;
+
+		/**
+		 * 后台回收空闲会话和 ping 的间隔，0 关闭后台任务
+		 */
+		private Duration healthCheckInterval = McpClientSessionPool.DEFAULT_HEALTH_CHECK_INTERVAL;
+
+		/**
+		 * 会话全部借出时等待归还的最长时间
+		 */
+		private Duration acquireTimeout = McpClientSessionPool.DEFAULT_ACQUIRE_TIMEOUT;
+
+		/**
+		 * 后台 ping 等待响应的最长时间
+		 */
+		private Duration pingTimeout = McpClientSessionPool.DEFAULT_PING_TIMEOUT;
+
+		/**
+		 * 建立会话失败后的首次退避时间，之后每次失败翻倍
+		 */
+		private Duration initialBackoff = McpClientSessionPool.DEFAULT_INITIAL_BACKOFF;
+
+		/**
+		 * 最长退避时间
+		 */
+		private Duration maxBackoff = McpClientSessionPool.DEFAULT_MAX_BACKOFF;
+
+		public int getMaxSessionsPerEndpoint() {
+			return maxSessionsPerEndpoint;
+		}
+
+		public void setMaxSessionsPerEndpoint(int maxSessionsPerEndpoint) {
+			this.maxSessionsPerEndpoint = maxSessionsPerEndpoint;
+		}
+
+		public Duration getMaxIdleTime() {
+			return maxIdleTime;
+		}
+
+		public void setMaxIdleTime(Duration maxIdleTime) {
+			this.maxIdleTime = maxIdleTime;
+		}
+
+		public Duration getHealthCheckInterval() {
+			return healthCheckInterval;
+		}
+
+		public void setHealthCheckInterval(Duration healthCheckInterval) {
+			this.healthCheckInterval = healthCheckInterval;
+		}
+
+		public Duration getAcquireTimeout() {
+			return acquireTimeout;
+		}
+
+		public void setAcquireTimeout(Duration acquireTimeout) {
+			this.acquireTimeout = acquireTimeout;
+		}
+
+		public Duration getPingTimeout() {
+			return pingTimeout;
+		}
+
+		public void setPingTimeout(Duration pingTimeout) {
+			this.pingTimeout = pingTimeout;
+		}
+
+		public Duration getInitialBackoff() {
+			return initialBackoff;
+		}
+
+		public void setInitialBackoff(Duration initialBackoff) {
+			this.initialBackoff = initialBackoff;
+		}
+
+		public Duration getMaxBackoff() {
+			return maxBackoff;
+		}
+
+		public void setMaxBackoff(Duration maxBackoff) {
+			this.maxBackoff = maxBackoff;
+		}
+
+	}
+
 }
@@ -0,0 +1,553 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
+import io.modelcontextprotocol.spec.McpError;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * 按端点复用已初始化的 MCP 客户端会话
+ * <p>
+ * 每次调用从端点的空闲会话中借出一个，调用结束后归还，会话只在首次使用或被回收后才重新建立 SSE 连接并初始化， 因此热调用只需要一次请求。
+ * <ul>
+ * <li>每个端点最多 {@code maxSessionsPerEndpoint} 个会话，全部借出时等待归还，超过 {@code acquireTimeout} 失败</li>
+ * <li>后台任务按 {@code healthCheckInterval} 关闭空闲超过 {@code maxIdleTime} 的会话，并 ping 其余空闲会话，失败或超过
+ * {@code pingTimeout} 未响应的会话被丢弃</li>
+ * <li>建立会话失败后按指数退避（{@code initialBackoff} 起，最长 {@code maxBackoff}）拒绝新的连接尝试，成功后重置</li>
+ * <li>调用抛出协议错误（{@link McpError}）时会话照常归还，其他异常视为连接损坏并丢弃会话</li>
+ * </ul>
+ * 调用失败不会自动重试，因为工具调用不一定是幂等的。
+ */
+public class McpClientSessionPool implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpClientSessionPool.class);
+
+	public static final int DEFAULT_MAX_SESSIONS_PER_ENDPOINT = 4;
+
+	public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofMinutes(5);
+
+	public static final Duration DEFAULT_HEALTH_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+	public static final Duration DEFAULT_ACQUIRE_TIMEOUT = Duration.ofSeconds(10);
+
+	public static final Duration DEFAULT_PING_TIMEOUT = Duration.ofSeconds(5);
+
+	public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofSeconds(1);
+
+	public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+	private final SessionFactory sessionFactory;
+
+	private final int maxSessionsPerEndpoint;
+
+	private final long maxIdleNanos;
+
+	private final long healthCheckNanos;
+
+	private final long acquireTimeoutNanos;
+
+	private final long pingTimeoutNanos;
+
+	private final long initialBackoffNanos;
+
+	private final long maxBackoffNanos;
+
+	private final Map<Endpoint, EndpointSessions> endpoints = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * ping 在单独的线程上执行，维护线程只等待 {@code pingTimeout}，不会被无响应的会话阻塞
+	 */
+	private final ExecutorService pingExecutor;
+
+	private volatile boolean closed;
+
+	private McpClientSessionPool(Builder builder) {
+		this.sessionFactory = builder.sessionFactory;
+		this.maxSessionsPerEndpoint = builder.maxSessionsPerEndpoint;
+		this.maxIdleNanos = builder.maxIdleTime.toNanos();
+		this.healthCheckNanos = builder.healthCheckInterval.toNanos();
+		this.acquireTimeoutNanos = builder.acquireTimeout.toNanos();
+		this.pingTimeoutNanos = builder.pingTimeout.toNanos();
+		this.initialBackoffNanos = builder.initialBackoff.toNanos();
+		this.maxBackoffNanos = builder.maxBackoff.toNanos();
+		if (this.healthCheckNanos > 0) {
+			this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "mcp-client-session-pool");
+				thread.setDaemon(true);
+				return thread;
+			});
+			this.scheduler.scheduleWithFixedDelay(this::maintain, this.healthCheckNanos, this.healthCheckNanos,
+					TimeUnit.NANOSECONDS);
+		}
+		else {
+			this.scheduler = null;
+		}
+		this.pingExecutor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "mcp-client-session-ping");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * 借出一个会话执行调用后归还
+	 * @param endpoint MCP Server 端点
+	 * @param call 使用会话的调用
+	 * @return 调用结果
+	 */
+	public <T> T execute(Endpoint endpoint, Function<McpSyncClient, T> call) {
+		Session session = acquire(endpoint);
+		boolean reusable = false;
+		try {
+			T result = call.apply(session.client);
+			reusable = true;
+			return result;
+		}
+		catch (McpError e) {
+			reusable = true;
+			throw e;
+		}
+		finally {
+			if (reusable) {
+				release(session);
+			}
+			else {
+				discard(session);
+			}
+		}
+	}
+
+	/**
+	 * 确保端点至少有一个可用会话
+	 * @param endpoint MCP Server 端点
+	 */
+	public void warmUp(Endpoint endpoint) {
+		release(acquire(endpoint));
+	}
+
+	/**
+	 * 关闭端点的空闲会话，借出的会话归还时照常入池
+	 * @param endpoint MCP Server 端点
+	 */
+	public void evict(Endpoint endpoint) {
+		EndpointSessions sessions = endpoints.get(endpoint);
+		if (sessions == null) {
+			return;
+		}
+		List<Session> idle;
+		synchronized (sessions) {
+			idle = new ArrayList<>(sessions.idle);
+			sessions.idle.clear();
+			sessions.open -= idle.size();
+			sessions.notifyAll();
+		}
+		idle.forEach(this::closeQuietly);
+	}
+
+	/**
+	 * @param endpoint MCP Server 端点
+	 * @return 端点已建立（空闲、借出或正在建立）的会话数
+	 */
+	public int openSessions(Endpoint endpoint) {
+		EndpointSessions sessions = endpoints.get(endpoint);
+		if (sessions == null) {
+			return 0;
+		}
+		synchronized (sessions) {
+			return sessions.open;
+		}
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		if (scheduler != null) {
+			scheduler.shutdownNow();
+		}
+		pingExecutor.shutdownNow();
+		endpoints.keySet().forEach(this::evict);
+	}
+
+	private Session acquire(Endpoint endpoint) {
+		EndpointSessions sessions = endpoints.computeIfAbsent(endpoint, EndpointSessions::new);
+		long deadline = System.nanoTime() + acquireTimeoutNanos;
+		synchronized (sessions) {
+			while (true) {
+				Assert.state(!closed, "MCP client session pool is closed");
+				Session session = sessions.idle.pollFirst();
+				if (session != null) {
+					return session;
+				}
+				long now = System.nanoTime();
+				if (sessions.open < maxSessionsPerEndpoint) {
+					if (sessions.failures > 0 && now - sessions.retryAt < 0) {
+						throw new IllegalStateException(String.format(
+								"MCP endpoint %s is backing off after %d failed connection attempt(s), retrying in %d ms",
+								endpoint, sessions.failures, TimeUnit.NANOSECONDS.toMillis(sessions.retryAt - now)));
+					}
+					sessions.open++;
+					break;
+				}
+				long remaining = deadline - now;
+				if (remaining <= 0) {
+					throw new IllegalStateException(String.format(
+							"Timed out waiting for one of the %d MCP sessions to %s", maxSessionsPerEndpoint, endpoint));
+				}
+				try {
+					TimeUnit.NANOSECONDS.timedWait(sessions, remaining);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted waiting for an MCP session to " + endpoint, e);
+				}
+			}
+		}
+		return connect(sessions);
+	}
+
+	private Session connect(EndpointSessions sessions) {
+		McpSyncClient client = null;
+		try {
+			logger.info("Opening MCP client session to {}", sessions.endpoint);
+			client = sessionFactory.create(sessions.endpoint);
+			synchronized (sessions) {
+				sessions.failures = 0;
+			}
+			return new Session(sessions, client);
+		}
+		finally {
+			if (client == null) {
+				connectFailed(sessions);
+			}
+		}
+	}
+
+	private void connectFailed(EndpointSessions sessions) {
+		synchronized (sessions) {
+			sessions.open--;
+			sessions.failures++;
+			long backoff = initialBackoffNanos << Math.min(sessions.failures - 1, 20);
+			if (backoff < 0 || backoff > maxBackoffNanos) {
+				backoff = maxBackoffNanos;
+			}
+			sessions.retryAt = System.nanoTime() + backoff;
+			sessions.notifyAll();
+		}
+	}
+
+	private void release(Session session) {
+		EndpointSessions sessions = session.owner;
+		synchronized (sessions) {
+			if (!closed) {
+				session.lastUsed = System.nanoTime();
+				sessions.idle.addFirst(session);
+				sessions.notifyAll();
+				return;
+			}
+		}
+		discard(session);
+	}
+
+	private void discard(Session session) {
+		EndpointSessions sessions = session.owner;
+		synchronized (sessions) {
+			sessions.open--;
+			sessions.notifyAll();
+		}
+		closeQuietly(session);
+	}
+
+	/**
+	 * 关闭空闲过久的会话，ping 其余空闲时间超过检查间隔的会话
+	 */
+	void maintain() {
+		for (EndpointSessions sessions : endpoints.values()) {
+			try {
+				maintain(sessions);
+			}
+			catch (RuntimeException e) {
+				logger.warn("Failed to maintain MCP client sessions to {}", sessions.endpoint, e);
+			}
+		}
+	}
+
+	private void maintain(EndpointSessions sessions) {
+		List<Session> candidates = new ArrayList<>();
+		long now = System.nanoTime();
+		synchronized (sessions) {
+			sessions.idle.removeIf(session -> {
+				boolean check = now - session.lastUsed >= healthCheckNanos;
+				if (check) {
+					candidates.add(session);
+				}
+				return check;
+			});
+		}
+		for (Session session : candidates) {
+			if (now - session.lastUsed >= maxIdleNanos) {
+				logger.debug("Closing MCP client session to {} idle for {} s", sessions.endpoint,
+						TimeUnit.NANOSECONDS.toSeconds(now - session.lastUsed));
+				discard(session);
+				continue;
+			}
+			if (!ping(session)) {
+				discard(session);
+				continue;
+			}
+			boolean returned = false;
+			synchronized (sessions) {
+				if (!closed) {
+					// 保持原有空闲时间，仍按空闲时长回收
+					sessions.idle.addLast(session);
+					sessions.notifyAll();
+					returned = true;
+				}
+			}
+			if (!returned) {
+				discard(session);
+			}
+		}
+	}
+
+	private boolean ping(Session session) {
+		Future<?> ping;
+		try {
+			ping = pingExecutor.submit(session.client::ping);
+		}
+		catch (RejectedExecutionException e) {
+			// 连接池已关闭
+			return false;
+		}
+		try {
+			ping.get(pingTimeoutNanos, TimeUnit.NANOSECONDS);
+			return true;
+		}
+		catch (ExecutionException e) {
+			logger.warn("Discarding MCP client session to {} after failed ping: {}", session.owner.endpoint,
+					e.getCause().getMessage());
+		}
+		catch (TimeoutException e) {
+			logger.warn("Discarding MCP client session to {} after no ping response in {} ms", session.owner.endpoint,
+					TimeUnit.NANOSECONDS.toMillis(pingTimeoutNanos));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		// 关闭会话时中断仍在等待的 ping
+		ping.cancel(true);
+		return false;
+	}
+
+	private void closeQuietly(Session session) {
+		try {
+			session.client.close();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to close MCP client session to {}", session.owner.endpoint, e);
+		}
+	}
+
+	/**
+	 * 默认的会话工厂：建立 SSE 传输并完成初始化握手
+	 */
+	public static McpSyncClient connect(Endpoint endpoint) {
+		HttpClientSseClientTransport transport = HttpClientSseClientTransport.builder(endpoint.baseUrl())
+			.sseEndpoint(endpoint.sseEndpoint())
+			.build();
+		McpSyncClient client = McpClient.sync(transport).build();
+		try {
+			client.initialize();
+			return client;
+		}
+		catch (RuntimeException e) {
+			client.close();
+			throw e;
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * MCP Server 端点
+	 * @param baseUrl 基础 URL，如 {@code http://127.0.0.1:8080}
+	 * @param sseEndpoint SSE 路径，如 {@code /sse}
+	 */
+	public record Endpoint(String baseUrl, String sseEndpoint) {
+
+		@Override
+		public String toString() {
+			return baseUrl + sseEndpoint;
+		}
+
+	}
+
+	/**
+	 * 建立并初始化一个会话
+	 */
+	@FunctionalInterface
+	public interface SessionFactory {
+
+		McpSyncClient create(Endpoint endpoint);
+
+	}
+
+	private static final class EndpointSessions {
+
+		private final Endpoint endpoint;
+
+		/**
+		 * 最近归还的在前，借出时优先复用，其余的空闲后被回收
+		 */
+		private final Deque<Session> idle = new ArrayDeque<>();
+
+		private int open;
+
+		private int failures;
+
+		private long retryAt;
+
+		private EndpointSessions(Endpoint endpoint) {
+			this.endpoint = endpoint;
+		}
+
+	}
+
+	private static final class Session {
+
+		private final EndpointSessions owner;
+
+		private final McpSyncClient client;
+
+		private long lastUsed = System.nanoTime();
+
+		private Session(EndpointSessions owner, McpSyncClient client) {
+			this.owner = owner;
+			this.client = client;
+		}
+
+	}
+
+	public static final class Builder {
+
+		private SessionFactory sessionFactory = McpClientSessionPool::connect;
+
+		private int maxSessionsPerEndpoint = DEFAULT_MAX_SESSIONS_PER_ENDPOINT;
+
+		private Duration maxIdleTime = DEFAULT_MAX_IDLE_TIME;
+
+		private Duration healthCheckInterval = DEFAULT_HEALTH_CHECK_INTERVAL;
+
+		private Duration acquireTimeout = DEFAULT_ACQUIRE_TIMEOUT;
+
+		private Duration pingTimeout = DEFAULT_PING_TIMEOUT;
+
+		private Duration initialBackoff = DEFAULT_INITIAL_BACKOFF;
+
+		private Duration maxBackoff = DEFAULT_MAX_BACKOFF;
+
+		private Builder() {
+		}
+
+		public Builder sessionFactory(SessionFactory sessionFactory) {
+			this.sessionFactory = sessionFactory;
+			return this;
+		}
+
+		public Builder maxSessionsPerEndpoint(int maxSessionsPerEndpoint) {
+			this.maxSessionsPerEndpoint = maxSessionsPerEndpoint;
+			return this;
+		}
+
+		public Builder maxIdleTime(Duration maxIdleTime) {
+			this.maxIdleTime = maxIdleTime;
+			return this;
+		}
+
+		/**
+		 * 后台回收和 ping 的间隔，{@link Duration#ZERO} 关闭后台任务
+		 */
+		public Builder healthCheckInterval(Duration healthCheckInterval) {
+			this.healthCheckInterval = healthCheckInterval;
+			return this;
+		}
+
+		public Builder acquireTimeout(Duration acquireTimeout) {
+			this.acquireTimeout = acquireTimeout;
+			return this;
+		}
+
+		/**
+		 * 后台 ping 等待响应的最长时间，超时的会话被丢弃
+		 */
+		public Builder pingTimeout(Duration pingTimeout) {
+			this.pingTimeout = pingTimeout;
+			return this;
+		}
+
+		public Builder initialBackoff(Duration initialBackoff) {
+			this.initialBackoff = initialBackoff;
+			return this;
+		}
+
+		public Builder maxBackoff(Duration maxBackoff) {
+			this.maxBackoff = maxBackoff;
+			return this;
+		}
+
+		public McpClientSessionPool build() {
+			Assert.notNull(sessionFactory, "sessionFactory cannot be null");
+			Assert.isTrue(maxSessionsPerEndpoint > 0, "maxSessionsPerEndpoint must be positive");
+			Assert.notNull(maxIdleTime, "maxIdleTime cannot be null");
+			Assert.notNull(healthCheckInterval, "healthCheckInterval cannot be null");
+			Assert.notNull(acquireTimeout, "acquireTimeout cannot be null");
+			Assert.isTrue(pingTimeout != null && pingTimeout.compareTo(Duration.ZERO) > 0,
+					"pingTimeout must be positive");
+			Assert.notNull(initialBackoff, "initialBackoff cannot be null");
+			Assert.notNull(maxBackoff, "maxBackoff cannot be null");
+			return new McpClientSessionPool(this);
+		}
+
+	}
+
+}
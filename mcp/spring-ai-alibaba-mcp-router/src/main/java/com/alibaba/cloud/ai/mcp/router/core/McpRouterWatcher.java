@@ -23,6 +23,7 @@ import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class McpRouterWatcher extends AbstractRouterWatcher {
@@ -49,24 +50,26 @@ public class McpRouterWatcher extends AbstractRouterWatcher {
 			logger.warn("No MCP services configured for refresh.");
 			return;
 		}
+		List<McpServerInfo> serverInfos = new ArrayList<>(serviceNames.size());
 		for (String serviceName : serviceNames) {
 			try {
-				mcpServerVectorStore.removeServer(serviceName);
 				// 从服务发现获取服务信息
 				McpServerInfo serverInfo = mcpServiceDiscovery.getService(serviceName);
 				if (serverInfo == null) {
 					logger.warn("No MCP service found for: {}", serviceName);
-					return;
+					mcpServerVectorStore.removeServer(serviceName);
+					continue;
 				}
-
-				// 添加到向量存储
-				mcpServerVectorStore.addServer(serverInfo);
-				logger.info("Refreshed MCP service: {}", serviceName);
+				serverInfos.add(serverInfo);
 			}
 			catch (Exception e) {
 				logger.warn("Failed to refresh MCP service: {}", serviceName, e);
 			}
 		}
+
+		// 批量添加到向量存储，同名服务直接替换，描述的向量在一次调用中计算
+		int added = mcpServerVectorStore.addServers(serverInfos);
+		logger.info("Refreshed {} of {} MCP services", added, serviceNames.size());
 	}
 
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MCP 服务关键词倒排索引，按 BM25 打分
+ * <p>
+ * 对服务名、描述和标签分词后建立倒排表，各字段按权重累加词频（服务名 3，标签 2，描述 1）。 拉丁字母和数字按连续片段切分，
+ * 中日韩文字按相邻两字切分，单字片段保留单字。索引随服务的添加和删除增量更新，查询不需要计算向量。
+ */
+final class McpServerKeywordIndex {
+
+	private static final float NAME_WEIGHT = 3f;
+
+	private static final float TAG_WEIGHT = 2f;
+
+	private static final float DESCRIPTION_WEIGHT = 1f;
+
+	private static final double K1 = 1.2;
+
+	private static final double B = 0.75;
+
+	/**
+	 * 词 -> (服务名 -> 加权词频)
+	 */
+	private final Map<String, Map<String, Float>> postings = new HashMap<>();
+
+	/**
+	 * 服务名 -> 加权文档长度与包含的词，删除时据此清理倒排表
+	 */
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	private double totalLength;
+
+	/**
+	 * 添加或替换一个服务
+	 * @param name 服务名
+	 * @param description 描述
+	 * @param tags 标签
+	 */
+	synchronized void put(String name, String description, List<String> tags) {
+		remove(name);
+		Map<String, Float> frequencies = new HashMap<>();
+		addTerms(frequencies, name, NAME_WEIGHT);
+		addTerms(frequencies, description, DESCRIPTION_WEIGHT);
+		if (tags != null) {
+			for (String tag : tags) {
+				addTerms(frequencies, tag, TAG_WEIGHT);
+			}
+		}
+		float length = 0;
+		for (Map.Entry<String, Float> frequency : frequencies.entrySet()) {
+			postings.computeIfAbsent(frequency.getKey(), term -> new HashMap<>()).put(name, frequency.getValue());
+			length += frequency.getValue();
+		}
+		entries.put(name, new Entry(frequencies.keySet(), length));
+		totalLength += length;
+	}
+
+	synchronized void remove(String name) {
+		Entry entry = entries.remove(name);
+		if (entry == null) {
+			return;
+		}
+		for (String term : entry.terms()) {
+			Map<String, Float> posting = postings.get(term);
+			posting.remove(name);
+			if (posting.isEmpty()) {
+				postings.remove(term);
+			}
+		}
+		totalLength -= entry.length();
+	}
+
+	synchronized void clear() {
+		postings.clear();
+		entries.clear();
+		totalLength = 0;
+	}
+
+	/**
+	 * 按 BM25 分数从高到低返回匹配查询词的服务
+	 * @param query 查询文本
+	 * @param limit 返回数量限制
+	 * @return 服务名和分数，没有匹配时为空
+	 */
+	synchronized List<Hit> search(String query, int limit) {
+		if (entries.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		double averageLength = totalLength / entries.size();
+		Map<String, Double> scores = new HashMap<>();
+		for (String term : new LinkedHashSet<>(tokenize(query))) {
+			Map<String, Float> posting = postings.get(term);
+			if (posting == null) {
+				continue;
+			}
+			double idf = Math.log(1 + (entries.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+			for (Map.Entry<String, Float> document : posting.entrySet()) {
+				double frequency = document.getValue();
+				double norm = K1 * (1 - B + B * entries.get(document.getKey()).length() / averageLength);
+				scores.merge(document.getKey(), idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+			}
+		}
+		return scores.entrySet()
+			.stream()
+			.map(score -> new Hit(score.getKey(), score.getValue()))
+			.sorted(Comparator.comparingDouble(Hit::score).reversed().thenComparing(Hit::name))
+			.limit(limit)
+			.toList();
+	}
+
+	private static void addTerms(Map<String, Float> frequencies, String text, float weight) {
+		for (String term : tokenize(text)) {
+			frequencies.merge(term, weight, Float::sum);
+		}
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return terms;
+		}
+		String lower = text.toLowerCase(Locale.ROOT);
+		StringBuilder word = new StringBuilder();
+		int previousIdeograph = -1;
+		int ideographRun = 0;
+		for (int i = 0; i < lower.length();) {
+			int codePoint = lower.codePointAt(i);
+			i += Character.charCount(codePoint);
+			if (Character.isIdeographic(codePoint)) {
+				flush(word, terms);
+				if (previousIdeograph >= 0) {
+					terms.add(new StringBuilder().appendCodePoint(previousIdeograph).appendCodePoint(codePoint).toString());
+				}
+				previousIdeograph = codePoint;
+				ideographRun++;
+				continue;
+			}
+			flushSingleIdeograph(previousIdeograph, ideographRun, terms);
+			previousIdeograph = -1;
+			ideographRun = 0;
+			if (Character.isLetterOrDigit(codePoint)) {
+				word.appendCodePoint(codePoint);
+			}
+			else {
+				flush(word, terms);
+			}
+		}
+		flushSingleIdeograph(previousIdeograph, ideographRun, terms);
+		flush(word, terms);
+		return terms;
+	}
+
+	private static void flushSingleIdeograph(int ideograph, int run, List<String> terms) {
+		if (run == 1) {
+			terms.add(new String(Character.toChars(ideograph)));
+		}
+	}
+
+	private static void flush(StringBuilder word, List<String> terms) {
+		if (!word.isEmpty()) {
+			terms.add(word.toString());
+			word.setLength(0);
+		}
+	}
+
+	record Hit(String name, double score) {
+	}
+
+	private record Entry(Set<String> terms, float length) {
+	}
+
+}
@@ -33,6 +33,21 @@ public interface McpServerVectorStore {
 	 */
 	boolean addServer(McpServerInfo serverInfo);
 
+	/**
+	 * 批量添加服务到向量存储，同名服务会被替换
+	 * @param serverInfos 服务信息列表
+	 * @return 成功添加的服务数量
+	 */
+	default int addServers(List<McpServerInfo> serverInfos) {
+		int added = 0;
+		for (McpServerInfo serverInfo : serverInfos) {
+			if (addServer(serverInfo)) {
+				added++;
+			}
+		}
+		return added;
+	}
+
 	/**
 	 * 从向量存储中移除服务
 	 * @param serviceName 服务名
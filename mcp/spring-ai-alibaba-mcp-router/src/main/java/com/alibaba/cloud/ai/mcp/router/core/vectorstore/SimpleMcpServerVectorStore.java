@@ -18,41 +18,64 @@
 package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
 
 import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
-import org.apache.commons.collections.CollectionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
 import org.springframework.ai.vectorstore.SearchRequest;
 import org.springframework.ai.vectorstore.SimpleVectorStore;
+import org.springframework.ai.vectorstore.SimpleVectorStoreContent;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.HashMap;
 
 /**
  * 基于 Spring AI SimpleVectorStore 的 MCP 服务向量存储实现
+ * <p>
+ * 按服务名精确查找的操作（获取、删除、列举、关键词匹配）走与 SimpleVectorStore 同步维护的服务名索引，
+ * 不调用 EmbeddingModel；只有语义搜索和写入才需要计算向量，批量写入时一次性计算所有服务描述的向量。
  */
 @Component
 public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 
 	private static final Logger logger = LoggerFactory.getLogger(SimpleMcpServerVectorStore.class);
 
+	/**
+	 * 向量搜索结果参与融合的最低相似度
+	 */
+	private static final double MIN_SIMILARITY = 0.05;
+
+	/**
+	 * RRF 融合常数，削弱单路排名靠前带来的优势
+	 */
+	private static final int RRF_K = 60;
+
 	private final EmbeddingModel embeddingModel;
 
 	private final SimpleVectorStore vectorStore;
 
+	/**
+	 * 服务名到文档的索引，文档 ID 即服务名，写操作在 this 上同步以保持与 vectorStore 一致
+	 */
+	private final Map<String, Document> documentsByName = new ConcurrentHashMap<>();
+
+	private final McpServerKeywordIndex keywordIndex = new McpServerKeywordIndex();
+
 	@Autowired(required = false)
 	public SimpleMcpServerVectorStore(EmbeddingModel embeddingModel) {
 		this.embeddingModel = embeddingModel;
 		if (embeddingModel != null) {
-			this.vectorStore = SimpleVectorStore.builder(embeddingModel).build();
+			this.vectorStore = new BatchEmbeddingVectorStore(embeddingModel);
 			logger.info("SimpleMcpServerVectorStore initialized with EmbeddingModel: {}",
 					embeddingModel.getClass().getSimpleName());
 		}
@@ -70,24 +93,51 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 			logger.warn("Cannot add server: serverInfo is null or name is null");
 			return false;
 		}
+		return addServers(List.of(serverInfo)) == 1;
+	}
+
+	@Override
+	public int addServers(List<McpServerInfo> serverInfos) {
+		if (serverInfos == null || serverInfos.isEmpty()) {
+			return 0;
+		}
 
 		if (vectorStore == null) {
-			logger.warn("Cannot add server '{}': vectorStore is null (no EmbeddingModel available)",
-					serverInfo.getName());
-			return false;
+			logger.warn("Cannot add {} server(s): vectorStore is null (no EmbeddingModel available)",
+					serverInfos.size());
+			return 0;
+		}
+
+		// 同一批次中的同名服务以最后一个为准
+		Map<String, McpServerInfo> servers = new LinkedHashMap<>();
+		for (McpServerInfo serverInfo : serverInfos) {
+			if (serverInfo == null || serverInfo.getName() == null) {
+				logger.warn("Skipping server: serverInfo is null or name is null");
+				continue;
+			}
+			servers.put(serverInfo.getName(), serverInfo);
+		}
+		if (servers.isEmpty()) {
+			return 0;
 		}
+		Map<String, Document> documents = new LinkedHashMap<>();
+		servers.forEach((name, serverInfo) -> documents.put(name, convertToDocument(serverInfo)));
 
 		try {
-			// 转换为 Document
-			Document document = convertToDocument(serverInfo);
-			logger.debug("Adding server to vector store: {}", serverInfo.getName());
-			vectorStore.add(List.of(document));
-			logger.info("Successfully added server to vector store: {}", serverInfo.getName());
-			return true;
+			logger.debug("Adding {} server(s) to vector store: {}", documents.size(), documents.keySet());
+			synchronized (this) {
+				// 一次调用完成全部描述的向量计算，文档 ID 相同的旧文档被覆盖
+				vectorStore.add(new ArrayList<>(documents.values()));
+				documentsByName.putAll(documents);
+				servers.forEach((name, serverInfo) -> keywordIndex.put(name, serverInfo.getDescription(),
+						serverInfo.getTags()));
+			}
+			logger.info("Successfully added {} server(s) to vector store", documents.size());
+			return documents.size();
 		}
 		catch (Exception e) {
-			logger.error("Failed to add server to vector store: {}", serverInfo.getName(), e);
-			return false;
+			logger.error("Failed to add servers to vector store: {}", documents.keySet(), e);
+			return 0;
 		}
 	}
 
@@ -99,20 +149,17 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 		}
 
 		try {
-			// 查找对应的文档
-			SearchRequest searchRequest = SearchRequest.builder().query(serviceName).topK(1).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			if (!documents.isEmpty()) {
-				Document doc = documents.get(0);
-				if (serviceName.equals(doc.getMetadata().get("serviceName"))) {
-					vectorStore.delete(List.of(doc.getId()));
-					logger.info("Successfully removed server from vector store: {}", serviceName);
-					return true;
+			synchronized (this) {
+				Document document = documentsByName.remove(serviceName);
+				if (document == null) {
+					logger.warn("Server not found in vector store: {}", serviceName);
+					return false;
 				}
+				vectorStore.delete(List.of(document.getId()));
+				keywordIndex.remove(serviceName);
 			}
-			logger.warn("Server not found in vector store: {}", serviceName);
-			return false;
+			logger.info("Successfully removed server from vector store: {}", serviceName);
+			return true;
 		}
 		catch (Exception e) {
 			logger.error("Failed to remove server from vector store: {}", serviceName, e);
@@ -127,24 +174,12 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 			return null;
 		}
 
-		try {
-			// 通过服务名搜索
-			SearchRequest searchRequest = SearchRequest.builder().query(serviceName).topK(1).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			if (!documents.isEmpty()) {
-				Document doc = documents.get(0);
-				if (serviceName.equals(doc.getMetadata().get("serviceName"))) {
-					return convertFromDocument(doc);
-				}
-			}
+		Document document = (serviceName != null) ? documentsByName.get(serviceName) : null;
+		if (document == null) {
 			logger.debug("Server not found in vector store: {}", serviceName);
 			return null;
 		}
-		catch (Exception e) {
-			logger.error("Failed to get server from vector store: {}", serviceName, e);
-			return null;
-		}
+		return convertFromDocument(document);
 	}
 
 	@Override
@@ -154,24 +189,9 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 			return new ArrayList<>();
 		}
 
-		try {
-			// 获取所有文档
-			SearchRequest searchRequest = SearchRequest.builder()
-				.query("") // 空查询获取所有
-				.topK(Integer.MAX_VALUE)
-				.build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			logger.debug("Found {} documents in vector store", documents.size());
-			return documents.stream()
-				.map(this::convertFromDocument)
-				.filter(Objects::nonNull)
-				.collect(Collectors.toList());
-		}
-		catch (Exception e) {
-			logger.error("Failed to get all servers from vector store", e);
-			return new ArrayList<>();
-		}
+		List<Document> documents = allDocuments();
+		logger.debug("Found {} documents in vector store", documents.size());
+		return documents.stream().map(this::convertFromDocument).filter(Objects::nonNull).collect(Collectors.toList());
 	}
 
 	@Override
@@ -184,134 +204,69 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 		try {
 			logger.debug("Searching vector store with query: '{}', limit: {}", query, limit);
 
-			List<Document> documents = new ArrayList<>();
-
-			// 策略1：向量相似度搜索（如果查询不为空）
-			if (query != null && !query.trim().isEmpty()) {
-				SearchRequest searchRequest = SearchRequest.builder().query(query).topK(limit * 2).build();
-				List<Document> vectorResults = vectorStore.similaritySearch(searchRequest);
-				logger.debug("Found {} documents in vector search results", vectorResults.size());
-				documents.addAll(vectorResults);
+			// 空查询返回所有服务
+			if (query == null || query.trim().isEmpty()) {
+				return allDocuments().stream()
+					.map(this::convertFromDocument)
+					.filter(Objects::nonNull)
+					.limit(limit)
+					.collect(Collectors.toList());
 			}
 
-			// 策略2：关键词匹配搜索（总是执行，确保能找到结果）
-			List<Document> keywordResults = searchByKeywords(query, limit);
-			if (CollectionUtils.isNotEmpty(keywordResults)) {
-				documents.addAll(keywordResults);
-				logger.debug("Added {} documents from keyword search", keywordResults.size());
+			int candidates = limit * 2;
+
+			// 策略1：BM25 关键词检索，只查倒排索引
+			List<McpServerKeywordIndex.Hit> keywordHits = keywordIndex.search(query, candidates);
+			logger.debug("Found {} documents in keyword search results", keywordHits.size());
+
+			// 策略2：向量相似度搜索，失败时只使用关键词结果
+			List<Document> vectorHits = List.of();
+			try {
+				SearchRequest searchRequest = SearchRequest.builder()
+					.query(query)
+					.topK(candidates)
+					.similarityThreshold(MIN_SIMILARITY)
+					.build();
+				vectorHits = vectorStore.similaritySearch(searchRequest);
+				logger.debug("Found {} documents in vector search results", vectorHits.size());
 			}
-
-			// 如果仍然没有结果，尝试获取所有服务器
-			if (documents.isEmpty()) {
-				logger.debug("No results found, trying to get all servers");
-				SearchRequest allRequest = SearchRequest.builder().query(" ").topK(Integer.MAX_VALUE).build();
-				List<Document> allDocuments = vectorStore.similaritySearch(allRequest);
-				documents.addAll(allDocuments);
-				logger.debug("Found {} total documents in vector store", allDocuments.size());
+			catch (Exception e) {
+				logger.warn("Vector search failed for query '{}', using keyword results only", query, e);
 			}
 
-			// 去重并排序
-			return documents.stream().filter(doc -> {
-				// 降低分数阈值，或者对于关键词匹配的结果不进行分数过滤
-                Double scoreObj = doc.getScore();
-                double score = (scoreObj!=null)?scoreObj.doubleValue():0.0;
-				Object keywordScore = doc.getMetadata().get("keywordScore");
-				if (keywordScore != null) {
-					// 关键词匹配的结果，使用关键词分数
-					return ((Number) keywordScore).doubleValue() > 0.0;
-				}
-				// 向量搜索的结果，使用较低的阈值
-				return score > 0.05; // 进一步降低阈值
-			})
-				.map(this::convertFromDocument)
-				.filter(Objects::nonNull)
-				.distinct() // 去重
-				.sorted((a, b) -> Double.compare(b.getScore(), a.getScore())) // 按分数排序
-				.limit(limit)
-				.collect(Collectors.toList());
-		}
-		catch (Exception e) {
-			logger.error("Failed to search vector store with query: '{}'", query, e);
-			return new ArrayList<>();
-		}
-	}
-
-	/**
-	 * 关键词匹配搜索
-	 */
-	private List<Document> searchByKeywords(String query, int limit) {
-		try {
-			// 获取所有文档进行关键词匹配
-			SearchRequest searchRequest = SearchRequest.builder().query(" ").topK(Integer.MAX_VALUE).build();
-			List<Document> allDocuments = vectorStore.similaritySearch(searchRequest);
-
-			logger.debug("Keyword search: found {} total documents to search in", allDocuments.size());
-
-			// 如果查询为空，返回所有文档
-			if (query == null || query.trim().isEmpty()) {
-				return allDocuments.stream().map(doc -> {
-					Map<String, Object> newMetadata = new HashMap<>(doc.getMetadata());
-					newMetadata.put("keywordScore", 0.5);
-					return new Document(doc.getId(), doc.getText(), newMetadata);
-				}).limit(limit).collect(Collectors.toList());
+			// RRF 融合两路排名：score = Σ 1 / (k + rank)
+			Map<String, Double> fused = new HashMap<>();
+			for (int i = 0; i < vectorHits.size(); i++) {
+				fused.merge(vectorHits.get(i).getId(), 1.0 / (RRF_K + i + 1), Double::sum);
+			}
+			for (int i = 0; i < keywordHits.size(); i++) {
+				fused.merge(keywordHits.get(i).name(), 1.0 / (RRF_K + i + 1), Double::sum);
 			}
 
-			String lowerQuery = query.toLowerCase().trim();
-
-			return allDocuments.stream().filter(doc -> {
-				// 检查服务名称
-				String serviceName = (String) doc.getMetadata().get("serviceName");
-				if (serviceName != null && serviceName.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in serviceName: {}", serviceName);
-					return true;
-				}
-
-				// 检查描述信息
-				String description = (String) doc.getMetadata().get("description");
-				if (description != null && description.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in description: {}", description);
-					return true;
-				}
-
-				// 检查标签
-				@SuppressWarnings("unchecked")
-				List<String> tags = (List<String>) doc.getMetadata().get("tags");
-				if (tags != null && tags.stream().anyMatch(tag -> tag.toLowerCase().contains(lowerQuery))) {
-					logger.debug("Keyword match found in tags: {}", tags);
-					return true;
-				}
-
-				// 检查协议
-				String protocol = (String) doc.getMetadata().get("protocol");
-				if (protocol != null && protocol.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in protocol: {}", protocol);
-					return true;
-				}
-
-				// 检查版本
-				String version = (String) doc.getMetadata().get("version");
-				if (version != null && version.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in version: {}", version);
-					return true;
-				}
-
-				// 检查端点
-				String endpoint = (String) doc.getMetadata().get("endpoint");
-				if (endpoint != null && endpoint.toLowerCase().contains(lowerQuery)) {
-					logger.debug("Keyword match found in endpoint: {}", endpoint);
-					return true;
-				}
+			// 如果仍然没有结果，返回所有服务器
+			if (fused.isEmpty()) {
+				logger.debug("No results found, returning all servers");
+				return getAllServers().stream().limit(limit).collect(Collectors.toList());
+			}
 
-				return false;
-			}).map(doc -> {
-				// 为关键词匹配的结果创建新的Document对象并设置分数
-				Map<String, Object> newMetadata = new HashMap<>(doc.getMetadata());
-				newMetadata.put("keywordScore", 0.5);
-				return new Document(doc.getId(), doc.getText(), newMetadata);
-			}).limit(limit).collect(Collectors.toList());
+			// 分数归一化到 (0, 1]，两路都排第一时为 1
+			double maxScore = ((vectorHits.isEmpty() ? 0 : 1) + (keywordHits.isEmpty() ? 0 : 1)) / (RRF_K + 1.0);
+			List<McpServerInfo> results = new ArrayList<>();
+			fused.entrySet()
+				.stream()
+				.sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+				.forEach(entry -> {
+					Document document = documentsByName.get(entry.getKey());
+					McpServerInfo serverInfo = (document != null) ? convertFromDocument(document) : null;
+					if (serverInfo != null && results.size() < limit) {
+						serverInfo.setScore(entry.getValue() / maxScore);
+						results.add(serverInfo);
+					}
+				});
+			return results;
 		}
 		catch (Exception e) {
-			logger.error("Failed to search by keywords with query: '{}'", query, e);
+			logger.error("Failed to search vector store with query: '{}'", query, e);
 			return new ArrayList<>();
 		}
 	}
@@ -321,18 +276,7 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 		if (vectorStore == null) {
 			return 0;
 		}
-
-		try {
-			SearchRequest searchRequest = SearchRequest.builder().query(" ").topK(Integer.MAX_VALUE).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			logger.debug("Vector store size: {}", documents.size());
-			return documents.size();
-		}
-		catch (Exception e) {
-			logger.error("Failed to get vector store size", e);
-			return 0;
-		}
+		return documentsByName.size();
 	}
 
 	@Override
@@ -343,15 +287,14 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 		}
 
 		try {
-			// 获取所有文档并删除
-			SearchRequest searchRequest = SearchRequest.builder().query(" ").topK(Integer.MAX_VALUE).build();
-
-			List<Document> documents = vectorStore.similaritySearch(searchRequest);
-			List<String> ids = documents.stream().map(Document::getId).collect(Collectors.toList());
-
-			if (!ids.isEmpty()) {
-				vectorStore.delete(ids);
-				logger.info("Cleared {} documents from vector store", ids.size());
+			synchronized (this) {
+				List<String> ids = documentsByName.values().stream().map(Document::getId).collect(Collectors.toList());
+				if (!ids.isEmpty()) {
+					vectorStore.delete(ids);
+					documentsByName.clear();
+					keywordIndex.clear();
+					logger.info("Cleared {} documents from vector store", ids.size());
+				}
 			}
 		}
 		catch (Exception e) {
@@ -359,6 +302,13 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 		}
 	}
 
+	/**
+	 * 获取所有服务文档，不计算向量
+	 */
+	private List<Document> allDocuments() {
+		return new ArrayList<>(documentsByName.values());
+	}
+
 	/**
 	 * 将 McpServerInfo 转换为 Document
 	 */
@@ -424,15 +374,8 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 			McpServerInfo serverInfo = new McpServerInfo(serviceName, description, protocol, version, endpoint, enabled,
 					tags);
 
-			// 优先使用关键词搜索的分数，如果没有则使用向量搜索的分数
-			Object keywordScore = document.getMetadata().get("keywordScore");
-			if (keywordScore != null) {
-				serverInfo.setScore(((Number) keywordScore).doubleValue());
-			}
-			else {
-                Double scoreObj = document.getScore();
-                serverInfo.setScore((scoreObj!=null)?scoreObj.doubleValue():0.0);
-			}
+			Double score = document.getScore();
+			serverInfo.setScore((score != null) ? score : 0.0);
 
 			return serverInfo;
 		}
@@ -453,8 +396,7 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 
 		try {
 			// 获取所有文档
-			SearchRequest searchRequest = SearchRequest.builder().query(" ").topK(Integer.MAX_VALUE).build();
-			List<Document> allDocuments = vectorStore.similaritySearch(searchRequest);
+			List<Document> allDocuments = allDocuments();
 
 			logger.info("=== Vector Store Debug Information ===");
 			logger.info("Total documents in vector store: {}", allDocuments.size());
@@ -499,10 +441,10 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 			}
 
 			// 测试关键词搜索
-			List<Document> keywordResults = searchByKeywords(query, limit);
+			List<McpServerKeywordIndex.Hit> keywordResults = keywordIndex.search(query, limit * 2);
 			logger.info("Keyword search results: {}", keywordResults.size());
-			for (Document doc : keywordResults) {
-				logger.info("  Keyword result: {} (score: {})", doc.getMetadata().get("serviceName"), doc.getScore());
+			for (McpServerKeywordIndex.Hit hit : keywordResults) {
+				logger.info("  Keyword result: {} (score: {})", hit.name(), hit.score());
 			}
 
 			// 测试完整搜索
@@ -519,4 +461,26 @@ public class SimpleMcpServerVectorStore implements McpServerVectorStore {
 		}
 	}
 
+	/**
+	 * SimpleVectorStore 逐个文档调用 EmbeddingModel，这里改为按批处理策略一次性计算一批文档的向量
+	 */
+	private static final class BatchEmbeddingVectorStore extends SimpleVectorStore {
+
+		private BatchEmbeddingVectorStore(EmbeddingModel embeddingModel) {
+			super(SimpleVectorStore.builder(embeddingModel));
+		}
+
+		@Override
+		public void doAdd(List<Document> documents) {
+			List<float[]> embeddings = this.embeddingModel.embed(documents, EmbeddingOptions.builder().build(),
+					this.batchingStrategy);
+			for (int i = 0; i < documents.size(); i++) {
+				Document document = documents.get(i);
+				this.store.put(document.getId(), new SimpleVectorStoreContent(document.getId(), document.getText(),
+						document.getMetadata(), embeddings.get(i)));
+			}
+		}
+
+	}
+
 }
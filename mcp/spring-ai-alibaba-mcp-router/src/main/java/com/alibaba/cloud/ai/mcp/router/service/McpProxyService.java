@@ -17,6 +17,8 @@
 package com.alibaba.cloud.ai.mcp.router.service;
 
 import com.alibaba.cloud.ai.mcp.nacos.service.NacosMcpOperationService;
+import com.alibaba.cloud.ai.mcp.router.core.McpClientSessionPool;
+import com.alibaba.cloud.ai.mcp.router.core.McpClientSessionPool.Endpoint;
 import com.alibaba.nacos.api.ai.model.mcp.McpEndpointInfo;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerDetailInfo;
 import com.alibaba.nacos.api.ai.model.mcp.McpServerRemoteServiceConfig;
@@ -24,12 +26,8 @@ import com.alibaba.nacos.api.ai.model.mcp.McpServiceRef;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.modelcontextprotocol.client.McpClient;
-import io.modelcontextprotocol.client.McpSyncClient;
-import io.modelcontextprotocol.client.transport.HttpClientSseClientTransport;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
-import io.modelcontextprotocol.spec.McpSchema.InitializeResult;
 import io.modelcontextprotocol.spec.McpSchema.TextContent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,8 +40,10 @@ import java.util.HashMap;
 
 /**
  * MCP 代理服务 参考 spring-ai-alibaba-mcp-gateway-nacos 的实现，提供完整的 MCP 服务代理功能
+ * <p>
+ * MCP 流式协议的调用通过 {@link McpClientSessionPool} 复用已初始化的会话，不再每次调用都探测端点、建立连接和初始化。
  */
-public class McpProxyService {
+public class McpProxyService implements AutoCloseable {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpProxyService.class);
 
@@ -51,11 +51,18 @@ public class McpProxyService {
 
 	private final ObjectMapper objectMapper = new ObjectMapper();
 
-	// 缓存已建立的连接
-	private final Map<String, McpSyncClient> clientConnections = new ConcurrentHashMap<>();
+	private final McpClientSessionPool sessionPool;
+
+	// 已建立连接的服务及其端点
+	private final Map<String, Endpoint> serviceEndpoints = new ConcurrentHashMap<>();
 
 	public McpProxyService(NacosMcpOperationService nacosMcpOperationService) {
+		this(nacosMcpOperationService, McpClientSessionPool.builder().build());
+	}
+
+	public McpProxyService(NacosMcpOperationService nacosMcpOperationService, McpClientSessionPool sessionPool) {
 		this.nacosMcpOperationService = nacosMcpOperationService;
+		this.sessionPool = sessionPool;
 	}
 
 	/**
@@ -146,40 +153,19 @@ public class McpProxyService {
 		logger.info("Processing {} protocol with args: {} and baseUrl: {} endpoint: {}", protocol, args, baseUrl,
 				sseEndpoint);
 
-		// 验证连接可用性
-		if (!isEndpointReachable(baseUrl + sseEndpoint)) {
-			String diagnosis = diagnoseEndpoint(baseUrl, sseEndpoint);
-			return String.format("Error: Cannot reach MCP Server endpoint at %s%s\n\n%s", baseUrl, sseEndpoint,
-					diagnosis);
+		// 从参数中提取工具名称，如果没有提供则使用默认值
+		String toolName = extractToolNameFromArgs(args);
+		if (toolName == null || toolName.isEmpty()) {
+			return "Error: Tool name not provided in arguments";
 		}
 
-		McpSyncClient client = null;
 		try {
-			// 构建传输层
-			HttpClientSseClientTransport.Builder transportBuilder = HttpClientSseClientTransport.builder(baseUrl)
-				.sseEndpoint(sseEndpoint);
-
-			HttpClientSseClientTransport transport = transportBuilder.build();
-
-			// 创建MCP同步客户端
-			client = McpClient.sync(transport).build();
-
-			// 初始化客户端
-			logger.info("MCP Client initializing: baseUrl {} sseEndpoint {}", baseUrl, sseEndpoint);
-			InitializeResult initializeResult = client.initialize();
-			logger.info("MCP Client initialized: {}", initializeResult);
-
-			// 从参数中提取工具名称，如果没有提供则使用默认值
-			String toolName = extractToolNameFromArgs(args);
-			if (toolName == null || toolName.isEmpty()) {
-				return "Error: Tool name not provided in arguments";
-			}
-
-			// 调用工具
+			// 调用工具，会话由连接池建立、初始化并复用
 			McpSchema.CallToolRequest request = new McpSchema.CallToolRequest(toolName, args);
 			logger.info("CallToolRequest: {}", request);
 
-			CallToolResult result = client.callTool(request);
+			CallToolResult result = sessionPool.execute(new Endpoint(baseUrl, sseEndpoint),
+					client -> client.callTool(request));
 			logger.info("Tool call result: {}", result);
 
 			// 处理结果
@@ -194,8 +180,9 @@ public class McpProxyService {
 			errorInfo.append("Error: MCP stream call failed - ").append(e.getMessage()).append("\n\n");
 
 			// 如果是连接相关错误，提供诊断信息
-			if (e.getMessage().contains("Failed to wait for the message endpoint") || e.getMessage().contains("502")
-					|| e.getMessage().contains("connection")) {
+			String message = String.valueOf(e.getMessage());
+			if (message.contains("Failed to wait for the message endpoint") || message.contains("502")
+					|| message.contains("connection")) {
 				errorInfo.append("=== Connection Diagnosis ===\n");
 				errorInfo.append("Target URL: ").append(baseUrl).append(sseEndpoint).append("\n");
 				errorInfo.append("Protocol: ").append(protocol).append("\n");
@@ -214,17 +201,6 @@ public class McpProxyService {
 
 			return errorInfo.toString();
 		}
-		finally {
-			// 清理资源
-			if (client != null) {
-				try {
-					client.close();
-				}
-				catch (Exception e) {
-					logger.warn("Failed to close MCP client", e);
-				}
-			}
-		}
 	}
 
 	/**
@@ -390,15 +366,15 @@ public class McpProxyService {
 				return false;
 			}
 
-			// 根据协议类型建立连接
-			McpSyncClient client = createClient(protocol, mcpEndpointInfo, remoteConfig);
-			if (client != null) {
-				clientConnections.put(serviceName, client);
-				logger.info("Successfully established connection to service: {}", serviceName);
-				return true;
+			// 根据协议类型建立连接，会话在连接池中保留供后续调用复用
+			Endpoint endpoint = resolveEndpoint(protocol, mcpEndpointInfo, remoteConfig);
+			if (endpoint == null) {
+				return false;
 			}
-
-			return false;
+			sessionPool.warmUp(endpoint);
+			serviceEndpoints.put(serviceName, endpoint);
+			logger.info("Successfully established connection to service: {}", serviceName);
+			return true;
 		}
 		catch (Exception e) {
 			logger.error("Failed to establish connection to service: {}", serviceName, e);
@@ -407,31 +383,23 @@ public class McpProxyService {
 	}
 
 	/**
-	 * 创建 MCP 客户端
+	 * 解析 MCP 流式协议的端点
 	 */
-	private McpSyncClient createClient(String protocol, McpEndpointInfo endpointInfo,
+	private Endpoint resolveEndpoint(String protocol, McpEndpointInfo endpointInfo,
 			McpServerRemoteServiceConfig remoteConfig) {
-		try {
-			String baseUrl = "http://" + endpointInfo.getAddress() + ":" + endpointInfo.getPort();
-			String exportPath = remoteConfig.getExportPath();
-
-			switch (protocol.toLowerCase()) {
-				case "mcp-sse":
-				case "mcp-stream":
-					String sseEndpoint = exportPath != null && !exportPath.isEmpty() ? exportPath : "/sse";
-					HttpClientSseClientTransport sseTransport = HttpClientSseClientTransport.builder(baseUrl)
-						.sseEndpoint(sseEndpoint)
-						.build();
-					return McpClient.sync(sseTransport).build();
-
-				default:
-					logger.warn("Unsupported protocol for client creation: {}", protocol);
-					return null;
-			}
-		}
-		catch (Exception e) {
-			logger.error("Failed to create MCP client for protocol: {}", protocol, e);
-			return null;
+		String baseUrl = "http://" + endpointInfo.getAddress() + ":" + endpointInfo.getPort();
+		String exportPath = remoteConfig.getExportPath();
+
+		switch (protocol.toLowerCase()) {
+			case "mcp-sse":
+			case "mcp-stream":
+			case "mcp-streamable":
+				String sseEndpoint = exportPath != null && !exportPath.isEmpty() ? exportPath : "/sse";
+				return new Endpoint(baseUrl, sseEndpoint);
+
+			default:
+				logger.warn("Unsupported protocol for client creation: {}", protocol);
+				return null;
 		}
 	}
 
@@ -440,15 +408,10 @@ public class McpProxyService {
 	 * @param serviceName 服务名称
 	 */
 	public void closeConnection(String serviceName) {
-		McpSyncClient client = clientConnections.remove(serviceName);
-		if (client != null) {
-			try {
-				client.close();
-				logger.info("Closed connection to service: {}", serviceName);
-			}
-			catch (Exception e) {
-				logger.warn("Failed to close connection to service: {}", serviceName, e);
-			}
+		Endpoint endpoint = serviceEndpoints.remove(serviceName);
+		if (endpoint != null && !serviceEndpoints.containsValue(endpoint)) {
+			sessionPool.evict(endpoint);
+			logger.info("Closed connection to service: {}", serviceName);
 		}
 	}
 
@@ -456,16 +419,9 @@ public class McpProxyService {
 	 * 关闭所有连接
 	 */
 	public void closeAllConnections() {
-		for (Map.Entry<String, McpSyncClient> entry : clientConnections.entrySet()) {
-			try {
-				entry.getValue().close();
-				logger.info("Closed connection to service: {}", entry.getKey());
-			}
-			catch (Exception e) {
-				logger.warn("Failed to close connection to service: {}", entry.getKey(), e);
-			}
+		for (String serviceName : serviceEndpoints.keySet()) {
+			closeConnection(serviceName);
 		}
-		clientConnections.clear();
 	}
 
 	/**
@@ -474,7 +430,8 @@ public class McpProxyService {
 	 * @return 是否已连接
 	 */
 	public boolean isConnected(String serviceName) {
-		return clientConnections.containsKey(serviceName);
+		Endpoint endpoint = serviceEndpoints.get(serviceName);
+		return endpoint != null && sessionPool.openSessions(endpoint) > 0;
 	}
 
 	/**
@@ -482,7 +439,7 @@ public class McpProxyService {
 	 * @return 当前连接数量
 	 */
 	public int getConnectionCount() {
-		return clientConnections.size();
+		return serviceEndpoints.size();
 	}
 
 	/**
@@ -564,12 +521,12 @@ public class McpProxyService {
 	}
 
 	/**
-	 * 获取客户端连接（用于调试）
-	 * @param serviceName 服务名称
-	 * @return MCP客户端
+	 * 关闭所有连接和连接池
 	 */
-	public McpSyncClient getClient(String serviceName) {
-		return clientConnections.get(serviceName);
+	@Override
+	public void close() {
+		closeAllConnections();
+		sessionPool.close();
 	}
 
 }
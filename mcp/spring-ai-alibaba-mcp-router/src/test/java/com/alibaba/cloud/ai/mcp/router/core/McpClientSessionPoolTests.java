@@ -0,0 +1,247 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core;
+
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.spec.McpError;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class McpClientSessionPoolTests {
+
+	private static final McpClientSessionPool.Endpoint ENDPOINT = new McpClientSessionPool.Endpoint(
+			"http://127.0.0.1:8080", "/sse");
+
+	private final List<McpSyncClient> clients = new CopyOnWriteArrayList<>();
+
+	private McpClientSessionPool pool;
+
+	@AfterEach
+	void closePool() {
+		if (pool != null) {
+			pool.close();
+		}
+	}
+
+	@Test
+	void reusesAReleasedSession() {
+		pool = builder().build();
+
+		pool.execute(ENDPOINT, client -> "first");
+		String result = pool.execute(ENDPOINT, client -> "second");
+
+		assertThat(result).isEqualTo("second");
+		assertThat(clients).hasSize(1);
+		assertThat(pool.openSessions(ENDPOINT)).isEqualTo(1);
+	}
+
+	@Test
+	void failsWhenAllSessionsAreBorrowed() {
+		pool = builder().maxSessionsPerEndpoint(1).acquireTimeout(Duration.ofMillis(50)).build();
+
+		Throwable failure = pool.execute(ENDPOINT,
+				client -> catchThrowable(() -> pool.execute(ENDPOINT, inner -> "nested")));
+
+		assertThat(failure).isInstanceOf(IllegalStateException.class).hasMessageContaining("Timed out");
+
+		assertThat(clients).hasSize(1);
+		assertThat(pool.openSessions(ENDPOINT)).isEqualTo(1);
+	}
+
+	@Test
+	void handsAReleasedSessionToAWaitingCaller() throws Exception {
+		pool = builder().maxSessionsPerEndpoint(1).build();
+		CountDownLatch borrowed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<McpSyncClient> first = CompletableFuture.supplyAsync(() -> pool.execute(ENDPOINT, client -> {
+			borrowed.countDown();
+			await(release);
+			return client;
+		}));
+		assertThat(borrowed.await(5, TimeUnit.SECONDS)).isTrue();
+
+		CompletableFuture<McpSyncClient> second = CompletableFuture
+			.supplyAsync(() -> pool.execute(ENDPOINT, client -> client));
+		release.countDown();
+
+		assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+		assertThat(clients).hasSize(1);
+	}
+
+	@Test
+	void keepsTheSessionAfterAProtocolError() {
+		pool = builder().build();
+
+		assertThatThrownBy(() -> pool.execute(ENDPOINT, client -> {
+			throw new McpError("tool failed");
+		})).isInstanceOf(McpError.class);
+		pool.execute(ENDPOINT, client -> "ok");
+
+		assertThat(clients).hasSize(1);
+		verify(clients.get(0), never()).close();
+	}
+
+	@Test
+	void discardsTheSessionAfterAnyOtherFailure() {
+		pool = builder().build();
+
+		assertThatThrownBy(() -> pool.execute(ENDPOINT, client -> {
+			throw new IllegalStateException("connection reset");
+		})).isInstanceOf(IllegalStateException.class);
+
+		assertThat(pool.openSessions(ENDPOINT)).isZero();
+		verify(clients.get(0)).close();
+		pool.execute(ENDPOINT, client -> "ok");
+		assertThat(clients).hasSize(2);
+	}
+
+	@Test
+	void discardsTheSessionAfterAnError() {
+		pool = builder().maxSessionsPerEndpoint(1).build();
+
+		assertThatThrownBy(() -> pool.execute(ENDPOINT, client -> {
+			throw new AssertionError("boom");
+		})).isInstanceOf(AssertionError.class);
+
+		assertThat(pool.openSessions(ENDPOINT)).isZero();
+		verify(clients.get(0)).close();
+		assertThat(pool.<String>execute(ENDPOINT, client -> "ok")).isEqualTo("ok");
+	}
+
+	@Test
+	void backsOffAfterAFailedConnection() {
+		List<Integer> attempts = new CopyOnWriteArrayList<>();
+		pool = builder().sessionFactory(endpoint -> {
+			attempts.add(attempts.size());
+			throw new IllegalStateException("connection refused");
+		}).initialBackoff(Duration.ofMinutes(1)).build();
+
+		assertThatThrownBy(() -> pool.execute(ENDPOINT, client -> "ok")).hasMessage("connection refused");
+		assertThatThrownBy(() -> pool.execute(ENDPOINT, client -> "ok")).hasMessageContaining("backing off");
+
+		assertThat(attempts).hasSize(1);
+		assertThat(pool.openSessions(ENDPOINT)).isZero();
+	}
+
+	@Test
+	void evictsIdleSessions() {
+		pool = builder().build();
+		pool.warmUp(ENDPOINT);
+
+		pool.evict(ENDPOINT);
+
+		assertThat(pool.openSessions(ENDPOINT)).isZero();
+		verify(clients.get(0)).close();
+	}
+
+	@Test
+	void closesSessionsIdleForTooLong() {
+		pool = builder().maxIdleTime(Duration.ZERO).build();
+		pool.warmUp(ENDPOINT);
+
+		pool.maintain();
+
+		assertThat(pool.openSessions(ENDPOINT)).isZero();
+		verify(clients.get(0)).close();
+		verify(clients.get(0), never()).ping();
+	}
+
+	@Test
+	void keepsSessionsThatAnswerThePing() {
+		pool = builder().build();
+		pool.warmUp(ENDPOINT);
+
+		pool.maintain();
+
+		verify(clients.get(0)).ping();
+		assertThat(pool.openSessions(ENDPOINT)).isEqualTo(1);
+		pool.execute(ENDPOINT, client -> "ok");
+		assertThat(clients).hasSize(1);
+	}
+
+	@Test
+	void replacesASessionWhosePingFails() {
+		pool = builder().build();
+		pool.warmUp(ENDPOINT);
+		willThrow(new IllegalStateException("connection reset")).given(clients.get(0)).ping();
+
+		pool.maintain();
+
+		assertThat(pool.openSessions(ENDPOINT)).isZero();
+		verify(clients.get(0)).close();
+		McpSyncClient replacement = pool.execute(ENDPOINT, client -> client);
+		assertThat(replacement).isNotSameAs(clients.get(0));
+		assertThat(clients).hasSize(2);
+	}
+
+	@Test
+	void replacesASessionWhosePingTimesOut() {
+		pool = builder().pingTimeout(Duration.ofMillis(50)).build();
+		pool.warmUp(ENDPOINT);
+		CountDownLatch never = new CountDownLatch(1);
+		willAnswer(invocation -> {
+			never.await();
+			return null;
+		}).given(clients.get(0)).ping();
+
+		long start = System.nanoTime();
+		pool.maintain();
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(pool.openSessions(ENDPOINT)).isZero();
+		verify(clients.get(0)).close();
+	}
+
+	/**
+	 * The background task is disabled, the tests run {@link McpClientSessionPool#maintain()}
+	 * themselves and every idle session is due for a check
+	 */
+	private McpClientSessionPool.Builder builder() {
+		return McpClientSessionPool.builder().sessionFactory(endpoint -> {
+			McpSyncClient client = mock(McpSyncClient.class);
+			clients.add(client);
+			return client;
+		}).healthCheckInterval(Duration.ZERO).acquireTimeout(Duration.ofSeconds(5));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
+
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class McpServerKeywordIndexTests {
+
+	private final McpServerKeywordIndex index = new McpServerKeywordIndex();
+
+	@Test
+	void splitsLatinTextIntoLowerCaseWords() {
+		assertThat(McpServerKeywordIndex.tokenize("Weather-API v2, by_city"))
+			.containsExactly("weather", "api", "v2", "by", "city");
+		assertThat(McpServerKeywordIndex.tokenize(null)).isEmpty();
+		assertThat(McpServerKeywordIndex.tokenize("")).isEmpty();
+	}
+
+	@Test
+	void splitsIdeographsIntoBigrams() {
+		assertThat(McpServerKeywordIndex.tokenize("天气预报")).containsExactly("天气", "气预", "预报");
+	}
+
+	@Test
+	void keepsASingleIdeographAndSplitsMixedScripts() {
+		assertThat(McpServerKeywordIndex.tokenize("查询天气 API 与 雨")).containsExactly("查询", "询天", "天气", "api", "与",
+				"雨");
+		assertThat(McpServerKeywordIndex.tokenize("GPT模型")).containsExactly("gpt", "模型");
+	}
+
+	@Test
+	void findsChineseDescriptionsByBigram() {
+		index.put("weather", "提供城市天气预报", List.of());
+		index.put("stock", "股票行情查询", List.of());
+
+		assertThat(index.search("明天天气", 5)).extracting(McpServerKeywordIndex.Hit::name).containsExactly("weather");
+	}
+
+	@Test
+	void weighsNameAboveDescription() {
+		index.put("maps", "route planning", List.of());
+		index.put("navigator", "maps and route planning", List.of());
+
+		assertThat(index.search("maps", 5)).extracting(McpServerKeywordIndex.Hit::name)
+			.containsExactly("maps", "navigator");
+	}
+
+	@Test
+	void weighsTagsAboveDescription() {
+		index.put("atlas", "route planning", List.of("maps"));
+		index.put("navigator", "maps and route planning", List.of());
+
+		List<McpServerKeywordIndex.Hit> hits = index.search("maps", 5);
+
+		assertThat(hits).extracting(McpServerKeywordIndex.Hit::name).containsExactly("atlas", "navigator");
+		assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+	}
+
+	@Test
+	void replacesAndRemovesServers() {
+		index.put("weather", "weather forecast", List.of());
+		index.put("weather", "typhoon alerts", List.of());
+
+		assertThat(index.search("forecast", 5)).isEmpty();
+		assertThat(index.search("typhoon", 5)).extracting(McpServerKeywordIndex.Hit::name).containsExactly("weather");
+
+		index.remove("weather");
+
+		assertThat(index.search("typhoon", 5)).isEmpty();
+	}
+
+	@Test
+	void fusesKeywordAndVectorRanks() {
+		SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(new ConceptEmbeddingModel());
+		store.addServers(List.of(server("stock", "Stock quotes and market data"),
+				server("rain-alerts", "Rain alerts and storm warnings"),
+				server("weather", "Weather forecast for a city")));
+
+		// the keyword leg only finds "weather", the vector leg also finds "rain-alerts"
+		List<McpServerInfo> results = store.search("weather", 5);
+
+		assertThat(results).extracting(McpServerInfo::getName).containsExactly("weather", "rain-alerts");
+		assertThat(results.get(0).getScore()).isGreaterThan(results.get(1).getScore());
+	}
+
+	private static McpServerInfo server(String name, String description) {
+		return new McpServerInfo(name, description, "sse", "1.0.0", "http://localhost/" + name, true, List.of());
+	}
+
+	/**
+	 * Embeds a text by the concepts its words belong to, so that words of the same concept
+	 * are similar without sharing any keyword
+	 */
+	private static final class ConceptEmbeddingModel implements EmbeddingModel {
+
+		private static final Map<String, Integer> CONCEPTS = Map.of("weather", 0, "forecast", 0, "rain", 0, "storm", 0,
+				"stock", 1, "quotes", 1, "market", 1);
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < request.getInstructions().size(); i++) {
+				embeddings.add(new Embedding(concepts(request.getInstructions().get(i)), i));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return concepts(document.getText());
+		}
+
+		@Override
+		public int dimensions() {
+			return 2;
+		}
+
+		private static float[] concepts(String text) {
+			float[] vector = new float[2];
+			for (String term : McpServerKeywordIndex.tokenize(text)) {
+				Integer concept = CONCEPTS.get(term);
+				if (concept != null) {
+					vector[concept]++;
+				}
+			}
+			return vector;
+		}
+
+	}
+
+}
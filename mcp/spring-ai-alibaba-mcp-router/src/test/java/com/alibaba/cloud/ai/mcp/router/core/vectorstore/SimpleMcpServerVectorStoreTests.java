@@ -0,0 +1,149 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package com.alibaba.cloud.ai.mcp.router.core.vectorstore;
+
+import com.alibaba.cloud.ai.mcp.router.model.McpServerInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimpleMcpServerVectorStoreTests {
+
+	private final CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+
+	private final SimpleMcpServerVectorStore store = new SimpleMcpServerVectorStore(embeddingModel);
+
+	@Test
+	void embedsABatchOfServersInOneCall() {
+		int added = store.addServers(List.of(server("weather", "Weather forecast for a city"),
+				server("stock", "Stock quotes and market data"), server("translate", "Translate text between languages")));
+
+		assertThat(added).isEqualTo(3);
+		assertThat(embeddingModel.calls).isEqualTo(1);
+		assertThat(embeddingModel.texts).hasSize(3);
+		assertThat(store.size()).isEqualTo(3);
+	}
+
+	@Test
+	void keepsTheLastServerOfABatchWithTheSameName() {
+		int added = store.addServers(List.of(server("weather", "Old weather service"),
+				server("weather", "New weather service")));
+
+		assertThat(added).isEqualTo(1);
+		assertThat(embeddingModel.calls).isEqualTo(1);
+		assertThat(store.getServer("weather").getDescription()).isEqualTo("New weather service");
+	}
+
+	@Test
+	void replacesAServerAddedAgainUnderTheSameName() {
+		store.addServer(server("weather", "Weather forecast for a city"));
+
+		assertThat(store.addServer(server("weather", "Typhoon alerts for the coast"))).isTrue();
+
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(store.getAllServers()).singleElement()
+			.extracting(McpServerInfo::getDescription)
+			.isEqualTo("Typhoon alerts for the coast");
+		assertThat(store.search("typhoon", 5)).extracting(McpServerInfo::getName).containsExactly("weather");
+	}
+
+	@Test
+	void removesAServerFromLookupsAndSearch() {
+		store.addServers(List.of(server("weather", "Weather forecast for a city"),
+				server("stock", "Stock quotes and market data")));
+		int calls = embeddingModel.calls;
+
+		assertThat(store.removeServer("weather")).isTrue();
+
+		assertThat(embeddingModel.calls).isEqualTo(calls);
+		assertThat(store.getServer("weather")).isNull();
+		assertThat(store.size()).isEqualTo(1);
+		assertThat(store.getAllServers()).extracting(McpServerInfo::getName).containsExactly("stock");
+		assertThat(store.search("weather forecast", 5)).extracting(McpServerInfo::getName)
+			.doesNotContain("weather");
+		assertThat(store.removeServer("weather")).isFalse();
+	}
+
+	@Test
+	void looksUpServersByNameWithoutEmbedding() {
+		store.addServer(server("weather", "Weather forecast for a city"));
+		int calls = embeddingModel.calls;
+
+		assertThat(store.getServer("weather").getName()).isEqualTo("weather");
+		assertThat(store.getAllServers()).hasSize(1);
+		assertThat(store.search("", 5)).hasSize(1);
+
+		assertThat(embeddingModel.calls).isEqualTo(calls);
+	}
+
+	private static McpServerInfo server(String name, String description) {
+		return new McpServerInfo(name, description, "sse", "1.0.0", "http://localhost/" + name, true, List.of());
+	}
+
+	/**
+	 * Counts the calls to the model and embeds each text as its letter frequencies
+	 */
+	private static final class CountingEmbeddingModel implements EmbeddingModel {
+
+		private int calls;
+
+		private final List<String> texts = new ArrayList<>();
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			calls++;
+			texts.addAll(request.getInstructions());
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < request.getInstructions().size(); i++) {
+				embeddings.add(new Embedding(letters(request.getInstructions().get(i)), i));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return letters(document.getText());
+		}
+
+		@Override
+		public int dimensions() {
+			return 26;
+		}
+
+		private static float[] letters(String text) {
+			float[] vector = new float[26];
+			for (char c : text.toLowerCase(Locale.ROOT).toCharArray()) {
+				if (c >= 'a' && c <= 'z') {
+					vector[c - 'a']++;
+				}
+			}
+			return vector;
+		}
+
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.serializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the encoding and decoding time of the {@link MessageCodec codecs} against the
+ * JSON written by {@link JsonMessageCodec}, the format used before codecs were pluggable.
+ * No Redis is involved. The encoded size of every message is printed before the
+ * measurements:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="MessageCodecBenchmark -prof gc"
+ * </pre>
+ *
+ * @since 1.1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageCodecBenchmark {
+
+	@Param({ "json", "smile", "smile-lz4", "smile-zstd" })
+	public String codec;
+
+	@Param({ "user", "assistant-tool-calls", "tool-response" })
+	public String message;
+
+	private MessageCodec messageCodec;
+
+	private Message decoded;
+
+	private byte[] encoded;
+
+	@Setup
+	public void setUp() {
+		this.messageCodec = switch (this.codec) {
+			case "json" -> new JsonMessageCodec();
+			case "smile" -> new SmileMessageCodec();
+			case "smile-lz4" -> new SmileMessageCodec(MessageCompression.LZ4,
+					SmileMessageCodec.DEFAULT_COMPRESSION_THRESHOLD);
+			case "smile-zstd" -> new SmileMessageCodec(MessageCompression.ZSTD,
+					SmileMessageCodec.DEFAULT_COMPRESSION_THRESHOLD);
+			default -> throw new IllegalArgumentException(this.codec);
+		};
+		this.decoded = switch (this.message) {
+			case "user" -> UserMessage.builder()
+				.text("What will the weather be like in Hangzhou tomorrow?")
+				.metadata(Map.of("messageType", "USER"))
+				.build();
+			case "assistant-tool-calls" -> AssistantMessage.builder()
+				.content("")
+				.toolCalls(IntStream.range(0, 5)
+					.mapToObj(i -> new AssistantMessage.ToolCall("call_" + i, "function", "get_weather",
+							"{\"city\":\"Hangzhou\",\"date\":\"2026-01-0" + i + "\",\"unit\":\"celsius\"}"))
+					.toList())
+				.build();
+			case "tool-response" -> ToolResponseMessage.builder()
+				.responses(List.of(new ToolResponseMessage.ToolResponse("call_0", "get_weather", IntStream
+					.range(0, 48)
+					.mapToObj(hour -> "{\"hour\":" + hour + ",\"temperature\":" + (12 + hour % 9)
+							+ ",\"humidity\":0.6" + hour % 10 + ",\"condition\":\"partly cloudy\"}")
+					.collect(Collectors.joining(",", "[", "]")))))
+				.build();
+			default -> throw new IllegalArgumentException(this.message);
+		};
+		this.encoded = this.messageCodec.encode(this.decoded);
+		System.out.printf("%n%s %s: %d bytes%n", this.codec, this.message, this.encoded.length);
+	}
+
+	@Benchmark
+	public byte[] encode() {
+		return this.messageCodec.encode(this.decoded);
+	}
+
+	@Benchmark
+	public Message decode() {
+		return this.messageCodec.decode(this.encoded);
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.serializer;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.ai.chat.messages.Message;
+
+import java.io.IOException;
+
+/**
+ * {@link MessageCodec} writing every message as UTF-8 JSON, the default.
+ *
+ * @since 1.1.0.0
+ */
+public class JsonMessageCodec implements MessageCodec {
+
+	private final ObjectMapper objectMapper = configure(JsonMapper.builder());
+
+	@Override
+	public byte[] encode(Message message) {
+		try {
+			return this.objectMapper.writeValueAsBytes(message);
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Error serializing message", e);
+		}
+	}
+
+	@Override
+	public Message decode(byte[] bytes) {
+		try {
+			return this.objectMapper.readValue(bytes, Message.class);
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Error deserializing message", e);
+		}
+	}
+
+	/**
+	 * Build a mapper of any data format that reads and writes messages like the JSON one.
+	 */
+	static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B builder) {
+		M objectMapper = builder.configure(MapperFeature.AUTO_DETECT_GETTERS, false)
+			.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
+			.visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+			.build();
+		SimpleModule module = new SimpleModule();
+		module.addDeserializer(Message.class, new MessageDeserializer());
+		objectMapper.registerModule(module);
+		return objectMapper;
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.serializer;
+
+import org.springframework.ai.chat.messages.Message;
+
+/**
+ * Encodes the messages of a conversation to the bytes stored for them and back.
+ * <p>
+ * Every codec must decode the JSON written by {@link JsonMessageCodec}, the format of
+ * the entries stored before codecs were pluggable, so that the codec of a live store can
+ * be changed without migrating it.
+ *
+ * @since 1.1.0.0
+ */
+public interface MessageCodec {
+
+	/**
+	 * Encode a message.
+	 * @param message the message
+	 * @return the encoded message
+	 */
+	byte[] encode(Message message);
+
+	/**
+	 * Decode a message encoded by this codec or by {@link JsonMessageCodec}.
+	 * @param bytes the encoded message
+	 * @return the message
+	 */
+	Message decode(byte[] bytes);
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.serializer;
+
+import com.github.luben.zstd.Zstd;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Compression of the messages encoded by {@link SmileMessageCodec}. {@code LZ4} needs
+ * {@code org.lz4:lz4-java} and {@code ZSTD} {@code com.github.luben:zstd-jni} on the
+ * classpath. The id of every constant is written in the header of the encoded messages,
+ * so it must never change.
+ *
+ * @since 1.1.0.0
+ */
+public enum MessageCompression {
+
+	NONE(0) {
+		@Override
+		byte[] compress(byte[] bytes) {
+			return bytes;
+		}
+
+		@Override
+		void decompress(byte[] source, int offset, int length, byte[] target) {
+			System.arraycopy(source, offset, target, 0, length);
+		}
+	},
+
+	/**
+	 * Fast compression, for latency sensitive workloads.
+	 */
+	LZ4(1) {
+		@Override
+		byte[] compress(byte[] bytes) {
+			return Lz4.COMPRESSOR.compress(bytes);
+		}
+
+		@Override
+		void decompress(byte[] source, int offset, int length, byte[] target) {
+			Lz4.DECOMPRESSOR.decompress(source, offset, target, 0, target.length);
+		}
+	},
+
+	/**
+	 * Better ratio than LZ4 for a little more CPU.
+	 */
+	ZSTD(2) {
+		@Override
+		byte[] compress(byte[] bytes) {
+			return Zstd.compress(bytes, ZSTD_LEVEL);
+		}
+
+		@Override
+		void decompress(byte[] source, int offset, int length, byte[] target) {
+			long size = Zstd.decompressByteArray(target, 0, target.length, source, offset, length);
+			if (Zstd.isError(size) || size != target.length) {
+				throw new IllegalStateException("Corrupted zstd compressed message");
+			}
+		}
+	};
+
+	private static final int ZSTD_LEVEL = 3;
+
+	private final int id;
+
+	MessageCompression(int id) {
+		this.id = id;
+	}
+
+	int id() {
+		return this.id;
+	}
+
+	abstract byte[] compress(byte[] bytes);
+
+	/**
+	 * Decompress {@code source[offset, offset + length)} into the whole {@code target}.
+	 */
+	abstract void decompress(byte[] source, int offset, int length, byte[] target);
+
+	static MessageCompression of(int id) {
+		for (MessageCompression compression : values()) {
+			if (compression.id == id) {
+				return compression;
+			}
+		}
+		throw new IllegalStateException("Unknown message compression " + id);
+	}
+
+	/**
+	 * Only loaded when LZ4 is used, so that lz4-java stays optional.
+	 */
+	private static final class Lz4 {
+
+		static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+
+		static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.serializer;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileParser;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link MessageCodec} writing every message as Smile, the binary equivalent of JSON,
+ * optionally compressed once it reaches a size threshold. Needs
+ * {@code com.fasterxml.jackson.dataformat:jackson-dataformat-smile} on the classpath.
+ * <p>
+ * Encoded messages start with a header that JSON text can never start with:
+ * <pre>
+ * 0x00 | version | compression id | [uncompressed length, 4 bytes big endian] | payload
+ * </pre>
+ * The uncompressed length is only present for compressed payloads. Anything without the
+ * header is decoded as JSON, so stores written by {@link JsonMessageCodec} stay readable.
+ *
+ * @since 1.1.0.0
+ */
+public class SmileMessageCodec implements MessageCodec {
+
+	public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+
+	private static final byte MAGIC = 0x00;
+
+	private static final byte VERSION = 1;
+
+	private static final int HEADER_LENGTH = 3;
+
+	private static final int COMPRESSED_HEADER_LENGTH = HEADER_LENGTH + Integer.BYTES;
+
+	// the header above already identifies the format, no need for the one of Smile
+	private final SmileMapper smileMapper = JsonMessageCodec.configure(SmileMapper
+		.builder(SmileFactory.builder()
+			.disable(SmileGenerator.Feature.WRITE_HEADER)
+			.disable(SmileParser.Feature.REQUIRE_HEADER)
+			.build()));
+
+	private final JsonMessageCodec jsonMessageCodec = new JsonMessageCodec();
+
+	private final MessageCompression compression;
+
+	private final int compressionThreshold;
+
+	public SmileMessageCodec() {
+		this(MessageCompression.NONE, DEFAULT_COMPRESSION_THRESHOLD);
+	}
+
+	/**
+	 * @param compression the compression of the messages
+	 * @param compressionThreshold the size in bytes from which a message is compressed
+	 */
+	public SmileMessageCodec(MessageCompression compression, int compressionThreshold) {
+		Assert.notNull(compression, "compression cannot be null");
+		Assert.isTrue(compressionThreshold >= 0, "compressionThreshold cannot be negative");
+		this.compression = compression;
+		this.compressionThreshold = compressionThreshold;
+	}
+
+	@Override
+	public byte[] encode(Message message) {
+		byte[] payload;
+		try {
+			payload = this.smileMapper.writeValueAsBytes(message);
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Error serializing message", e);
+		}
+		if (this.compression != MessageCompression.NONE && payload.length >= this.compressionThreshold) {
+			byte[] compressed = this.compression.compress(payload);
+			if (compressed.length + Integer.BYTES < payload.length) {
+				return ByteBuffer.allocate(COMPRESSED_HEADER_LENGTH + compressed.length)
+					.put(MAGIC)
+					.put(VERSION)
+					.put((byte) this.compression.id())
+					.putInt(payload.length)
+					.put(compressed)
+					.array();
+			}
+		}
+		return ByteBuffer.allocate(HEADER_LENGTH + payload.length)
+			.put(MAGIC)
+			.put(VERSION)
+			.put((byte) MessageCompression.NONE.id())
+			.put(payload)
+			.array();
+	}
+
+	@Override
+	public Message decode(byte[] bytes) {
+		if (bytes.length == 0 || bytes[0] != MAGIC) {
+			return this.jsonMessageCodec.decode(bytes);
+		}
+		Assert.state(bytes.length >= HEADER_LENGTH && bytes[1] == VERSION,
+				() -> "Unsupported message encoding version " + ((bytes.length > 1) ? bytes[1] : "none"));
+		MessageCompression compression = MessageCompression.of(bytes[2]);
+		try {
+			if (compression == MessageCompression.NONE) {
+				return this.smileMapper.readValue(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH, Message.class);
+			}
+			byte[] payload = new byte[ByteBuffer.wrap(bytes, HEADER_LENGTH, Integer.BYTES).getInt()];
+			compression.decompress(bytes, COMPRESSED_HEADER_LENGTH, bytes.length - COMPRESSED_HEADER_LENGTH, payload);
+			return this.smileMapper.readValue(payload, Message.class);
+		}
+		catch (IOException e) {
+			throw new RuntimeException("Error deserializing message", e);
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.serializer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link SmileMessageCodec}.
+ */
+class SmileMessageCodecTests {
+
+	private static final String LONG_TEXT = "天气 weather report for the whole week, ".repeat(100);
+
+	@ParameterizedTest
+	@EnumSource(MessageCompression.class)
+	void roundTripsEveryMessageType(MessageCompression compression) {
+		SmileMessageCodec codec = new SmileMessageCodec(compression, 64);
+		List<Message> messages = List.of(UserMessage.builder().text(LONG_TEXT).metadata(Map.of("k", "v")).build(),
+				AssistantMessage.builder()
+					.content("calling")
+					.toolCalls(List.of(new AssistantMessage.ToolCall("1", "function", "weather", "{\"city\":\"杭州\"}")))
+					.build(),
+				ToolResponseMessage.builder()
+					.responses(List.of(new ToolResponseMessage.ToolResponse("1", "weather", LONG_TEXT)))
+					.build());
+
+		for (Message message : messages) {
+			Message decoded = codec.decode(codec.encode(message));
+
+			assertThat(decoded.getMessageType()).isEqualTo(message.getMessageType());
+			assertThat(decoded.getText()).isEqualTo(message.getText());
+		}
+		assertThat(codec.decode(codec.encode(messages.get(0))).getMetadata()).containsEntry("k", "v");
+		AssistantMessage assistantMessage = (AssistantMessage) codec.decode(codec.encode(messages.get(1)));
+		assertThat(assistantMessage.getToolCalls()).singleElement()
+			.satisfies(toolCall -> assertThat(toolCall.arguments()).isEqualTo("{\"city\":\"杭州\"}"));
+		ToolResponseMessage toolResponseMessage = (ToolResponseMessage) codec.decode(codec.encode(messages.get(2)));
+		assertThat(toolResponseMessage.getResponses()).singleElement()
+			.satisfies(response -> assertThat(response.responseData()).isEqualTo(LONG_TEXT));
+	}
+
+	@Test
+	void readsMessagesWrittenAsJson() {
+		byte[] json = new JsonMessageCodec().encode(new UserMessage("你好"));
+
+		Message decoded = new SmileMessageCodec(MessageCompression.LZ4, 0).decode(json);
+
+		assertThat(decoded).isInstanceOf(UserMessage.class);
+		assertThat(decoded.getText()).isEqualTo("你好");
+		assertThat(new String(json, StandardCharsets.UTF_8)).startsWith("{");
+	}
+
+	@ParameterizedTest
+	@EnumSource(value = MessageCompression.class, names = { "LZ4", "ZSTD" })
+	void compressesMessagesFromTheThreshold(MessageCompression compression) {
+		SmileMessageCodec codec = new SmileMessageCodec(compression, 1024);
+		byte[] uncompressed = new SmileMessageCodec().encode(new UserMessage(LONG_TEXT));
+
+		byte[] small = codec.encode(new UserMessage("hello"));
+		byte[] large = codec.encode(new UserMessage(LONG_TEXT));
+
+		assertThat(small[2]).isEqualTo((byte) MessageCompression.NONE.id());
+		assertThat(large[2]).isEqualTo((byte) compression.id());
+		assertThat(large.length).isLessThan(uncompressed.length / 4);
+	}
+
+	@Test
+	void isSmallerThanJson() {
+		Message message = new AssistantMessage(LONG_TEXT);
+
+		assertThat(new SmileMessageCodec().encode(message).length)
+			.isLessThan(new JsonMessageCodec().encode(message).length);
+	}
+
+	@Test
+	void rejectsUnknownVersions() {
+		byte[] encoded = new SmileMessageCodec().encode(new UserMessage("hello"));
+		encoded[1] = 42;
+
+		assertThatIllegalStateException().isThrownBy(() -> new SmileMessageCodec().decode(encoded))
+			.withMessageContaining("42");
+	}
+
+}
@@ -16,6 +16,16 @@
 package com.alibaba.cloud.ai.memory.elasticsearch;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeAggregationSource;
+import co.elastic.clients.elasticsearch._types.aggregations.CompositeBucket;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.DeleteByQueryResponse;
@@ -34,12 +44,23 @@ import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
- * Elasticsearch implementation of ChatMemoryRepository
+ * Elasticsearch implementation of ChatMemoryRepository.
+ * <p>
+ * The messages of a conversation are stored as documents with the ids
+ * {@code conversationId:sequence}, so saving a conversation overwrites its documents in
+ * one bulk request and only deletes the ones past the new end. Writes use the configured
+ * {@link Refresh} policy instead of refreshing the whole index: {@link Refresh#WaitFor}
+ * (the default) makes them visible to the next read without forcing a refresh,
+ * {@link Refresh#False} leaves it to the index refresh interval. Deletes by query cannot
+ * wait for a refresh, only {@link Refresh#True} forces one for them, under the other
+ * policies deleted messages may be read until the next refresh.
  */
 public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
 
@@ -47,13 +68,39 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 
 	private static final String INDEX_NAME = "chat_memory";
 
+	/**
+	 * Default {@code index.max_result_window}, the most messages read for a conversation.
+	 */
+	private static final int MAX_MESSAGES = 10_000;
+
+	private static final int CONVERSATION_IDS_PAGE_SIZE = 1_000;
+
+	private static final String CONVERSATION_IDS_AGGREGATION = "conversation_ids";
+
+	private static final List<SortOptions> MESSAGE_ORDER = List.of(
+			SortOptions.of(s -> s.field(f -> f.field("timestamp").order(SortOrder.Asc))),
+			// documents written before the sequence field existed keep their timestamp order
+			SortOptions.of(s -> s.field(f -> f.field("sequence").order(SortOrder.Asc).unmappedType(FieldType.Long))));
+
 	// private final ElasticsearchConfig config;
 
 	private final ElasticsearchClient client;
 
 	private final ObjectMapper objectMapper;
 
+	private final Refresh refresh;
+
 	public ElasticsearchChatMemoryRepository(ElasticsearchClient client) {
+		this(client, Refresh.WaitFor);
+	}
+
+	/**
+	 * @param client the Elasticsearch client
+	 * @param refresh when the writes become visible to searches
+	 */
+	public ElasticsearchChatMemoryRepository(ElasticsearchClient client, Refresh refresh) {
+		Assert.notNull(refresh, "refresh cannot be null");
+		this.refresh = refresh;
 		this.objectMapper = new ObjectMapper();
 		// Configure Jackson to ignore unknown properties to handle schema changes
 		this.objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
@@ -78,7 +125,8 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 				.mappings(m -> m.properties("conversationId", p -> p.keyword(k -> k))
 					.properties("messageType", p -> p.keyword(k -> k))
 					.properties("messageText", p -> p.text(t -> t))
-					.properties("timestamp", p -> p.date(d -> d))));
+					.properties("timestamp", p -> p.date(d -> d))
+					.properties("sequence", p -> p.integer(i -> i))));
 	}
 
 	public void recreateIndex() throws IOException {
@@ -138,18 +186,35 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 	// return new ElasticsearchClient(transport);
 	// }
 
+	/**
+	 * Pages through the distinct conversation ids with a composite aggregation, so neither
+	 * the messages nor a 10k hits window are involved.
+	 */
 	@Override
 	public List<String> findConversationIds() {
 		try {
-			SearchResponse<ChatMessage> response = client
-				.search(s -> s.index(INDEX_NAME).size(10000).query(q -> q.matchAll(m -> m)), ChatMessage.class);
-
-			return response.hits()
-				.hits()
-				.stream()
-				.map(hit -> hit.source().getConversationId())
-				.distinct()
-				.collect(Collectors.toList());
+			List<String> conversationIds = new ArrayList<>();
+			Map<String, FieldValue> afterKey = null;
+			do {
+				Map<String, FieldValue> after = afterKey;
+				SearchResponse<Void> response = client.search(s -> s.index(INDEX_NAME)
+					.size(0)
+					.aggregations(CONVERSATION_IDS_AGGREGATION, a -> a.composite(c -> {
+						c.size(CONVERSATION_IDS_PAGE_SIZE)
+							.sources(Map.of("conversationId",
+									CompositeAggregationSource.of(cs -> cs.terms(t -> t.field("conversationId")))));
+						return (after != null) ? c.after(after) : c;
+					})), Void.class);
+				CompositeAggregate aggregate = response.aggregations().get(CONVERSATION_IDS_AGGREGATION).composite();
+				List<CompositeBucket> buckets = aggregate.buckets().array();
+				for (CompositeBucket bucket : buckets) {
+					conversationIds.add(bucket.key().get("conversationId").stringValue());
+				}
+				afterKey = (buckets.size() < CONVERSATION_IDS_PAGE_SIZE || aggregate.afterKey().isEmpty()) ? null
+						: aggregate.afterKey();
+			}
+			while (afterKey != null);
+			return conversationIds;
 		}
 		catch (IOException e) {
 			throw new RuntimeException("Error finding conversation IDs", e);
@@ -162,10 +227,9 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 		try {
 			logger.info("Finding messages for conversation: {}", conversationId);
 			SearchResponse<ChatMessage> response = client.search(s -> s.index(INDEX_NAME)
-				.query(q -> q.term(t -> t.field("conversationId").value(conversationId)))
-				.sort(sort -> sort
-					.field(f -> f.field("timestamp").order(co.elastic.clients.elasticsearch._types.SortOrder.Asc))),
-					ChatMessage.class);
+				.query(conversationQuery(conversationId))
+				.size(MAX_MESSAGES)
+				.sort(MESSAGE_ORDER), ChatMessage.class);
 
 			List<Message> messages = response.hits()
 				.hits()
@@ -190,16 +254,22 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 		Assert.noNullElements(messages, "messages cannot contain null elements");
 
 		try {
-			// Delete existing messages first
-			deleteByConversationId(conversationId);
-
-			// Bulk insert new messages
-			BulkRequest.Builder br = new BulkRequest.Builder();
-			for (Message message : messages) {
-				ChatMessage chatMessage = new ChatMessage(conversationId, message);
-				logger.info("Saving message for {}: type={}, text={}", conversationId, chatMessage.getMessageType(),
-						chatMessage.getMessageText());
-				br.operations(op -> op.index(idx -> idx.index(INDEX_NAME).document(chatMessage)));
+			long timestamp = System.currentTimeMillis();
+			List<String> ids = new ArrayList<>(messages.size());
+			BulkRequest.Builder br = new BulkRequest.Builder().refresh(this.refresh);
+			for (int i = 0; i < messages.size(); i++) {
+				ChatMessage chatMessage = new ChatMessage(conversationId, messages.get(i), timestamp, i);
+				String id = conversationId + ":" + i;
+				ids.add(id);
+				br.operations(op -> op.index(idx -> idx.index(INDEX_NAME).id(id).document(chatMessage)));
+			}
+
+			// Drop the documents the new messages do not overwrite, including those written
+			// with generated ids, the refresh of the bulk request makes both visible
+			deleteByQuery(Query.of(q -> q.bool(b -> b.filter(conversationQuery(conversationId))
+				.mustNot(m -> m.ids(i -> i.values(ids))))), messages.isEmpty(), conversationId);
+			if (messages.isEmpty()) {
+				return;
 			}
 
 			BulkResponse response = client.bulk(br.build());
@@ -212,10 +282,7 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 							.collect(Collectors.joining(", ")));
 				throw new RuntimeException("Error saving messages to Elasticsearch");
 			}
-
-			// Ensure index is refreshed immediately
-			client.indices().refresh(r -> r.index(INDEX_NAME));
-			logger.info("Successfully saved {} messages for conversation {}", messages.size(), conversationId);
+			logger.debug("Saved {} messages for conversation {}", messages.size(), conversationId);
 		}
 		catch (IOException e) {
 			logger.error("Error saving messages", e);
@@ -227,55 +294,104 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		try {
-			DeleteByQueryResponse response = client.deleteByQuery(
-					d -> d.index(INDEX_NAME).query(q -> q.term(t -> t.field("conversationId").value(conversationId))));
-
-			if (response.failures().size() > 0) {
-				throw new RuntimeException("Error deleting messages for conversation: " + conversationId);
-			}
+			deleteByQuery(conversationQuery(conversationId), true, conversationId);
 		}
 		catch (IOException e) {
 			throw new RuntimeException("Error deleting messages", e);
 		}
 	}
 
+	/**
+	 * Delete the oldest {@code deleteSize} messages of a conversation once it holds
+	 * {@code maxLimit} messages or more. The messages are ranked by timestamp and
+	 * sequence, and everything up to the last message to delete goes in a single delete by
+	 * query, the kept messages are not touched.
+	 * @param conversationId the id of the conversation
+	 * @param maxLimit the number of messages that triggers the trimming
+	 * @param deleteSize the number of messages to delete
+	 */
 	public void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
+		Assert.isTrue(deleteSize > 0, "deleteSize must be positive");
 		try {
+			// the total and the newest message to delete, without reading the others
 			SearchResponse<ChatMessage> response = client.search(s -> s.index(INDEX_NAME)
-				.query(q -> q.term(t -> t.field("conversationId").value(conversationId)))
-				.sort(sort -> sort
-					.field(f -> f.field("timestamp").order(co.elastic.clients.elasticsearch._types.SortOrder.Asc))),
-					ChatMessage.class);
-
-			List<ChatMessage> messages = response.hits().hits().stream().map(Hit::source).collect(Collectors.toList());
-
-			if (messages.size() >= maxLimit) {
-				// Delete all messages
+				.query(conversationQuery(conversationId))
+				.from(deleteSize - 1)
+				.size(1)
+				.trackTotalHits(t -> t.enabled(true))
+				.sort(MESSAGE_ORDER)
+				.source(src -> src.filter(f -> f.includes("timestamp", "sequence"))), ChatMessage.class);
+
+			long total = response.hits().total().value();
+			if (total < maxLimit) {
+				return;
+			}
+			if (total <= deleteSize || response.hits().hits().isEmpty()) {
 				deleteByConversationId(conversationId);
-
-				// Reinsert messages after skipping the oldest ones
-				List<ChatMessage> messagesToKeep = messages.stream().skip(deleteSize).collect(Collectors.toList());
-
-				BulkRequest.Builder br = new BulkRequest.Builder();
-				for (ChatMessage message : messagesToKeep) {
-					br.operations(op -> op.index(idx -> idx.index(INDEX_NAME).document(message)));
-				}
-
-				BulkResponse bulkResponse = client.bulk(br.build());
-				if (bulkResponse.errors()) {
-					throw new RuntimeException("Error saving messages to Elasticsearch");
-				}
-
-				// Force refresh the index to make changes available immediately
-				client.indices().refresh(r -> r.index(INDEX_NAME));
+				return;
+			}
+			ChatMessage last = response.hits().hits().get(0).source();
+			String timestamp = String.valueOf(last.getTimestamp());
+			Query rankedBefore;
+			if (last.getSequence() != null) {
+				rankedBefore = Query.of(q -> q.bool(b -> b.should(s -> s.range(r -> r.date(d -> d.field("timestamp")
+					.lt(timestamp))))
+					.should(s -> s.bool(sb -> sb.filter(f -> f.term(t -> t.field("timestamp").value(last.getTimestamp())))
+						.filter(f -> f.range(r -> r.number(n -> n.field("sequence").lte((double) last.getSequence()))))))
+					.minimumShouldMatch("1")));
 			}
+			else {
+				rankedBefore = rankedBeforeUnsequenced(conversationId, deleteSize, last.getTimestamp());
+			}
+			deleteByQuery(Query.of(q -> q.bool(b -> b.filter(conversationQuery(conversationId)).filter(rankedBefore))),
+					true, conversationId);
 		}
 		catch (IOException e) {
 			throw new RuntimeException("Error clearing over limit messages", e);
 		}
 	}
 
+	/**
+	 * Messages written before the sequence field existed only rank by timestamp, so the
+	 * ones sharing the millisecond of the last message to delete are picked by id, the
+	 * newer messages of that millisecond are kept.
+	 */
+	private Query rankedBeforeUnsequenced(String conversationId, int deleteSize, long timestamp) throws IOException {
+		Query older = Query.of(q -> q.range(r -> r.date(d -> d.field("timestamp").lt(String.valueOf(timestamp)))));
+		long olderCount = client
+			.count(c -> c.index(INDEX_NAME)
+				.query(q -> q.bool(b -> b.filter(conversationQuery(conversationId)).filter(older))))
+			.count();
+		if (olderCount >= deleteSize) {
+			return older;
+		}
+		SearchResponse<Void> ties = client.search(s -> s.index(INDEX_NAME)
+			.query(q -> q.bool(b -> b.filter(conversationQuery(conversationId))
+				.filter(f -> f.term(t -> t.field("timestamp").value(timestamp)))))
+			.size((int) (deleteSize - olderCount))
+			.sort(MESSAGE_ORDER)
+			.source(src -> src.fetch(false)), Void.class);
+		List<String> ids = ties.hits().hits().stream().map(Hit::id).toList();
+		return Query
+			.of(q -> q.bool(b -> b.should(older).should(s -> s.ids(i -> i.values(ids))).minimumShouldMatch("1")));
+	}
+
+	private void deleteByQuery(Query query, boolean refresh, String conversationId) throws IOException {
+		// delete by query cannot wait for a refresh, only the True policy forces one
+		DeleteByQueryResponse response = client.deleteByQuery(d -> d.index(INDEX_NAME)
+			.query(query)
+			.conflicts(Conflicts.Proceed)
+			.refresh(refresh && this.refresh == Refresh.True));
+		if (!response.failures().isEmpty()) {
+			throw new RuntimeException("Error deleting messages for conversation: " + conversationId);
+		}
+	}
+
+	private static Query conversationQuery(String conversationId) {
+		return Query.of(q -> q.term(t -> t.field("conversationId").value(conversationId)));
+	}
+
 	@Override
 	public void close() {
 		// Elasticsearch client doesn't need explicit closing
@@ -336,17 +452,20 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 
 		private long timestamp;
 
+		private Integer sequence;
+
 		// For backward compatibility with existing data
 		private Object message;
 
 		public ChatMessage() {
 		}
 
-		public ChatMessage(String conversationId, Message message) {
+		public ChatMessage(String conversationId, Message message, long timestamp, int sequence) {
 			this.conversationId = conversationId;
 			this.messageType = message.getMessageType().toString();
 			this.messageText = message.getText();
-			this.timestamp = System.currentTimeMillis();
+			this.timestamp = timestamp;
+			this.sequence = sequence;
 		}
 
 		public String getConversationId() {
@@ -381,6 +500,14 @@ public class ElasticsearchChatMemoryRepository implements ChatMemoryRepository,
 			this.timestamp = timestamp;
 		}
 
+		public Integer getSequence() {
+			return sequence;
+		}
+
+		public void setSequence(Integer sequence) {
+			this.sequence = sequence;
+		}
+
 		public Object getMessage() {
 			return message;
 		}
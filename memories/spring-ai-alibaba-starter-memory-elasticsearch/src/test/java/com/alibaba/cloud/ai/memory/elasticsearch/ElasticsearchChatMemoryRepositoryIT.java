@@ -42,6 +42,7 @@ import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.apache.http.HttpHost;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -267,6 +268,25 @@ class ElasticsearchChatMemoryRepositoryIT {
 		assertThat(foundMessage4).isTrue();
 	}
 
+	@Test
+	void keepsMessageOrderAndTrimsTheOldestMessages() {
+		var conversationId = UUID.randomUUID().toString();
+		List<Message> messages = new ArrayList<>();
+		for (int i = 0; i < 12; i++) {
+			messages.add((i % 2 == 0) ? new UserMessage("Message " + i) : new AssistantMessage("Message " + i));
+		}
+		chatMemoryRepository.saveAll(conversationId, messages);
+		chatMemoryRepository.saveAll(conversationId, messages.subList(0, 11));
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactlyElementsOf(messages.subList(0, 11).stream().map(Message::getText).toList());
+
+		((ElasticsearchChatMemoryRepository) chatMemoryRepository).clearOverLimit(conversationId, 10, 4);
+
+		assertThat(chatMemoryRepository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactlyElementsOf(messages.subList(4, 11).stream().map(Message::getText).toList());
+	}
+
 	@Test
 	void debugElasticsearchQuery() throws Exception {
 		var repo = (ElasticsearchChatMemoryRepository) chatMemoryRepository;
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.elasticsearch;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.CountRequest;
+import co.elastic.clients.elasticsearch.core.DeleteByQueryRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.Endpoint;
+import co.elastic.clients.transport.JsonEndpoint;
+import co.elastic.clients.transport.TransportOptions;
+import co.elastic.clients.transport.endpoints.BooleanResponse;
+import jakarta.json.stream.JsonParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ElasticsearchChatMemoryRepository} against a transport that records
+ * the requests and answers them with canned responses.
+ */
+class ElasticsearchChatMemoryRepositoryTests {
+
+	private static final String SHARDS = "\"_shards\":{\"total\":1,\"successful\":1,\"failed\":0}";
+
+	private static final String DELETED = "{\"took\":1,\"timed_out\":false,\"total\":0,\"deleted\":0,\"failures\":[]}";
+
+	private final List<Object> requests = new ArrayList<>();
+
+	@Test
+	void findConversationIdsPagesThroughTheCompositeAggregation() {
+		List<String> firstPage = IntStream.range(0, 1000).mapToObj(i -> "c" + i).toList();
+		ElasticsearchChatMemoryRepository repository = repository(Refresh.WaitFor, request -> {
+			SearchRequest search = (SearchRequest) request;
+			Map<String, FieldValue> after = search.aggregations().get("conversation_ids").composite().after();
+			return after.isEmpty() ? conversationIds(firstPage, "c999")
+					: conversationIds(List.of("c1000", "c1001"), "c1001");
+		});
+
+		List<String> conversationIds = repository.findConversationIds();
+
+		assertThat(conversationIds).hasSize(1002).startsWith("c0").endsWith("c1000", "c1001");
+		List<SearchRequest> searches = requests(SearchRequest.class);
+		assertThat(searches).hasSize(2);
+		assertThat(searches.get(1).aggregations().get("conversation_ids").composite().after().get("conversationId")
+			.stringValue()).isEqualTo("c999");
+	}
+
+	@Test
+	void findConversationIdsStopsWithoutAfterKey() {
+		ElasticsearchChatMemoryRepository repository = repository(Refresh.WaitFor,
+				request -> conversationIds(IntStream.range(0, 1000).mapToObj(i -> "c" + i).toList(), null));
+
+		assertThat(repository.findConversationIds()).hasSize(1000);
+		assertThat(requests(SearchRequest.class)).hasSize(1);
+	}
+
+	@Test
+	void clearOverLimitDeletesUpToTheSequenceOfTheLastMessage() {
+		ElasticsearchChatMemoryRepository repository = repository(Refresh.WaitFor,
+				request -> request instanceof SearchRequest ? hits(5, "{\"_index\":\"chat_memory\",\"_id\":\"c:1\","
+						+ "\"_source\":{\"timestamp\":100,\"sequence\":1}}") : DELETED);
+
+		repository.clearOverLimit("c", 5, 2);
+
+		Query rankedBefore = rankedBefore(requests(DeleteByQueryRequest.class).get(0));
+		assertThat(rankedBefore.bool().should()).hasSize(2);
+		assertThat(rankedBefore.bool().should().get(0).range().date().lt()).isEqualTo("100");
+		assertThat(rankedBefore.bool().should().get(1).bool().filter().get(1).range().number().lte()).isEqualTo(1);
+	}
+
+	@Test
+	void clearOverLimitKeepsNewerUnsequencedMessagesOfTheSameMillisecond() {
+		ElasticsearchChatMemoryRepository repository = repository(Refresh.WaitFor, request -> {
+			if (request instanceof CountRequest) {
+				return "{\"count\":1," + SHARDS + "}";
+			}
+			if (request instanceof SearchRequest search && search.from() != null) {
+				return hits(5, "{\"_index\":\"chat_memory\",\"_id\":\"legacy-2\",\"_source\":{\"timestamp\":100}}");
+			}
+			if (request instanceof SearchRequest) {
+				return hits(3, "{\"_index\":\"chat_memory\",\"_id\":\"legacy-1\"}",
+						"{\"_index\":\"chat_memory\",\"_id\":\"legacy-2\"}");
+			}
+			return DELETED;
+		});
+
+		repository.clearOverLimit("c", 5, 3);
+
+		// one message is older, the other two are picked among those of the same millisecond
+		SearchRequest ties = requests(SearchRequest.class).get(1);
+		assertThat(ties.size()).isEqualTo(2);
+		assertThat(ties.query().bool().filter().get(1).term().value().longValue()).isEqualTo(100);
+		Query rankedBefore = rankedBefore(requests(DeleteByQueryRequest.class).get(0));
+		assertThat(rankedBefore.bool().should().get(0).range().date().lt()).isEqualTo("100");
+		assertThat(rankedBefore.bool().should().get(1).ids().values()).containsExactly("legacy-1", "legacy-2");
+	}
+
+	@Test
+	void deletesOnlyRefreshUnderTheTruePolicy() {
+		repository(Refresh.WaitFor, request -> DELETED).deleteByConversationId("c");
+		repository(Refresh.True, request -> DELETED).deleteByConversationId("c");
+
+		assertThat(requests(DeleteByQueryRequest.class)).extracting(DeleteByQueryRequest::refresh)
+			.containsExactly(false, true);
+	}
+
+	private ElasticsearchChatMemoryRepository repository(Refresh refresh, Function<Object, String> responses) {
+		return new ElasticsearchChatMemoryRepository(new ElasticsearchClient(new RecordingTransport(responses)),
+				refresh);
+	}
+
+	private <T> List<T> requests(Class<T> type) {
+		return this.requests.stream().filter(type::isInstance).map(type::cast).toList();
+	}
+
+	private static Query rankedBefore(DeleteByQueryRequest request) {
+		return request.query().bool().filter().get(1);
+	}
+
+	private static String hits(long total, String... hits) {
+		return "{\"took\":1,\"timed_out\":false," + SHARDS + ",\"hits\":{\"total\":{\"value\":" + total
+				+ ",\"relation\":\"eq\"},\"hits\":[" + String.join(",", hits) + "]}}";
+	}
+
+	private static String conversationIds(List<String> conversationIds, String afterKey) {
+		String buckets = conversationIds.stream()
+			.map(id -> "{\"key\":{\"conversationId\":\"" + id + "\"},\"doc_count\":1}")
+			.collect(Collectors.joining(","));
+		String after = afterKey != null ? "\"after_key\":{\"conversationId\":\"" + afterKey + "\"}," : "";
+		return "{\"took\":1,\"timed_out\":false," + SHARDS
+				+ ",\"hits\":{\"total\":{\"value\":0,\"relation\":\"eq\"},\"hits\":[]},"
+				+ "\"aggregations\":{\"composite#conversation_ids\":{" + after + "\"buckets\":[" + buckets + "]}}}";
+	}
+
+	/**
+	 * Records the requests and deserializes the responses the way the REST transport does,
+	 * the index always exists.
+	 */
+	private final class RecordingTransport implements ElasticsearchTransport {
+
+		private final JsonpMapper mapper = new JacksonJsonpMapper();
+
+		private final Function<Object, String> responses;
+
+		private RecordingTransport(Function<Object, String> responses) {
+			this.responses = responses;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <RequestT, ResponseT, ErrorT> ResponseT performRequest(RequestT request,
+				Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+			if (!(endpoint instanceof JsonEndpoint<RequestT, ResponseT, ErrorT> jsonEndpoint)) {
+				return (ResponseT) new BooleanResponse(true);
+			}
+			requests.add(request);
+			try (JsonParser parser = this.mapper.jsonProvider()
+				.createParser(new StringReader(this.responses.apply(request)))) {
+				return jsonEndpoint.responseDeserializer().deserialize(parser, this.mapper);
+			}
+		}
+
+		@Override
+		public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(RequestT request,
+				Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+			return CompletableFuture.completedFuture(performRequest(request, endpoint, options));
+		}
+
+		@Override
+		public JsonpMapper jsonpMapper() {
+			return this.mapper;
+		}
+
+		@Override
+		public TransportOptions options() {
+			return null;
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
@@ -25,10 +25,10 @@ public class H2ChatMemoryRepository extends JdbcChatMemoryRepository {
 	// H2 specific query statements
 	private static final String H2_QUERY_ADD = "INSERT INTO ai_chat_memory (conversation_id, content, type, timestamp) VALUES (?, ?, ?, ?)";
 
-	private static final String H2_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+	private static final String H2_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp, id";
 
-	private H2ChatMemoryRepository(JdbcTemplate jdbcTemplate) {
-		super(jdbcTemplate);
+	private H2ChatMemoryRepository(JdbcTemplate jdbcTemplate, boolean appendOnly) {
+		super(jdbcTemplate, appendOnly);
 	}
 
 	public static H2ChatMemoryRepository.H2Builder h2Builder() {
@@ -39,13 +39,20 @@ public class H2ChatMemoryRepository extends JdbcChatMemoryRepository {
 
 		private JdbcTemplate jdbcTemplate;
 
+		private boolean appendOnly;
+
 		public H2ChatMemoryRepository.H2Builder jdbcTemplate(JdbcTemplate jdbcTemplate) {
 			this.jdbcTemplate = jdbcTemplate;
 			return this;
 		}
 
+		public H2ChatMemoryRepository.H2Builder appendOnly(boolean appendOnly) {
+			this.appendOnly = appendOnly;
+			return this;
+		}
+
 		public H2ChatMemoryRepository build() {
-			return new H2ChatMemoryRepository(this.jdbcTemplate);
+			return new H2ChatMemoryRepository(this.jdbcTemplate, this.appendOnly);
 		}
 
 	}
@@ -75,4 +82,9 @@ public class H2ChatMemoryRepository extends JdbcChatMemoryRepository {
 		return H2_QUERY_GET;
 	}
 
+	@Override
+	protected String getTimestampColumn() {
+		return "timestamp";
+	}
+
 }
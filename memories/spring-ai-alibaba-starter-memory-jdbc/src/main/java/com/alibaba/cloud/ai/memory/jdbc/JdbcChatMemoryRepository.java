@@ -27,7 +27,9 @@ import org.springframework.util.Assert;
 import java.sql.*;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class JdbcChatMemoryRepository implements ChatMemoryRepository {
@@ -46,13 +48,41 @@ public abstract class JdbcChatMemoryRepository implements ChatMemoryRepository {
 			SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY "timestamp"
 			""";
 
+	private static final String QUERY_GET_TAIL = """
+			SELECT %1$s, content, type, %2$s FROM ai_chat_memory WHERE conversation_id = ? ORDER BY %1$s DESC
+			""";
+
+	private static final String QUERY_TRIM = """
+			DELETE FROM ai_chat_memory WHERE conversation_id = ? AND %s < ?
+			""";
+
 	private static final String QUERY_CLEAR = "DELETE FROM ai_chat_memory WHERE conversation_id = ?";
 
 	private final JdbcTemplate jdbcTemplate;
 
+	private final boolean appendOnly;
+
+	private final String getTailSql;
+
+	private final String trimSql;
+
 	public JdbcChatMemoryRepository(JdbcTemplate jdbcTemplate) {
+		this(jdbcTemplate, false);
+	}
+
+	/**
+	 * Create a repository.
+	 * @param jdbcTemplate the template used to access the database
+	 * @param appendOnly whether {@link #saveAll} only inserts the messages that are not
+	 * persisted yet and drops the evicted ones with a ranged delete, instead of
+	 * rewriting the whole conversation
+	 */
+	protected JdbcChatMemoryRepository(JdbcTemplate jdbcTemplate, boolean appendOnly) {
 		Assert.notNull(jdbcTemplate, "jdbcTemplate cannot be null");
 		this.jdbcTemplate = jdbcTemplate;
+		this.appendOnly = appendOnly;
+		this.getTailSql = String.format(QUERY_GET_TAIL, getSequenceColumn(), getTimestampColumn());
+		this.trimSql = String.format(QUERY_TRIM, getSequenceColumn());
 		checkAndCreateTable();
 	}
 
@@ -85,11 +115,84 @@ public abstract class JdbcChatMemoryRepository implements ChatMemoryRepository {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		Assert.notNull(messages, "messages cannot be null");
 		Assert.noNullElements(messages, "messages cannot contain null elements");
+		if (this.appendOnly) {
+			appendAll(conversationId, messages);
+			return;
+		}
 		this.deleteByConversationId(conversationId);
 		this.jdbcTemplate.batchUpdate(getAddSql(),
 				new JdbcChatMemoryRepository.AddBatchPreparedStatement(conversationId, messages));
 	}
 
+	/**
+	 * Bring the stored conversation in line with {@code messages} while touching as few
+	 * rows as possible. Chat memories hand over the whole window on every turn, which
+	 * usually is the stored conversation, possibly without its oldest messages, followed
+	 * by the messages of the new turn. Only the newest rows, at most as many as the
+	 * window holds, can be part of it, so only those are read. The evicted rows are
+	 * removed with a single delete on the sequence column and only the new messages are
+	 * inserted. Any other change falls back to rewriting the conversation.
+	 */
+	private void appendAll(String conversationId, List<Message> messages) {
+		if (messages.isEmpty()) {
+			this.deleteByConversationId(conversationId);
+			return;
+		}
+		List<StoredMessage> stored = new ArrayList<>(this.jdbcTemplate.query(connection -> {
+			PreparedStatement ps = connection.prepareStatement(this.getTailSql);
+			ps.setString(1, conversationId);
+			ps.setMaxRows(messages.size());
+			return ps;
+		}, (rs, i) -> new StoredMessage(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getTimestamp(4).getTime())));
+		Collections.reverse(stored);
+		int evicted = evictedCount(stored, messages);
+		long nextTimestamp = Instant.now().toEpochMilli();
+		if (evicted == stored.size()) {
+			if (!stored.isEmpty()) {
+				this.deleteByConversationId(conversationId);
+			}
+		}
+		else {
+			if (evicted > 0 || stored.size() == messages.size()) {
+				// also drops the rows older than the ones read
+				this.jdbcTemplate.update(this.trimSql, conversationId, stored.get(evicted).sequence());
+			}
+			// keep the timestamps ascending for readers that order by them
+			nextTimestamp = Math.max(nextTimestamp, stored.get(stored.size() - 1).timestamp() + 1);
+		}
+		List<Message> newMessages = messages.subList(stored.size() - evicted, messages.size());
+		if (!newMessages.isEmpty()) {
+			this.jdbcTemplate.batchUpdate(getAddSql(), new JdbcChatMemoryRepository.AddBatchPreparedStatement(
+					conversationId, newMessages, new AtomicLong(nextTimestamp)));
+		}
+	}
+
+	/**
+	 * Find the number of leading stored messages to drop so that the remaining ones are
+	 * a prefix of {@code messages}.
+	 * @return the number of messages to drop, {@code stored.size()} if nothing can be
+	 * kept
+	 */
+	private static int evictedCount(List<StoredMessage> stored, List<Message> messages) {
+		for (int evicted = Math.max(0, stored.size() - messages.size()); evicted < stored.size(); evicted++) {
+			if (isPrefix(stored, evicted, messages)) {
+				return evicted;
+			}
+		}
+		return stored.size();
+	}
+
+	private static boolean isPrefix(List<StoredMessage> stored, int from, List<Message> messages) {
+		for (int i = from; i < stored.size(); i++) {
+			Message message = messages.get(i - from);
+			if (!stored.get(i).type().equals(message.getMessageType().name())
+					|| !Objects.equals(stored.get(i).content(), message.getText())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void deleteByConversationId(@NotNull String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
@@ -112,6 +215,26 @@ public abstract class JdbcChatMemoryRepository implements ChatMemoryRepository {
 		return QUERY_GET;
 	}
 
+	/**
+	 * Get the column that increases with every inserted record, used in append-only mode
+	 * to find the newest records of a conversation and to delete the older ones
+	 * @return the column name
+	 */
+	protected String getSequenceColumn() {
+		return "id";
+	}
+
+	/**
+	 * Get the timestamp column as it has to be written in SQL statements
+	 * @return the column name
+	 */
+	protected String getTimestampColumn() {
+		return "\"timestamp\"";
+	}
+
+	private record StoredMessage(long sequence, String content, String type, long timestamp) {
+	}
+
 	private record AddBatchPreparedStatement(String conversationId, List<Message> messages,
 			AtomicLong instantSeq) implements BatchPreparedStatementSetter {
 
@@ -25,10 +25,10 @@ public class MysqlChatMemoryRepository extends JdbcChatMemoryRepository {
 	// MySQL specific query statements
 	private static final String MYSQL_QUERY_ADD = "INSERT INTO ai_chat_memory (conversation_id, content, type, timestamp) VALUES (?, ?, ?, ?)";
 
-	private static final String MYSQL_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+	private static final String MYSQL_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp, id";
 
-	private MysqlChatMemoryRepository(JdbcTemplate jdbcTemplate) {
-		super(jdbcTemplate);
+	private MysqlChatMemoryRepository(JdbcTemplate jdbcTemplate, boolean appendOnly) {
+		super(jdbcTemplate, appendOnly);
 	}
 
 	public static MysqlBuilder mysqlBuilder() {
@@ -39,13 +39,20 @@ public class MysqlChatMemoryRepository extends JdbcChatMemoryRepository {
 
 		private JdbcTemplate jdbcTemplate;
 
+		private boolean appendOnly;
+
 		public MysqlBuilder jdbcTemplate(JdbcTemplate jdbcTemplate) {
 			this.jdbcTemplate = jdbcTemplate;
 			return this;
 		}
 
+		public MysqlBuilder appendOnly(boolean appendOnly) {
+			this.appendOnly = appendOnly;
+			return this;
+		}
+
 		public MysqlChatMemoryRepository build() {
-			return new MysqlChatMemoryRepository(this.jdbcTemplate);
+			return new MysqlChatMemoryRepository(this.jdbcTemplate, this.appendOnly);
 		}
 
 	}
@@ -77,4 +84,9 @@ public class MysqlChatMemoryRepository extends JdbcChatMemoryRepository {
 		return MYSQL_QUERY_GET;
 	}
 
+	@Override
+	protected String getTimestampColumn() {
+		return "timestamp";
+	}
+
 }
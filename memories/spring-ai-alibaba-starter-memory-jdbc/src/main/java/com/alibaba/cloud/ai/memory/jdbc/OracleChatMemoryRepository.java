@@ -26,10 +26,10 @@ public class OracleChatMemoryRepository extends JdbcChatMemoryRepository {
 	// quotes
 	private static final String ORACLE_QUERY_ADD = "INSERT INTO ai_chat_memory (conversation_id, content, type, timestamp) VALUES (?, ?, ?, ?)";
 
-	private static final String ORACLE_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+	private static final String ORACLE_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp, id";
 
-	private OracleChatMemoryRepository(JdbcTemplate jdbcTemplate) {
-		super(jdbcTemplate);
+	private OracleChatMemoryRepository(JdbcTemplate jdbcTemplate, boolean appendOnly) {
+		super(jdbcTemplate, appendOnly);
 	}
 
 	public static OracleBuilder oracleBuilder() {
@@ -40,13 +40,20 @@ public class OracleChatMemoryRepository extends JdbcChatMemoryRepository {
 
 		private JdbcTemplate jdbcTemplate;
 
+		private boolean appendOnly;
+
 		public OracleBuilder jdbcTemplate(JdbcTemplate jdbcTemplate) {
 			this.jdbcTemplate = jdbcTemplate;
 			return this;
 		}
 
+		public OracleBuilder appendOnly(boolean appendOnly) {
+			this.appendOnly = appendOnly;
+			return this;
+		}
+
 		public OracleChatMemoryRepository build() {
-			return new OracleChatMemoryRepository(this.jdbcTemplate);
+			return new OracleChatMemoryRepository(this.jdbcTemplate, this.appendOnly);
 		}
 
 	}
@@ -76,4 +83,9 @@ public class OracleChatMemoryRepository extends JdbcChatMemoryRepository {
 		return ORACLE_QUERY_GET;
 	}
 
+	@Override
+	protected String getTimestampColumn() {
+		return "timestamp";
+	}
+
 }
@@ -21,10 +21,10 @@ public class PostgresChatMemoryRepository extends JdbcChatMemoryRepository {
 
 	private static final String POSTGRES_QUERY_ADD = "INSERT INTO ai_chat_memory (conversation_id, content, type, timestamp) VALUES (?, ?, ?, ?)";
 
-	private static final String POSTGRES_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp";
+	private static final String POSTGRES_QUERY_GET = "SELECT content, type FROM ai_chat_memory WHERE conversation_id = ? ORDER BY timestamp, id";
 
-	private PostgresChatMemoryRepository(JdbcTemplate jdbcTemplate) {
-		super(jdbcTemplate);
+	private PostgresChatMemoryRepository(JdbcTemplate jdbcTemplate, boolean appendOnly) {
+		super(jdbcTemplate, appendOnly);
 	}
 
 	public static PostgresBuilder postgresBuilder() {
@@ -35,13 +35,20 @@ public class PostgresChatMemoryRepository extends JdbcChatMemoryRepository {
 
 		private JdbcTemplate jdbcTemplate;
 
+		private boolean appendOnly;
+
 		public PostgresBuilder jdbcTemplate(JdbcTemplate jdbcTemplate) {
 			this.jdbcTemplate = jdbcTemplate;
 			return this;
 		}
 
+		public PostgresBuilder appendOnly(boolean appendOnly) {
+			this.appendOnly = appendOnly;
+			return this;
+		}
+
 		public PostgresChatMemoryRepository build() {
-			return new PostgresChatMemoryRepository(this.jdbcTemplate);
+			return new PostgresChatMemoryRepository(this.jdbcTemplate, this.appendOnly);
 		}
 
 	}
@@ -72,4 +79,9 @@ public class PostgresChatMemoryRepository extends JdbcChatMemoryRepository {
 		return POSTGRES_QUERY_GET;
 	}
 
+	@Override
+	protected String getTimestampColumn() {
+		return "timestamp";
+	}
+
 }
@@ -19,8 +19,8 @@ import org.springframework.jdbc.core.JdbcTemplate;
 
 public class SQLiteChatMemoryRepository extends JdbcChatMemoryRepository {
 
-	private SQLiteChatMemoryRepository(JdbcTemplate jdbcTemplate) {
-		super(jdbcTemplate);
+	private SQLiteChatMemoryRepository(JdbcTemplate jdbcTemplate, boolean appendOnly) {
+		super(jdbcTemplate, appendOnly);
 	}
 
 	public static SQLiteBuilder sqliteBuilder() {
@@ -31,13 +31,20 @@ public class SQLiteChatMemoryRepository extends JdbcChatMemoryRepository {
 
 		private JdbcTemplate jdbcTemplate;
 
+		private boolean appendOnly;
+
 		public SQLiteBuilder jdbcTemplate(JdbcTemplate jdbcTemplate) {
 			this.jdbcTemplate = jdbcTemplate;
 			return this;
 		}
 
+		public SQLiteBuilder appendOnly(boolean appendOnly) {
+			this.appendOnly = appendOnly;
+			return this;
+		}
+
 		public SQLiteChatMemoryRepository build() {
-			return new SQLiteChatMemoryRepository(this.jdbcTemplate);
+			return new SQLiteChatMemoryRepository(this.jdbcTemplate, this.appendOnly);
 		}
 
 	}
@@ -54,4 +61,9 @@ public class SQLiteChatMemoryRepository extends JdbcChatMemoryRepository {
 				+ "    CHECK (type IN ('USER', 'ASSISTANT', 'SYSTEM', 'TOOL')));", tableName);
 	}
 
+	@Override
+	protected String getSequenceColumn() {
+		return "rowid";
+	}
+
 }
@@ -19,8 +19,8 @@ import org.springframework.jdbc.core.JdbcTemplate;
 
 public class SqlServerChatMemoryRepository extends JdbcChatMemoryRepository {
 
-	private SqlServerChatMemoryRepository(JdbcTemplate jdbcTemplate) {
-		super(jdbcTemplate);
+	private SqlServerChatMemoryRepository(JdbcTemplate jdbcTemplate, boolean appendOnly) {
+		super(jdbcTemplate, appendOnly);
 	}
 
 	public static SqlServerBuilder sqlServerBuilder() {
@@ -31,13 +31,20 @@ public class SqlServerChatMemoryRepository extends JdbcChatMemoryRepository {
 
 		private JdbcTemplate jdbcTemplate;
 
+		private boolean appendOnly;
+
 		public SqlServerBuilder jdbcTemplate(JdbcTemplate jdbcTemplate) {
 			this.jdbcTemplate = jdbcTemplate;
 			return this;
 		}
 
+		public SqlServerBuilder appendOnly(boolean appendOnly) {
+			this.appendOnly = appendOnly;
+			return this;
+		}
+
 		public SqlServerChatMemoryRepository build() {
-			return new SqlServerChatMemoryRepository(this.jdbcTemplate);
+			return new SqlServerChatMemoryRepository(this.jdbcTemplate, this.appendOnly);
 		}
 
 	}
@@ -49,7 +56,8 @@ public class SqlServerChatMemoryRepository extends JdbcChatMemoryRepository {
 
 	@Override
 	protected String createTableSql(String tableName) {
-		return String.format("CREATE TABLE %s ( conversation_id NVARCHAR(256) NOT NULL,"
+		return String.format("CREATE TABLE %s ( id BIGINT IDENTITY(1,1) PRIMARY KEY,"
+				+ "    conversation_id NVARCHAR(256) NOT NULL,"
 				+ "    content NVARCHAR(MAX) NOT NULL, type VARCHAR(100) NOT NULL, timestamp DATETIME2 NOT NULL,"
 				+ "    CHECK (type IN ('USER', 'ASSISTANT', 'SYSTEM', 'TOOL')));", tableName);
 	}
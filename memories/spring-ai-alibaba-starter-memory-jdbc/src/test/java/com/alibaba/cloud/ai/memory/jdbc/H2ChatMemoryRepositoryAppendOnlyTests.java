@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the append-only mode of {@link JdbcChatMemoryRepository}, against an
+ * in-memory H2 database.
+ */
+class H2ChatMemoryRepositoryAppendOnlyTests {
+
+	private JdbcTemplate jdbcTemplate;
+
+	private H2ChatMemoryRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.repository = H2ChatMemoryRepository.h2Builder().jdbcTemplate(this.jdbcTemplate).appendOnly(true).build();
+	}
+
+	@Test
+	void appendsOnlyNewMessages() {
+		var conversationId = UUID.randomUUID().toString();
+		List<Message> firstTurn = List.of(new UserMessage("Hello"), new AssistantMessage("Hi"));
+		this.repository.saveAll(conversationId, firstTurn);
+		List<Long> idsAfterFirstTurn = ids(conversationId);
+
+		this.repository.saveAll(conversationId, List.of(new UserMessage("Hello"), new AssistantMessage("Hi"),
+				new UserMessage("How are you?"), new AssistantMessage("Fine")));
+
+		assertThat(texts(conversationId)).containsExactly("Hello", "Hi", "How are you?", "Fine");
+		assertThat(ids(conversationId)).startsWith(idsAfterFirstTurn.toArray(Long[]::new));
+	}
+
+	@Test
+	void trimsEvictedMessagesWithoutRewritingKeptOnes() {
+		var conversationId = UUID.randomUUID().toString();
+		this.repository.saveAll(conversationId,
+				List.of(new UserMessage("1"), new AssistantMessage("2"), new UserMessage("3"), new AssistantMessage("4")));
+		List<Long> ids = ids(conversationId);
+
+		this.repository.saveAll(conversationId,
+				List.of(new UserMessage("3"), new AssistantMessage("4"), new UserMessage("5")));
+
+		assertThat(texts(conversationId)).containsExactly("3", "4", "5");
+		assertThat(ids(conversationId)).startsWith(ids.get(2), ids.get(3));
+	}
+
+	@Test
+	void trimsMessagesWithTiedTimestampsByInsertionOrder() {
+		var conversationId = UUID.randomUUID().toString();
+		this.repository.saveAll(conversationId,
+				List.of(new UserMessage("1"), new AssistantMessage("2"), new UserMessage("3"), new AssistantMessage("4")));
+		// timestamps stored with second precision tie
+		this.jdbcTemplate.update("UPDATE ai_chat_memory SET timestamp = TIMESTAMP '2025-01-01 00:00:00'");
+
+		this.repository.saveAll(conversationId,
+				List.of(new AssistantMessage("2"), new UserMessage("3"), new AssistantMessage("4"), new UserMessage("5")));
+
+		assertThat(texts(conversationId)).containsExactly("2", "3", "4", "5");
+	}
+
+	@Test
+	void dropsMessagesOlderThanTheWindow() {
+		var conversationId = UUID.randomUUID().toString();
+		this.repository.saveAll(conversationId, List.of(new UserMessage("1"), new AssistantMessage("2"),
+				new UserMessage("3"), new AssistantMessage("4"), new UserMessage("5")));
+		List<Long> ids = ids(conversationId);
+
+		this.repository.saveAll(conversationId, List.of(new AssistantMessage("4"), new UserMessage("5")));
+
+		assertThat(texts(conversationId)).containsExactly("4", "5");
+		assertThat(ids(conversationId)).containsExactly(ids.get(3), ids.get(4));
+	}
+
+	@Test
+	void rewritesConversationWhenStoredMessagesAreNotAPrefix() {
+		var conversationId = UUID.randomUUID().toString();
+		this.repository.saveAll(conversationId,
+				List.of(new SystemMessage("system"), new UserMessage("1"), new AssistantMessage("2")));
+
+		this.repository.saveAll(conversationId,
+				List.of(new SystemMessage("system"), new AssistantMessage("2"), new UserMessage("3")));
+
+		assertThat(this.repository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactly("system", "2", "3");
+	}
+
+	@Test
+	void savingAnEmptyListClearsTheConversation() {
+		var conversationId = UUID.randomUUID().toString();
+		this.repository.saveAll(conversationId, List.of(new UserMessage("Hello")));
+
+		this.repository.saveAll(conversationId, List.of());
+
+		assertThat(this.repository.findByConversationId(conversationId)).isEmpty();
+	}
+
+	private List<String> texts(String conversationId) {
+		return this.repository.findByConversationId(conversationId).stream().map(Message::getText).toList();
+	}
+
+	private List<Long> ids(String conversationId) {
+		return this.jdbcTemplate.queryForList(
+				"SELECT id FROM ai_chat_memory WHERE conversation_id = ? ORDER BY id", Long.class,
+				conversationId);
+	}
+
+}
@@ -15,26 +15,47 @@
  */
 package com.alibaba.cloud.ai.memory.memcached;
 
-import com.alibaba.cloud.ai.memory.memcached.serializer.MessageDeserializer;
+import com.alibaba.cloud.ai.memory.serializer.JsonMessageCodec;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import com.alibaba.cloud.ai.toolcalling.memcached.MemcachedService;
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * Memcached implementation of ChatMemoryRepository auth: dahua
+ * <p>
+ * In append-only mode every message is stored under its own fragment key
+ * ({@code <prefix><conversationId>:<sequence>}), and the conversation key only holds the
+ * sequence range of the live fragments. Saving then only writes the fragments of the new
+ * messages and deletes the ones evicted from the window, instead of rewriting the whole
+ * conversation. Both modes use different layouts, so a conversation must always be
+ * accessed in the same mode.
+ * <p>
+ * The ids of the conversations are indexed in {@code indexBuckets} keys
+ * ({@code <conversation key>:<bucket>}) that every id is hashed into. A bucket is only
+ * written when a conversation is created or deleted, with check-and-set so concurrent
+ * writers do not lose each other's updates. Size the number of buckets with
+ * {@link #indexBucketsFor(long)} so that every bucket stays well below the item size limit
+ * of memcached, and keep it fixed once conversations are stored. Every save reads the
+ * bucket of its conversation, which is shared by all the nodes, and only writes it back
+ * when the id is missing, for example after another node deleted the conversation.
+ * {@link #findConversationIds()} reads every bucket in one
+ * multi-get, along with the single index key used by previous versions. Ids are grouped
+ * by bucket, not ordered by their last save.
  */
 public class MemcachedChatMemoryRepository implements ChatMemoryRepository, AutoCloseable {
 
@@ -42,22 +63,76 @@ public class MemcachedChatMemoryRepository implements ChatMemoryRepository, Auto
 
 	private final MemcachedService memcachedService;
 
-	private final ObjectMapper objectMapper;
+	private final MessageCodec messageCodec;
 
 	private static final String DEFAULT_CONVERSATION = "spring_ai_alibaba_chat_memory_conversation";
 
 	private static final String DEFAULT_KEY_PREFIX = "spring_ai_alibaba_chat_memory:";
 
+	public static final int DEFAULT_INDEX_BUCKETS = 16;
+
+	/**
+	 * Number of conversation ids per index bucket that {@link #indexBucketsFor(long)}
+	 * aims at. UUIDs take about 40 bytes each once serialized, so a full bucket holds
+	 * about a third of the default 1MB item size limit, leaving room for longer ids and
+	 * an uneven spread.
+	 */
+	public static final int CONVERSATIONS_PER_INDEX_BUCKET = 8192;
+
+	private static final int MAX_INDEX_UPDATE_ATTEMPTS = 32;
+
+	private final boolean appendOnly;
+
+	private final int indexBuckets;
+
+	private final List<String> indexBucketKeys;
+
 	public MemcachedChatMemoryRepository(MemcachedService memcachedService) {
+		this(memcachedService, false);
+	}
+
+	public MemcachedChatMemoryRepository(MemcachedService memcachedService, boolean appendOnly) {
+		this(memcachedService, appendOnly, DEFAULT_INDEX_BUCKETS);
+	}
+
+	public MemcachedChatMemoryRepository(MemcachedService memcachedService, boolean appendOnly, int indexBuckets) {
+		this(memcachedService, appendOnly, indexBuckets, new JsonMessageCodec());
+	}
+
+	/**
+	 * @param memcachedService the memcached client
+	 * @param appendOnly whether to store every message under its own key
+	 * @param indexBuckets the number of keys the conversation index is sharded into
+	 * @param messageCodec the codec of the stored messages, every codec also reads the
+	 * JSON entries written by {@link JsonMessageCodec}
+	 */
+	public MemcachedChatMemoryRepository(MemcachedService memcachedService, boolean appendOnly, int indexBuckets,
+			MessageCodec messageCodec) {
+		Assert.isTrue(indexBuckets > 0, "indexBuckets must be positive");
+		Assert.notNull(messageCodec, "messageCodec cannot be null");
 		this.memcachedService = memcachedService;
-		this.objectMapper = JsonMapper.builder()
-			.configure(MapperFeature.AUTO_DETECT_GETTERS, false)
-			.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
-			.visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
-			.build();
-		SimpleModule module = new SimpleModule();
-		module.addDeserializer(Message.class, new MessageDeserializer());
-		this.objectMapper.registerModule(module);
+		this.messageCodec = messageCodec;
+		this.appendOnly = appendOnly;
+		this.indexBuckets = indexBuckets;
+		List<String> indexBucketKeys = new ArrayList<>(indexBuckets + 1);
+		for (int bucket = 0; bucket < indexBuckets; bucket++) {
+			indexBucketKeys.add(DEFAULT_CONVERSATION + ":" + bucket);
+		}
+		indexBucketKeys.add(DEFAULT_CONVERSATION);
+		this.indexBucketKeys = List.copyOf(indexBucketKeys);
+	}
+
+	/**
+	 * Get the number of index buckets that keeps every bucket small enough for the item
+	 * size limit of memcached.
+	 * @param expectedConversations the number of conversations the store is expected to
+	 * hold
+	 * @return the number of index buckets
+	 */
+	public static int indexBucketsFor(long expectedConversations) {
+		Assert.isTrue(expectedConversations > 0, "expectedConversations must be positive");
+		return (int) Math.min(Integer.MAX_VALUE,
+				(expectedConversations + CONVERSATIONS_PER_INDEX_BUCKET - 1) / CONVERSATIONS_PER_INDEX_BUCKET);
 	}
 
 	@Override
@@ -67,44 +142,45 @@ public class MemcachedChatMemoryRepository implements ChatMemoryRepository, Auto
 
 	@Override
 	public List<String> findConversationIds() {
-		return (List<String>) this.memcachedService.getter()
-			.apply(new MemcachedService.MemcachedServiceGetter.Request(DEFAULT_CONVERSATION));
+		Map<String, Object> buckets = this.memcachedService.bulkGetter()
+			.apply(new MemcachedService.MemcachedServiceBulkGetter.Request(this.indexBucketKeys));
+		Set<String> conversationIds = new LinkedHashSet<>();
+		for (String key : this.indexBucketKeys) {
+			if (buckets.get(key) instanceof List<?> bucket) {
+				bucket.forEach(conversationId -> conversationIds.add((String) conversationId));
+			}
+		}
+		return new ArrayList<>(conversationIds);
 	}
 
 	@Override
 	public List<Message> findByConversationId(String conversationId) {
+		if (this.appendOnly) {
+			return findFragments(conversationId, readRange(conversationId)).stream().map(this::deserialize).toList();
+		}
 		Object apply = this.memcachedService.getter()
 			.apply(new MemcachedService.MemcachedServiceGetter.Request(DEFAULT_KEY_PREFIX + conversationId));
 		if (apply != null) {
-			List<String> messageList = (List<String>) apply;
-			return messageList.stream().map(messageStr -> {
-				try {
-					return objectMapper.readValue(messageStr, Message.class);
-				}
-				catch (JsonProcessingException e) {
-					throw new RuntimeException("Error deserializing message", e);
-				}
-			}).toList();
+			List<?> messageList = (List<?>) apply;
+			return messageList.stream().map(this::deserialize).toList();
 		}
 		return List.of();
 	}
 
 	@Override
 	public void saveAll(String conversationId, List<Message> messages) {
-		List<String> conversationIds = findConversationIds() == null ? new ArrayList<>() : findConversationIds();
-		// 保障消息顺序
-		conversationIds.remove(conversationId);
-		conversationIds.add(conversationId);
-		this.memcachedService.setter()
-			.apply(new MemcachedService.MemcachedServiceSetter.Request(DEFAULT_CONVERSATION, conversationIds, 0));
-		List<String> serializingMessage = messages.stream().map(message -> {
-			try {
-				return this.objectMapper.writeValueAsString(message);
-			}
-			catch (JsonProcessingException e) {
-				throw new RuntimeException("Error serializing message", e);
+		updateIndex(indexBucketKey(conversationId), conversationIds -> {
+			if (conversationIds.contains(conversationId)) {
+				return null;
 			}
-		}).toList();
+			conversationIds.add(conversationId);
+			return conversationIds;
+		});
+		List<Object> serializingMessage = messages.stream().map(this::serialize).toList();
+		if (this.appendOnly) {
+			appendAll(conversationId, serializingMessage);
+			return;
+		}
 		this.memcachedService.setter()
 			.apply(new MemcachedService.MemcachedServiceSetter.Request(DEFAULT_KEY_PREFIX + conversationId,
 					serializingMessage, 0));
@@ -112,14 +188,147 @@ public class MemcachedChatMemoryRepository implements ChatMemoryRepository, Auto
 
 	@Override
 	public void deleteByConversationId(String conversationId) {
-		List<String> conversationIds = findConversationIds();
-		conversationIds.remove(conversationId);
-		this.memcachedService.setter()
-			.apply(new MemcachedService.MemcachedServiceSetter.Request(DEFAULT_CONVERSATION, conversationIds, 0));
+		UnaryOperator<ArrayList<String>> removal = conversationIds -> conversationIds.remove(conversationId)
+				? conversationIds : null;
+		updateIndex(indexBucketKey(conversationId), removal);
+		updateIndex(DEFAULT_CONVERSATION, removal);
+		if (this.appendOnly) {
+			deleteFragments(conversationId, readRange(conversationId));
+		}
 		this.memcachedService.deleter()
 			.apply(new MemcachedService.MemcachedServiceDeleter.Request(DEFAULT_KEY_PREFIX + conversationId));
 	}
 
+	private String indexBucketKey(String conversationId) {
+		return this.indexBucketKeys.get(Math.floorMod(conversationId.hashCode(), this.indexBuckets));
+	}
+
+	/**
+	 * Apply {@code update} to a copy of the ids of an index key with check-and-set,
+	 * retrying on concurrent writes. The update returns {@code null} to leave the key
+	 * untouched.
+	 */
+	private void updateIndex(String key, UnaryOperator<ArrayList<String>> update) {
+		Boolean updated = this.memcachedService.casUpdater()
+			.apply(new MemcachedService.MemcachedServiceCasUpdater.Request(key, current -> {
+				ArrayList<String> conversationIds = new ArrayList<>();
+				if (current instanceof List<?> ids) {
+					ids.forEach(id -> conversationIds.add((String) id));
+				}
+				return update.apply(conversationIds);
+			}, 0, MAX_INDEX_UPDATE_ATTEMPTS));
+		if (!Boolean.TRUE.equals(updated)) {
+			logger.warn("Failed to update the chat memory conversation index {}", key);
+		}
+	}
+
+	/**
+	 * Write the fragments of the messages following the longest stored suffix that
+	 * {@code serializedMessages} starts with, then move the range over them and drop the
+	 * fragments that fell out of it. Readers never see a range pointing at fragments that
+	 * are not written yet.
+	 */
+	private void appendAll(String conversationId, List<Object> serializedMessages) {
+		FragmentRange range = readRange(conversationId);
+		List<Object> stored = findFragments(conversationId, range);
+		// a fragment lost to eviction by memcached invalidates everything stored
+		int evicted = (stored.size() == range.size()) ? evictedCount(stored, serializedMessages) : range.size();
+		int next = range.next();
+		for (Object serializedMessage : serializedMessages.subList(range.size() - evicted,
+				serializedMessages.size())) {
+			this.memcachedService.setter()
+				.apply(new MemcachedService.MemcachedServiceSetter.Request(fragmentKey(conversationId, next++),
+						serializedMessage, 0));
+		}
+		FragmentRange updated = new FragmentRange(range.first() + evicted, next);
+		if (!updated.equals(range)) {
+			this.memcachedService.setter()
+				.apply(new MemcachedService.MemcachedServiceSetter.Request(DEFAULT_KEY_PREFIX + conversationId,
+						new int[] { updated.first(), updated.next() }, 0));
+		}
+		deleteFragments(conversationId, new FragmentRange(range.first(), updated.first()));
+	}
+
+	/**
+	 * Find how many of the oldest stored messages have to be dropped so that the rest is
+	 * a prefix of the messages being saved.
+	 * @return the number of messages to drop, {@code stored.size()} if none can be kept
+	 */
+	private static int evictedCount(List<Object> stored, List<Object> messages) {
+		for (int evicted = Math.max(0, stored.size() - messages.size()); evicted < stored.size(); evicted++) {
+			if (isPrefix(stored.subList(evicted, stored.size()), messages)) {
+				return evicted;
+			}
+		}
+		return stored.size();
+	}
+
+	private static boolean isPrefix(List<Object> prefix, List<Object> messages) {
+		for (int i = 0; i < prefix.size(); i++) {
+			if (!Objects.deepEquals(prefix.get(i), messages.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private FragmentRange readRange(String conversationId) {
+		Object range = this.memcachedService.getter()
+			.apply(new MemcachedService.MemcachedServiceGetter.Request(DEFAULT_KEY_PREFIX + conversationId));
+		if (range instanceof int[] bounds && bounds.length == 2) {
+			return new FragmentRange(bounds[0], bounds[1]);
+		}
+		return FragmentRange.EMPTY;
+	}
+
+	private List<Object> findFragments(String conversationId, FragmentRange range) {
+		if (range.first() >= range.next()) {
+			return List.of();
+		}
+		List<String> keys = IntStream.range(range.first(), range.next())
+			.mapToObj(sequence -> fragmentKey(conversationId, sequence))
+			.toList();
+		Map<String, Object> fragments = this.memcachedService.bulkGetter()
+			.apply(new MemcachedService.MemcachedServiceBulkGetter.Request(keys));
+		List<Object> messages = new ArrayList<>(keys.size());
+		for (String key : keys) {
+			Object fragment = fragments.get(key);
+			if (fragment == null) {
+				logger.warn("Missing chat memory fragment {}, ignoring the following ones", key);
+				break;
+			}
+			messages.add(fragment);
+		}
+		return messages;
+	}
+
+	private void deleteFragments(String conversationId, FragmentRange range) {
+		for (int sequence = range.first(); sequence < range.next(); sequence++) {
+			this.memcachedService.deleter()
+				.apply(new MemcachedService.MemcachedServiceDeleter.Request(fragmentKey(conversationId, sequence)));
+		}
+	}
+
+	private static String fragmentKey(String conversationId, int sequence) {
+		return DEFAULT_KEY_PREFIX + conversationId + ":" + sequence;
+	}
+
+	/**
+	 * JSON is stored as a string like before codecs were pluggable, so that older
+	 * versions can still read it, binary encodings as bytes.
+	 */
+	private Object serialize(Message message) {
+		byte[] bytes = this.messageCodec.encode(message);
+		return (this.messageCodec instanceof JsonMessageCodec) ? new String(bytes, StandardCharsets.UTF_8) : bytes;
+	}
+
+	private Message deserialize(Object serialized) {
+		if (serialized instanceof String messageStr) {
+			return this.messageCodec.decode(messageStr.getBytes(StandardCharsets.UTF_8));
+		}
+		return this.messageCodec.decode((byte[]) serialized);
+	}
+
 	public void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
 		final int finalDeleteSize = deleteSize > maxLimit ? maxLimit : deleteSize;
 		List<Message> messages = findByConversationId(conversationId);
@@ -136,4 +345,18 @@ public class MemcachedChatMemoryRepository implements ChatMemoryRepository, Auto
 		saveAll(conversationId, lastMessages);
 	}
 
+	/**
+	 * The sequence numbers of the live fragments of a conversation, {@code first}
+	 * inclusive and {@code next} exclusive.
+	 */
+	private record FragmentRange(int first, int next) {
+
+		static final FragmentRange EMPTY = new FragmentRange(0, 0);
+
+		int size() {
+			return this.next - this.first;
+		}
+
+	}
+
 }
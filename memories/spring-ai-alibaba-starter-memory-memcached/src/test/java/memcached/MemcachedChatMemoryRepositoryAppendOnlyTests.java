@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package memcached;
+
+import com.alibaba.cloud.ai.memory.memcached.MemcachedChatMemoryRepository;
+import com.alibaba.cloud.ai.memory.serializer.MessageCompression;
+import com.alibaba.cloud.ai.memory.serializer.SmileMessageCodec;
+import com.alibaba.cloud.ai.toolcalling.memcached.MemcachedService;
+import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.internal.OperationFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the append-only mode of {@link MemcachedChatMemoryRepository}, against an
+ * in-memory stand-in for the memcached client.
+ */
+class MemcachedChatMemoryRepositoryAppendOnlyTests {
+
+	private final Map<String, Object> cache = new HashMap<>();
+
+	private final List<String> writtenKeys = new ArrayList<>();
+
+	private MemcachedService memcachedService;
+
+	private MemcachedChatMemoryRepository repository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() throws Exception {
+		MemcachedClient client = mock(MemcachedClient.class);
+		OperationFuture<Boolean> done = mock(OperationFuture.class);
+		given(done.get()).willReturn(true);
+		given(client.set(anyString(), anyInt(), any())).willAnswer(invocation -> {
+			this.cache.put(invocation.getArgument(0), invocation.getArgument(2));
+			this.writtenKeys.add(invocation.getArgument(0));
+			return done;
+		});
+		given(client.get(anyString())).willAnswer(invocation -> this.cache.get(invocation.<String>getArgument(0)));
+		given(client.getBulk(anyCollection())).willAnswer(invocation -> {
+			Map<String, Object> values = new LinkedHashMap<>();
+			for (String key : invocation.<Collection<String>>getArgument(0)) {
+				if (this.cache.containsKey(key)) {
+					values.put(key, this.cache.get(key));
+				}
+			}
+			return values;
+		});
+		given(client.delete(anyString())).willAnswer(invocation -> {
+			this.cache.remove(invocation.<String>getArgument(0));
+			return done;
+		});
+		this.memcachedService = new MemcachedService(client);
+		this.repository = new MemcachedChatMemoryRepository(this.memcachedService, true);
+	}
+
+	@Test
+	void writesOnlyTheFragmentsOfNewMessages() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+		this.writtenKeys.clear();
+
+		this.repository.saveAll("c1",
+				List.of(new UserMessage("1"), new AssistantMessage("2"), new UserMessage("3"), new AssistantMessage("4")));
+
+		assertThat(this.writtenKeys).containsExactly("spring_ai_alibaba_chat_memory:c1:2",
+				"spring_ai_alibaba_chat_memory:c1:3", "spring_ai_alibaba_chat_memory:c1");
+		assertThat(this.repository.findByConversationId("c1")).extracting(Message::getText)
+			.containsExactly("1", "2", "3", "4");
+	}
+
+	@Test
+	void deletesTheFragmentsEvictedFromTheWindow() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2"), new UserMessage("3")));
+
+		this.repository.saveAll("c1", List.of(new UserMessage("3"), new AssistantMessage("4")));
+
+		assertThat(this.repository.findByConversationId("c1")).extracting(Message::getText).containsExactly("3", "4");
+		assertThat(this.cache).doesNotContainKeys("spring_ai_alibaba_chat_memory:c1:0",
+				"spring_ai_alibaba_chat_memory:c1:1");
+	}
+
+	@Test
+	void rewritesTheConversationWhenAFragmentWasLost() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+		this.cache.remove("spring_ai_alibaba_chat_memory:c1:0");
+
+		this.repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2"), new UserMessage("3")));
+
+		assertThat(this.repository.findByConversationId("c1")).extracting(Message::getText)
+			.containsExactly("1", "2", "3");
+	}
+
+	@Test
+	void deleteRemovesEveryFragment() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1"), new AssistantMessage("2")));
+
+		this.repository.deleteByConversationId("c1");
+
+		assertThat(this.repository.findByConversationId("c1")).isEmpty();
+		assertThat(this.cache.keySet()).noneMatch(key -> key.startsWith("spring_ai_alibaba_chat_memory:"));
+		assertThat(this.repository.findConversationIds()).isEmpty();
+	}
+
+	@Test
+	void smileCodecReadsFragmentsWrittenAsJson() {
+		this.repository.saveAll("c1", List.of(new UserMessage("你好"), new AssistantMessage("2")));
+		MemcachedChatMemoryRepository smileRepository = new MemcachedChatMemoryRepository(this.memcachedService, true,
+				MemcachedChatMemoryRepository.DEFAULT_INDEX_BUCKETS,
+				new SmileMessageCodec(MessageCompression.ZSTD, 16));
+
+		assertThat(smileRepository.findByConversationId("c1")).extracting(Message::getText).containsExactly("你好", "2");
+		smileRepository.saveAll("c1", List.of(new UserMessage("你好"), new AssistantMessage("2"),
+				new UserMessage("A compressed message, ".repeat(10))));
+
+		assertThat(this.cache.get("spring_ai_alibaba_chat_memory:c1:2")).isInstanceOf(byte[].class);
+		assertThat(smileRepository.findByConversationId("c1")).extracting(Message::getText)
+			.containsExactly("你好", "2", "A compressed message, ".repeat(10));
+	}
+
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package memcached;
+
+import com.alibaba.cloud.ai.memory.memcached.MemcachedChatMemoryRepository;
+import com.alibaba.cloud.ai.toolcalling.memcached.MemcachedService;
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
+import net.spy.memcached.MemcachedClient;
+import net.spy.memcached.internal.OperationFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the sharded conversation index of {@link MemcachedChatMemoryRepository},
+ * against an in-memory stand-in for the memcached client that versions every key.
+ */
+class MemcachedChatMemoryRepositoryIndexTests {
+
+	private static final String INDEX_KEY = "spring_ai_alibaba_chat_memory_conversation";
+
+	private final Map<String, Object> cache = new HashMap<>();
+
+	private final Map<String, Long> versions = new HashMap<>();
+
+	private final List<String> indexWrites = new ArrayList<>();
+
+	private final AtomicInteger concurrentWrites = new AtomicInteger();
+
+	private MemcachedClient client;
+
+	private MemcachedChatMemoryRepository repository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() throws Exception {
+		this.client = mock(MemcachedClient.class);
+		OperationFuture<Boolean> done = mock(OperationFuture.class);
+		given(done.get()).willReturn(true);
+		OperationFuture<Boolean> rejected = mock(OperationFuture.class);
+		given(rejected.get()).willReturn(false);
+		given(this.client.set(anyString(), anyInt(), any())).willAnswer(invocation -> {
+			write(invocation.getArgument(0), invocation.getArgument(2));
+			return done;
+		});
+		given(this.client.get(anyString())).willAnswer(invocation -> read(invocation.getArgument(0)));
+		given(this.client.getBulk(anyCollection())).willAnswer(invocation -> {
+			Map<String, Object> values = new LinkedHashMap<>();
+			for (String key : invocation.<Collection<String>>getArgument(0)) {
+				if (this.cache.containsKey(key)) {
+					values.put(key, this.cache.get(key));
+				}
+			}
+			return values;
+		});
+		given(this.client.delete(anyString())).willAnswer(invocation -> {
+			this.cache.remove(invocation.<String>getArgument(0));
+			return done;
+		});
+		given(this.client.gets(anyString())).willAnswer(invocation -> {
+			String key = invocation.getArgument(0);
+			return this.cache.containsKey(key) ? new CASValue<>(this.versions.get(key), read(key)) : null;
+		});
+		given(this.client.add(anyString(), anyInt(), any())).willAnswer(invocation -> {
+			if (this.cache.containsKey(invocation.<String>getArgument(0))) {
+				return rejected;
+			}
+			write(invocation.getArgument(0), invocation.getArgument(2));
+			return done;
+		});
+		given(this.client.cas(anyString(), anyLong(), anyInt(), any())).willAnswer(invocation -> {
+			String key = invocation.getArgument(0);
+			if (this.concurrentWrites.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+				// another writer got in between gets and cas
+				List<String> ids = new ArrayList<>((List<String>) this.cache.get(key));
+				ids.add("concurrent");
+				write(key, ids);
+			}
+			if (!this.versions.get(key).equals(invocation.<Long>getArgument(1))) {
+				return CASResponse.EXISTS;
+			}
+			write(key, invocation.getArgument(3));
+			return CASResponse.OK;
+		});
+		this.repository = new MemcachedChatMemoryRepository(new MemcachedService(this.client), false, 4);
+	}
+
+	private Object read(String key) {
+		return this.cache.get(key);
+	}
+
+	private void write(String key, Object value) {
+		this.cache.put(key, value);
+		this.versions.merge(key, 1L, Long::sum);
+		if (key.startsWith(INDEX_KEY)) {
+			this.indexWrites.add(key);
+		}
+	}
+
+	@Test
+	void spreadsConversationIdsOverTheBuckets() {
+		for (int i = 0; i < 20; i++) {
+			this.repository.saveAll("c" + i, List.of(new UserMessage("hello")));
+		}
+
+		assertThat(this.repository.findConversationIds()).hasSize(20);
+		assertThat(this.cache.keySet()).filteredOn(key -> key.startsWith(INDEX_KEY))
+			.containsOnly(INDEX_KEY + ":0", INDEX_KEY + ":1", INDEX_KEY + ":2", INDEX_KEY + ":3")
+			.hasSizeGreaterThan(1);
+	}
+
+	@Test
+	void writesTheIndexOnlyForNewConversations() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+		this.repository.saveAll("c1", List.of(new UserMessage("1"), new UserMessage("2")));
+		this.repository.saveAll("c1", List.of(new UserMessage("1"), new UserMessage("2"), new UserMessage("3")));
+
+		assertThat(this.indexWrites).hasSize(1);
+		assertThat(this.repository.findConversationIds()).containsExactly("c1");
+	}
+
+	@Test
+	void savingIndexesAConversationDeletedByAnotherNode() {
+		MemcachedChatMemoryRepository otherNode = new MemcachedChatMemoryRepository(new MemcachedService(this.client),
+				false, 4);
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+		otherNode.deleteByConversationId("c1");
+		assertThat(this.repository.findConversationIds()).isEmpty();
+
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+
+		assertThat(otherNode.findConversationIds()).containsExactly("c1");
+	}
+
+	@Test
+	void failsToListWhenTheIndexCannotBeRead() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+		given(this.client.getBulk(anyCollection())).willThrow(new IllegalStateException("connection reset"));
+
+		assertThatThrownBy(() -> this.repository.findConversationIds()).isInstanceOf(IllegalStateException.class)
+			.hasRootCauseMessage("connection reset");
+	}
+
+	@Test
+	void savingADeletedConversationIndexesItAgain() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+		this.repository.deleteByConversationId("c1");
+
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+
+		assertThat(this.repository.findConversationIds()).containsExactly("c1");
+	}
+
+	@Test
+	void sizesTheIndexBucketsFromTheExpectedConversations() {
+		assertThat(MemcachedChatMemoryRepository.indexBucketsFor(1)).isEqualTo(1);
+		assertThat(MemcachedChatMemoryRepository.indexBucketsFor(8192)).isEqualTo(1);
+		assertThat(MemcachedChatMemoryRepository.indexBucketsFor(8193)).isEqualTo(2);
+		assertThat(MemcachedChatMemoryRepository.indexBucketsFor(1_000_000)).isEqualTo(123);
+	}
+
+	@Test
+	void retriesWhenTheBucketWasChangedConcurrently() {
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+		String sameBucket = sameBucketAs("c1");
+		this.concurrentWrites.set(2);
+
+		this.repository.saveAll(sameBucket, List.of(new UserMessage("1")));
+
+		assertThat(this.repository.findConversationIds()).containsExactlyInAnyOrder("c1", "concurrent", sameBucket);
+	}
+
+	@Test
+	void deleteRemovesTheIdFromItsBucketAndFromTheLegacyIndex() {
+		this.cache.put(INDEX_KEY, new ArrayList<>(List.of("legacy", "c1")));
+		this.versions.put(INDEX_KEY, 1L);
+		this.repository.saveAll("c1", List.of(new UserMessage("1")));
+		this.repository.saveAll("c2", List.of(new UserMessage("1")));
+		assertThat(this.repository.findConversationIds()).containsExactlyInAnyOrder("legacy", "c1", "c2");
+
+		this.repository.deleteByConversationId("c1");
+
+		assertThat(this.repository.findConversationIds()).containsExactlyInAnyOrder("legacy", "c2");
+		assertThat(this.cache.get(INDEX_KEY)).isEqualTo(List.of("legacy"));
+	}
+
+	private static String sameBucketAs(String conversationId) {
+		for (int i = 0;; i++) {
+			String candidate = "c" + i;
+			if (!candidate.equals(conversationId)
+					&& Math.floorMod(candidate.hashCode(), 4) == Math.floorMod(conversationId.hashCode(), 4)) {
+				return candidate;
+			}
+		}
+	}
+
+}
@@ -15,18 +15,17 @@
  */
 package com.alibaba.cloud.ai.memory.redis;
 
-import com.alibaba.cloud.ai.memory.redis.serializer.MessageDeserializer;
-import com.fasterxml.jackson.annotation.JsonAutoDetect;
-import com.fasterxml.jackson.annotation.PropertyAccessor;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.MapperFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.json.JsonMapper;
-import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.alibaba.cloud.ai.memory.serializer.JsonMessageCodec;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.memory.ChatMemoryRepository;
 import org.springframework.ai.chat.messages.Message;
+import org.springframework.util.Assert;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * Base class for Redis-based chat memory repositories
@@ -42,39 +41,137 @@ public abstract class BaseRedisChatMemoryRepository implements ChatMemoryReposit
 
     protected static String CUSTOM_KEY_PREFIX;
 
-	protected final ObjectMapper objectMapper;
+	protected static final String ACTIVITY_INDEX_KEY_PREFIX = "spring_ai_alibaba_chat_memory_activity:";
+
+	/**
+	 * Page size used when {@code findConversationIds()} walks the keyspace with
+	 * {@code SCAN}.
+	 */
+	protected static final int SCAN_PAGE_SIZE = 1000;
+
+	/**
+	 * Charset of the strings holding the encoded messages. ISO-8859-1 maps every byte to
+	 * one char and back, so the bytes of any {@link MessageCodec} go through the string
+	 * based Redis APIs unchanged, and the UTF-8 JSON stored by earlier versions reads as
+	 * is.
+	 */
+	protected static final Charset MESSAGE_CHARSET = StandardCharsets.ISO_8859_1;
+
+	/**
+	 * Lua script saving a conversation in append-only mode, with the list as its only key
+	 * and the serialized messages being saved as arguments. Chat memories save their whole
+	 * window on every turn, which usually is the stored list without its oldest messages
+	 * followed by the new ones. The script keeps the longest stored suffix the window
+	 * starts with, trims everything before it and pushes the messages after it, so the
+	 * list is never read by the client and concurrent readers never see it half
+	 * updated. Only the last {@code #ARGV} stored messages can be part of the window, so
+	 * no more are read. Returns the number of pushed messages.
+	 */
+	protected static final String APPEND_SCRIPT = """
+			local count = #ARGV
+			if count == 0 then
+				redis.call('DEL', KEYS[1])
+				return 0
+			end
+			local stored = redis.call('LRANGE', KEYS[1], -count, -1)
+			local kept = 0
+			for evicted = 0, #stored - 1 do
+				local matches = true
+				for i = evicted + 1, #stored do
+					if stored[i] ~= ARGV[i - evicted] then
+						matches = false
+						break
+					end
+				end
+				if matches then
+					kept = #stored - evicted
+					break
+				end
+			end
+			if kept == 0 then
+				redis.call('DEL', KEYS[1])
+			else
+				redis.call('LTRIM', KEYS[1], -kept, -1)
+			end
+			for from = kept + 1, count, 1000 do
+				redis.call('RPUSH', KEYS[1], unpack(ARGV, from, math.min(from + 999, count)))
+			end
+			return count - kept
+			""";
+
+	/**
+	 * Whether {@code saveAll} only pushes the messages that are not stored yet and trims
+	 * the evicted ones, instead of rewriting the whole list.
+	 */
+	protected final boolean appendOnly;
+
+	/**
+	 * Whether conversation ids are also kept in a sorted set scored by their last
+	 * activity, see {@link #findRecentConversationIds(int)}.
+	 */
+	protected final boolean activityIndex;
+
+	protected final MessageCodec messageCodec;
 
 	public BaseRedisChatMemoryRepository() {
-		this.objectMapper = JsonMapper.builder()
-			.configure(MapperFeature.AUTO_DETECT_GETTERS, false)
-			.configure(MapperFeature.AUTO_DETECT_IS_GETTERS, false)
-			.visibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
-			.build();
-		SimpleModule module = new SimpleModule();
-		module.addDeserializer(Message.class, new MessageDeserializer());
-		this.objectMapper.registerModule(module);
+		this(false, false);
+	}
+
+	public BaseRedisChatMemoryRepository(boolean appendOnly) {
+		this(appendOnly, false);
+	}
+
+	public BaseRedisChatMemoryRepository(boolean appendOnly, boolean activityIndex) {
+		this(appendOnly, activityIndex, new JsonMessageCodec());
+	}
+
+	public BaseRedisChatMemoryRepository(boolean appendOnly, boolean activityIndex, MessageCodec messageCodec) {
+		Assert.notNull(messageCodec, "messageCodec cannot be null");
+		this.appendOnly = appendOnly;
+		this.activityIndex = activityIndex;
+		this.messageCodec = messageCodec;
 	}
 
 	protected Message deserializeMessage(String messageStr) {
 		try {
-			return objectMapper.readValue(messageStr, Message.class);
+			return messageCodec.decode(messageStr.getBytes(MESSAGE_CHARSET));
 		}
-		catch (JsonProcessingException e) {
+		catch (RuntimeException e) {
 			logger.error("Deserialization error for message: {}", messageStr, e);
 			return null;
 		}
 	}
 
 	protected String serializeMessage(Message message) {
-		try {
-			return objectMapper.writeValueAsString(message);
-		}
-		catch (JsonProcessingException e) {
-			throw new RuntimeException("Error serializing message", e);
-		}
+		return new String(messageCodec.encode(message), MESSAGE_CHARSET);
 	}
 
     protected String getKeyPrefix() {
         return CUSTOM_KEY_PREFIX != null ? CUSTOM_KEY_PREFIX : DEFAULT_KEY_PREFIX;
     }
+
+	/**
+	 * The key of the sorted set holding the conversation ids scored by the time they were
+	 * last saved.
+	 * @return the key
+	 */
+	protected String getActivityIndexKey() {
+		return ACTIVITY_INDEX_KEY_PREFIX + getKeyPrefix();
+	}
+
+	/**
+	 * Find the most recently saved conversations, most recent first. Served from the
+	 * activity index in {@code O(log n + limit)}, which has to be enabled on the
+	 * builder. Conversations saved before the index was enabled are not listed until they
+	 * are saved again.
+	 * @param limit the maximum number of conversation ids to return
+	 * @return the conversation ids
+	 */
+	public abstract List<String> findRecentConversationIds(int limit);
+
+	protected void assertActivityIndexEnabled(int limit) {
+		Assert.state(this.activityIndex, "The activity index is not enabled, see RedisChatMemoryBuilder#activityIndex");
+		Assert.isTrue(limit > 0, "limit must be positive");
+	}
+
 }
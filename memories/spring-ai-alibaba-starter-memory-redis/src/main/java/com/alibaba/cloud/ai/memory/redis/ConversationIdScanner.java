@@ -0,0 +1,134 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis;
+
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+
+/**
+ * Pages through conversation keys with {@code SCAN} instead of {@code KEYS}, so Redis
+ * never blocks on a full keyspace walk. In cluster mode every master is scanned in turn;
+ * the cursor handed out to callers is {@code <node index>:<scan cursor>}.
+ *
+ * @since 1.1.0.0
+ */
+final class ConversationIdScanner {
+
+	private static final String SCAN_DONE = "0";
+
+	private ConversationIdScanner() {
+	}
+
+	/**
+	 * Run {@code SCAN} iterations until about {@code pageSize} keys were found or every
+	 * node was scanned.
+	 * @param cursor the cursor of the page, {@code null} to start
+	 * @param pageSize the number of ids to aim for
+	 * @param nodeCount the number of nodes to scan
+	 * @param keyPrefix the prefix stripped from every key
+	 * @param excludedKey a key matching the prefix that is not a conversation
+	 * @param scanner runs a single {@code SCAN} iteration on a node
+	 * @return the page
+	 */
+	static PagedChatMemoryRepository.ConversationIdPage scan(@Nullable String cursor, int pageSize, int nodeCount,
+			String keyPrefix, String excludedKey, NodeScanner scanner) {
+		Assert.isTrue(pageSize > 0, "pageSize must be positive");
+		int node = 0;
+		String nodeCursor = SCAN_DONE;
+		if (StringUtils.hasText(cursor)) {
+			int separator = cursor.indexOf(':');
+			Assert.isTrue(separator > 0, () -> "Invalid conversation id cursor: " + cursor);
+			node = Integer.parseInt(cursor.substring(0, separator));
+			nodeCursor = cursor.substring(separator + 1);
+		}
+		List<String> conversationIds = new ArrayList<>();
+		while (node < nodeCount && conversationIds.size() < pageSize) {
+			Iteration iteration = scanner.scan(node, nodeCursor, pageSize - conversationIds.size());
+			for (String key : iteration.keys()) {
+				if (!key.equals(excludedKey)) {
+					conversationIds.add(key.substring(keyPrefix.length()));
+				}
+			}
+			nodeCursor = iteration.cursor();
+			if (SCAN_DONE.equals(nodeCursor)) {
+				node++;
+			}
+		}
+		return new PagedChatMemoryRepository.ConversationIdPage(conversationIds,
+				(node < nodeCount) ? node + ":" + nodeCursor : null);
+	}
+
+	/**
+	 * Collect every conversation id, page by page.
+	 * @param repository the repository to list
+	 * @param pageSize the size of each page
+	 * @return the distinct conversation ids
+	 */
+	static List<String> findAll(PagedChatMemoryRepository repository, int pageSize) {
+		Set<String> conversationIds = new LinkedHashSet<>();
+		String cursor = null;
+		do {
+			PagedChatMemoryRepository.ConversationIdPage page = repository.findConversationIds(cursor, pageSize);
+			conversationIds.addAll(page.conversationIds());
+			cursor = page.nextCursor();
+		}
+		while (cursor != null);
+		return new ArrayList<>(conversationIds);
+	}
+
+	/**
+	 * The masters of a cluster in a stable order, so that node indexes in cursors stay
+	 * valid between pages as long as the topology does not change.
+	 * @param connection the cluster connection
+	 * @return the master nodes
+	 */
+	static List<RedisClusterNode> masters(RedisClusterConnection connection) {
+		return StreamSupport.stream(connection.clusterGetNodes().spliterator(), false)
+			.filter(RedisClusterNode::isMaster)
+			.sorted(Comparator.comparing(RedisClusterNode::getHost).thenComparing(RedisClusterNode::getPort))
+			.toList();
+	}
+
+	/**
+	 * Runs a single {@code SCAN} iteration on one node.
+	 */
+	@FunctionalInterface
+	interface NodeScanner {
+
+		Iteration scan(int node, String cursor, int count);
+
+	}
+
+	/**
+	 * The result of a single {@code SCAN} iteration.
+	 *
+	 * @param cursor the cursor to continue with, {@code "0"} once the node is done
+	 * @param keys the keys found
+	 */
+	record Iteration(String cursor, List<String> keys) {
+	}
+
+}
@@ -16,6 +16,7 @@
 package com.alibaba.cloud.ai.memory.redis;
 
 import com.alibaba.cloud.ai.memory.redis.builder.RedisChatMemoryBuilder;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.PropertyMapper;
@@ -26,16 +27,25 @@ import org.springframework.data.redis.connection.jedis.JedisClientConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import redis.clients.jedis.ConnectionPool;
+import redis.clients.jedis.Jedis;
+import redis.clients.jedis.JedisCluster;
 import redis.clients.jedis.JedisPoolConfig;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
 
 import org.springframework.ai.chat.messages.Message;
 import org.springframework.util.Assert;
 
 import javax.net.ssl.SSLParameters;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -47,25 +57,33 @@ import java.util.stream.Collectors;
  * @author Jast
  * @author benym
  */
-public class JedisRedisChatMemoryRepository extends BaseRedisChatMemoryRepository {
+public class JedisRedisChatMemoryRepository extends BaseRedisChatMemoryRepository
+		implements PagedChatMemoryRepository {
 
 	private static final Logger logger = LoggerFactory.getLogger(JedisRedisChatMemoryRepository.class);
 
+	private static final RedisScript<Long> APPEND_REDIS_SCRIPT = RedisScript.of(APPEND_SCRIPT, Long.class);
+
 	private final RedisConnectionFactory connectionFactory;
 
 	private final RedisTemplate<String, String> redisTemplate;
 
-	private JedisRedisChatMemoryRepository(RedisConnectionFactory connectionFactory) {
-		super();
+	private final RedisTemplate<String, String> messageTemplate;
+
+	private JedisRedisChatMemoryRepository(RedisConnectionFactory connectionFactory, boolean appendOnly,
+			boolean activityIndex, MessageCodec messageCodec) {
+		super(appendOnly, activityIndex, messageCodec);
 		Assert.notNull(connectionFactory, "ConnectionFactory cannot be null");
 		this.connectionFactory = connectionFactory;
-		this.redisTemplate = createRedisTemplate(connectionFactory);
+		this.redisTemplate = createRedisTemplate(connectionFactory, StandardCharsets.UTF_8);
+		this.messageTemplate = createRedisTemplate(connectionFactory, MESSAGE_CHARSET);
 	}
 
-	private RedisTemplate<String, String> createRedisTemplate(RedisConnectionFactory connectionFactory) {
+	private RedisTemplate<String, String> createRedisTemplate(RedisConnectionFactory connectionFactory,
+			Charset valueCharset) {
 		StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
 		template.setKeySerializer(new StringRedisSerializer());
-		template.setValueSerializer(new StringRedisSerializer());
+		template.setValueSerializer(new StringRedisSerializer(valueCharset));
 		template.afterPropertiesSet();
 		return template;
 	}
@@ -123,7 +141,8 @@ public class JedisRedisChatMemoryRepository extends BaseRedisChatMemoryRepositor
 				jedisConnectionFactory = new JedisConnectionFactory(standaloneConfig, applyConfiguration());
 			}
 			jedisConnectionFactory.afterPropertiesSet();
-			return new JedisRedisChatMemoryRepository(jedisConnectionFactory);
+			return new JedisRedisChatMemoryRepository(jedisConnectionFactory, appendOnly, activityIndex,
+					messageCodec);
 		}
 
 		private JedisPoolConfig getPoolConfigWithDefault() {
@@ -159,15 +178,54 @@ public class JedisRedisChatMemoryRepository extends BaseRedisChatMemoryRepositor
 
 	@Override
 	public List<String> findConversationIds() {
-		Set<String> keys = redisTemplate.keys(getKeyPrefix() + "*");
-		return keys.stream().map(key -> key.substring(getKeyPrefix().length())).collect(Collectors.toList());
+		return ConversationIdScanner.findAll(this, SCAN_PAGE_SIZE);
+	}
+
+	@Override
+	public ConversationIdPage findConversationIds(String cursor, int pageSize) {
+		ScanParams scanParams = new ScanParams().match(getKeyPrefix() + "*");
+		if (connectionFactory instanceof JedisConnectionFactory jedisConnectionFactory
+				&& jedisConnectionFactory.isRedisClusterAware()) {
+			try (RedisClusterConnection connection = jedisConnectionFactory.getClusterConnection()) {
+				JedisCluster cluster = (JedisCluster) connection.getNativeConnection();
+				List<RedisClusterNode> masters = ConversationIdScanner.masters(connection);
+				return ConversationIdScanner.scan(cursor, pageSize, masters.size(), getKeyPrefix(),
+						getActivityIndexKey(),
+						(node, nodeCursor, count) -> scan(cluster, masters.get(node), nodeCursor, scanParams.count(count)));
+			}
+		}
+		try (RedisConnection connection = connectionFactory.getConnection()) {
+			Jedis jedis = (Jedis) connection.getNativeConnection();
+			return ConversationIdScanner.scan(cursor, pageSize, 1, getKeyPrefix(), getActivityIndexKey(),
+					(node, nodeCursor, count) -> iteration(jedis.scan(nodeCursor, scanParams.count(count))));
+		}
+	}
+
+	private static ConversationIdScanner.Iteration scan(JedisCluster cluster, RedisClusterNode node, String cursor,
+			ScanParams scanParams) {
+		ConnectionPool pool = cluster.getClusterNodes().get(node.getHost() + ":" + node.getPort());
+		Assert.state(pool != null, () -> "No connection pool for cluster node " + node);
+		try (Jedis jedis = new Jedis(pool.getResource())) {
+			return iteration(jedis.scan(cursor, scanParams));
+		}
+	}
+
+	private static ConversationIdScanner.Iteration iteration(ScanResult<String> scanResult) {
+		return new ConversationIdScanner.Iteration(scanResult.getCursor(), scanResult.getResult());
+	}
+
+	@Override
+	public List<String> findRecentConversationIds(int limit) {
+		assertActivityIndexEnabled(limit);
+		Set<String> conversationIds = redisTemplate.opsForZSet().reverseRange(getActivityIndexKey(), 0, limit - 1);
+		return conversationIds != null ? new ArrayList<>(conversationIds) : List.of();
 	}
 
 	@Override
 	public List<Message> findByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		String key = getKeyPrefix() + conversationId;
-		List<String> messageStrings = redisTemplate.opsForList().range(key, 0, -1);
+		List<String> messageStrings = messageTemplate.opsForList().range(key, 0, -1);
 		if (CollectionUtils.isEmpty(messageStrings)) {
 			return Collections.emptyList();
 		}
@@ -181,22 +239,37 @@ public class JedisRedisChatMemoryRepository extends BaseRedisChatMemoryRepositor
 		Assert.noNullElements(messages, "messages cannot contain null elements");
 		String key = getKeyPrefix() + conversationId;
 		List<String> messageJsons = messages.stream().map(this::serializeMessage).toList();
-		try (RedisConnection connection = redisTemplate.getConnectionFactory().getConnection()) {
-			connection.keyCommands().del(key.getBytes());
-			if (!messageJsons.isEmpty()) {
-				byte[][] values = new byte[messageJsons.size()][];
-				for (int i = 0; i < messageJsons.size(); i++) {
-					values[i] = messageJsons.get(i).getBytes();
+		if (appendOnly) {
+			appendAll(key, messageJsons);
+		}
+		else {
+			try (RedisConnection connection = redisTemplate.getConnectionFactory().getConnection()) {
+				connection.keyCommands().del(key.getBytes());
+				if (!messageJsons.isEmpty()) {
+					byte[][] values = new byte[messageJsons.size()][];
+					for (int i = 0; i < messageJsons.size(); i++) {
+						values[i] = messageJsons.get(i).getBytes(MESSAGE_CHARSET);
+					}
+					connection.listCommands().rPush(key.getBytes(), values);
 				}
-				connection.listCommands().rPush(key.getBytes(), values);
 			}
 		}
+		if (activityIndex) {
+			redisTemplate.opsForZSet().add(getActivityIndexKey(), conversationId, System.currentTimeMillis());
+		}
+	}
+
+	private void appendAll(String key, List<String> messageJsons) {
+		messageTemplate.execute(APPEND_REDIS_SCRIPT, List.of(key), messageJsons.toArray());
 	}
 
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		redisTemplate.delete(getKeyPrefix() + conversationId);
+		if (activityIndex) {
+			redisTemplate.opsForZSet().remove(getActivityIndexKey(), conversationId);
+		}
 	}
 
 	/**
@@ -208,11 +281,11 @@ public class JedisRedisChatMemoryRepository extends BaseRedisChatMemoryRepositor
 	public void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		String key = getKeyPrefix() + conversationId;
-		Long size = redisTemplate.opsForList().size(key);
+		Long size = messageTemplate.opsForList().size(key);
 		if (size < maxLimit) {
 			return;
 		}
-		redisTemplate.opsForList().trim(key, deleteSize, -1);
+		messageTemplate.opsForList().trim(key, deleteSize, -1);
 	}
 
 	@Override
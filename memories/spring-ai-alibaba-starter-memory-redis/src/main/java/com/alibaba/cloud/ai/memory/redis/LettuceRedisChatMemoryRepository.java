@@ -16,12 +16,24 @@
 package com.alibaba.cloud.ai.memory.redis;
 
 import com.alibaba.cloud.ai.memory.redis.builder.RedisChatMemoryBuilder;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import io.lettuce.core.ClientOptions;
+import io.lettuce.core.KeyScanCursor;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.ScanArgs;
+import io.lettuce.core.ScanCursor;
 import io.lettuce.core.SocketOptions;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
@@ -31,10 +43,12 @@ import org.springframework.boot.ssl.SslBundle;
 import org.springframework.boot.ssl.SslOptions;
 import org.springframework.data.redis.connection.*;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
@@ -46,27 +60,38 @@ import org.springframework.util.StringUtils;
  * @author benym
  * @since 2025/7/31 14:40
  */
-public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryRepository {
+public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryRepository
+    implements PagedChatMemoryRepository {
 
   private static final Logger logger =
       LoggerFactory.getLogger(LettuceRedisChatMemoryRepository.class);
 
+  private static final RedisScript<Long> APPEND_REDIS_SCRIPT =
+      RedisScript.of(APPEND_SCRIPT, Long.class);
+
   private final RedisConnectionFactory connectionFactory;
 
   private final RedisTemplate<String, String> redisTemplate;
 
-  private LettuceRedisChatMemoryRepository(RedisConnectionFactory connectionFactory) {
-    super();
+  private final RedisTemplate<String, String> messageTemplate;
+
+  private LettuceRedisChatMemoryRepository(
+      RedisConnectionFactory connectionFactory,
+      boolean appendOnly,
+      boolean activityIndex,
+      MessageCodec messageCodec) {
+    super(appendOnly, activityIndex, messageCodec);
     Assert.notNull(connectionFactory, "ConnectionFactory cannot be null");
     this.connectionFactory = connectionFactory;
-    this.redisTemplate = createRedisTemplate(connectionFactory);
+    this.redisTemplate = createRedisTemplate(connectionFactory, StandardCharsets.UTF_8);
+    this.messageTemplate = createRedisTemplate(connectionFactory, MESSAGE_CHARSET);
   }
 
   private RedisTemplate<String, String> createRedisTemplate(
-      RedisConnectionFactory connectionFactory) {
+      RedisConnectionFactory connectionFactory, Charset valueCharset) {
     StringRedisTemplate template = new StringRedisTemplate(connectionFactory);
     template.setKeySerializer(new StringRedisSerializer());
-    template.setValueSerializer(new StringRedisSerializer());
+    template.setValueSerializer(new StringRedisSerializer(valueCharset));
     template.afterPropertiesSet();
     return template;
   }
@@ -127,7 +152,8 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
       }
       lettuceConnectionFactory.setShareNativeConnection(false);
       lettuceConnectionFactory.afterPropertiesSet();
-      return new LettuceRedisChatMemoryRepository(lettuceConnectionFactory);
+      return new LettuceRedisChatMemoryRepository(
+          lettuceConnectionFactory, appendOnly, activityIndex, messageCodec);
     }
 
     private LettuceClientConfiguration applyConfiguration() {
@@ -186,17 +212,76 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
 
   @Override
   public List<String> findConversationIds() {
-    Set<String> keys = redisTemplate.keys(getKeyPrefix() + "*");
-    return keys.stream()
-        .map(key -> key.substring(getKeyPrefix().length()))
-        .collect(Collectors.toList());
+    return ConversationIdScanner.findAll(this, SCAN_PAGE_SIZE);
+  }
+
+  @Override
+  public ConversationIdPage findConversationIds(String cursor, int pageSize) {
+    String pattern = getKeyPrefix() + "*";
+    if (connectionFactory instanceof LettuceConnectionFactory lettuceConnectionFactory
+        && lettuceConnectionFactory.isClusterAware()) {
+      try (RedisClusterConnection connection = lettuceConnectionFactory.getClusterConnection()) {
+        RedisAdvancedClusterAsyncCommands<byte[], byte[]> commands =
+            (RedisAdvancedClusterAsyncCommands<byte[], byte[]>)
+                ((LettuceConnection) connection).getNativeConnection();
+        List<RedisClusterNode> masters = ConversationIdScanner.masters(connection);
+        return ConversationIdScanner.scan(
+            cursor,
+            pageSize,
+            masters.size(),
+            getKeyPrefix(),
+            getActivityIndexKey(),
+            (node, nodeCursor, count) ->
+                scan(
+                    commands.getConnection(masters.get(node).getHost(), masters.get(node).getPort()),
+                    nodeCursor,
+                    pattern,
+                    count));
+      }
+    }
+    try (RedisConnection connection = connectionFactory.getConnection()) {
+      RedisClusterAsyncCommands<byte[], byte[]> commands =
+          ((LettuceConnection) connection).getNativeConnection();
+      return ConversationIdScanner.scan(
+          cursor,
+          pageSize,
+          1,
+          getKeyPrefix(),
+          getActivityIndexKey(),
+          (node, nodeCursor, count) -> scan(commands, nodeCursor, pattern, count));
+    }
+  }
+
+  private ConversationIdScanner.Iteration scan(
+      RedisClusterAsyncCommands<byte[], byte[]> commands, String cursor, String pattern, int count) {
+    RedisFuture<KeyScanCursor<byte[]>> future =
+        commands.scan(ScanCursor.of(cursor), ScanArgs.Builder.matches(pattern).limit(count));
+    KeyScanCursor<byte[]> scanCursor =
+        LettuceFutures.awaitOrCancel(
+            future,
+            ((LettuceConnectionFactory) connectionFactory).getTimeout(),
+            TimeUnit.MILLISECONDS);
+    List<String> keys =
+        scanCursor.getKeys().stream()
+            .map(key -> new String(key, StandardCharsets.UTF_8))
+            .toList();
+    return new ConversationIdScanner.Iteration(
+        scanCursor.isFinished() ? "0" : scanCursor.getCursor(), keys);
+  }
+
+  @Override
+  public List<String> findRecentConversationIds(int limit) {
+    assertActivityIndexEnabled(limit);
+    Set<String> conversationIds =
+        redisTemplate.opsForZSet().reverseRange(getActivityIndexKey(), 0, limit - 1);
+    return conversationIds != null ? new ArrayList<>(conversationIds) : List.of();
   }
 
   @Override
   public List<Message> findByConversationId(String conversationId) {
     Assert.hasText(conversationId, "conversationId cannot be null or empty");
     String key = getKeyPrefix() + conversationId;
-    List<String> messageStrings = redisTemplate.opsForList().range(key, 0, -1);
+    List<String> messageStrings = messageTemplate.opsForList().range(key, 0, -1);
     if (CollectionUtils.isEmpty(messageStrings)) {
       return Collections.emptyList();
     }
@@ -210,22 +295,38 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
     Assert.noNullElements(messages, "messages cannot contain null elements");
     String key = getKeyPrefix() + conversationId;
     List<String> messageJsons = messages.stream().map(this::serializeMessage).toList();
-    try (RedisConnection connection = redisTemplate.getConnectionFactory().getConnection()) {
-      connection.keyCommands().del(key.getBytes());
-      if (!messageJsons.isEmpty()) {
-        byte[][] values = new byte[messageJsons.size()][];
-        for (int i = 0; i < messageJsons.size(); i++) {
-          values[i] = messageJsons.get(i).getBytes();
+    if (appendOnly) {
+      appendAll(key, messageJsons);
+    } else {
+      try (RedisConnection connection = redisTemplate.getConnectionFactory().getConnection()) {
+        connection.keyCommands().del(key.getBytes());
+        if (!messageJsons.isEmpty()) {
+          byte[][] values = new byte[messageJsons.size()][];
+          for (int i = 0; i < messageJsons.size(); i++) {
+            values[i] = messageJsons.get(i).getBytes(MESSAGE_CHARSET);
+          }
+          connection.listCommands().rPush(key.getBytes(), values);
         }
-        connection.listCommands().rPush(key.getBytes(), values);
       }
     }
+    if (activityIndex) {
+      redisTemplate
+          .opsForZSet()
+          .add(getActivityIndexKey(), conversationId, System.currentTimeMillis());
+    }
+  }
+
+  private void appendAll(String key, List<String> messageJsons) {
+    messageTemplate.execute(APPEND_REDIS_SCRIPT, List.of(key), messageJsons.toArray());
   }
 
   @Override
   public void deleteByConversationId(String conversationId) {
     Assert.hasText(conversationId, "conversationId cannot be null or empty");
     redisTemplate.delete(getKeyPrefix() + conversationId);
+    if (activityIndex) {
+      redisTemplate.opsForZSet().remove(getActivityIndexKey(), conversationId);
+    }
   }
 
   /**
@@ -238,11 +339,11 @@ public class LettuceRedisChatMemoryRepository extends BaseRedisChatMemoryReposit
   public void clearOverLimit(String conversationId, int maxLimit, int deleteSize) {
     Assert.hasText(conversationId, "conversationId cannot be null or empty");
     String key = getKeyPrefix() + conversationId;
-    Long size = redisTemplate.opsForList().size(key);
+    Long size = messageTemplate.opsForList().size(key);
     if (size < maxLimit) {
       return;
     }
-    redisTemplate.opsForList().trim(key, deleteSize, -1);
+    messageTemplate.opsForList().trim(key, deleteSize, -1);
   }
 
   @Override
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis;
+
+import org.springframework.ai.chat.memory.ChatMemoryRepository;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * A {@link ChatMemoryRepository} that can list its conversation ids page by page, without
+ * loading all of them at once.
+ *
+ * @since 1.1.0.0
+ */
+public interface PagedChatMemoryRepository extends ChatMemoryRepository {
+
+	/**
+	 * Find one page of conversation ids. Start with a {@code null} cursor and pass the
+	 * {@link ConversationIdPage#nextCursor() next cursor} of each page to get the
+	 * following one, until it is {@code null}.
+	 * <p>
+	 * The listing is weakly consistent: conversations created or deleted while paging may
+	 * or may not be returned, and an id may show up more than once.
+	 * @param cursor the cursor returned with the previous page, {@code null} to start
+	 * @param pageSize the number of ids to aim for, pages may be slightly smaller or
+	 * larger
+	 * @return the page
+	 */
+	ConversationIdPage findConversationIds(@Nullable String cursor, int pageSize);
+
+	/**
+	 * A page of conversation ids.
+	 *
+	 * @param conversationIds the ids of this page, possibly empty even if more follow
+	 * @param nextCursor the cursor of the next page, {@code null} if this is the last one
+	 */
+	record ConversationIdPage(List<String> conversationIds, @Nullable String nextCursor) {
+
+		public boolean hasNext() {
+			return this.nextCursor != null;
+		}
+
+	}
+
+}
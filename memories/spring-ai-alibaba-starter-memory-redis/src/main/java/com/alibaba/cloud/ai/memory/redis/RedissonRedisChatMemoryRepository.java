@@ -16,9 +16,12 @@
 package com.alibaba.cloud.ai.memory.redis;
 
 import com.alibaba.cloud.ai.memory.redis.builder.RedisChatMemoryBuilder;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import org.redisson.Redisson;
 import org.redisson.api.RKeys;
 import org.redisson.api.RList;
+import org.redisson.api.RScript;
+import org.redisson.api.RScoredSortedSet;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.options.KeysScanOptions;
 import org.redisson.client.codec.StringCodec;
@@ -31,6 +34,7 @@ import org.springframework.boot.ssl.SslManagerBundle;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -46,10 +50,17 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 
 	private static final Logger logger = LoggerFactory.getLogger(RedissonRedisChatMemoryRepository.class);
 
+	/**
+	 * Reads and writes the encoded messages byte for byte, whatever the codec of the
+	 * client.
+	 */
+	private static final StringCodec MESSAGE_CODEC = new StringCodec(MESSAGE_CHARSET);
+
 	private final RedissonClient redissonClient;
 
-	private RedissonRedisChatMemoryRepository(RedissonClient redissonClient) {
-		super();
+	private RedissonRedisChatMemoryRepository(RedissonClient redissonClient, boolean appendOnly,
+			boolean activityIndex, MessageCodec messageCodec) {
+		super(appendOnly, activityIndex, messageCodec);
 		Assert.notNull(redissonClient, "redissonClient cannot be null");
 		this.redissonClient = redissonClient;
 	}
@@ -87,7 +98,8 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 				if (redissonConfig.getCodec() == null) {
 					redissonConfig.setCodec(new StringCodec());
 				}
-				return new RedissonRedisChatMemoryRepository(Redisson.create(redissonConfig));
+				return new RedissonRedisChatMemoryRepository(Redisson.create(redissonConfig), appendOnly,
+						activityIndex, messageCodec);
 			}
 			Config config = new Config();
 			config.setCodec(new StringCodec());
@@ -135,7 +147,8 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 					config.useSingleServer().setPassword(password);
 				}
 			}
-			return new RedissonRedisChatMemoryRepository(Redisson.create(config));
+			return new RedissonRedisChatMemoryRepository(Redisson.create(config), appendOnly, activityIndex,
+					messageCodec);
 
 		}
 
@@ -147,14 +160,23 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 		KeysScanOptions scanOptions = KeysScanOptions.defaults().pattern(getKeyPrefix() + "*");
 		Iterable<String> keysIter = keys.getKeys(scanOptions);
 		return StreamSupport.stream(keysIter.spliterator(), false)
+			.filter(key -> !key.equals(getActivityIndexKey()))
 			.map(key -> key.substring(getKeyPrefix().length()))
 			.collect(Collectors.toList());
 	}
 
+	@Override
+	public List<String> findRecentConversationIds(int limit) {
+		assertActivityIndexEnabled(limit);
+		RScoredSortedSet<String> activityIndex = redissonClient.getScoredSortedSet(getActivityIndexKey(),
+				StringCodec.INSTANCE);
+		return new ArrayList<>(activityIndex.valueRangeReversed(0, limit - 1));
+	}
+
 	@Override
 	public List<Message> findByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		RList<String> redisList = redissonClient.getList(getKeyPrefix() + conversationId);
+		RList<String> redisList = redissonClient.getList(getKeyPrefix() + conversationId, MESSAGE_CODEC);
 		return redisList.readAll()
 			.parallelStream()
 			.map(this::deserializeMessage)
@@ -167,17 +189,35 @@ public class RedissonRedisChatMemoryRepository extends BaseRedisChatMemoryReposi
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
 		Assert.notNull(messages, "messages cannot be null");
 		Assert.noNullElements(messages, "messages cannot contain null elements");
-		RList<String> redisList = redissonClient.getList(getKeyPrefix() + conversationId);
-		redisList.delete();
+		RList<String> redisList = redissonClient.getList(getKeyPrefix() + conversationId, MESSAGE_CODEC);
 		List<String> serializedMessages = messages.stream().map(this::serializeMessage).toList();
-		redisList.addAll(serializedMessages);
+		if (appendOnly) {
+			appendAll(redisList, serializedMessages);
+		}
+		else {
+			redisList.delete();
+			redisList.addAll(serializedMessages);
+		}
+		if (activityIndex) {
+			redissonClient.<String>getScoredSortedSet(getActivityIndexKey(), StringCodec.INSTANCE)
+				.add(System.currentTimeMillis(), conversationId);
+		}
+	}
+
+	private void appendAll(RList<String> redisList, List<String> serializedMessages) {
+		redissonClient.getScript(MESSAGE_CODEC)
+			.eval(redisList.getName(), RScript.Mode.READ_WRITE, APPEND_SCRIPT, RScript.ReturnType.INTEGER,
+					List.of(redisList.getName()), serializedMessages.toArray());
 	}
 
 	@Override
 	public void deleteByConversationId(String conversationId) {
 		Assert.hasText(conversationId, "conversationId cannot be null or empty");
-		RList<String> redisList = redissonClient.getList(getKeyPrefix() + conversationId);
+		RList<String> redisList = redissonClient.getList(getKeyPrefix() + conversationId, MESSAGE_CODEC);
 		redisList.delete();
+		if (activityIndex) {
+			redissonClient.<String>getScoredSortedSet(getActivityIndexKey(), StringCodec.INSTANCE).remove(conversationId);
+		}
 	}
 
 	/**
@@ -15,6 +15,8 @@
  */
 package com.alibaba.cloud.ai.memory.redis.builder;
 
+import com.alibaba.cloud.ai.memory.serializer.JsonMessageCodec;
+import com.alibaba.cloud.ai.memory.serializer.MessageCodec;
 import org.springframework.boot.ssl.SslBundles;
 
 import java.util.List;
@@ -54,6 +56,12 @@ public abstract class RedisChatMemoryBuilder<T extends RedisChatMemoryBuilder<T>
 
 	protected SslBundles sslBundles;
 
+	protected boolean appendOnly = false;
+
+	protected boolean activityIndex = false;
+
+	protected MessageCodec messageCodec = new JsonMessageCodec();
+
 	protected abstract T self();
 
 	public T host(String host) {
@@ -112,4 +120,38 @@ public abstract class RedisChatMemoryBuilder<T extends RedisChatMemoryBuilder<T>
 		return self();
 	}
 
+	/**
+	 * Only push the messages that are new since the last save and trim the evicted ones
+	 * with {@code LTRIM}, instead of deleting and rewriting the whole conversation on
+	 * every save.
+	 * @param appendOnly whether to enable the append-only mode
+	 * @return the builder
+	 */
+	public T appendOnly(boolean appendOnly) {
+		this.appendOnly = appendOnly;
+		return self();
+	}
+
+	/**
+	 * Also keep the conversation ids in a sorted set scored by their last save, so the
+	 * most recent conversations can be listed without scanning the keyspace.
+	 * @param activityIndex whether to maintain the activity index
+	 * @return the builder
+	 */
+	public T activityIndex(boolean activityIndex) {
+		this.activityIndex = activityIndex;
+		return self();
+	}
+
+	/**
+	 * The codec of the stored messages. Defaults to JSON, every codec also reads the
+	 * JSON entries so it can be changed on a live store.
+	 * @param messageCodec the codec
+	 * @return the builder
+	 */
+	public T messageCodec(MessageCodec messageCodec) {
+		this.messageCodec = messageCodec;
+		return self();
+	}
+
 }
@@ -15,31 +15,16 @@
  */
 package com.alibaba.cloud.ai.memory.redis.serializer;
 
-import org.springframework.ai.chat.messages.AssistantMessage;
-import org.springframework.ai.chat.messages.Message;
-import org.springframework.ai.chat.messages.ToolResponseMessage;
-
-import java.util.List;
-import java.util.Map;
-
 /**
  * Factory class for creating Message instances.
  *
  * @author benym
  * @since 2025/9/3 16:30
+ * @deprecated moved to {@link com.alibaba.cloud.ai.memory.serializer.MessageFactory}, which
+ * the Redis and Memcached chat memories share
  */
+@Deprecated
 @FunctionalInterface
-public interface MessageFactory {
-
-	/**
-	 * create a Message instance
-	 * @param textContent user text content
-	 * @param metadata additional metadata
-	 * @param toolCalls list of tool calls
-	 * @param toolResponses list of tool responses
-	 * @return Message
-	 */
-	Message create(String textContent, Map<String, Object> metadata, List<AssistantMessage.ToolCall> toolCalls,
-			List<ToolResponseMessage.ToolResponse> toolResponses);
+public interface MessageFactory extends com.alibaba.cloud.ai.memory.serializer.MessageFactory {
 
 }
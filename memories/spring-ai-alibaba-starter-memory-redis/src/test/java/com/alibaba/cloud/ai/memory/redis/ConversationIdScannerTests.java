@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.memory.redis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ConversationIdScanner}.
+ */
+class ConversationIdScannerTests {
+
+	private static final String PREFIX = "memory:";
+
+	/**
+	 * Two nodes, each answering SCAN with a fixed sequence of iterations keyed by cursor.
+	 */
+	private final List<Map<String, ConversationIdScanner.Iteration>> nodes = List.of(
+			Map.of("0", new ConversationIdScanner.Iteration("7", List.of("memory:a", "memory:b")), "7",
+					new ConversationIdScanner.Iteration("0", List.of("memory:c"))),
+			Map.of("0", new ConversationIdScanner.Iteration("3", List.of()), "3",
+					new ConversationIdScanner.Iteration("0", List.of("memory:d", "activity"))));
+
+	private final ConversationIdScanner.NodeScanner scanner = (node, cursor, count) -> this.nodes.get(node)
+		.get(cursor);
+
+	@Test
+	void pagesThroughEveryNode() {
+		var first = ConversationIdScanner.scan(null, 2, 2, PREFIX, "activity", this.scanner);
+		assertThat(first.conversationIds()).containsExactly("a", "b");
+		assertThat(first.nextCursor()).isEqualTo("0:7");
+
+		var second = ConversationIdScanner.scan(first.nextCursor(), 2, 2, PREFIX, "activity", this.scanner);
+		assertThat(second.conversationIds()).containsExactly("c", "d");
+		assertThat(second.hasNext()).isFalse();
+	}
+
+	@Test
+	void skipsEmptyIterationsUntilThePageIsFilled() {
+		var page = ConversationIdScanner.scan("1:0", 1, 2, PREFIX, "activity", this.scanner);
+
+		assertThat(page.conversationIds()).containsExactly("d");
+		assertThat(page.nextCursor()).isNull();
+	}
+
+	@Test
+	void rejectsMalformedCursor() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> ConversationIdScanner.scan("7", 10, 2, PREFIX, "activity", this.scanner));
+	}
+
+}
@@ -15,6 +15,8 @@
  */
 package com.alibaba.cloud.ai.memory.redis;
 
+import com.alibaba.cloud.ai.memory.serializer.MessageCompression;
+import com.alibaba.cloud.ai.memory.serializer.SmileMessageCodec;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -34,6 +36,7 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.net.URI;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -328,6 +331,92 @@ class JedisRedisChatMemoryRepositoryTest {
         defaultRepository.deleteByConversationId(conversationId);
     }
 
+	@Test
+	void appendOnlySavesOnlyNewMessagesAndTrimsEvictedOnes() {
+		var conversationId = UUID.randomUUID().toString();
+		var appendOnlyRepository = JedisRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.appendOnly(true)
+			.build();
+		appendOnlyRepository.saveAll(conversationId,
+				List.of(new UserMessage("1"), new AssistantMessage("2"), new UserMessage("3")));
+
+		appendOnlyRepository.saveAll(conversationId,
+				List.of(new AssistantMessage("2"), new UserMessage("3"), new AssistantMessage("4")));
+
+		assertThat(appendOnlyRepository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactly("2", "3", "4");
+
+		appendOnlyRepository.saveAll(conversationId, List.of(new SystemMessage("system"), new UserMessage("5")));
+
+		assertThat(appendOnlyRepository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactly("system", "5");
+		appendOnlyRepository.deleteByConversationId(conversationId);
+	}
+
+	@Test
+	void findConversationIdsPageByPage() {
+		var repository = (JedisRedisChatMemoryRepository) chatMemoryRepository;
+		var conversationIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString(),
+				UUID.randomUUID().toString());
+		conversationIds.forEach(id -> repository.saveAll(id, List.of(new UserMessage("Hello"))));
+
+		var found = new HashSet<String>();
+		String cursor = null;
+		do {
+			var page = repository.findConversationIds(cursor, 1);
+			found.addAll(page.conversationIds());
+			cursor = page.nextCursor();
+		}
+		while (cursor != null);
+
+		assertThat(found).containsAll(conversationIds);
+		assertThat(repository.findConversationIds()).containsAll(conversationIds);
+		conversationIds.forEach(repository::deleteByConversationId);
+	}
+
+	@Test
+	void findRecentConversationIdsFromActivityIndex() throws InterruptedException {
+		var repository = JedisRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.activityIndex(true)
+			.build();
+		var older = UUID.randomUUID().toString();
+		var newer = UUID.randomUUID().toString();
+		repository.saveAll(older, List.of(new UserMessage("older")));
+		// activity is scored in milliseconds
+		Thread.sleep(5);
+		repository.saveAll(newer, List.of(new UserMessage("newer")));
+
+		assertThat(repository.findRecentConversationIds(2)).containsExactly(newer, older);
+		assertThat(repository.findConversationIds()).doesNotContain(repository.getActivityIndexKey());
+
+		repository.deleteByConversationId(newer);
+		assertThat(repository.findRecentConversationIds(2)).containsExactly(older);
+		repository.deleteByConversationId(older);
+	}
+
+	@Test
+	void smileCodecReadsConversationsWrittenAsJson() {
+		var conversationId = UUID.randomUUID().toString();
+		var smileRepository = JedisRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.messageCodec(new SmileMessageCodec(MessageCompression.LZ4, 16))
+			.appendOnly(true)
+			.build();
+		chatMemoryRepository.saveAll(conversationId, List.of(new UserMessage("你好"), new AssistantMessage("Hi")));
+
+		smileRepository.saveAll(conversationId, List.of(new UserMessage("你好"), new AssistantMessage("Hi"),
+				new UserMessage("A compressed message, ".repeat(10))));
+
+		assertThat(smileRepository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactly("你好", "Hi", "A compressed message, ".repeat(10));
+		smileRepository.deleteByConversationId(conversationId);
+	}
+
 	@SpringBootConfiguration
 	static class TestConfiguration {
 
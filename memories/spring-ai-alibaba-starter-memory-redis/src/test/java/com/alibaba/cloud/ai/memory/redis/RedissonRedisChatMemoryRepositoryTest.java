@@ -331,6 +331,30 @@ public class RedissonRedisChatMemoryRepositoryTest {
         defaultRepository.deleteByConversationId(conversationId);
     }
 
+	@Test
+	void appendOnlySavesOnlyNewMessagesAndTrimsEvictedOnes() {
+		var conversationId = UUID.randomUUID().toString();
+		var appendOnlyRepository = RedissonRedisChatMemoryRepository.builder()
+			.host(redisContainer.getHost())
+			.port(redisContainer.getMappedPort(REDIS_PORT))
+			.appendOnly(true)
+			.build();
+		appendOnlyRepository.saveAll(conversationId,
+				List.of(new UserMessage("1"), new AssistantMessage("2"), new UserMessage("3")));
+
+		appendOnlyRepository.saveAll(conversationId,
+				List.of(new AssistantMessage("2"), new UserMessage("3"), new AssistantMessage("4")));
+
+		assertThat(appendOnlyRepository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactly("2", "3", "4");
+
+		appendOnlyRepository.saveAll(conversationId, List.of(new SystemMessage("system"), new UserMessage("5")));
+
+		assertThat(appendOnlyRepository.findByConversationId(conversationId)).extracting(Message::getText)
+			.containsExactly("system", "5");
+		appendOnlyRepository.deleteByConversationId(conversationId);
+	}
+
 	@SpringBootConfiguration
 	static class TestConfiguration {
 
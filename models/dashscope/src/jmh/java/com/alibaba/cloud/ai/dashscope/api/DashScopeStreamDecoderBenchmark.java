@@ -0,0 +1,137 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.api;
+
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionRequest;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionRequestInput;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionRequestParameter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays recorded DashScope SSE transcripts through
+ * {@link DashScopeApi#chatCompletionStream} with both stream decoder modes. The response
+ * body is handed out in network sized frames by a stub exchange function, so the numbers
+ * cover SSE framing, JSON binding and tool call merging but no I/O.
+ * <p>
+ * The {@code events} counter reports decoded SSE events per second. Run with
+ * {@code -prof gc} and divide {@code gc.alloc.rate.norm} by the {@code events} value
+ * printed at setup to get the bytes allocated per chunk:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="DashScopeStreamDecoderBenchmark -prof gc"
+ * </pre>
+ *
+ * @since 1.1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DashScopeStreamDecoderBenchmark {
+
+	private static final int FRAME_SIZE = 1400;
+
+	@Param({ "text-incremental.txt", "tool-calls-incremental.txt" })
+	public String transcript;
+
+	@Param({ "DEFAULT", "INCREMENTAL" })
+	public DashScopeApi.StreamDecoderMode mode;
+
+	private List<byte[]> frames;
+
+	private int events;
+
+	private DashScopeApi api;
+
+	private ChatCompletionRequest request;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		byte[] body = new ClassPathResource("sse/" + this.transcript).getContentAsByteArray();
+		this.frames = new ArrayList<>();
+		for (int offset = 0; offset < body.length; offset += FRAME_SIZE) {
+			this.frames.add(Arrays.copyOfRange(body, offset, Math.min(body.length, offset + FRAME_SIZE)));
+		}
+		this.events = new String(body, StandardCharsets.UTF_8).split("\ndata:").length - 1;
+		System.out.printf("%n%s: %d bytes, %d events%n", this.transcript, body.length, this.events);
+
+		this.api = DashScopeApi.builder()
+			.apiKey("benchmark")
+			.streamDecoderMode(this.mode)
+			.webClientBuilder(WebClient.builder()
+				.exchangeFunction(clientRequest -> Mono.just(ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+					.body(Flux.fromIterable(this.frames).map(DefaultDataBufferFactory.sharedInstance::wrap)
+						.cast(DataBuffer.class))
+					.build())))
+			.build();
+
+		ChatCompletionRequestParameter parameters = ModelOptionsUtils.jsonToObject("{\"incremental_output\":true}",
+				ChatCompletionRequestParameter.class);
+		this.request = new ChatCompletionRequest("qwen-plus", new ChatCompletionRequestInput(
+				List.of(new ChatCompletionMessage("hi", ChatCompletionMessage.Role.USER))), parameters, true, false);
+	}
+
+	@Benchmark
+	public Long replay(EventCounters counters) {
+		counters.events += this.events;
+		return this.api.chatCompletionStream(this.request, new LinkedMultiValueMap<>()).count().block();
+	}
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class EventCounters {
+
+		public long events;
+
+	}
+
+}
@@ -34,6 +34,8 @@ import org.springframework.ai.model.SimpleApiKey;
 import org.springframework.ai.retry.RetryUtils;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -113,12 +115,19 @@ public class DashScopeApi {
 
 	public static final String DEFAULT_EMBEDDING_TEXT_TYPE = DashScopeModel.EmbeddingTextType.DOCUMENT.getValue();
 
+	/**
+	 * Maximum number of texts accepted by a single embedding request.
+	 */
+	public static final int MAX_EMBEDDING_TEXTS_PER_REQUEST = 25;
+
 	private final RestClient restClient;
 
 	private final WebClient webClient;
 
 	private final ResponseErrorHandler responseErrorHandler;
 
+	private final StreamDecoderMode streamDecoderMode;
+
 	/**
 	 * Returns a builder pre-populated with the current configuration for mutation.
 	 */
@@ -156,12 +165,44 @@ public class DashScopeApi {
 			ResponseErrorHandler responseErrorHandler
 	) {
 
+		this(baseUrl, apiKey, header, completionsPath, embeddingsPath, workSpaceId, restClientBuilder,
+				webClientBuilder, responseErrorHandler, StreamDecoderMode.DEFAULT);
+	}
+
+	/**
+	 * Create a new chat completion api.
+	 * @param baseUrl api base URL.
+	 * @param apiKey OpenAI apiKey.
+	 * @param header the http headers to use.
+	 * @param completionsPath the path to the chat completions endpoint.
+	 * @param embeddingsPath the path to the embeddings endpoint.
+	 * @param workSpaceId the workspace ID to use.
+	 * @param restClientBuilder RestClient builder.
+	 * @param webClientBuilder WebClient builder.
+	 * @param responseErrorHandler Response error handler.
+	 * @param streamDecoderMode how streaming chat responses are decoded.
+	 */
+	public DashScopeApi(
+			String baseUrl,
+			ApiKey apiKey,
+			MultiValueMap<String, String> header,
+			String completionsPath,
+			String embeddingsPath,
+			// Add request header.
+			String workSpaceId,
+			RestClient.Builder restClientBuilder,
+			WebClient.Builder webClientBuilder,
+			ResponseErrorHandler responseErrorHandler,
+			StreamDecoderMode streamDecoderMode
+	) {
+
 		this.baseUrl = baseUrl;
 		this.apiKey = apiKey;
 		this.headers = header;
 		this.completionsPath = completionsPath;
 		this.embeddingsPath = embeddingsPath;
 		this.responseErrorHandler = responseErrorHandler;
+		this.streamDecoderMode = streamDecoderMode;
 
 		// For DashScope API, the workspace ID is passed in the headers.
 		if (StringUtils.hasText(workSpaceId)) {
@@ -200,7 +241,8 @@ public class DashScopeApi {
         Assert.notNull(embeddingRequest, "The request body can not be null.");
         Assert.notNull(embeddingRequest.input(), "The input can not be null.");
         Assert.isTrue(!CollectionUtils.isEmpty(embeddingRequest.input().texts()), "The input texts can not be empty.");
-        Assert.isTrue(embeddingRequest.input().texts().size() <= 25, "The input texts limit 25.");
+        Assert.isTrue(embeddingRequest.input().texts().size() <= MAX_EMBEDDING_TEXTS_PER_REQUEST,
+                "The input texts limit " + MAX_EMBEDDING_TEXTS_PER_REQUEST + ".");
 
         return this.restClient.post()
                 .uri(this.embeddingsPath)
@@ -549,28 +591,53 @@ public class DashScopeApi {
 	public Flux<DashScopeApiSpec.ChatCompletionChunk> chatCompletionStream(DashScopeApiSpec.ChatCompletionRequest chatRequest,
 																		   MultiValueMap<String, String> additionalHttpHeader) {
 
+		return this.chatCompletionStream(chatRequest, additionalHttpHeader, null);
+	}
+
+	/**
+	 * Creates a streaming chat response for the given chat conversation.
+	 * @param chatRequest The chat completion request. Must have the stream property set
+	 * to true.
+	 * @param additionalHttpHeader Optional, additional HTTP headers to be added to the
+	 * request.
+	 * @param chunkObserver Optional, called with every chunk as decoded from the stream,
+	 * before the tool call deltas are merged. Lets callers act on a tool call before the
+	 * merged chunk carrying it is emitted.
+	 * @return Returns a {@link Flux} stream from chat completion chunks.
+	 */
+	public Flux<DashScopeApiSpec.ChatCompletionChunk> chatCompletionStream(DashScopeApiSpec.ChatCompletionRequest chatRequest,
+																		   MultiValueMap<String, String> additionalHttpHeader,
+																		   Consumer<DashScopeApiSpec.ChatCompletionChunk> chunkObserver) {
+
 		Assert.notNull(chatRequest, "The request body can not be null.");
 		Assert.isTrue(chatRequest.stream(), "Request must set the stream property to true.");
 
-		AtomicBoolean isInsideTool = new AtomicBoolean(false);
 		boolean incrementalOutput = chatRequest.parameters() != null
 				&& chatRequest.parameters().incrementalOutput() != null && chatRequest.parameters().incrementalOutput();
-		DashScopeAiStreamFunctionCallingHelper chunkMerger = new DashScopeAiStreamFunctionCallingHelper(
-				incrementalOutput);
 
 		var chatCompletionUri = this.completionsPath;
 		if (chatRequest.multiModel()) {
 			chatCompletionUri = MULTIMODAL_GENERATION_RESTFUL_URL;
 		}
 
-		return this.webClient.post().uri(chatCompletionUri).headers(headers -> {
+		WebClient.ResponseSpec responseSpec = this.webClient.post().uri(chatCompletionUri).headers(headers -> {
 			headers.addAll(additionalHttpHeader);
 			// For DashScope stream
 			headers.add(HEADER_SSE, ENABLED);
 			addDefaultHeadersIfMissing(headers);
 		})
 			.body(Mono.just(chatRequest), DashScopeApiSpec.ChatCompletionRequest.class)
-			.retrieve()
+			.retrieve();
+
+		if (this.streamDecoderMode == StreamDecoderMode.INCREMENTAL) {
+			return incrementalChatCompletionStream(responseSpec, incrementalOutput, chunkObserver);
+		}
+
+		AtomicBoolean isInsideTool = new AtomicBoolean(false);
+		DashScopeAiStreamFunctionCallingHelper chunkMerger = new DashScopeAiStreamFunctionCallingHelper(
+				incrementalOutput);
+
+		return responseSpec
 			.bodyToFlux(String.class)
 			.takeUntil(SSE_DONE_PREDICATE)
 			.filter(SSE_DONE_PREDICATE.negate())
@@ -587,6 +654,9 @@ public class DashScopeApi {
 				return chunk;
 			})
 			.map(chunk -> {
+				if (chunkObserver != null) {
+					chunkObserver.accept(chunk);
+				}
 				if (chunkMerger.isStreamingToolFunctionCall(chunk)) {
 					isInsideTool.set(true);
 				}
@@ -609,6 +679,45 @@ public class DashScopeApi {
 			.flatMap(mono -> mono);
 	}
 
+	/**
+	 * Decodes the raw response body with {@link DashScopeSseChunkDecoder} and merges the
+	 * tool call deltas with {@link DashScopeStreamChunkAggregator}.
+	 */
+	private Flux<DashScopeApiSpec.ChatCompletionChunk> incrementalChatCompletionStream(
+			WebClient.ResponseSpec responseSpec, boolean incrementalOutput,
+			Consumer<DashScopeApiSpec.ChatCompletionChunk> chunkObserver) {
+
+		return Flux.defer(() -> {
+			DashScopeSseChunkDecoder decoder = new DashScopeSseChunkDecoder(ModelOptionsUtils.OBJECT_MAPPER);
+			DashScopeStreamChunkAggregator aggregator = new DashScopeStreamChunkAggregator(incrementalOutput);
+
+			return responseSpec.bodyToFlux(DataBuffer.class)
+				.map(buffer -> {
+					try {
+						return decoder.decode(buffer);
+					}
+					finally {
+						DataBufferUtils.release(buffer);
+					}
+				})
+				.takeUntil(chunks -> decoder.isDone())
+				.concatMapIterable(chunks -> chunks)
+				.<DashScopeApiSpec.ChatCompletionChunk>handle((chunk, sink) -> {
+					if (chunkObserver != null) {
+						chunkObserver.accept(chunk);
+					}
+					DashScopeApiSpec.ChatCompletionChunk merged = aggregator.accept(chunk);
+					if (merged != null) {
+						sink.next(merged);
+					}
+				})
+				.concatWith(Mono.fromSupplier(() -> {
+					decoder.complete();
+					return aggregator.flush();
+				}));
+		});
+	}
+
 	/**
 	 * Creates rerank request for dashscope rerank model.
 	 * @param rerankRequest The chat completion request.
@@ -641,6 +750,30 @@ public class DashScopeApi {
 		return this.responseErrorHandler;
 	}
 
+	StreamDecoderMode getStreamDecoderMode() {
+		return this.streamDecoderMode;
+	}
+
+	/**
+	 * How the server-sent events of a streaming chat completion are decoded.
+	 */
+	public enum StreamDecoderMode {
+
+		/**
+		 * Each event is read as a {@link String} and bound through
+		 * {@link ModelOptionsUtils}, tool call deltas are merged with
+		 * {@link DashScopeAiStreamFunctionCallingHelper}.
+		 */
+		DEFAULT,
+
+		/**
+		 * Events are parsed directly from the response {@link DataBuffer}s with a
+		 * non-blocking JSON parser, and tool call deltas are merged in place.
+		 */
+		INCREMENTAL
+
+	}
+
 	public static class Builder {
 
 		public Builder() {
@@ -654,6 +787,7 @@ public class DashScopeApi {
 			this.restClientBuilder = api.restClient != null ? api.restClient.mutate() : RestClient.builder();
 			this.webClientBuilder = api.webClient != null ? api.webClient.mutate() : WebClient.builder();
 			this.responseErrorHandler = api.getResponseErrorHandler();
+			this.streamDecoderMode = api.getStreamDecoderMode();
 		}
 
 		private String baseUrl = DEFAULT_BASE_URL;
@@ -674,6 +808,8 @@ public class DashScopeApi {
 
 		private ResponseErrorHandler responseErrorHandler = RetryUtils.DEFAULT_RESPONSE_ERROR_HANDLER;
 
+		private StreamDecoderMode streamDecoderMode = StreamDecoderMode.DEFAULT;
+
 		public Builder baseUrl(String baseUrl) {
 
 			Assert.notNull(baseUrl, "Base URL cannot be null");
@@ -732,13 +868,20 @@ public class DashScopeApi {
 			return this;
 		}
 
+		public Builder streamDecoderMode(StreamDecoderMode streamDecoderMode) {
+			Assert.notNull(streamDecoderMode, "Stream decoder mode cannot be null");
+			this.streamDecoderMode = streamDecoderMode;
+			return this;
+		}
+
 		public DashScopeApi build() {
 
 			Assert.notNull(apiKey, "API key cannot be null");
 
 			return new DashScopeApi(this.baseUrl, this.apiKey, this.headers, this.completionsPath, this.embeddingsPath,
 					// Add request header.
-					this.workSpaceId, this.restClientBuilder, this.webClientBuilder, this.responseErrorHandler);
+					this.workSpaceId, this.restClientBuilder, this.webClientBuilder, this.responseErrorHandler,
+					this.streamDecoderMode);
 		}
 
 	}
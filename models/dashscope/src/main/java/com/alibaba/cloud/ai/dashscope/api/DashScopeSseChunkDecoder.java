@@ -0,0 +1,316 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.api;
+
+import com.alibaba.cloud.ai.dashscope.common.DashScopeException;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental decoder for the DashScope server-sent event stream. The {@code data}
+ * fields are fed straight from the network {@link DataBuffer}s into a Jackson
+ * non-blocking parser, without first copying each event into a {@link String}. Every
+ * JSON document is tokenized once; whether it is an error response or a
+ * {@link DashScopeApiSpec.ChatCompletionChunk} is decided from its top level
+ * {@code code} field while tokenizing.
+ * <p>
+ * Instances keep per-stream state and must not be shared between subscriptions.
+ *
+ * @since 1.1.0.0
+ */
+final class DashScopeSseChunkDecoder {
+
+	private static final byte[] DATA_FIELD = "data".getBytes(StandardCharsets.US_ASCII);
+
+	private static final byte[] DONE_MARKER = "[DONE]".getBytes(StandardCharsets.US_ASCII);
+
+	private static final String ERROR_CODE_FIELD = "code";
+
+	private enum State {
+
+		/**
+		 * At the beginning of a line.
+		 */
+		LINE_START,
+
+		/**
+		 * Reading the field name of a line.
+		 */
+		FIELD,
+
+		/**
+		 * Right after the colon of a {@code data} field.
+		 */
+		VALUE_START,
+
+		/**
+		 * After the optional space following the colon.
+		 */
+		DATA_START,
+
+		/**
+		 * Inside a {@code data} value that is fed to the JSON parser.
+		 */
+		DATA,
+
+		/**
+		 * Inside a {@code data} value that is expected to be {@code [DONE]}.
+		 */
+		DONE_MARKER,
+
+		/**
+		 * Inside a comment or a field other than {@code data}.
+		 */
+		SKIP_LINE
+
+	}
+
+	private final ObjectMapper objectMapper;
+
+	private final JsonParser parser;
+
+	private final ByteBufferFeeder feeder;
+
+	private State state = State.LINE_START;
+
+	private int matched;
+
+	private boolean fieldMatches = true;
+
+	private TokenBuffer tokens;
+
+	private int depth;
+
+	private boolean errorCodeExpected;
+
+	private boolean error;
+
+	private boolean done;
+
+	DashScopeSseChunkDecoder(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+		try {
+			this.parser = objectMapper.getFactory().createNonBlockingByteBufferParser();
+		}
+		catch (IOException ex) {
+			throw new DashScopeException("Failed to create non-blocking JSON parser", ex);
+		}
+		this.feeder = (ByteBufferFeeder) this.parser.getNonBlockingInputFeeder();
+	}
+
+	/**
+	 * Decode the chunks completed by the given buffer. The buffer is not released.
+	 * @param buffer the next buffer of the response body
+	 * @return the chunks completed by this buffer, possibly empty
+	 */
+	List<DashScopeApiSpec.ChatCompletionChunk> decode(DataBuffer buffer) {
+		List<DashScopeApiSpec.ChatCompletionChunk> chunks = null;
+		try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+			while (iterator.hasNext() && !this.done) {
+				chunks = decode(iterator.next(), chunks);
+			}
+		}
+		return chunks != null ? chunks : List.of();
+	}
+
+	/**
+	 * @return whether the {@code [DONE]} marker has been received.
+	 */
+	boolean isDone() {
+		return this.done;
+	}
+
+	/**
+	 * Signal the end of the response body.
+	 * @throws DashScopeException if the body ended in the middle of a JSON document
+	 */
+	void complete() {
+		if (this.tokens != null) {
+			throw new DashScopeException("Stream ended before the response chunk was complete");
+		}
+	}
+
+	private List<DashScopeApiSpec.ChatCompletionChunk> decode(ByteBuffer byteBuffer,
+			List<DashScopeApiSpec.ChatCompletionChunk> chunks) {
+
+		int limit = byteBuffer.limit();
+		int dataStart = this.state == State.DATA ? byteBuffer.position() : -1;
+
+		for (int i = byteBuffer.position(); i < limit && !this.done; i++) {
+			byte b = byteBuffer.get(i);
+			boolean endOfLine = b == '\n' || b == '\r';
+
+			switch (this.state) {
+				case LINE_START, FIELD -> {
+					if (endOfLine) {
+						// A field without a colon carries no value.
+						startLine();
+					}
+					else if (b == ':') {
+						boolean dataField = this.state == State.FIELD && this.fieldMatches
+								&& this.matched == DATA_FIELD.length;
+						this.state = dataField ? State.VALUE_START : State.SKIP_LINE;
+					}
+					else {
+						this.state = State.FIELD;
+						if (this.fieldMatches && this.matched < DATA_FIELD.length && DATA_FIELD[this.matched] == b) {
+							this.matched++;
+						}
+						else {
+							this.fieldMatches = false;
+						}
+					}
+				}
+				case VALUE_START, DATA_START -> {
+					if (endOfLine) {
+						startLine();
+					}
+					else if (b == ' ' && this.state == State.VALUE_START) {
+						this.state = State.DATA_START;
+					}
+					else if (b == '[') {
+						this.state = State.DONE_MARKER;
+						this.matched = 1;
+					}
+					else {
+						this.state = State.DATA;
+						dataStart = i;
+					}
+				}
+				case DATA -> {
+					if (endOfLine) {
+						// The line terminator is JSON whitespace, feed it along so that
+						// tokens never run into each other across lines.
+						chunks = feed(byteBuffer, dataStart, i + 1, chunks);
+						dataStart = -1;
+						startLine();
+					}
+				}
+				case DONE_MARKER -> {
+					if (endOfLine) {
+						if (this.matched != DONE_MARKER.length) {
+							throw new DashScopeException("Failed to parse response content: unexpected stream data");
+						}
+						this.done = true;
+					}
+					else if (this.matched < DONE_MARKER.length && DONE_MARKER[this.matched] == b) {
+						this.matched++;
+					}
+					else {
+						this.matched = DONE_MARKER.length + 1;
+					}
+				}
+				case SKIP_LINE -> {
+					if (endOfLine) {
+						startLine();
+					}
+				}
+			}
+		}
+
+		if (this.state == State.DATA && dataStart >= 0 && dataStart < limit) {
+			chunks = feed(byteBuffer, dataStart, limit, chunks);
+		}
+		return chunks;
+	}
+
+	private void startLine() {
+		this.state = State.LINE_START;
+		this.matched = 0;
+		this.fieldMatches = true;
+	}
+
+	private List<DashScopeApiSpec.ChatCompletionChunk> feed(ByteBuffer byteBuffer, int start, int end,
+			List<DashScopeApiSpec.ChatCompletionChunk> chunks) {
+
+		try {
+			this.feeder.feedInput(byteBuffer.slice(start, end - start));
+			JsonToken token;
+			while ((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+				DashScopeApiSpec.ChatCompletionChunk chunk = onToken(token);
+				if (chunk != null) {
+					if (chunks == null) {
+						chunks = new ArrayList<>(2);
+					}
+					chunks.add(chunk);
+				}
+			}
+			return chunks;
+		}
+		catch (IOException ex) {
+			throw new DashScopeException("Failed to parse response content", ex);
+		}
+	}
+
+	private DashScopeApiSpec.ChatCompletionChunk onToken(JsonToken token) throws IOException {
+		if (this.tokens == null) {
+			this.tokens = new TokenBuffer(this.objectMapper, false);
+		}
+		this.tokens.copyCurrentEvent(this.parser);
+
+		if (token == JsonToken.FIELD_NAME) {
+			this.errorCodeExpected = this.depth == 1 && ERROR_CODE_FIELD.equals(this.parser.currentName());
+			return null;
+		}
+
+		if (this.errorCodeExpected && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+			this.error = true;
+		}
+		this.errorCodeExpected = false;
+
+		if (token.isStructStart()) {
+			this.depth++;
+		}
+		else if (token.isStructEnd()) {
+			this.depth--;
+		}
+		return this.depth == 0 ? completeDocument() : null;
+	}
+
+	private DashScopeApiSpec.ChatCompletionChunk completeDocument() throws IOException {
+		TokenBuffer document = this.tokens;
+		boolean errorResponse = this.error;
+		this.tokens = null;
+		this.error = false;
+
+		try (JsonParser documentParser = document.asParser(this.objectMapper)) {
+			if (errorResponse) {
+				DashScopeApiSpec.DashScopeErrorResponse errorBody = this.objectMapper.readValue(documentParser,
+						DashScopeApiSpec.DashScopeErrorResponse.class);
+				throw new DashScopeException(String.format("[%s] %s (requestId: %s)", errorBody.code(),
+						errorBody.message(), errorBody.requestId()));
+			}
+			DashScopeApiSpec.ChatCompletionChunk chunk = this.objectMapper.readValue(documentParser,
+					DashScopeApiSpec.ChatCompletionChunk.class);
+			if (chunk == null) {
+				throw new DashScopeException("Failed to parse response content");
+			}
+			return chunk;
+		}
+	}
+
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.api;
+
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionChunk;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionFinishReason;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionLogprobs;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.ChatCompletionFunction;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.Role;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.ToolCall;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionOutput;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionOutput.Choice;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.SearchInfo;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.TokenUsage;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable counterpart of the {@code windowUntil}/{@code reduce} merge performed by
+ * {@link DashScopeAiStreamFunctionCallingHelper}. Chunks that belong to a streaming tool
+ * call are folded into a single set of fields, and the tool call arguments are appended
+ * to one {@link StringBuilder}, so a merged chunk is only materialized once the window
+ * closes. The emitted chunks are equal to the ones produced by the helper.
+ * <p>
+ * Instances keep per-stream state and must not be shared between subscriptions.
+ *
+ * @since 1.1.0.0
+ */
+final class DashScopeStreamChunkAggregator {
+
+	private final DashScopeAiStreamFunctionCallingHelper helper;
+
+	private final boolean incrementalOutput;
+
+	private boolean insideTool;
+
+	private boolean pending;
+
+	private String requestId;
+
+	private TokenUsage usage;
+
+	private SearchInfo searchInfo;
+
+	/**
+	 * First choice taken as-is when there is nothing to merge it with yet.
+	 */
+	private Choice rawChoice;
+
+	/**
+	 * Whether the choice fields below hold a merged choice.
+	 */
+	private boolean merged;
+
+	private ChatCompletionFinishReason finishReason;
+
+	private ChatCompletionLogprobs logprobs;
+
+	private Integer index;
+
+	private String content;
+
+	private Role role;
+
+	private String name;
+
+	private String toolCallId;
+
+	private String reasoningContent;
+
+	private Boolean partial;
+
+	private String phase;
+
+	private List<DashScopeApiSpec.ChatCompletionAnnotations> annotations;
+
+	private String status;
+
+	private final List<ToolCallAccumulator> toolCalls = new ArrayList<>();
+
+	DashScopeStreamChunkAggregator(boolean incrementalOutput) {
+		this.helper = new DashScopeAiStreamFunctionCallingHelper(incrementalOutput);
+		this.incrementalOutput = incrementalOutput;
+	}
+
+	/**
+	 * Accept the next decoded chunk.
+	 * @param chunk the chunk decoded from the stream
+	 * @return the merged chunk if the current window is complete, otherwise {@code null}
+	 */
+	ChatCompletionChunk accept(ChatCompletionChunk chunk) {
+		if (this.helper.isStreamingToolFunctionCall(chunk)) {
+			this.insideTool = true;
+		}
+
+		boolean closeWindow = true;
+		if (this.insideTool) {
+			closeWindow = this.helper.isStreamingToolFunctionCallFinish(chunk);
+			if (closeWindow) {
+				this.insideTool = false;
+			}
+		}
+
+		mergeChunk(chunk);
+		return closeWindow ? drain() : null;
+	}
+
+	/**
+	 * Emit whatever is left once the stream completes, e.g. a tool call that never
+	 * received its finish reason.
+	 * @return the pending merged chunk or {@code null}
+	 */
+	ChatCompletionChunk flush() {
+		return this.pending ? drain() : null;
+	}
+
+	private void mergeChunk(ChatCompletionChunk current) {
+		this.pending = true;
+		if (current.requestId() != null) {
+			this.requestId = current.requestId();
+		}
+		if (current.usage() != null) {
+			this.usage = current.usage();
+		}
+		if (current.output() != null && current.output().searchInfo() != null) {
+			this.searchInfo = current.output().searchInfo();
+		}
+
+		Choice currentChoice = current.output() == null || CollectionUtils.isEmpty(current.output().choices()) ? null
+				: current.output().choices().get(0);
+
+		// compatibility of incremental_output false for streaming function call, every
+		// tool call chunk carries the full message so far
+		if (!this.incrementalOutput && this.helper.isStreamingToolFunctionCall(current)) {
+			resetChoice();
+			if (this.helper.isStreamingToolFunctionCallFinish(current)) {
+				this.rawChoice = currentChoice;
+			}
+			return;
+		}
+
+		mergeChoice(currentChoice);
+	}
+
+	private void mergeChoice(Choice current) {
+		if (!this.merged && this.rawChoice == null) {
+			this.rawChoice = current;
+			return;
+		}
+		if (current == null) {
+			resetChoice();
+			return;
+		}
+		if (this.rawChoice != null) {
+			unpack(this.rawChoice);
+			this.rawChoice = null;
+			this.merged = true;
+		}
+
+		if (current.finishReason() != null) {
+			this.finishReason = current.finishReason();
+		}
+		if (current.logprobs() != null) {
+			this.logprobs = current.logprobs();
+		}
+		if (current.index() != null) {
+			this.index = current.index();
+		}
+		mergeMessage(current.message());
+	}
+
+	private void unpack(Choice choice) {
+		this.finishReason = choice.finishReason();
+		this.logprobs = choice.logprobs();
+		this.index = choice.index();
+
+		ChatCompletionMessage message = choice.message();
+		if (message == null) {
+			return;
+		}
+		this.role = message.role();
+		this.name = message.name();
+		this.toolCallId = message.toolCallId();
+		this.reasoningContent = message.reasoningContent();
+		this.partial = message.partial();
+		this.phase = message.phase();
+		this.annotations = message.annotations();
+		this.status = message.status();
+		if (message.toolCalls() != null) {
+			for (ToolCall toolCall : message.toolCalls()) {
+				this.toolCalls.add(new ToolCallAccumulator(toolCall));
+			}
+		}
+	}
+
+	private void mergeMessage(ChatCompletionMessage current) {
+		if (current == null) {
+			this.content = "";
+			return;
+		}
+
+		// Like the default merge, a delta without content keeps the content so far
+		if (current.content() != null) {
+			this.content = current.content();
+		}
+		else if (this.content == null) {
+			this.content = "";
+		}
+		if (current.role() != null) {
+			this.role = current.role();
+		}
+		if (StringUtils.hasText(current.name())) {
+			this.name = current.name();
+		}
+		if (StringUtils.hasText(current.toolCallId())) {
+			this.toolCallId = current.toolCallId();
+		}
+		if (current.reasoningContent() != null) {
+			this.reasoningContent = current.reasoningContent();
+		}
+		if (current.partial() != null) {
+			this.partial = current.partial();
+		}
+		if (current.annotations() != null) {
+			this.annotations = current.annotations();
+		}
+		if (current.status() != null) {
+			this.status = current.status();
+		}
+		if (current.phase() != null) {
+			this.phase = current.phase();
+		}
+
+		if (!CollectionUtils.isEmpty(current.toolCalls())) {
+			if (current.toolCalls().size() > 1) {
+				throw new IllegalStateException("Currently only one tool call is supported per message!");
+			}
+			ToolCall currentToolCall = current.toolCalls().get(0);
+			if (StringUtils.hasText(currentToolCall.id()) || this.toolCalls.isEmpty()) {
+				this.toolCalls.add(new ToolCallAccumulator(currentToolCall));
+			}
+			else {
+				this.toolCalls.get(this.toolCalls.size() - 1).merge(currentToolCall);
+			}
+		}
+	}
+
+	private ChatCompletionChunk drain() {
+		Choice choice = this.rawChoice;
+		if (choice == null && this.merged) {
+			List<ToolCall> mergedToolCalls = new ArrayList<>(this.toolCalls.size());
+			for (ToolCallAccumulator toolCall : this.toolCalls) {
+				mergedToolCalls.add(toolCall.build());
+			}
+			ChatCompletionMessage message = new ChatCompletionMessage(this.content,
+					this.role != null ? this.role : Role.ASSISTANT, this.name, this.toolCallId, mergedToolCalls,
+					this.reasoningContent, this.partial, this.phase, this.annotations, this.status);
+			choice = new Choice(this.finishReason, message, this.logprobs, this.index);
+		}
+
+		List<Choice> choices = choice == null ? List.of() : List.of(choice);
+		ChatCompletionChunk chunk = new ChatCompletionChunk(this.requestId,
+				new ChatCompletionOutput(null, choices, this.searchInfo), this.usage, null);
+
+		this.pending = false;
+		this.requestId = null;
+		this.usage = null;
+		this.searchInfo = null;
+		resetChoice();
+		return chunk;
+	}
+
+	private void resetChoice() {
+		this.rawChoice = null;
+		this.merged = false;
+		this.finishReason = null;
+		this.logprobs = null;
+		this.index = null;
+		this.content = null;
+		this.role = null;
+		this.name = null;
+		this.toolCallId = null;
+		this.reasoningContent = null;
+		this.partial = null;
+		this.phase = null;
+		this.annotations = null;
+		this.status = null;
+		this.toolCalls.clear();
+	}
+
+	/**
+	 * Accumulates the deltas of one tool call, appending the argument fragments in place.
+	 */
+	private static final class ToolCallAccumulator {
+
+		private ToolCall raw;
+
+		private String id;
+
+		private String type;
+
+		private Integer index;
+
+		private boolean hasFunction;
+
+		private String functionName;
+
+		private StringBuilder arguments;
+
+		ToolCallAccumulator(ToolCall toolCall) {
+			this.raw = toolCall;
+		}
+
+		void merge(ToolCall current) {
+			if (this.raw != null) {
+				this.id = this.raw.id();
+				this.type = this.raw.type();
+				this.index = this.raw.index();
+				ChatCompletionFunction function = this.raw.function();
+				this.hasFunction = function != null;
+				if (function != null) {
+					this.functionName = function.name();
+					this.arguments = function.arguments() != null ? new StringBuilder(function.arguments()) : null;
+				}
+				this.raw = null;
+			}
+
+			if (StringUtils.hasText(current.id())) {
+				this.id = current.id();
+			}
+			if (StringUtils.hasText(current.type())) {
+				this.type = current.type();
+			}
+			if (current.index() != null && current.index() != 0) {
+				this.index = current.index();
+			}
+
+			ChatCompletionFunction function = current.function();
+			if (function == null) {
+				return;
+			}
+			if (!this.hasFunction) {
+				this.hasFunction = true;
+				this.functionName = function.name();
+				this.arguments = function.arguments() != null ? new StringBuilder(function.arguments()) : null;
+				return;
+			}
+			if (StringUtils.hasText(function.name())) {
+				this.functionName = function.name();
+			}
+			if (this.arguments == null) {
+				this.arguments = new StringBuilder();
+			}
+			if (function.arguments() != null) {
+				this.arguments.append(function.arguments());
+			}
+		}
+
+		ToolCall build() {
+			if (this.raw != null) {
+				return this.raw;
+			}
+			ChatCompletionFunction function = this.hasFunction ? new ChatCompletionFunction(this.functionName,
+					this.arguments != null ? this.arguments.toString() : null) : null;
+			return new ToolCall(this.id, this.type, function, this.index);
+		}
+
+	}
+
+}
@@ -76,6 +76,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
@@ -141,6 +142,17 @@ public class DashScopeChatModel implements ChatModel {
 	 */
 	private ChatModelObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
 
+	/**
+	 * Tools that may be called while the stream is still arriving, {@code null} to wait
+	 * for the whole turn.
+	 */
+	private SpeculativeToolCallPredicate speculativeToolCallPredicate;
+
+	/**
+	 * Scheduler running the speculative tool calls.
+	 */
+	private Scheduler speculativeToolCallScheduler = Schedulers.boundedElastic();
+
 	public DashScopeChatModel(DashScopeApi dashscopeApi, DashScopeChatOptions defaultOptions,
 			ToolCallingManager toolCallingManager, RetryTemplate retryTemplate,
 			ObservationRegistry observationRegistry) {
@@ -252,11 +264,18 @@ public class DashScopeChatModel implements ChatModel {
         return Flux.deferContextual(contextView -> {
 			ChatCompletionRequest request = createRequest(prompt, true);
 
+			// Speculation needs the tool call deltas, not the full message so far
+			SpeculativeToolExecution speculation = this.speculativeToolCallPredicate != null
+					&& request.parameters() != null && Boolean.TRUE.equals(request.parameters().incrementalOutput())
+					? SpeculativeToolExecution.of(prompt, this.speculativeToolCallPredicate,
+							this.speculativeToolCallScheduler)
+					: null;
+
 			Flux<ChatCompletionChunk> completionChunks = this.retryTemplate
-                    .execute(ctx -> this.dashscopeApi.chatCompletionStream(
-                            request,
-                            getAdditionalHttpHeaders(prompt)
-                    )
+                    .execute(ctx -> speculation == null
+                            ? this.dashscopeApi.chatCompletionStream(request, getAdditionalHttpHeaders(prompt))
+                            : this.dashscopeApi.chatCompletionStream(request, getAdditionalHttpHeaders(prompt),
+                                    speculation::accept)
             );
 
 			// For chunked responses, only the first chunk contains the choice role.
@@ -301,9 +320,13 @@ public class DashScopeChatModel implements ChatModel {
 
 							try {
 								ToolCallReactiveContextHolder.setContext(ctx);
-								toolExecutionResult = this.toolCallingManager.executeToolCalls(prompt, response);
+								toolExecutionResult = this.toolCallingManager.executeToolCalls(
+										speculation != null ? speculation.join(prompt) : prompt, response);
 							} finally {
 								ToolCallReactiveContextHolder.clearContext();
+								if (speculation != null) {
+									speculation.cancel();
+								}
 							}
 
 							if (toolExecutionResult.returnDirect()) {
@@ -327,7 +350,12 @@ public class DashScopeChatModel implements ChatModel {
 						return Flux.just(response);
 					}
 				}).doOnError(observation::error)
-				.doFinally(s -> observation.stop())
+				.doFinally(s -> {
+					if (speculation != null) {
+						speculation.cancel();
+					}
+					observation.stop();
+				})
 				.contextWrite(ctx -> ctx.put(ObservationThreadLocalAccessor.KEY, observation));
 
 			return new MessageAggregator().aggregate(flux, observationContext::setResponse);
@@ -743,6 +771,29 @@ public class DashScopeChatModel implements ChatModel {
         return merged.isEmpty() ? null : merged;
     }
 
+	/**
+	 * Call the tools accepted by the predicate as soon as their arguments have been
+	 * streamed, instead of once the whole turn has been received, so that they overlap
+	 * with the rest of the stream. Requires incremental output and internal tool
+	 * execution. Tool calls are joined as usual through the {@link ToolCallingManager},
+	 * which gets the speculative result when the final arguments match.
+	 * @param speculativeToolCallPredicate the tools that may be called early, {@code null}
+	 * to disable
+	 */
+	public void setSpeculativeToolCallPredicate(SpeculativeToolCallPredicate speculativeToolCallPredicate) {
+		this.speculativeToolCallPredicate = speculativeToolCallPredicate;
+	}
+
+	/**
+	 * Scheduler the speculative tool calls run on, so that they never block the thread
+	 * decoding the stream. Defaults to {@link Schedulers#boundedElastic()}.
+	 * @param speculativeToolCallScheduler the scheduler of the speculative tool calls
+	 */
+	public void setSpeculativeToolCallScheduler(Scheduler speculativeToolCallScheduler) {
+		Assert.notNull(speculativeToolCallScheduler, "speculativeToolCallScheduler cannot be null");
+		this.speculativeToolCallScheduler = speculativeToolCallScheduler;
+	}
+
 	/**
 	 * Use the provided convention for reporting observation data
 	 * @param observationConvention The provided convention
@@ -781,6 +832,8 @@ public class DashScopeChatModel implements ChatModel {
 			this.observationRegistry = dashScopeChatModel.observationRegistry;
 			this.toolExecutionEligibilityPredicate = dashScopeChatModel.toolExecutionEligibilityPredicate;
 			this.toolCallValidator = dashScopeChatModel.toolCallingValidator;
+			this.speculativeToolCallPredicate = dashScopeChatModel.speculativeToolCallPredicate;
+			this.speculativeToolCallScheduler = dashScopeChatModel.speculativeToolCallScheduler;
 		}
 
 		private DashScopeApi dashScopeApi;
@@ -799,6 +852,10 @@ public class DashScopeChatModel implements ChatModel {
 
 		private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
 
+		private SpeculativeToolCallPredicate speculativeToolCallPredicate;
+
+		private Scheduler speculativeToolCallScheduler = Schedulers.boundedElastic();
+
 		public Builder dashScopeApi(DashScopeApi dashScopeApi) {
 			this.dashScopeApi = dashScopeApi;
 			return this;
@@ -835,11 +892,30 @@ public class DashScopeChatModel implements ChatModel {
 			return this;
 		}
 
+		/**
+		 * @see DashScopeChatModel#setSpeculativeToolCallPredicate(SpeculativeToolCallPredicate)
+		 */
+		public Builder speculativeToolCallPredicate(SpeculativeToolCallPredicate speculativeToolCallPredicate) {
+			this.speculativeToolCallPredicate = speculativeToolCallPredicate;
+			return this;
+		}
+
+		/**
+		 * @see DashScopeChatModel#setSpeculativeToolCallScheduler(Scheduler)
+		 */
+		public Builder speculativeToolCallScheduler(Scheduler speculativeToolCallScheduler) {
+			this.speculativeToolCallScheduler = speculativeToolCallScheduler;
+			return this;
+		}
+
 		public DashScopeChatModel build() {
 
-            return new DashScopeChatModel(this.dashScopeApi, this.defaultOptions, this.toolCallingManager,
-                    this.retryTemplate, this.observationRegistry, this.toolExecutionEligibilityPredicate,
-                    this.toolCallValidator);
+            DashScopeChatModel chatModel = new DashScopeChatModel(this.dashScopeApi, this.defaultOptions,
+                    this.toolCallingManager, this.retryTemplate, this.observationRegistry,
+                    this.toolExecutionEligibilityPredicate, this.toolCallValidator);
+            chatModel.setSpeculativeToolCallPredicate(this.speculativeToolCallPredicate);
+            chatModel.setSpeculativeToolCallScheduler(this.speculativeToolCallScheduler);
+            return chatModel;
 
         }
 
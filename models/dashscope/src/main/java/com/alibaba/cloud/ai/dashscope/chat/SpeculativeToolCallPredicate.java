@@ -0,0 +1,57 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.chat;
+
+import java.util.Set;
+
+import com.alibaba.cloud.ai.tool.cache.CacheableToolMetadata;
+import org.springframework.ai.tool.ToolCallback;
+
+/**
+ * Decides which tools {@link DashScopeChatModel} may start while the stream announcing
+ * the call is still arriving. A tool started speculatively runs even if the model later
+ * changes its mind, and it runs without the conversation history in its tool context,
+ * so only side-effect-free tools that do not read that history should be allowed.
+ *
+ * @since 1.1.0.0
+ */
+@FunctionalInterface
+public interface SpeculativeToolCallPredicate {
+
+	/**
+	 * Whether the tool may be called before the model finished streaming its turn.
+	 * @param toolCallback the tool the model is calling
+	 * @return {@code true} to start the call as soon as its arguments are complete
+	 */
+	boolean isSpeculative(ToolCallback toolCallback);
+
+	/**
+	 * Allow the tools with the given names.
+	 */
+	static SpeculativeToolCallPredicate toolNames(String... toolNames) {
+		Set<String> names = Set.of(toolNames);
+		return toolCallback -> names.contains(toolCallback.getToolDefinition().name());
+	}
+
+	/**
+	 * Allow the tools declaring {@link CacheableToolMetadata}, which are idempotent by
+	 * contract.
+	 */
+	static SpeculativeToolCallPredicate cacheableTools() {
+		return toolCallback -> toolCallback.getToolMetadata() instanceof CacheableToolMetadata;
+	}
+
+}
@@ -0,0 +1,400 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.chat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionChunk;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.ChatCompletionFunction;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.ToolCall;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Starts the calls of speculative tools of one streamed model turn as soon as their
+ * arguments are complete JSON, while the rest of the turn is still streaming, and hands
+ * the results to the {@link org.springframework.ai.model.tool.ToolCallingManager} once
+ * the turn has been received.
+ * <p>
+ * The chunks must be fed in stream order from a single thread and carry incremental tool
+ * call deltas, which are tracked per tool call {@code index} so that the deltas of
+ * parallel calls may interleave. Only tools registered as callbacks in the prompt options
+ * are considered, tools resolved by name are called the usual way.
+ */
+final class SpeculativeToolExecution {
+
+	private static final Logger logger = LoggerFactory.getLogger(SpeculativeToolExecution.class);
+
+	private final Map<String, ToolCallback> toolCallbacks;
+
+	private final ToolContext toolContext;
+
+	private final Scheduler scheduler;
+
+	private final List<Speculation> speculations = new ArrayList<>();
+
+	private final Map<Integer, PendingToolCall> pendingByIndex = new HashMap<>();
+
+	private PendingToolCall current;
+
+	private SpeculativeToolExecution(Map<String, ToolCallback> toolCallbacks, ToolContext toolContext,
+			Scheduler scheduler) {
+		this.toolCallbacks = toolCallbacks;
+		this.toolContext = toolContext;
+		this.scheduler = scheduler;
+	}
+
+	/**
+	 * Create the speculation of a turn, or return {@code null} if none of the tools of the
+	 * prompt may be called speculatively, or the tool calls are left to the caller.
+	 */
+	static SpeculativeToolExecution of(Prompt prompt, SpeculativeToolCallPredicate predicate, Scheduler scheduler) {
+		if (!(prompt.getOptions() instanceof ToolCallingChatOptions options)
+				|| Boolean.FALSE.equals(options.getInternalToolExecutionEnabled())
+				|| CollectionUtils.isEmpty(options.getToolCallbacks())) {
+			return null;
+		}
+		Map<String, ToolCallback> toolCallbacks = new HashMap<>();
+		for (ToolCallback toolCallback : options.getToolCallbacks()) {
+			if (predicate.isSpeculative(toolCallback)) {
+				toolCallbacks.putIfAbsent(toolCallback.getToolDefinition().name(), toolCallback);
+			}
+		}
+		if (toolCallbacks.isEmpty()) {
+			return null;
+		}
+		// The tool call history is only known once the turn is complete
+		Map<String, Object> context = CollectionUtils.isEmpty(options.getToolContext()) ? Map.of()
+				: Map.copyOf(options.getToolContext());
+		return new SpeculativeToolExecution(toolCallbacks, new ToolContext(context), scheduler);
+	}
+
+	/**
+	 * Track the tool call deltas of a chunk decoded from the stream.
+	 */
+	void accept(ChatCompletionChunk chunk) {
+		if (chunk.output() == null || CollectionUtils.isEmpty(chunk.output().choices())) {
+			return;
+		}
+		ChatCompletionMessage message = chunk.output().choices().get(0).message();
+		if (message == null || CollectionUtils.isEmpty(message.toolCalls())) {
+			return;
+		}
+		for (ToolCall delta : message.toolCalls()) {
+			ChatCompletionFunction function = delta.function();
+			PendingToolCall call = pendingToolCall(delta);
+			if (function != null && StringUtils.hasText(function.name())) {
+				call.name = function.name();
+			}
+			if (function != null && function.arguments() != null) {
+				call.append(function.arguments());
+			}
+			if (call.arguments.isComplete() && !call.started) {
+				call.started = true;
+				start(call.name, call.arguments.toString().strip());
+			}
+		}
+	}
+
+	/**
+	 * Find the call a delta belongs to: the one with the same index, unless the delta
+	 * starts another call under a new id. Deltas without an index continue the last call
+	 * unless they carry an id.
+	 */
+	private PendingToolCall pendingToolCall(ToolCall delta) {
+		String id = StringUtils.hasText(delta.id()) ? delta.id() : null;
+		PendingToolCall call = delta.index() != null ? this.pendingByIndex.get(delta.index()) : this.current;
+		if (call == null || (id != null && call.id != null && !id.equals(call.id))
+				|| (delta.index() == null && id != null)) {
+			call = new PendingToolCall(id);
+			if (delta.index() != null) {
+				this.pendingByIndex.put(delta.index(), call);
+			}
+		}
+		else if (call.id == null) {
+			call.id = id;
+		}
+		this.current = call;
+		return call;
+	}
+
+	/**
+	 * Return the prompt to execute the tool calls of the turn with, whose speculative tools
+	 * return the results of the calls already started with the same arguments.
+	 */
+	Prompt join(Prompt prompt) {
+		List<Speculation> started;
+		synchronized (this.speculations) {
+			started = List.copyOf(this.speculations);
+		}
+		if (started.isEmpty()) {
+			return prompt;
+		}
+		ToolCallingChatOptions options = (ToolCallingChatOptions) prompt.getOptions().copy();
+		List<ToolCallback> toolCallbacks = new ArrayList<>(options.getToolCallbacks().size());
+		for (ToolCallback toolCallback : options.getToolCallbacks()) {
+			String toolName = toolCallback.getToolDefinition().name();
+			List<Speculation> ofTool = started.stream().filter(speculation -> speculation.toolName.equals(toolName))
+				.toList();
+			toolCallbacks.add(ofTool.isEmpty() ? toolCallback : new SpeculatedToolCallback(toolCallback, ofTool));
+		}
+		options.setToolCallbacks(toolCallbacks);
+		return new Prompt(prompt.getInstructions(), options);
+	}
+
+	/**
+	 * Cancel the calls whose result has not been used.
+	 */
+	void cancel() {
+		synchronized (this.speculations) {
+			for (Speculation speculation : this.speculations) {
+				speculation.cancel();
+			}
+		}
+	}
+
+	private void start(String toolName, String arguments) {
+		ToolCallback toolCallback = toolName != null ? this.toolCallbacks.get(toolName) : null;
+		if (toolCallback == null) {
+			return;
+		}
+		logger.debug("Speculatively calling tool {} with arguments {}", toolName, arguments);
+		Speculation speculation = new Speculation(toolName, arguments);
+		synchronized (this.speculations) {
+			this.speculations.add(speculation);
+		}
+		speculation.task = this.scheduler.schedule(() -> {
+			if (speculation.result.isDone()) {
+				// Cancelled before it started
+				return;
+			}
+			try {
+				speculation.result.complete(toolCallback.call(arguments, this.toolContext));
+			}
+			catch (Throwable ex) {
+				speculation.result.completeExceptionally(ex);
+			}
+		});
+	}
+
+	private static final class PendingToolCall {
+
+		private String id;
+
+		private String name;
+
+		private final JsonCompletion arguments = new JsonCompletion();
+
+		private boolean started;
+
+		PendingToolCall(String id) {
+			this.id = id;
+		}
+
+		void append(String fragment) {
+			this.arguments.append(fragment);
+		}
+
+	}
+
+	private static final class Speculation {
+
+		private final String toolName;
+
+		private final String arguments;
+
+		private final CompletableFuture<String> result = new CompletableFuture<>();
+
+		private volatile Disposable task;
+
+		private boolean consumed;
+
+		Speculation(String toolName, String arguments) {
+			this.toolName = toolName;
+			this.arguments = arguments;
+		}
+
+		synchronized boolean consume(String arguments) {
+			if (this.consumed || arguments == null || !this.arguments.equals(arguments.strip())) {
+				return false;
+			}
+			this.consumed = true;
+			return true;
+		}
+
+		synchronized void cancel() {
+			if (this.consumed) {
+				return;
+			}
+			this.consumed = true;
+			this.result.cancel(false);
+			Disposable task = this.task;
+			if (task != null) {
+				task.dispose();
+			}
+		}
+
+	}
+
+	/**
+	 * Returns the result of a speculative call with the same arguments, or calls the tool
+	 * if there is none or it failed.
+	 */
+	private static final class SpeculatedToolCallback implements ToolCallback {
+
+		private final ToolCallback delegate;
+
+		private final List<Speculation> speculations;
+
+		SpeculatedToolCallback(ToolCallback delegate, List<Speculation> speculations) {
+			this.delegate = delegate;
+			this.speculations = speculations;
+		}
+
+		@Override
+		public ToolDefinition getToolDefinition() {
+			return this.delegate.getToolDefinition();
+		}
+
+		@Override
+		public ToolMetadata getToolMetadata() {
+			return this.delegate.getToolMetadata();
+		}
+
+		@Override
+		public String call(String toolInput) {
+			return call(toolInput, null);
+		}
+
+		@Override
+		public String call(String toolInput, ToolContext toolContext) {
+			for (Speculation speculation : this.speculations) {
+				if (speculation.consume(toolInput)) {
+					try {
+						return speculation.result.get();
+					}
+					catch (ExecutionException ex) {
+						logger.debug("Speculative call of tool {} failed, calling it again",
+								speculation.toolName, ex.getCause());
+					}
+					catch (InterruptedException ex) {
+						Thread.currentThread().interrupt();
+						throw new IllegalStateException(
+								"Interrupted while waiting for tool call: " + speculation.toolName, ex);
+					}
+					break;
+				}
+			}
+			return this.delegate.call(toolInput, toolContext);
+		}
+
+	}
+
+	/**
+	 * Tracks whether concatenated fragments form a complete JSON object, scanning each
+	 * character once.
+	 */
+	static final class JsonCompletion {
+
+		private final StringBuilder text = new StringBuilder();
+
+		private int depth;
+
+		private boolean started;
+
+		private boolean inString;
+
+		private boolean escaped;
+
+		private boolean complete;
+
+		private boolean invalid;
+
+		void append(String fragment) {
+			this.text.append(fragment);
+			for (int i = 0; i < fragment.length() && !this.invalid; i++) {
+				scan(fragment.charAt(i));
+			}
+		}
+
+		boolean isComplete() {
+			return this.complete && !this.invalid;
+		}
+
+		@Override
+		public String toString() {
+			return this.text.toString();
+		}
+
+		private void scan(char c) {
+			if (this.complete) {
+				// Anything but whitespace after the closing brace means it was not the end
+				this.invalid = !Character.isWhitespace(c);
+				return;
+			}
+			if (!this.started) {
+				if (c == '{') {
+					this.started = true;
+					this.depth = 1;
+				}
+				else if (!Character.isWhitespace(c)) {
+					this.invalid = true;
+				}
+				return;
+			}
+			if (this.inString) {
+				if (this.escaped) {
+					this.escaped = false;
+				}
+				else if (c == '\\') {
+					this.escaped = true;
+				}
+				else if (c == '"') {
+					this.inString = false;
+				}
+				return;
+			}
+			switch (c) {
+				case '"' -> this.inString = true;
+				case '{', '[' -> this.depth++;
+				case '}', ']' -> {
+					this.depth--;
+					this.complete = this.depth == 0;
+				}
+				default -> {
+				}
+			}
+		}
+
+	}
+
+}
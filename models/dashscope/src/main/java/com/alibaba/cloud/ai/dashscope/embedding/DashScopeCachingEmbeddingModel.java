@@ -0,0 +1,366 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.ai.chat.metadata.EmptyUsage;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.AbstractEmbeddingModel;
+import org.springframework.ai.embedding.BatchingStrategy;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingOptions;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.EmbeddingResponseMetadata;
+import org.springframework.util.Assert;
+
+/**
+ * Caching decorator of a {@link DashScopeEmbeddingModel}. Embeddings are cached by
+ * {@link DashScopeEmbeddingCacheKey}, i.e. by model, dimensions, text type and content
+ * hash, in a bounded in-memory tier evicting the least recently used entries, backed by
+ * an optional {@link DashScopeEmbeddingCacheStore}. Only the texts missing from both tiers
+ * are sent upstream, in a single call per request, and the response is rebuilt in the
+ * order of the request. Documents are embedded and cached by their content formatted
+ * with the {@link org.springframework.ai.document.MetadataMode} of the decorated model,
+ * the way it embeds a single document, so single documents and lists of documents share
+ * cache entries.
+ * <p>
+ * Lookups are reported as {@value #GETS_METER_NAME} counters tagged with the
+ * {@code result} ({@code hit} or {@code miss}) and the {@code tier} that served them,
+ * alongside {@value #EVICTIONS_METER_NAME} and {@value #SIZE_METER_NAME} meters for the
+ * in-memory tier. All meters are tagged with the {@code cache} name, which has to be
+ * unique among the instances sharing a {@link MeterRegistry}.
+ *
+ * @since 1.1.0.0
+ */
+public class DashScopeCachingEmbeddingModel extends AbstractEmbeddingModel {
+
+	public static final String CACHE_NAME = "dashscope.embedding";
+
+	public static final String GETS_METER_NAME = "cache.gets";
+
+	public static final String EVICTIONS_METER_NAME = "cache.evictions";
+
+	public static final String SIZE_METER_NAME = "cache.size";
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+
+	private final DashScopeEmbeddingModel embeddingModel;
+
+	private final MemoryCache memoryCache;
+
+	private final DashScopeEmbeddingCacheStore cacheStore;
+
+	private final Counter memoryHits;
+
+	private final Counter storeHits;
+
+	private final Counter misses;
+
+	public DashScopeCachingEmbeddingModel(DashScopeEmbeddingModel embeddingModel, MeterRegistry meterRegistry) {
+		this(embeddingModel, CACHE_NAME, DEFAULT_MAXIMUM_SIZE, null, meterRegistry);
+	}
+
+	public DashScopeCachingEmbeddingModel(DashScopeEmbeddingModel embeddingModel, String name, int maximumSize,
+			DashScopeEmbeddingCacheStore cacheStore, MeterRegistry meterRegistry) {
+		Assert.notNull(embeddingModel, "embeddingModel must not be null");
+		Assert.hasText(name, "name must not be empty");
+		Assert.isTrue(maximumSize > 0, "maximumSize must be positive");
+		Assert.notNull(meterRegistry, "meterRegistry must not be null");
+
+		this.embeddingModel = embeddingModel;
+		this.cacheStore = cacheStore;
+		this.memoryHits = getsCounter(meterRegistry, name, "hit", "memory");
+		this.storeHits = getsCounter(meterRegistry, name, "hit", "store");
+		this.misses = getsCounter(meterRegistry, name, "miss", "upstream");
+		this.memoryCache = new MemoryCache(maximumSize, Counter.builder(EVICTIONS_METER_NAME)
+			.description("The number of embeddings evicted from the in-memory tier")
+			.tag("cache", name)
+			.register(meterRegistry));
+		Gauge.builder(SIZE_METER_NAME, this.memoryCache, MemoryCache::size)
+			.description("The number of embeddings held in memory")
+			.tag("cache", name)
+			.register(meterRegistry);
+	}
+
+	private static Counter getsCounter(MeterRegistry meterRegistry, String name, String result, String tier) {
+		return Counter.builder(GETS_METER_NAME)
+			.description("The number of embedding cache lookups")
+			.tag("cache", name)
+			.tag("result", result)
+			.tag("tier", tier)
+			.register(meterRegistry);
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		Assert.notNull(request, "request must not be null");
+
+		DashScopeEmbeddingOptions options = this.embeddingModel.resolveOptions(request.getOptions());
+		List<String> texts = request.getInstructions();
+		float[][] embeddings = new float[texts.size()][];
+		Map<DashScopeEmbeddingCacheKey, List<Integer>> pending = lookup(options, texts, embeddings);
+
+		EmbeddingResponseMetadata metadata;
+		if (pending.isEmpty()) {
+			metadata = new EmbeddingResponseMetadata(options.getModel(), new EmptyUsage(), Map.of());
+		}
+		else {
+			List<String> missingTexts = new ArrayList<>(pending.size());
+			for (List<Integer> indexes : pending.values()) {
+				missingTexts.add(texts.get(indexes.get(0)));
+			}
+			EmbeddingResponse response = this.embeddingModel.call(new EmbeddingRequest(missingTexts, options));
+			complete(pending, outputs(response, missingTexts.size()), embeddings);
+			metadata = response.getMetadata();
+		}
+
+		List<Embedding> results = new ArrayList<>(embeddings.length);
+		for (int i = 0; i < embeddings.length; i++) {
+			results.add(new Embedding(embeddings[i], i));
+		}
+		return new EmbeddingResponse(results, metadata);
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		Assert.notNull(document, "Document must not be null");
+		return this.embed(contentOf(document));
+	}
+
+	/**
+	 * Embed the provided documents, passing only the cache misses on to the decorated
+	 * model so that its batching, including the bulk mode, applies to them.
+	 * @return The embeddings
+	 */
+	@Override
+	public List<float[]> embed(List<Document> documents, EmbeddingOptions options, BatchingStrategy batchingStrategy) {
+		Assert.notNull(documents, "Documents must not be null");
+
+		// mirror the option fallback of the decorated model
+		DashScopeEmbeddingOptions resolvedOptions = this.embeddingModel
+			.resolveOptions(options.getModel() == null && options.getDimensions() == null ? null : options);
+		List<String> texts = documents.stream().map(this::contentOf).toList();
+		float[][] embeddings = new float[texts.size()][];
+		Map<DashScopeEmbeddingCacheKey, List<Integer>> pending = lookup(resolvedOptions, texts, embeddings);
+
+		if (!pending.isEmpty()) {
+			// the decorated model embeds lists of documents by their text, hand it the
+			// content the entries are keyed by
+			List<Document> missingDocuments = new ArrayList<>(pending.size());
+			for (List<Integer> indexes : pending.values()) {
+				int index = indexes.get(0);
+				missingDocuments.add(new Document(documents.get(index).getId(), texts.get(index), Map.of()));
+			}
+			List<float[]> outputs = this.embeddingModel.embed(missingDocuments, options, batchingStrategy);
+			Assert.state(outputs.size() == missingDocuments.size(), "Embedding model returned " + outputs.size()
+					+ " embeddings for " + missingDocuments.size() + " documents");
+			complete(pending, outputs, embeddings);
+		}
+		return List.of(embeddings);
+	}
+
+	@Override
+	public int dimensions() {
+		return this.embeddingModel.dimensions();
+	}
+
+	/**
+	 * The text a document is embedded and cached by, as the decorated model embeds a
+	 * single document.
+	 */
+	private String contentOf(Document document) {
+		return document.getFormattedContent(this.embeddingModel.getMetadataMode());
+	}
+
+	/**
+	 * Fill in the cached embeddings of the given texts.
+	 * @return the indexes of the texts still to embed, grouped by key in request order
+	 */
+	private Map<DashScopeEmbeddingCacheKey, List<Integer>> lookup(DashScopeEmbeddingOptions options,
+			List<String> texts, float[][] embeddings) {
+
+		Map<DashScopeEmbeddingCacheKey, List<Integer>> pending = new LinkedHashMap<>();
+		for (int i = 0; i < texts.size(); i++) {
+			DashScopeEmbeddingCacheKey key = DashScopeEmbeddingCacheKey.of(options, texts.get(i));
+
+			float[] embedding = this.memoryCache.get(key);
+			if (embedding != null) {
+				this.memoryHits.increment();
+				embeddings[i] = embedding.clone();
+				continue;
+			}
+
+			List<Integer> indexes = pending.get(key);
+			if (indexes != null) {
+				// the same text occurs earlier in this request
+				indexes.add(i);
+				continue;
+			}
+
+			embedding = this.cacheStore != null ? this.cacheStore.get(key) : null;
+			if (embedding != null) {
+				this.storeHits.increment();
+				this.memoryCache.put(key, embedding);
+				embeddings[i] = embedding.clone();
+				continue;
+			}
+
+			this.misses.increment();
+			indexes = new ArrayList<>(1);
+			indexes.add(i);
+			pending.put(key, indexes);
+		}
+		return pending;
+	}
+
+	private void complete(Map<DashScopeEmbeddingCacheKey, List<Integer>> pending, List<float[]> outputs,
+			float[][] embeddings) {
+
+		int next = 0;
+		for (Map.Entry<DashScopeEmbeddingCacheKey, List<Integer>> entry : pending.entrySet()) {
+			float[] embedding = outputs.get(next++);
+			this.memoryCache.put(entry.getKey(), embedding.clone());
+			if (this.cacheStore != null) {
+				this.cacheStore.put(entry.getKey(), embedding);
+			}
+			// every position gets its own copy, callers may modify them
+			for (int index : entry.getValue()) {
+				embeddings[index] = embedding.clone();
+			}
+		}
+	}
+
+	private static List<float[]> outputs(EmbeddingResponse response, int expected) {
+		List<Embedding> results = response.getResults();
+		if (results.size() != expected) {
+			throw new IllegalStateException(
+					"Embedding model returned " + results.size() + " embeddings for " + expected + " texts");
+		}
+		float[][] outputs = new float[expected][];
+		for (int i = 0; i < expected; i++) {
+			Embedding embedding = results.get(i);
+			int index = embedding.getIndex() != null ? embedding.getIndex() : i;
+			Assert.state(index >= 0 && index < expected, "Embedding index out of range: " + index);
+			outputs[index] = embedding.getOutput();
+		}
+		return List.of(outputs);
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Bounded, least recently used in-memory tier.
+	 */
+	private static final class MemoryCache {
+
+		private final Map<DashScopeEmbeddingCacheKey, float[]> entries;
+
+		MemoryCache(int maximumSize, Counter evictions) {
+			this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<DashScopeEmbeddingCacheKey, float[]> eldest) {
+					if (size() > maximumSize) {
+						evictions.increment();
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+
+		synchronized float[] get(DashScopeEmbeddingCacheKey key) {
+			return this.entries.get(key);
+		}
+
+		synchronized void put(DashScopeEmbeddingCacheKey key, float[] embedding) {
+			this.entries.put(key, embedding);
+		}
+
+		synchronized int size() {
+			return this.entries.size();
+		}
+
+	}
+
+	public static final class Builder {
+
+		private DashScopeEmbeddingModel embeddingModel;
+
+		private String name = CACHE_NAME;
+
+		private int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+		private DashScopeEmbeddingCacheStore cacheStore;
+
+		private MeterRegistry meterRegistry;
+
+		private Builder() {
+		}
+
+		public Builder embeddingModel(DashScopeEmbeddingModel embeddingModel) {
+			this.embeddingModel = embeddingModel;
+			return this;
+		}
+
+		/**
+		 * Name the meters of this cache are tagged with, unique per meter registry.
+		 */
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		/**
+		 * Maximum number of embeddings held in memory.
+		 */
+		public Builder maximumSize(int maximumSize) {
+			this.maximumSize = maximumSize;
+			return this;
+		}
+
+		/**
+		 * Second level store consulted on in-memory misses.
+		 */
+		public Builder cacheStore(DashScopeEmbeddingCacheStore cacheStore) {
+			this.cacheStore = cacheStore;
+			return this;
+		}
+
+		/**
+		 * Registry the cache meters are registered on, required.
+		 */
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public DashScopeCachingEmbeddingModel build() {
+			return new DashScopeCachingEmbeddingModel(this.embeddingModel, this.name, this.maximumSize,
+					this.cacheStore, this.meterRegistry);
+		}
+
+	}
+
+}
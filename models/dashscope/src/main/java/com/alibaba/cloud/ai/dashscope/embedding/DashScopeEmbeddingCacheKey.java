@@ -0,0 +1,64 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.util.Assert;
+
+/**
+ * Key of a cached embedding. Two texts share an embedding only if they were embedded
+ * with the same model, dimensions and text type, and have the same SHA-256 content hash.
+ *
+ * @param model the embedding model
+ * @param dimensions the requested dimensions, {@code null} for the model default
+ * @param textType the text type, e.g. {@code document} or {@code query}
+ * @param textHash the hex encoded SHA-256 hash of the UTF-8 text
+ * @since 1.1.0.0
+ */
+public record DashScopeEmbeddingCacheKey(String model, Integer dimensions, String textType, String textHash) {
+
+	public DashScopeEmbeddingCacheKey {
+		Assert.hasText(textHash, "textHash must not be empty");
+	}
+
+	/**
+	 * Create the key of the given text.
+	 * @param options the resolved options the text is embedded with
+	 * @param text the text to embed
+	 * @return the cache key
+	 */
+	public static DashScopeEmbeddingCacheKey of(DashScopeEmbeddingOptions options, String text) {
+		Assert.notNull(options, "options must not be null");
+		Assert.notNull(text, "text must not be null");
+		return new DashScopeEmbeddingCacheKey(options.getModel(), options.getDimensions(), options.getTextType(),
+				sha256(text));
+	}
+
+	static String sha256(String text) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("SHA-256 is not available", ex);
+		}
+	}
+
+}
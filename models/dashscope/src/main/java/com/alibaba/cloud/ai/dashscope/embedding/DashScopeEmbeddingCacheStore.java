@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+/**
+ * Second level store of {@link DashScopeCachingEmbeddingModel}, consulted when an
+ * embedding is not held in memory. Implementations are used concurrently and should
+ * treat failures as misses rather than throwing.
+ *
+ * @since 1.1.0.0
+ * @see DashScopeFileEmbeddingCacheStore
+ */
+public interface DashScopeEmbeddingCacheStore {
+
+	/**
+	 * Look up a stored embedding.
+	 * @param key the cache key
+	 * @return the embedding or {@code null} if it is not stored
+	 */
+	float[] get(DashScopeEmbeddingCacheKey key);
+
+	/**
+	 * Store an embedding.
+	 * @param key the cache key
+	 * @param embedding the embedding
+	 */
+	void put(DashScopeEmbeddingCacheKey key, float[] embedding);
+
+}
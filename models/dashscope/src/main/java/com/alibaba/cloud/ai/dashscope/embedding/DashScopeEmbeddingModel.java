@@ -18,11 +18,21 @@ package com.alibaba.cloud.ai.dashscope.embedding;
 import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
 import com.alibaba.cloud.ai.dashscope.common.DashScopeApiConstants;
 import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.metadata.DefaultUsage;
@@ -43,11 +53,28 @@ import org.springframework.ai.embedding.observation.EmbeddingModelObservationCon
 import org.springframework.ai.embedding.observation.EmbeddingModelObservationDocumentation;
 import org.springframework.ai.model.ModelOptionsUtils;
 import org.springframework.ai.retry.RetryUtils;
+import org.springframework.ai.tokenizer.JTokkitTokenCountEstimator;
+import org.springframework.ai.tokenizer.TokenCountEstimator;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * DashScope Embedding Model implementation.
+ * <p>
+ * Documents are embedded one batch at a time by default. Setting
+ * {@code maxConcurrentBatches} above one or a {@code tokensPerMinute} budget switches
+ * {@link #embed(List, EmbeddingOptions, BatchingStrategy)} to a bulk mode: batches are
+ * split to the DashScope per-request text limit, up to {@code maxConcurrentBatches} of
+ * them are sent concurrently once the token budget admits them, a failing batch is
+ * retried on its own through the {@link RetryTemplate}, and the embeddings are returned
+ * in input order. Each batch is observed as a regular embedding operation nested in a
+ * {@value #BULK_OBSERVATION_NAME} observation, so the active and completed batch
+ * observations report the in-flight batches and the throughput. The
+ * {@value #REQUESTS_IN_FLIGHT_METER_NAME} gauge and the {@value #EMBEDDED_TEXTS_METER_NAME}
+ * counter report them on the configured {@link MeterRegistry} as well.
  *
  * @author nuocheng.lxm
  * @author why_ohh
@@ -62,6 +89,29 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 
 	private static final EmbeddingModelObservationConvention DEFAULT_OBSERVATION_CONVENTION = new DefaultEmbeddingModelObservationConvention();
 
+	/**
+	 * Name of the observation wrapping a bulk embedding operation.
+	 */
+	public static final String BULK_OBSERVATION_NAME = "spring.ai.alibaba.dashscope.embedding.bulk";
+
+	/**
+	 * Name of the gauge of the bulk mode requests in flight.
+	 */
+	public static final String REQUESTS_IN_FLIGHT_METER_NAME = BULK_OBSERVATION_NAME + ".requests.in.flight";
+
+	/**
+	 * Name of the counter of the texts embedded in bulk mode.
+	 */
+	public static final String EMBEDDED_TEXTS_METER_NAME = BULK_OBSERVATION_NAME + ".texts";
+
+	/**
+	 * Requests in flight by meter registry. The gauge is registered once per registry
+	 * and reports the requests of every model using it, a gauge per model would only
+	 * keep the one registered first.
+	 */
+	private static final Map<MeterRegistry, AtomicInteger> REQUESTS_IN_FLIGHT = Collections
+		.synchronizedMap(new WeakHashMap<>());
+
 	private final DashScopeEmbeddingOptions defaultOptions;
 
 	private final RetryTemplate retryTemplate;
@@ -75,6 +125,26 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 	 */
 	private final ObservationRegistry observationRegistry;
 
+	/**
+	 * Maximum number of batches in flight in bulk mode.
+	 */
+	private final int maxConcurrentBatches;
+
+	/**
+	 * Tokens per minute budget of the bulk mode, {@code 0} for no budget.
+	 */
+	private final long tokensPerMinute;
+
+	private final DashScopeTokenRateLimiter tokenRateLimiter;
+
+	private final TokenCountEstimator tokenCountEstimator;
+
+	private final MeterRegistry meterRegistry;
+
+	private final AtomicInteger requestsInFlight;
+
+	private final Counter embeddedTexts;
+
 	/**
 	 * Conventions to use for generating observations.
 	 */
@@ -104,17 +174,41 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 
 	public DashScopeEmbeddingModel(DashScopeApi dashScopeApi, MetadataMode metadataMode,
 			DashScopeEmbeddingOptions options, RetryTemplate retryTemplate, ObservationRegistry observationRegistry) {
+		this(dashScopeApi, metadataMode, options, retryTemplate, observationRegistry, 1, 0, Metrics.globalRegistry);
+	}
+
+	public DashScopeEmbeddingModel(DashScopeApi dashScopeApi, MetadataMode metadataMode,
+			DashScopeEmbeddingOptions options, RetryTemplate retryTemplate, ObservationRegistry observationRegistry,
+			int maxConcurrentBatches, long tokensPerMinute, MeterRegistry meterRegistry) {
 		Assert.notNull(dashScopeApi, "DashScopeApi must not be null");
 		Assert.notNull(metadataMode, "metadataMode must not be null");
 		Assert.notNull(options, "options must not be null");
 		Assert.notNull(retryTemplate, "retryTemplate must not be null");
 		Assert.notNull(observationRegistry, "observationRegistry must not be null");
+		Assert.isTrue(maxConcurrentBatches > 0, "maxConcurrentBatches must be positive");
+		Assert.isTrue(tokensPerMinute >= 0, "tokensPerMinute must not be negative");
+		Assert.notNull(meterRegistry, "meterRegistry must not be null");
 
 		this.dashScopeApi = dashScopeApi;
 		this.metadataMode = metadataMode;
 		this.defaultOptions = options;
 		this.retryTemplate = retryTemplate;
 		this.observationRegistry = observationRegistry;
+		this.maxConcurrentBatches = maxConcurrentBatches;
+		this.tokensPerMinute = tokensPerMinute;
+		this.tokenRateLimiter = tokensPerMinute > 0 ? new DashScopeTokenRateLimiter(tokensPerMinute) : null;
+		this.tokenCountEstimator = tokensPerMinute > 0 ? new JTokkitTokenCountEstimator() : null;
+		this.meterRegistry = meterRegistry;
+		this.requestsInFlight = REQUESTS_IN_FLIGHT.computeIfAbsent(meterRegistry, registry -> {
+			AtomicInteger requests = new AtomicInteger();
+			Gauge.builder(REQUESTS_IN_FLIGHT_METER_NAME, requests, AtomicInteger::get)
+				.description("The number of bulk embedding requests in flight")
+				.register(registry);
+			return requests;
+		});
+		this.embeddedTexts = Counter.builder(EMBEDDED_TEXTS_METER_NAME)
+			.description("The number of texts embedded in bulk mode")
+			.register(meterRegistry);
 	}
 
 	@Override
@@ -184,10 +278,19 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 	}
 
 	private EmbeddingRequest buildEmbeddingRequest(EmbeddingRequest embeddingRequest) {
+		return new EmbeddingRequest(embeddingRequest.getInstructions(), resolveOptions(embeddingRequest.getOptions()));
+	}
+
+	/**
+	 * Merge the given runtime options with the default options of this model.
+	 * @param options the runtime options, may be {@code null}
+	 * @return the options a request with the given runtime options is sent with
+	 */
+	DashScopeEmbeddingOptions resolveOptions(EmbeddingOptions options) {
 		// Process runtime options
 		DashScopeEmbeddingOptions runtimeOptions = null;
-		if (embeddingRequest.getOptions() != null) {
-			runtimeOptions = ModelOptionsUtils.copyToTarget(embeddingRequest.getOptions(), EmbeddingOptions.class,
+		if (options != null) {
+			runtimeOptions = ModelOptionsUtils.copyToTarget(options, EmbeddingOptions.class,
 					DashScopeEmbeddingOptions.class);
 		}
 
@@ -203,7 +306,14 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 							ModelOptionsUtils.mergeOption(runtimeOptions.getTextType(), defaultOptions.getTextType()))
 					.build();
 
-		return new EmbeddingRequest(embeddingRequest.getInstructions(), requestOptions);
+		return requestOptions;
+	}
+
+	/**
+	 * The metadata mode a single document is formatted with before it is embedded.
+	 */
+	MetadataMode getMetadataMode() {
+		return this.metadataMode;
 	}
 
 	private DashScopeApiSpec.EmbeddingRequest createRequest(EmbeddingRequest request) {
@@ -256,7 +366,91 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 		if (options.getModel() == null && options.getDimensions() == null && defaultOptions != null) {
 			options = defaultOptions;
 		}
-		return super.embed(documents, options, batchingStrategy);
+		if (this.maxConcurrentBatches == 1 && this.tokenRateLimiter == null) {
+			return super.embed(documents, options, batchingStrategy);
+		}
+		return embedConcurrently(documents, options, batchingStrategy);
+	}
+
+	private List<float[]> embedConcurrently(List<Document> documents, EmbeddingOptions options,
+			BatchingStrategy batchingStrategy) {
+		Assert.notNull(documents, "Documents must not be null");
+
+		List<EmbeddingBatch> batches = createBatches(documents, batchingStrategy);
+		float[][] embeddings = new float[documents.size()][];
+
+		Observation observation = Observation.createNotStarted(BULK_OBSERVATION_NAME, this.observationRegistry)
+			.contextualName("embedding bulk")
+			.lowCardinalityKeyValue("dashscope.embedding.max_concurrent_batches",
+					String.valueOf(this.maxConcurrentBatches))
+			.highCardinalityKeyValue("dashscope.embedding.batch_count", String.valueOf(batches.size()))
+			.highCardinalityKeyValue("dashscope.embedding.document_count", String.valueOf(documents.size()));
+
+		observation.observe(() -> Flux.fromIterable(batches)
+			.flatMap(batch -> Mono.fromRunnable(() -> observation.scoped(() -> embedBatch(batch, options, embeddings)))
+				.subscribeOn(Schedulers.boundedElastic()), this.maxConcurrentBatches)
+			.then()
+			.block());
+
+		return Arrays.asList(embeddings);
+	}
+
+	/**
+	 * Split the batches of the strategy further so that none exceeds the per-request
+	 * text limit, remembering the position of the first document of each batch.
+	 */
+	private List<EmbeddingBatch> createBatches(List<Document> documents, BatchingStrategy batchingStrategy) {
+		List<EmbeddingBatch> batches = new ArrayList<>();
+		int offset = 0;
+		for (List<Document> batch : batchingStrategy.batch(documents)) {
+			for (int start = 0; start < batch.size(); start += DashScopeApi.MAX_EMBEDDING_TEXTS_PER_REQUEST) {
+				int end = Math.min(batch.size(), start + DashScopeApi.MAX_EMBEDDING_TEXTS_PER_REQUEST);
+				List<String> texts = batch.subList(start, end).stream().map(Document::getText).toList();
+				batches.add(new EmbeddingBatch(offset + start, texts));
+			}
+			offset += batch.size();
+		}
+		Assert.state(offset == documents.size(), "The batching strategy must return every document exactly once");
+		return batches;
+	}
+
+	private void embedBatch(EmbeddingBatch batch, EmbeddingOptions options, float[][] embeddings) {
+		long estimatedTokens = 0;
+		if (this.tokenRateLimiter != null) {
+			for (String text : batch.texts()) {
+				estimatedTokens += this.tokenCountEstimator.estimate(text);
+			}
+			this.tokenRateLimiter.acquire(estimatedTokens);
+		}
+
+		EmbeddingResponse response;
+		this.requestsInFlight.incrementAndGet();
+		try {
+			response = this.call(new EmbeddingRequest(batch.texts(), options));
+		}
+		finally {
+			this.requestsInFlight.decrementAndGet();
+		}
+
+		if (this.tokenRateLimiter != null) {
+			Integer totalTokens = response.getMetadata().getUsage().getTotalTokens();
+			if (totalTokens != null && totalTokens > 0) {
+				this.tokenRateLimiter.adjust(totalTokens - estimatedTokens);
+			}
+		}
+
+		List<Embedding> results = response.getResults();
+		if (results.size() != batch.texts().size()) {
+			throw new IllegalStateException("Embedding batch returned " + results.size() + " embeddings for "
+					+ batch.texts().size() + " texts");
+		}
+		for (int i = 0; i < results.size(); i++) {
+			Embedding embedding = results.get(i);
+			int index = embedding.getIndex() != null ? embedding.getIndex() : i;
+			Assert.state(index >= 0 && index < batch.texts().size(), "Embedding index out of range: " + index);
+			embeddings[batch.offset() + index] = embedding.getOutput();
+		}
+		this.embeddedTexts.increment(results.size());
 	}
 
 	/**
@@ -300,6 +494,12 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
 
         private ObservationRegistry observationRegistry = ObservationRegistry.NOOP;
 
+        private int maxConcurrentBatches = 1;
+
+        private long tokensPerMinute;
+
+        private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
         private Builder() {
         }
 
@@ -309,6 +509,9 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
             this.defaultOptions = embeddingModel.defaultOptions;
             this.retryTemplate = embeddingModel.retryTemplate;
             this.observationRegistry = embeddingModel.observationRegistry;
+            this.maxConcurrentBatches = embeddingModel.maxConcurrentBatches;
+            this.tokensPerMinute = embeddingModel.tokensPerMinute;
+            this.meterRegistry = embeddingModel.meterRegistry;
         }
 
         public Builder dashScopeApi(DashScopeApi dashScopeApi) {
@@ -336,10 +539,40 @@ public class DashScopeEmbeddingModel extends AbstractEmbeddingModel {
             return this;
         }
 
+        /**
+         * Maximum number of batches embedded concurrently, {@code 1} keeps the sequential
+         * behavior.
+         */
+        public Builder maxConcurrentBatches(int maxConcurrentBatches) {
+            this.maxConcurrentBatches = maxConcurrentBatches;
+            return this;
+        }
+
+        /**
+         * Tokens per minute budget shared by the concurrent batches, {@code 0} for no
+         * budget.
+         */
+        public Builder tokensPerMinute(long tokensPerMinute) {
+            this.tokensPerMinute = tokensPerMinute;
+            return this;
+        }
+
+        /**
+         * Registry of the bulk mode requests in flight gauge and embedded texts counter.
+         */
+        public Builder meterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
         public DashScopeEmbeddingModel build() {
             return new DashScopeEmbeddingModel(this.dashScopeApi, this.metadataMode, this.defaultOptions,
-                    this.retryTemplate, this.observationRegistry);
+                    this.retryTemplate, this.observationRegistry, this.maxConcurrentBatches, this.tokensPerMinute,
+                    this.meterRegistry);
         }
     }
 
+    private record EmbeddingBatch(int offset, List<String> texts) {
+    }
+
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DashScopeEmbeddingCacheStore} keeping one file per embedding below a local
+ * directory. Files are written to a temporary file first and atomically moved into place,
+ * so concurrent readers never observe a partially written embedding. I/O failures are
+ * logged and reported as misses.
+ *
+ * @since 1.1.0.0
+ */
+public class DashScopeFileEmbeddingCacheStore implements DashScopeEmbeddingCacheStore {
+
+	private static final Logger logger = LoggerFactory.getLogger(DashScopeFileEmbeddingCacheStore.class);
+
+	private static final String FILE_SUFFIX = ".bin";
+
+	private final Path directory;
+
+	public DashScopeFileEmbeddingCacheStore(Path directory) {
+		Assert.notNull(directory, "directory must not be null");
+		this.directory = directory;
+	}
+
+	@Override
+	public float[] get(DashScopeEmbeddingCacheKey key) {
+		Path file = resolve(key);
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+			float[] embedding = new float[buffer.getInt()];
+			buffer.asFloatBuffer().get(embedding);
+			return embedding;
+		}
+		catch (NoSuchFileException ex) {
+			return null;
+		}
+		catch (IOException | RuntimeException ex) {
+			logger.warn("Failed to read cached embedding from {}", file, ex);
+			return null;
+		}
+	}
+
+	@Override
+	public void put(DashScopeEmbeddingCacheKey key, float[] embedding) {
+		Path file = resolve(key);
+		ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + embedding.length * Float.BYTES);
+		buffer.putInt(embedding.length);
+		buffer.asFloatBuffer().put(embedding);
+		try {
+			Files.createDirectories(file.getParent());
+			Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+			try {
+				Files.write(temp, buffer.array());
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(temp);
+			}
+		}
+		catch (IOException ex) {
+			logger.warn("Failed to write cached embedding to {}", file, ex);
+		}
+	}
+
+	private Path resolve(DashScopeEmbeddingCacheKey key) {
+		String name = DashScopeEmbeddingCacheKey
+			.sha256(key.model() + '\n' + key.dimensions() + '\n' + key.textType() + '\n' + key.textHash());
+		return this.directory.resolve(name.substring(0, 2)).resolve(name.substring(2) + FILE_SUFFIX);
+	}
+
+}
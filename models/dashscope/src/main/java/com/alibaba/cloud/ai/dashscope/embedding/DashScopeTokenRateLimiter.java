@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * Token bucket enforcing a tokens-per-minute budget across concurrently executing
+ * embedding batches. The bucket holds at most one minute worth of tokens and refills
+ * continuously. Callers reserve the estimated token count of a batch before sending it
+ * and {@link #adjust(long) adjust} the reservation once the actual usage is known.
+ * <p>
+ * A batch larger than the whole budget is admitted as soon as the bucket is full,
+ * driving it negative, so that it can never starve.
+ *
+ * @since 1.1.0.0
+ */
+final class DashScopeTokenRateLimiter {
+
+	private static final long NANOS_PER_MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+	private final long tokensPerMinute;
+
+	private final LongSupplier nanoTime;
+
+	private double available;
+
+	private long lastRefill;
+
+	DashScopeTokenRateLimiter(long tokensPerMinute) {
+		this(tokensPerMinute, System::nanoTime);
+	}
+
+	DashScopeTokenRateLimiter(long tokensPerMinute, LongSupplier nanoTime) {
+		Assert.isTrue(tokensPerMinute > 0, "tokensPerMinute must be positive");
+		Assert.notNull(nanoTime, "nanoTime must not be null");
+		this.tokensPerMinute = tokensPerMinute;
+		this.nanoTime = nanoTime;
+		this.available = tokensPerMinute;
+		this.lastRefill = nanoTime.getAsLong();
+	}
+
+	/**
+	 * Block the calling thread until the given number of tokens can be taken from the
+	 * budget.
+	 * @param tokens the estimated tokens of the next request
+	 */
+	void acquire(long tokens) {
+		long waitNanos;
+		while ((waitNanos = tryAcquire(tokens)) > 0) {
+			LockSupport.parkNanos(this, waitNanos);
+			if (Thread.interrupted()) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the embedding token budget");
+			}
+		}
+	}
+
+	/**
+	 * Take the given number of tokens if the budget allows it.
+	 * @param tokens the estimated tokens of the next request
+	 * @return {@code 0} if the tokens were taken, otherwise the nanoseconds to wait
+	 * before trying again
+	 */
+	synchronized long tryAcquire(long tokens) {
+		refill();
+		double required = Math.min(tokens, this.tokensPerMinute);
+		if (this.available >= required) {
+			this.available -= tokens;
+			return 0;
+		}
+		double missing = required - this.available;
+		return Math.max(1, (long) Math.ceil(missing * NANOS_PER_MINUTE / this.tokensPerMinute));
+	}
+
+	/**
+	 * Correct a previous reservation once the actual usage of the request is known.
+	 * @param delta the actual tokens minus the reserved tokens, negative values give
+	 * tokens back
+	 */
+	synchronized void adjust(long delta) {
+		refill();
+		this.available = Math.min(this.tokensPerMinute, this.available - delta);
+	}
+
+	private void refill() {
+		long now = this.nanoTime.getAsLong();
+		long elapsed = now - this.lastRefill;
+		if (elapsed > 0) {
+			this.available = Math.min(this.tokensPerMinute,
+					this.available + (double) elapsed * this.tokensPerMinute / NANOS_PER_MINUTE);
+			this.lastRefill = now;
+		}
+	}
+
+}
@@ -15,6 +15,11 @@
  */
 package com.alibaba.cloud.ai.tool;
 
+import com.alibaba.cloud.ai.tool.cache.ToolResultCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.observation.ObservationRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,20 +45,35 @@ import org.springframework.ai.tool.observation.ToolCallingObservationConvention;
 import org.springframework.ai.tool.observation.ToolCallingObservationDocumentation;
 import org.springframework.ai.tool.resolution.DelegatingToolCallbackResolver;
 import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.ai.util.json.JsonParser;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
-
-
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link ToolCallingManager} that runs the tool calls of a model turn in parallel on an
+ * {@link Executor}.
+ * <p>
+ * Each call can be given a deadline, per tool and for the whole turn, measured from when
+ * the turn's calls are submitted. A call that misses its deadline is interrupted and the
+ * model gets a structured timeout result for it instead of the turn hanging. Calls of one
+ * tool can be capped with a bulkhead so a slow tool cannot occupy the executor.
+ */
 public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
 
     private static final Logger logger = LoggerFactory.getLogger(DefaultToolCallingManager.class);
@@ -73,6 +93,26 @@ public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
     private static final String POSSIBLE_LLM_TOOL_NAME_CHANGE_WARNING
             = "LLM may have adapted the tool name '{}', especially if the name was truncated due to length limits. If this is the case, you can customize the prefixing and processing logic using McpToolNamePrefixGenerator";
 
+    /**
+     * Timer of the tool executions, tagged with the tool name and the outcome.
+     */
+    public static final String TOOL_CALLS_METER_NAME = "spring.ai.alibaba.tool.async.calls";
+
+    /**
+     * Timer of the time tool calls waited for an executor thread or a bulkhead permit.
+     */
+    public static final String TOOL_CALLS_WAIT_METER_NAME = "spring.ai.alibaba.tool.async.calls.wait";
+
+    /**
+     * Gauge of the tasks queued in the executor, when it is a {@link ThreadPoolExecutor}.
+     */
+    public static final String EXECUTOR_QUEUED_METER_NAME = "spring.ai.alibaba.tool.async.executor.queued";
+
+    /**
+     * Gauge of the calls waiting for a bulkhead permit, tagged with the tool name.
+     */
+    public static final String BULKHEAD_QUEUED_METER_NAME = "spring.ai.alibaba.tool.async.bulkhead.queued";
+
 
     // @formatter:on
 
@@ -84,18 +124,59 @@ public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
 
     private ToolCallingObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
 
-    private ThreadPoolExecutor asyncToolCallingTaskExecutor = null;
+    @Nullable
+    private ToolResultCache toolResultCache;
+
+    private Executor asyncToolCallingTaskExecutor = null;
+
+    private final Duration toolTimeout;
+
+    private final Map<String, Duration> toolTimeouts;
+
+    private final Duration turnTimeout;
+
+    private final int maxConcurrentCallsPerTool;
+
+    private final Map<String, Integer> maxConcurrentCalls;
+
+    private final Map<String, ToolCallBulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
 
     public DashScopeAsyncToolCallingManager(ObservationRegistry observationRegistry, ToolCallbackResolver toolCallbackResolver,
-                                   ToolExecutionExceptionProcessor toolExecutionExceptionProcessor, ThreadPoolExecutor taskExecutor) {
+                                   ToolExecutionExceptionProcessor toolExecutionExceptionProcessor, Executor taskExecutor) {
+        this(observationRegistry, toolCallbackResolver, toolExecutionExceptionProcessor, taskExecutor, null, Map.of(),
+                null, 0, Map.of(), Metrics.globalRegistry);
+    }
+
+    public DashScopeAsyncToolCallingManager(ObservationRegistry observationRegistry, ToolCallbackResolver toolCallbackResolver,
+                                   ToolExecutionExceptionProcessor toolExecutionExceptionProcessor, Executor taskExecutor,
+                                   Duration toolTimeout, Map<String, Duration> toolTimeouts, Duration turnTimeout,
+                                   int maxConcurrentCallsPerTool, Map<String, Integer> maxConcurrentCalls,
+                                   MeterRegistry meterRegistry) {
         Assert.notNull(observationRegistry, "observationRegistry cannot be null");
         Assert.notNull(toolCallbackResolver, "toolCallbackResolver cannot be null");
         Assert.notNull(toolExecutionExceptionProcessor, "toolCallExceptionConverter cannot be null");
+        Assert.notNull(taskExecutor, "taskExecutor cannot be null");
+        Assert.notNull(toolTimeouts, "toolTimeouts cannot be null");
+        Assert.notNull(maxConcurrentCalls, "maxConcurrentCalls cannot be null");
+        Assert.isTrue(maxConcurrentCallsPerTool >= 0, "maxConcurrentCallsPerTool must not be negative");
+        Assert.notNull(meterRegistry, "meterRegistry cannot be null");
 
         this.observationRegistry = observationRegistry;
         this.toolCallbackResolver = toolCallbackResolver;
         this.toolExecutionExceptionProcessor = toolExecutionExceptionProcessor;
         this.asyncToolCallingTaskExecutor = taskExecutor;
+        this.toolTimeout = toolTimeout;
+        this.toolTimeouts = Map.copyOf(toolTimeouts);
+        this.turnTimeout = turnTimeout;
+        this.maxConcurrentCallsPerTool = maxConcurrentCallsPerTool;
+        this.maxConcurrentCalls = Map.copyOf(maxConcurrentCalls);
+        this.meterRegistry = meterRegistry;
+        if (taskExecutor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            Gauge.builder(EXECUTOR_QUEUED_METER_NAME, threadPoolExecutor, executor -> executor.getQueue().size())
+                    .register(meterRegistry);
+        }
     }
 
     @Override
@@ -187,64 +268,159 @@ public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
         final List<ToolCallback> toolCallbacks = (prompt.getOptions() instanceof ToolCallingChatOptions toolCallingChatOptions)
                 ? toolCallingChatOptions.getToolCallbacks() : List.of();
 
-        final Queue<Boolean> toolsReturnDirect = new ConcurrentLinkedDeque<>();
+        long submittedNanos = System.nanoTime();
+        boolean returnDirect = true;
+        List<ToolCallTask> tasks = new ArrayList<>();
+        for (AssistantMessage.ToolCall toolCall : assistantMessage.getToolCalls()) {
+            String toolName = toolCall.name();
+            ToolCallback toolCallback = toolCallbacks.stream()
+                    .filter(tool -> toolName.equals(tool.getToolDefinition().name()))
+                    .findFirst()
+                    .orElseGet(() -> this.toolCallbackResolver.resolve(toolName));
 
-        List<CompletableFuture<ToolResponseMessage.ToolResponse>> futuresToolResponses = assistantMessage.getToolCalls()
-                .stream()
-                .map(toolCall -> CompletableFuture.supplyAsync(() -> {
-                    logger.debug("Executing tool call: {}", toolCall.name());
+            if (toolCallback == null) {
+                tasks.forEach(ToolCallTask::cancel);
+                throw new IllegalStateException("No ToolCallback found for tool name: " + toolName);
+            }
+            returnDirect &= toolCallback.getToolMetadata().returnDirect();
 
-                    String toolName = toolCall.name();
-                    String toolInputArguments = toolCall.arguments();
+            ToolCallTask task = new ToolCallTask(toolCall, toolCallback, toolContext);
+            tasks.add(task);
+            ToolCallBulkhead bulkhead = bulkhead(toolName);
+            if (bulkhead != null) {
+                bulkhead.execute(task);
+            }
+            else {
+                this.asyncToolCallingTaskExecutor.execute(task);
+            }
+        }
 
-                    ToolCallback toolCallback = toolCallbacks.stream()
-                            .filter(tool -> toolName.equals(tool.getToolDefinition().name()))
-                            .findFirst()
-                            .orElseGet(() -> this.toolCallbackResolver.resolve(toolName));
+        List<ToolResponseMessage.ToolResponse> toolResponses = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                toolResponses.add(awaitToolResponse(tasks.get(i), submittedNanos));
+            }
+            catch (RuntimeException ex) {
+                tasks.subList(i + 1, tasks.size()).forEach(ToolCallTask::cancel);
+                throw ex;
+            }
+        }
 
-                    if (toolCallback == null) {
-                        throw new IllegalStateException("No ToolCallback found for tool name: " + toolName);
+        return new InternalToolExecutionResult(
+                ToolResponseMessage.builder().responses(toolResponses).metadata(Map.of()).build(), returnDirect);
+    }
+
+    private ToolResponseMessage.ToolResponse callTool(AssistantMessage.ToolCall toolCall, ToolCallback toolCallback,
+                                                      ToolContext toolContext) {
+        logger.debug("Executing tool call: {}", toolCall.name());
+
+        String toolName = toolCall.name();
+        String toolInputArguments = toolCall.arguments();
+
+        ToolCallingObservationContext observationContext = ToolCallingObservationContext.builder()
+                .toolDefinition(toolCallback.getToolDefinition())
+                .toolMetadata(toolCallback.getToolMetadata())
+                .toolCallArguments(toolInputArguments)
+                .build();
+
+        String toolCallResult = ToolCallingObservationDocumentation.TOOL_CALL
+                .observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
+                        this.observationRegistry)
+                .observe(() -> {
+                    String toolResult;
+                    try {
+                        toolResult = (this.toolResultCache != null)
+                                ? this.toolResultCache.call(toolCallback, toolInputArguments, toolContext)
+                                : toolCallback.call(toolInputArguments, toolContext);
+                    }
+                    catch (ToolExecutionException ex) {
+                        toolResult = this.toolExecutionExceptionProcessor.process(ex);
                     }
+                    observationContext.setToolCallResult(toolResult);
+                    return toolResult;
+                });
 
-                    toolsReturnDirect.add(toolCallback.getToolMetadata().returnDirect());
-
-                    ToolCallingObservationContext observationContext = ToolCallingObservationContext.builder()
-                            .toolDefinition(toolCallback.getToolDefinition())
-                            .toolMetadata(toolCallback.getToolMetadata())
-                            .toolCallArguments(toolInputArguments)
-                            .build();
-
-                    String toolCallResult = ToolCallingObservationDocumentation.TOOL_CALL
-                            .observation(this.observationConvention, DEFAULT_OBSERVATION_CONVENTION, () -> observationContext,
-                                    this.observationRegistry)
-                            .observe(() -> {
-                                String toolResult;
-                                try {
-                                    toolResult = toolCallback.call(toolInputArguments, toolContext);
-                                }
-                                catch (ToolExecutionException ex) {
-                                    toolResult = this.toolExecutionExceptionProcessor.process(ex);
-                                }
-                                observationContext.setToolCallResult(toolResult);
-                                return toolResult;
-                            });
-
-                    logger.debug("Async Tool call end! toolCall = {}, toolInputArguments = {}, result: {}",
-                            toolCall.name(), toolInputArguments, toolCallResult);
-
-                    return new ToolResponseMessage.ToolResponse(toolCall.id(), toolName,
-                            toolCallResult != null ? toolCallResult : "");
-                }, this.asyncToolCallingTaskExecutor))
-                .toList();
-
-        final List<ToolResponseMessage.ToolResponse> toolResponses = CompletableFuture
-                .allOf(futuresToolResponses.toArray(new CompletableFuture[0]))
-                .thenApply(result -> futuresToolResponses.stream().map(CompletableFuture::join).toList())
-                .join();
+        logger.debug("Async Tool call end! toolCall = {}, toolInputArguments = {}, result: {}",
+                toolCall.name(), toolInputArguments, toolCallResult);
 
-        return new InternalToolExecutionResult(
-                ToolResponseMessage.builder().responses(toolResponses).metadata(Map.of()).build(),
-                toolsReturnDirect.stream().allMatch(Boolean::booleanValue));
+        return new ToolResponseMessage.ToolResponse(toolCall.id(), toolName,
+                toolCallResult != null ? toolCallResult : "");
+    }
+
+    /**
+     * Wait for the result of the call until its deadline, the shorter of the tool and the
+     * turn deadline. A call that misses it is cancelled and answered with a timeout result.
+     */
+    private ToolResponseMessage.ToolResponse awaitToolResponse(ToolCallTask task, long submittedNanos) {
+        String toolName = task.toolCall.name();
+        Duration timeout = timeoutOf(toolName);
+        try {
+            if (timeout == null) {
+                return task.result.get();
+            }
+            long remainingNanos = submittedNanos + timeout.toNanos() - System.nanoTime();
+            return task.result.get(Math.max(remainingNanos, 0), TimeUnit.NANOSECONDS);
+        }
+        catch (TimeoutException ex) {
+            task.cancel();
+            recordToolCall(toolName, "timeout", System.nanoTime() - submittedNanos);
+            logger.warn("Tool call {} ({}) did not complete within {} ms and was cancelled", toolName,
+                    task.toolCall.id(), timeout.toMillis());
+            return new ToolResponseMessage.ToolResponse(task.toolCall.id(), toolName, timeoutResult(toolName, timeout));
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Tool call failed: " + toolName, ex.getCause());
+        }
+        catch (InterruptedException ex) {
+            task.cancel();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for tool call: " + toolName, ex);
+        }
+    }
+
+    private Duration timeoutOf(String toolName) {
+        Duration timeout = this.toolTimeouts.getOrDefault(toolName, this.toolTimeout);
+        if (timeout == null || (this.turnTimeout != null && this.turnTimeout.compareTo(timeout) < 0)) {
+            return this.turnTimeout;
+        }
+        return timeout;
+    }
+
+    private static String timeoutResult(String toolName, Duration timeout) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("error", "TIMEOUT");
+        result.put("tool", toolName);
+        result.put("timeoutMillis", timeout.toMillis());
+        result.put("message", "The tool did not return in time and was cancelled, its result is unknown.");
+        return JsonParser.toJson(result);
+    }
+
+    private ToolCallBulkhead bulkhead(String toolName) {
+        int limit = this.maxConcurrentCalls.getOrDefault(toolName, this.maxConcurrentCallsPerTool);
+        if (limit <= 0) {
+            return null;
+        }
+        return this.bulkheads.computeIfAbsent(toolName, name -> {
+            ToolCallBulkhead bulkhead = new ToolCallBulkhead(this.asyncToolCallingTaskExecutor, limit);
+            Gauge.builder(BULKHEAD_QUEUED_METER_NAME, bulkhead, ToolCallBulkhead::queued)
+                    .tag("tool", name)
+                    .register(this.meterRegistry);
+            return bulkhead;
+        });
+    }
+
+    private void recordToolCall(String toolName, String outcome, long durationNanos) {
+        Timer.builder(TOOL_CALLS_METER_NAME)
+                .tag("tool", toolName)
+                .tag("outcome", outcome)
+                .register(this.meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
     }
 
     private List<Message> buildConversationHistoryAfterToolExecution(List<Message> previousMessages,
@@ -259,6 +435,13 @@ public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
         this.observationConvention = observationConvention;
     }
 
+    /**
+     * Reuse the results of cacheable tools, {@code null} to always call the tools.
+     */
+    public void setToolResultCache(@Nullable ToolResultCache toolResultCache) {
+        this.toolResultCache = toolResultCache;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -266,6 +449,77 @@ public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
     private record InternalToolExecutionResult(ToolResponseMessage toolResponseMessage, boolean returnDirect) {
     }
 
+    /**
+     * A submitted tool call. Cancelling it interrupts the thread running it, or skips it
+     * when it has not started yet.
+     */
+    private final class ToolCallTask implements Runnable {
+
+        private final AssistantMessage.ToolCall toolCall;
+
+        private final ToolCallback toolCallback;
+
+        private final ToolContext toolContext;
+
+        private final long submittedNanos = System.nanoTime();
+
+        private final CompletableFuture<ToolResponseMessage.ToolResponse> result = new CompletableFuture<>();
+
+        private Thread runner;
+
+        private boolean cancelled;
+
+        ToolCallTask(AssistantMessage.ToolCall toolCall, ToolCallback toolCallback, ToolContext toolContext) {
+            this.toolCall = toolCall;
+            this.toolCallback = toolCallback;
+            this.toolContext = toolContext;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (this.cancelled) {
+                    return;
+                }
+                this.runner = Thread.currentThread();
+            }
+            long startNanos = System.nanoTime();
+            String toolName = this.toolCall.name();
+            Timer.builder(TOOL_CALLS_WAIT_METER_NAME)
+                    .tag("tool", toolName)
+                    .register(meterRegistry)
+                    .record(startNanos - this.submittedNanos, TimeUnit.NANOSECONDS);
+            String outcome = "success";
+            try {
+                this.result.complete(callTool(this.toolCall, this.toolCallback, this.toolContext));
+            }
+            catch (Throwable ex) {
+                outcome = "error";
+                this.result.completeExceptionally(ex);
+            }
+            finally {
+                boolean timedOut;
+                synchronized (this) {
+                    timedOut = this.cancelled;
+                    this.runner = null;
+                    // Do not leak an interrupt meant for this call into the next task of the thread
+                    Thread.interrupted();
+                }
+                if (!timedOut) {
+                    recordToolCall(toolName, outcome, System.nanoTime() - startNanos);
+                }
+            }
+        }
+
+        synchronized void cancel() {
+            this.cancelled = true;
+            if (this.runner != null) {
+                this.runner.interrupt();
+            }
+        }
+
+    }
+
     public final static class Builder {
 
         private ObservationRegistry observationRegistry = DEFAULT_OBSERVATION_REGISTRY;
@@ -274,7 +528,21 @@ public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
 
         private ToolExecutionExceptionProcessor toolExecutionExceptionProcessor = DEFAULT_TOOL_EXECUTION_EXCEPTION_PROCESSOR;
 
-        private ThreadPoolExecutor taskExecutor;
+        private Executor taskExecutor;
+
+        private Duration toolTimeout;
+
+        private Map<String, Duration> toolTimeouts = Map.of();
+
+        private Duration turnTimeout;
+
+        private int maxConcurrentCallsPerTool;
+
+        private Map<String, Integer> maxConcurrentCalls = Map.of();
+
+        private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+        private ToolResultCache toolResultCache;
 
         private Builder() {
         }
@@ -295,14 +563,69 @@ public class DashScopeAsyncToolCallingManager implements ToolCallingManager {
             return this;
         }
 
-        public Builder taskExecutor(ThreadPoolExecutor taskExecutor) {
+        public Builder taskExecutor(Executor taskExecutor) {
             this.taskExecutor = taskExecutor;
             return this;
         }
 
+        /**
+         * Deadline of every tool call, {@code null} for none.
+         */
+        public Builder toolTimeout(Duration toolTimeout) {
+            this.toolTimeout = toolTimeout;
+            return this;
+        }
+
+        /**
+         * Deadlines of the calls of the given tools, overriding {@link #toolTimeout(Duration)}.
+         */
+        public Builder toolTimeouts(Map<String, Duration> toolTimeouts) {
+            this.toolTimeouts = toolTimeouts;
+            return this;
+        }
+
+        /**
+         * Deadline of all tool calls of a model turn, {@code null} for none.
+         */
+        public Builder turnTimeout(Duration turnTimeout) {
+            this.turnTimeout = turnTimeout;
+            return this;
+        }
+
+        /**
+         * Maximum concurrently running calls of each tool, 0 for no limit.
+         */
+        public Builder maxConcurrentCallsPerTool(int maxConcurrentCallsPerTool) {
+            this.maxConcurrentCallsPerTool = maxConcurrentCallsPerTool;
+            return this;
+        }
+
+        /**
+         * Maximum concurrently running calls of the given tools, overriding
+         * {@link #maxConcurrentCallsPerTool(int)}.
+         */
+        public Builder maxConcurrentCalls(Map<String, Integer> maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+            return this;
+        }
+
+        public Builder meterRegistry(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            return this;
+        }
+
+        public Builder toolResultCache(ToolResultCache toolResultCache) {
+            this.toolResultCache = toolResultCache;
+            return this;
+        }
+
         public DashScopeAsyncToolCallingManager build() {
-            return new DashScopeAsyncToolCallingManager(this.observationRegistry, this.toolCallbackResolver,
-                    this.toolExecutionExceptionProcessor, this.taskExecutor);
+            DashScopeAsyncToolCallingManager toolCallingManager = new DashScopeAsyncToolCallingManager(
+                    this.observationRegistry, this.toolCallbackResolver, this.toolExecutionExceptionProcessor,
+                    this.taskExecutor, this.toolTimeout, this.toolTimeouts, this.turnTimeout,
+                    this.maxConcurrentCallsPerTool, this.maxConcurrentCalls, this.meterRegistry);
+            toolCallingManager.setToolResultCache(this.toolResultCache);
+            return toolCallingManager;
         }
 
     }
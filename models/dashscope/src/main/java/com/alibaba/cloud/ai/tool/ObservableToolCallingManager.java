@@ -15,6 +15,7 @@
  */
 package com.alibaba.cloud.ai.tool;
 
+import com.alibaba.cloud.ai.tool.cache.ToolResultCache;
 import com.alibaba.cloud.ai.tool.observation.ArmsToolCallingObservationContext;
 import com.alibaba.cloud.ai.tool.observation.ArmsToolCallingObservationConvention;
 import com.alibaba.cloud.ai.tool.observation.ArmsToolCallingObservationDocumentation;
@@ -47,6 +48,7 @@ import org.springframework.ai.tool.execution.ToolExecutionException;
 import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
 import org.springframework.ai.tool.resolution.DelegatingToolCallbackResolver;
 import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
@@ -86,6 +88,9 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 	// officially supports for observation
 	private final ArmsToolCallingObservationConvention observationConvention = DEFAULT_OBSERVATION_CONVENTION;
 
+	@Nullable
+	private ToolResultCache toolResultCache;
+
 	public ObservableToolCallingManager(ObservationRegistry observationRegistry,
 			ToolCallbackResolver toolCallbackResolver,
 			ToolExecutionExceptionProcessor toolExecutionExceptionProcessor) {
@@ -98,6 +103,13 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 		this.toolExecutionExceptionProcessor = toolExecutionExceptionProcessor;
 	}
 
+	/**
+	 * Reuse the results of cacheable tools, {@code null} to always call the tools.
+	 */
+	public void setToolResultCache(@Nullable ToolResultCache toolResultCache) {
+		this.toolResultCache = toolResultCache;
+	}
+
 	@Override
 	public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
 		Assert.notNull(chatOptions, "chatOptions cannot be null");
@@ -232,7 +244,9 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 				.observe(() -> {
 					String result;
 					try {
-						result = toolCallback.call(toolInputArguments, toolContext);
+						result = (this.toolResultCache != null)
+								? this.toolResultCache.call(toolCallback, toolInputArguments, toolContext)
+								: toolCallback.call(toolInputArguments, toolContext);
 					}
 					catch (ToolExecutionException ex) {
 						observationContext.setError(ex);
@@ -312,6 +326,8 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 
 		private ToolExecutionExceptionProcessor toolExecutionExceptionProcessor = DEFAULT_TOOL_EXECUTION_EXCEPTION_PROCESSOR;
 
+		private ToolResultCache toolResultCache;
+
 		private Builder() {
 		}
 
@@ -331,9 +347,16 @@ public class ObservableToolCallingManager implements ToolCallingManager {
 			return this;
 		}
 
+		public ObservableToolCallingManager.Builder toolResultCache(ToolResultCache toolResultCache) {
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
 		public ObservableToolCallingManager build() {
-			return new ObservableToolCallingManager(observationRegistry, toolCallbackResolver,
-					toolExecutionExceptionProcessor);
+			ObservableToolCallingManager toolCallingManager = new ObservableToolCallingManager(observationRegistry,
+					toolCallbackResolver, toolExecutionExceptionProcessor);
+			toolCallingManager.setToolResultCache(toolResultCache);
+			return toolCallingManager;
 		}
 
 	}
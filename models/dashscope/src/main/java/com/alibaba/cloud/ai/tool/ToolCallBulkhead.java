@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.tool;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.util.Assert;
+
+/**
+ * Caps the number of concurrently running calls of one tool. Calls over the limit wait in
+ * a queue instead of on an executor thread, so a slow tool cannot take over the executor
+ * shared by all tools.
+ */
+final class ToolCallBulkhead {
+
+	private final Executor executor;
+
+	private final int maxConcurrentCalls;
+
+	private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queued = new AtomicInteger();
+
+	private final AtomicInteger running = new AtomicInteger();
+
+	ToolCallBulkhead(Executor executor, int maxConcurrentCalls) {
+		Assert.notNull(executor, "executor cannot be null");
+		Assert.isTrue(maxConcurrentCalls > 0, "maxConcurrentCalls must be positive");
+		this.executor = executor;
+		this.maxConcurrentCalls = maxConcurrentCalls;
+	}
+
+	void execute(Runnable task) {
+		this.queued.incrementAndGet();
+		this.queue.add(task);
+		drain();
+	}
+
+	int queued() {
+		return this.queued.get();
+	}
+
+	int running() {
+		return this.running.get();
+	}
+
+	private void drain() {
+		while (!this.queue.isEmpty()) {
+			int current = this.running.get();
+			if (current >= this.maxConcurrentCalls) {
+				// The next finishing call drains the queue
+				return;
+			}
+			if (!this.running.compareAndSet(current, current + 1)) {
+				continue;
+			}
+			Runnable task = this.queue.poll();
+			if (task == null) {
+				this.running.decrementAndGet();
+				continue;
+			}
+			this.queued.decrementAndGet();
+			try {
+				this.executor.execute(() -> {
+					try {
+						task.run();
+					}
+					finally {
+						this.running.decrementAndGet();
+						drain();
+					}
+				});
+			}
+			catch (RuntimeException ex) {
+				this.running.decrementAndGet();
+				throw ex;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.tool.cache;
+
+import java.time.Duration;
+
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ToolMetadata} of an idempotent tool whose results may be reused by a
+ * {@link ToolResultCache} for calls with the same arguments. Only opt in tools whose
+ * result depends on nothing but their arguments, not on the tool context or the caller.
+ *
+ * @param returnDirect whether the tool result should be returned directly
+ * @param cacheTtl how long a result may be reused
+ */
+public record CacheableToolMetadata(boolean returnDirect, Duration cacheTtl) implements ToolMetadata {
+
+	public CacheableToolMetadata {
+		Assert.notNull(cacheTtl, "cacheTtl cannot be null");
+		Assert.isTrue(!cacheTtl.isNegative() && !cacheTtl.isZero(), "cacheTtl must be positive");
+	}
+
+	public static CacheableToolMetadata of(Duration cacheTtl) {
+		return new CacheableToolMetadata(false, cacheTtl);
+	}
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.tool.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reuses the results of idempotent tools for calls with the same arguments.
+ * <p>
+ * Tools opt in with {@link CacheableToolMetadata} or with a TTL configured by tool name.
+ * Results are keyed on the tool name and the arguments with object keys sorted, so
+ * {@code {"a":1,"b":2}} and {@code {"b":2,"a":1}} share an entry. Calls that carry a
+ * {@link ToolContext} are also keyed on the scope a {@link ToolResultScope} derives from
+ * it, and are not cached at all without one. Results are held in a
+ * bounded in-memory LRU and, if a {@link ToolResultStore} is configured, in that shared
+ * tier as well. Concurrent calls with the same key wait for a single tool execution.
+ * Failed calls are never cached.
+ */
+public class ToolResultCache {
+
+	/**
+	 * Counter of the cache lookups, tagged with the tool name and the result: {@code hit},
+	 * {@code store_hit}, {@code coalesced}, {@code miss} or {@code bypass} for calls whose
+	 * context has no scope.
+	 */
+	public static final String REQUESTS_METER_NAME = "spring.ai.alibaba.tool.cache.requests";
+
+	private static final Logger logger = LoggerFactory.getLogger(ToolResultCache.class);
+
+	private static final ObjectMapper CANONICAL_MAPPER = new ObjectMapper()
+		.enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+	private final Map<CacheKey, Entry> entries;
+
+	private final Map<CacheKey, CompletableFuture<String>> inflight = new ConcurrentHashMap<>();
+
+	@Nullable
+	private final ToolResultStore store;
+
+	private final Map<String, Duration> ttls;
+
+	@Nullable
+	private final ToolResultScope scope;
+
+	private final MeterRegistry meterRegistry;
+
+	public ToolResultCache(int maxEntries, @Nullable ToolResultStore store, Map<String, Duration> ttls,
+			MeterRegistry meterRegistry) {
+		this(maxEntries, store, ttls, null, meterRegistry);
+	}
+
+	public ToolResultCache(int maxEntries, @Nullable ToolResultStore store, Map<String, Duration> ttls,
+			@Nullable ToolResultScope scope, MeterRegistry meterRegistry) {
+		Assert.isTrue(maxEntries > 0, "maxEntries must be positive");
+		Assert.notNull(ttls, "ttls cannot be null");
+		Assert.notNull(meterRegistry, "meterRegistry cannot be null");
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+				return size() > maxEntries;
+			}
+		};
+		this.store = store;
+		this.ttls = Map.copyOf(ttls);
+		this.scope = scope;
+		this.meterRegistry = meterRegistry;
+	}
+
+	/**
+	 * Call the tool, or return a cached result of an earlier call with the same arguments
+	 * and context scope if the tool is cacheable.
+	 * @throws RuntimeException whatever the tool call throws
+	 */
+	public String call(ToolCallback toolCallback, String arguments, ToolContext toolContext) {
+		String toolName = toolCallback.getToolDefinition().name();
+		Duration ttl = ttlOf(toolName, toolCallback.getToolMetadata());
+		if (ttl == null) {
+			return toolCallback.call(arguments, toolContext);
+		}
+
+		String scope = scopeOf(toolContext);
+		if (scope == null) {
+			count(toolName, "bypass");
+			return toolCallback.call(arguments, toolContext);
+		}
+
+		CacheKey key = new CacheKey(toolName, scope, canonicalize(arguments));
+		String cached = getLocal(key);
+		if (cached != null) {
+			count(toolName, "hit");
+			return cached;
+		}
+
+		CompletableFuture<String> result = new CompletableFuture<>();
+		CompletableFuture<String> existing = this.inflight.putIfAbsent(key, result);
+		if (existing != null) {
+			count(toolName, "coalesced");
+			return await(existing, toolName);
+		}
+		try {
+			// Another call may have filled the entry between the lookup and taking the lead
+			String value = getLocal(key);
+			if (value == null) {
+				value = getShared(key);
+				if (value != null) {
+					count(toolName, "store_hit");
+				}
+				else {
+					count(toolName, "miss");
+					value = toolCallback.call(arguments, toolContext);
+					if (value != null) {
+						putShared(key, value, ttl);
+					}
+				}
+				if (value != null) {
+					putLocal(key, value, ttl);
+				}
+			}
+			else {
+				count(toolName, "hit");
+			}
+			result.complete(value);
+			return value;
+		}
+		catch (RuntimeException | Error ex) {
+			result.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			this.inflight.remove(key, result);
+		}
+	}
+
+	/**
+	 * Drop all results held in memory. Results in the {@link ToolResultStore} are kept.
+	 */
+	public void clear() {
+		synchronized (this.entries) {
+			this.entries.clear();
+		}
+	}
+
+	/**
+	 * Return the number of results held in memory, including expired ones not evicted yet.
+	 */
+	public int size() {
+		synchronized (this.entries) {
+			return this.entries.size();
+		}
+	}
+
+	@Nullable
+	private Duration ttlOf(String toolName, ToolMetadata toolMetadata) {
+		if (toolMetadata instanceof CacheableToolMetadata cacheableToolMetadata) {
+			return cacheableToolMetadata.cacheTtl();
+		}
+		return this.ttls.get(toolName);
+	}
+
+	/**
+	 * Return the scope of a call, the empty string without context, or {@code null} if the
+	 * call must not be cached.
+	 */
+	@Nullable
+	private String scopeOf(@Nullable ToolContext toolContext) {
+		if (toolContext == null || toolContext.getContext().isEmpty()) {
+			return "";
+		}
+		if (this.scope == null) {
+			return null;
+		}
+		String value = this.scope.scopeOf(toolContext);
+		// Keep scoped keys apart from the keys of calls without context
+		return value != null ? "scope:" + value : null;
+	}
+
+	@Nullable
+	private String getLocal(CacheKey key) {
+		synchronized (this.entries) {
+			Entry entry = this.entries.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expiresAtNanos - System.nanoTime() <= 0) {
+				this.entries.remove(key);
+				return null;
+			}
+			return entry.result;
+		}
+	}
+
+	private void putLocal(CacheKey key, String result, Duration ttl) {
+		synchronized (this.entries) {
+			this.entries.put(key, new Entry(result, System.nanoTime() + ttl.toNanos()));
+		}
+	}
+
+	@Nullable
+	private String getShared(CacheKey key) {
+		if (this.store == null) {
+			return null;
+		}
+		try {
+			return this.store.get(key.storeKey());
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to read cached result of tool {}, calling the tool instead", key.toolName, ex);
+			return null;
+		}
+	}
+
+	private void putShared(CacheKey key, String result, Duration ttl) {
+		if (this.store == null) {
+			return;
+		}
+		try {
+			this.store.put(key.storeKey(), result, ttl);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("Failed to cache result of tool {}", key.toolName, ex);
+		}
+	}
+
+	private String await(CompletableFuture<String> result, String toolName) {
+		try {
+			return result.get();
+		}
+		catch (ExecutionException ex) {
+			if (ex.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (ex.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException("Tool call failed: " + toolName, ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for tool call: " + toolName, ex);
+		}
+	}
+
+	private void count(String toolName, String result) {
+		Counter.builder(REQUESTS_METER_NAME)
+			.tag("tool", toolName)
+			.tag("result", result)
+			.register(this.meterRegistry)
+			.increment();
+	}
+
+	/**
+	 * Serialize the arguments with object keys sorted. Arguments that are not valid JSON
+	 * are used as they are.
+	 */
+	static String canonicalize(@Nullable String arguments) {
+		if (!StringUtils.hasText(arguments)) {
+			return "";
+		}
+		try {
+			return CANONICAL_MAPPER.writeValueAsString(CANONICAL_MAPPER.readValue(arguments, Object.class));
+		}
+		catch (JsonProcessingException ex) {
+			return arguments.strip();
+		}
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	private record CacheKey(String toolName, String scope, String arguments) {
+
+		String storeKey() {
+			String hashed = this.scope.isEmpty() ? this.arguments : this.scope + "\u0000" + this.arguments;
+			return "spring-ai-alibaba:tool-result:" + this.toolName + ":" + DigestUtils.sha256Hex(hashed);
+		}
+
+	}
+
+	private record Entry(String result, long expiresAtNanos) {
+	}
+
+	public static class Builder {
+
+		private int maxEntries = 1000;
+
+		private ToolResultStore store;
+
+		private Map<String, Duration> ttls = Map.of();
+
+		private ToolResultScope scope;
+
+		private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+		private Builder() {
+		}
+
+		/**
+		 * Maximum number of results held in memory, the least recently used are evicted
+		 * first.
+		 */
+		public Builder maxEntries(int maxEntries) {
+			this.maxEntries = maxEntries;
+			return this;
+		}
+
+		/**
+		 * Shared tier consulted on a miss in memory.
+		 */
+		public Builder store(ToolResultStore store) {
+			this.store = store;
+			return this;
+		}
+
+		/**
+		 * TTLs of tools by name, for tools that cannot declare {@link CacheableToolMetadata}
+		 * themselves, such as MCP tools.
+		 */
+		public Builder ttls(Map<String, Duration> ttls) {
+			this.ttls = ttls;
+			return this;
+		}
+
+		/**
+		 * Scope of the calls that carry a {@link ToolContext}. Without it such calls are
+		 * not cached, since the tool may return a different result for another context.
+		 */
+		public Builder scope(ToolResultScope scope) {
+			this.scope = scope;
+			return this;
+		}
+
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
+		public ToolResultCache build() {
+			return new ToolResultCache(this.maxEntries, this.store, this.ttls, this.scope, this.meterRegistry);
+		}
+
+	}
+
+}
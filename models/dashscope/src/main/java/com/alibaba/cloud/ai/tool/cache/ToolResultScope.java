@@ -0,0 +1,39 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.tool.cache;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.lang.Nullable;
+
+/**
+ * Scope of the results of a {@link ToolResultCache}, derived from the
+ * {@link ToolContext} of a call, for example the tenant or user it carries.
+ * <p>
+ * Tools may read the context, so two calls with the same arguments only share a result
+ * if their contexts map to the same scope.
+ */
+@FunctionalInterface
+public interface ToolResultScope {
+
+	/**
+	 * Return the scope the result of a call with this context is shared in, or
+	 * {@code null} if the call must not be cached.
+	 * @param toolContext the context of the call, never empty
+	 */
+	@Nullable
+	String scopeOf(ToolContext toolContext);
+
+}
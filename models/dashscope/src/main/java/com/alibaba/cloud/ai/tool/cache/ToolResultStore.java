@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.tool.cache;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Shared second tier of a {@link ToolResultCache}, for example backed by Redis, so that
+ * results are reused across application instances and sessions.
+ * <p>
+ * Implementations should be fast and must not throw for a missing key. Failures are
+ * logged and treated as a miss, the tool is then called as usual.
+ */
+public interface ToolResultStore {
+
+	/**
+	 * Return the result stored under the key, or {@code null} if there is none.
+	 * @param key the cache key, safe to use as a Redis or Memcached key
+	 */
+	@Nullable
+	String get(String key);
+
+	/**
+	 * Store the result under the key for the given time.
+	 * @param key the cache key, safe to use as a Redis or Memcached key
+	 * @param result the tool result
+	 * @param ttl how long the result may be reused
+	 */
+	void put(String key, String result, Duration ttl);
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.api;
+
+import com.alibaba.cloud.ai.dashscope.common.DashScopeException;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionChunk;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.Role;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.ToolCall;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionRequest;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionRequestInput;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionRequestParameter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for the incremental stream decoding of {@link DashScopeApi}.
+ *
+ * @since 1.1.0.0
+ */
+class DashScopeSseChunkDecoderTests {
+
+	@ParameterizedTest
+	@CsvSource({ "text-incremental.txt, true, 1", "text-incremental.txt, true, 7", "text-incremental.txt, true, 8192",
+			"tool-calls-incremental.txt, true, 1", "tool-calls-incremental.txt, true, 13",
+			"tool-calls-incremental.txt, true, 8192", "tool-calls-no-content.txt, true, 1",
+			"tool-calls-no-content.txt, true, 8192", "tool-calls-full.txt, false, 3",
+			"tool-calls-full.txt, false, 8192" })
+	void incrementalModeMatchesDefaultMode(String transcript, boolean incrementalOutput, int bufferSize)
+			throws IOException {
+		byte[] body = new ClassPathResource("sse/" + transcript).getContentAsByteArray();
+
+		List<ChatCompletionChunk> expected = stream(DashScopeApi.StreamDecoderMode.DEFAULT, body, 8192,
+				incrementalOutput);
+		List<ChatCompletionChunk> actual = stream(DashScopeApi.StreamDecoderMode.INCREMENTAL, body, bufferSize,
+				incrementalOutput);
+
+		assertThat(actual).isNotEmpty().isEqualTo(expected);
+	}
+
+	@Test
+	void mergesParallelToolCallArguments() throws IOException {
+		byte[] body = new ClassPathResource("sse/tool-calls-incremental.txt").getContentAsByteArray();
+
+		List<ChatCompletionChunk> chunks = stream(DashScopeApi.StreamDecoderMode.INCREMENTAL, body, 5, true);
+
+		ChatCompletionMessage message = chunks.get(chunks.size() - 1).output().choices().get(0).message();
+		List<ToolCall> toolCalls = message.toolCalls();
+		assertThat(toolCalls).hasSize(2);
+		assertThat(toolCalls.get(0).id()).isEqualTo("call_6f8a2b0c");
+		assertThat(toolCalls.get(0).function().arguments()).isEqualTo("{\"location\":\"杭州市\", \"unit\": \"celsius\"}");
+		assertThat(toolCalls.get(1).function().name()).isEqualTo("get_current_time");
+		assertThat(toolCalls.get(1).function().arguments()).isEqualTo("{\"timezone\": \"Asia/Shanghai\"}");
+		assertThat(message.role()).isEqualTo(Role.ASSISTANT);
+	}
+
+	@Test
+	void stopsAtDoneMarker() {
+		String body = """
+				data: {"output":{"choices":[{"message":{"content":"Hi","role":"assistant"},"finish_reason":"stop"}]},"request_id":"r1"}
+
+				data: [DONE]
+
+				data: {"output":{"choices":[{"message":{"content":"ignored","role":"assistant"}}]}}
+
+				""";
+
+		List<ChatCompletionChunk> chunks = stream(DashScopeApi.StreamDecoderMode.INCREMENTAL,
+				body.getBytes(StandardCharsets.UTF_8), 4, false);
+
+		assertThat(chunks).hasSize(1);
+		assertThat(chunks.get(0).requestId()).isEqualTo("r1");
+		assertThat(chunks.get(0).output().choices().get(0).message().content()).isEqualTo("Hi");
+	}
+
+	@Test
+	void errorResponseIsDetectedFromSingleParse() {
+		String body = "id:1\r\nevent:error\r\n:HTTP_STATUS/400\r\n"
+				+ "data:{\"code\":\"InvalidParameter\",\"message\":\"Range of input length should be [1, 30720]\","
+				+ "\"request_id\":\"err-1\"}\r\n\r\n";
+
+		assertThatThrownBy(() -> stream(DashScopeApi.StreamDecoderMode.INCREMENTAL,
+				body.getBytes(StandardCharsets.UTF_8), 9, false))
+			.isInstanceOf(DashScopeException.class)
+			.hasMessage("[InvalidParameter] Range of input length should be [1, 30720] (requestId: err-1)");
+	}
+
+	@Test
+	void nestedCodeFieldIsNotAnError() {
+		String body = "data:{\"output\":{\"code\":\"x\",\"choices\":[{\"message\":{\"content\":\"ok\"}}]},"
+				+ "\"request_id\":\"r2\"}\n\n";
+
+		List<ChatCompletionChunk> chunks = stream(DashScopeApi.StreamDecoderMode.INCREMENTAL,
+				body.getBytes(StandardCharsets.UTF_8), 8192, false);
+
+		assertThat(chunks).hasSize(1);
+		assertThat(chunks.get(0).output().choices().get(0).message().content()).isEqualTo("ok");
+	}
+
+	@Test
+	void truncatedChunkFailsTheStream() {
+		String body = "data:{\"output\":{\"choices\":[{\"message\":";
+
+		assertThatThrownBy(() -> stream(DashScopeApi.StreamDecoderMode.INCREMENTAL,
+				body.getBytes(StandardCharsets.UTF_8), 8192, false))
+			.isInstanceOf(DashScopeException.class);
+	}
+
+	private static List<ChatCompletionChunk> stream(DashScopeApi.StreamDecoderMode mode, byte[] body, int bufferSize,
+			boolean incrementalOutput) {
+
+		DashScopeApi api = DashScopeApi.builder()
+			.apiKey("test-api-key")
+			.streamDecoderMode(mode)
+			.webClientBuilder(WebClient.builder()
+				.exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+					.body(split(body, bufferSize))
+					.build())))
+			.build();
+
+		ChatCompletionRequestParameter parameters = ModelOptionsUtils
+			.jsonToObject("{\"incremental_output\":" + incrementalOutput + "}", ChatCompletionRequestParameter.class);
+		ChatCompletionRequest request = new ChatCompletionRequest("qwen-plus",
+				new ChatCompletionRequestInput(List.of(new ChatCompletionMessage("hi", Role.USER))), parameters, true,
+				false);
+
+		return api.chatCompletionStream(request, new LinkedMultiValueMap<>()).collectList().block();
+	}
+
+	private static Flux<DataBuffer> split(byte[] body, int bufferSize) {
+		List<DataBuffer> buffers = new ArrayList<>();
+		for (int offset = 0; offset < body.length; offset += bufferSize) {
+			int length = Math.min(bufferSize, body.length - offset);
+			buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(Arrays.copyOfRange(body, offset,
+					offset + length)));
+		}
+		return Flux.fromIterable(buffers);
+	}
+
+}
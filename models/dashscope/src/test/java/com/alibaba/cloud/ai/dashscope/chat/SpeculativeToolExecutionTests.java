@@ -0,0 +1,272 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.chat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionChunk;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.ChatCompletionFunction;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionMessage.ToolCall;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionOutput;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.ChatCompletionOutput.Choice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the speculative tool execution of {@link DashScopeChatModel#stream(Prompt)}.
+ *
+ * @since 1.1.0.0
+ */
+class SpeculativeToolExecutionTests {
+
+	private static final String TOOL_CALLS_HEAD = event("{\"output\":{\"choices\":[{\"message\":{\"content\":\"\","
+			+ "\"role\":\"assistant\",\"tool_calls\":[{\"index\":0,\"id\":\"call_1\",\"type\":\"function\","
+			+ "\"function\":{\"name\":\"weather\",\"arguments\":\"{\\\"city\\\":\"}}]},\"finish_reason\":\"null\"}]},"
+			+ "\"request_id\":\"r1\"}")
+			+ event("{\"output\":{\"choices\":[{\"message\":{\"content\":\"\",\"role\":\"assistant\",\"tool_calls\":"
+					+ "[{\"index\":0,\"function\":{\"arguments\":\"\\\"hang}zhou\\\"}\"}}]},\"finish_reason\":\"null\"}]},"
+					+ "\"request_id\":\"r1\"}")
+			+ event("{\"output\":{\"choices\":[{\"message\":{\"content\":\"\",\"role\":\"assistant\",\"tool_calls\":"
+					+ "[{\"index\":1,\"id\":\"call_2\",\"type\":\"function\",\"function\":{\"name\":\"time\","
+					+ "\"arguments\":\"{\\\"zone\\\":\"}}]},\"finish_reason\":\"null\"}]},\"request_id\":\"r1\"}");
+
+	private static final String TOOL_CALLS_TAIL = event("{\"output\":{\"choices\":[{\"message\":{\"content\":\"\","
+			+ "\"role\":\"assistant\",\"tool_calls\":[{\"index\":1,\"function\":{\"arguments\":\"\\\"UTC\\\"}\"}}]},"
+			+ "\"finish_reason\":\"tool_calls\"}]},\"usage\":{\"total_tokens\":20,\"output_tokens\":10,"
+			+ "\"input_tokens\":10},\"request_id\":\"r1\"}");
+
+	private static final String ANSWER = event("{\"output\":{\"choices\":[{\"message\":{\"content\":\"sunny at noon\","
+			+ "\"role\":\"assistant\"},\"finish_reason\":\"stop\"}]},\"usage\":{\"total_tokens\":30,"
+			+ "\"output_tokens\":5,\"input_tokens\":25},\"request_id\":\"r2\"}");
+
+	@ParameterizedTest
+	@EnumSource(DashScopeApi.StreamDecoderMode.class)
+	void speculativeToolShouldStartBeforeTheStreamEnds(DashScopeApi.StreamDecoderMode mode) {
+		AtomicBoolean streamEnded = new AtomicBoolean();
+		Map<String, Boolean> startedBeforeEnd = new ConcurrentHashMap<>();
+		Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+		ToolCallback weather = tool("weather", calls, startedBeforeEnd, streamEnded, "sunny");
+		ToolCallback time = tool("time", calls, startedBeforeEnd, streamEnded, "12:00");
+
+		AtomicInteger requests = new AtomicInteger();
+		DashScopeChatModel chatModel = DashScopeChatModel.builder()
+			.dashScopeApi(api(mode, () -> {
+				if (requests.getAndIncrement() > 0) {
+					return Flux.just(buffer(ANSWER));
+				}
+				// Hold the end of the turn back long enough for the first call to finish
+				return Flux.concat(Flux.just(buffer(TOOL_CALLS_HEAD)), Mono.delay(Duration.ofMillis(500))
+					.map(tick -> {
+						streamEnded.set(true);
+						return buffer(TOOL_CALLS_TAIL);
+					}));
+			}))
+			.toolCallingManager(ToolCallingManager.builder().build())
+			.speculativeToolCallPredicate(SpeculativeToolCallPredicate.toolNames("weather"))
+			.build();
+
+		List<ChatResponse> responses = chatModel
+			.stream(new Prompt("weather?", DashScopeChatOptions.builder().toolCallbacks(List.of(weather, time)).build()))
+			.collectList()
+			.block(Duration.ofSeconds(10));
+
+		assertThat(responses).isNotEmpty();
+		assertThat(responses.get(responses.size() - 1).getResult().getOutput().getText()).isEqualTo("sunny at noon");
+		assertThat(calls.get("weather")).hasValue(1);
+		assertThat(calls.get("time")).hasValue(1);
+		assertThat(startedBeforeEnd).containsEntry("weather", true).containsEntry("time", false);
+	}
+
+	@Test
+	void interleavedToolCallDeltasShouldBeTrackedPerIndex() {
+		List<String> arguments = new CopyOnWriteArrayList<>();
+		SpeculativeToolExecution speculation = speculation(tool("weather", arguments));
+
+		speculation.accept(chunk(new ToolCall("call_1", "function", function("weather", "{\"city\":"), 0)));
+		speculation.accept(chunk(new ToolCall("call_2", "function", function("weather", "{\"city\":"), 1)));
+		speculation.accept(chunk(new ToolCall(null, null, function(null, "\"hangzhou\"}"), 0)));
+		speculation.accept(chunk(new ToolCall(null, null, function(null, "\"beijing\"}"), 1)));
+
+		assertThat(arguments).containsExactly("{\"city\":\"hangzhou\"}", "{\"city\":\"beijing\"}");
+	}
+
+	@Test
+	void repeatedToolCallIdShouldNotResetTheArguments() {
+		List<String> arguments = new CopyOnWriteArrayList<>();
+		SpeculativeToolExecution speculation = speculation(tool("weather", arguments));
+
+		speculation.accept(chunk(new ToolCall("call_1", "function", function("weather", "{\"city\":"), 0)));
+		speculation.accept(chunk(new ToolCall("call_1", "function", function(null, "\"hangzhou\"}"), 0)));
+
+		assertThat(arguments).containsExactly("{\"city\":\"hangzhou\"}");
+	}
+
+	@Test
+	void speculationShouldBeSkippedWithoutInternalToolExecution() {
+		DashScopeChatOptions options = DashScopeChatOptions.builder()
+			.toolCallbacks(List.of(tool("weather", new CopyOnWriteArrayList<>())))
+			.internalToolExecutionEnabled(false)
+			.build();
+
+		assertThat(SpeculativeToolExecution.of(new Prompt("weather?", options),
+				SpeculativeToolCallPredicate.toolNames("weather"), Schedulers.immediate()))
+			.isNull();
+	}
+
+	@Test
+	void jsonCompletionShouldIgnoreBracesInStrings() {
+		SpeculativeToolExecution.JsonCompletion json = new SpeculativeToolExecution.JsonCompletion();
+
+		json.append(" {\"a\":\"}\\\"{\",");
+		assertThat(json.isComplete()).isFalse();
+		json.append("\"b\":[{\"c\":1}]");
+		assertThat(json.isComplete()).isFalse();
+		json.append("} ");
+		assertThat(json.isComplete()).isTrue();
+		json.append("x");
+		assertThat(json.isComplete()).isFalse();
+	}
+
+	@Test
+	void jsonCompletionShouldRejectNonObjects() {
+		SpeculativeToolExecution.JsonCompletion json = new SpeculativeToolExecution.JsonCompletion();
+
+		json.append("[1]");
+
+		assertThat(json.isComplete()).isFalse();
+	}
+
+	private static ToolCallback tool(String name, Map<String, AtomicInteger> calls,
+			Map<String, Boolean> startedBeforeEnd, AtomicBoolean streamEnded, String result) {
+		ToolDefinition definition = DefaultToolDefinition.builder()
+			.name(name)
+			.description(name)
+			.inputSchema("{}")
+			.build();
+		calls.put(name, new AtomicInteger());
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				startedBeforeEnd.putIfAbsent(name, !streamEnded.get());
+				calls.get(name).incrementAndGet();
+				return result;
+			}
+
+		};
+	}
+
+	private static ToolCallback tool(String name, List<String> arguments) {
+		ToolDefinition definition = DefaultToolDefinition.builder()
+			.name(name)
+			.description(name)
+			.inputSchema("{}")
+			.build();
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				arguments.add(toolInput);
+				return "sunny";
+			}
+
+			@Override
+			public String call(String toolInput, ToolContext toolContext) {
+				return call(toolInput);
+			}
+
+		};
+	}
+
+	private static SpeculativeToolExecution speculation(ToolCallback tool) {
+		Prompt prompt = new Prompt("weather?", DashScopeChatOptions.builder().toolCallbacks(List.of(tool)).build());
+		return SpeculativeToolExecution.of(prompt, SpeculativeToolCallPredicate.toolNames("weather"),
+				Schedulers.immediate());
+	}
+
+	private static ChatCompletionFunction function(String name, String arguments) {
+		return new ChatCompletionFunction(name, arguments);
+	}
+
+	private static ChatCompletionChunk chunk(ToolCall toolCall) {
+		ChatCompletionMessage message = new ChatCompletionMessage("", ChatCompletionMessage.Role.ASSISTANT, null,
+				null, List.of(toolCall), null, null, null, null, null);
+		Choice choice = new Choice(null, message, null, 0);
+		return new ChatCompletionChunk("r1", new ChatCompletionOutput(null, List.of(choice), null), null, null);
+	}
+
+	private static DashScopeApi api(DashScopeApi.StreamDecoderMode mode,
+			Supplier<Flux<DataBuffer>> body) {
+		return DashScopeApi.builder()
+			.apiKey("test-api-key")
+			.streamDecoderMode(mode)
+			.webClientBuilder(WebClient.builder()
+				.exchangeFunction(request -> Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+					.header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_EVENT_STREAM_VALUE)
+					.body(body.get())
+					.build())))
+			.build();
+	}
+
+	private static String event(String data) {
+		return "event:result\ndata:" + data + "\n\n";
+	}
+
+	private static DataBuffer buffer(String text) {
+		return DefaultDataBufferFactory.sharedInstance.wrap(text.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
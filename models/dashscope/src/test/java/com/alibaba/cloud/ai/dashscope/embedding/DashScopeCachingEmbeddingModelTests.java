@@ -0,0 +1,254 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.Embedding;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.EmbeddingList;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.EmbeddingUsage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.Embeddings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.document.MetadataMode;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Tests for {@link DashScopeCachingEmbeddingModel}.
+ *
+ * @since 1.1.0.0
+ */
+class DashScopeCachingEmbeddingModelTests {
+
+	private final List<List<String>> requests = new ArrayList<>();
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	private DashScopeEmbeddingModel embeddingModel;
+
+	@BeforeEach
+	void setUp() {
+		DashScopeApi dashScopeApi = Mockito.mock(DashScopeApi.class);
+		when(dashScopeApi.embeddings(any())).thenAnswer(invocation -> {
+			DashScopeApiSpec.EmbeddingRequest request = invocation.getArgument(0);
+			List<String> texts = request.input().texts();
+			this.requests.add(texts);
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < texts.size(); i++) {
+				embeddings.add(new Embedding(i, vector(texts.get(i), request.parameters().textType())));
+			}
+			return ResponseEntity.ok(new EmbeddingList("request-id", null, null, new Embeddings(embeddings),
+					new EmbeddingUsage((long) texts.size())));
+		});
+		this.embeddingModel = DashScopeEmbeddingModel.builder()
+			.dashScopeApi(dashScopeApi)
+			.defaultOptions(DashScopeEmbeddingOptions.builder().model("text-embedding-v3").textType("document").build())
+			.build();
+	}
+
+	@Test
+	void sendsOnlyMissesUpstreamAndKeepsOrder() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+		cachingModel.embed(List.of("b", "d"));
+
+		EmbeddingResponse response = cachingModel.embedForResponse(List.of("a", "b", "c", "d"));
+
+		assertThat(this.requests).containsExactly(List.of("b", "d"), List.of("a", "c"));
+		assertThat(response.getResults()).extracting(result -> result.getOutput()[0])
+			.containsExactly(vector("a", "document")[0], vector("b", "document")[0], vector("c", "document")[0],
+					vector("d", "document")[0]);
+		assertThat(response.getResults()).extracting(result -> result.getIndex()).containsExactly(0, 1, 2, 3);
+		assertThat(gets("hit", "memory")).isEqualTo(2);
+		assertThat(gets("miss", "upstream")).isEqualTo(4);
+	}
+
+	@Test
+	void servesFullyCachedRequestWithoutCallingUpstream() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+		cachingModel.embed(List.of("a", "b"));
+
+		EmbeddingResponse response = cachingModel.embedForResponse(List.of("b", "a"));
+
+		assertThat(this.requests).hasSize(1);
+		assertThat(response.getResults()).hasSize(2);
+		assertThat(response.getMetadata().getModel()).isEqualTo("text-embedding-v3");
+		assertThat(response.getMetadata().getUsage().getTotalTokens()).isZero();
+	}
+
+	@Test
+	void keyIncludesOptions() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+		cachingModel.embed(List.of("a"));
+
+		EmbeddingResponse response = cachingModel
+			.call(new EmbeddingRequest(List.of("a"), DashScopeEmbeddingOptions.builder().textType("query").build()));
+
+		assertThat(this.requests).containsExactly(List.of("a"), List.of("a"));
+		assertThat(response.getResults().get(0).getOutput()).containsExactly(vector("a", "query"));
+	}
+
+	@Test
+	void embedsRepeatedTextOnce() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+
+		List<float[]> embeddings = cachingModel.embed(List.of("a", "b", "a"));
+
+		assertThat(this.requests).containsExactly(List.of("a", "b"));
+		assertThat(embeddings.get(2)).containsExactly(embeddings.get(0));
+		assertThat(embeddings.get(2)).isNotSameAs(embeddings.get(0));
+	}
+
+	@Test
+	void singleAndListOfDocumentsShareEntries() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+		Document document = new Document("a", Map.of("source", "wiki"));
+		String content = document.getFormattedContent(MetadataMode.EMBED);
+
+		float[] single = cachingModel.embed(document);
+		List<float[]> embeddings = cachingModel.embed(List.of(document, new Document("a", Map.of("source", "wiki"))),
+				DashScopeEmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+
+		assertThat(this.requests).containsExactly(List.of(content));
+		assertThat(single).containsExactly(vector(content, "document"));
+		assertThat(embeddings).allSatisfy(embedding -> assertThat(embedding).containsExactly(single));
+	}
+
+	@Test
+	void documentsAreEmbeddedByTheirFormattedContent() {
+		this.embeddingModel = this.embeddingModel.mutate().metadataMode(MetadataMode.NONE).build();
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+
+		List<float[]> embeddings = cachingModel.embed(
+				List.of(new Document("a", Map.of("source", "wiki")), new Document("b", Map.of("source", "blog"))),
+				DashScopeEmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+		float[] single = cachingModel.embed(new Document("b", Map.of("source", "news")));
+
+		// metadata is left out, the second document is served from the cache
+		assertThat(this.requests).containsExactly(List.of(content("a"), content("b")));
+		assertThat(embeddings.get(0)).containsExactly(vector(content("a"), "document"));
+		assertThat(single).containsExactly(embeddings.get(1));
+	}
+
+	@Test
+	void metersAreTaggedWithTheCacheName() {
+		cachingModel().build().embed("a");
+		cachingModel().name("queries").build().embed("a");
+
+		assertThat(this.meterRegistry.get(DashScopeCachingEmbeddingModel.SIZE_METER_NAME).gauges())
+			.extracting(gauge -> gauge.getId().getTag("cache"))
+			.containsExactlyInAnyOrder(DashScopeCachingEmbeddingModel.CACHE_NAME, "queries");
+		assertThat(this.meterRegistry.get(DashScopeCachingEmbeddingModel.SIZE_METER_NAME)
+			.tag("cache", "queries")
+			.gauge()
+			.value()).isEqualTo(1);
+	}
+
+	@Test
+	void evictsLeastRecentlyUsedEntries() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().maximumSize(2).build();
+		cachingModel.embed(List.of("a", "b"));
+		cachingModel.embed("a");
+		cachingModel.embed("c");
+
+		cachingModel.embed(List.of("a", "b"));
+
+		assertThat(this.requests).containsExactly(List.of("a", "b"), List.of("c"), List.of("b"));
+		assertThat(this.meterRegistry.get(DashScopeCachingEmbeddingModel.EVICTIONS_METER_NAME).counter().count())
+			.isEqualTo(2);
+		assertThat(this.meterRegistry.get(DashScopeCachingEmbeddingModel.SIZE_METER_NAME).gauge().value())
+			.isEqualTo(2);
+	}
+
+	@Test
+	void fallsBackToCacheStore(@TempDir Path directory) {
+		cachingModel().cacheStore(new DashScopeFileEmbeddingCacheStore(directory)).build().embed(List.of("a", "b"));
+
+		DashScopeCachingEmbeddingModel restarted = cachingModel()
+			.cacheStore(new DashScopeFileEmbeddingCacheStore(directory))
+			.build();
+		List<float[]> embeddings = restarted.embed(List.of("b", "a", "c"));
+		restarted.embed(List.of("a"));
+
+		assertThat(this.requests).containsExactly(List.of("a", "b"), List.of("c"));
+		assertThat(embeddings.get(0)).containsExactly(vector("b", "document"));
+		assertThat(embeddings.get(1)).containsExactly(vector("a", "document"));
+		assertThat(gets("hit", "store")).isEqualTo(2);
+		assertThat(gets("hit", "memory")).isEqualTo(1);
+	}
+
+	@Test
+	void embedsOnlyMissingDocuments() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+		cachingModel.embed(new Document("b"));
+
+		List<float[]> embeddings = cachingModel.embed(
+				List.of(new Document("a"), new Document("b"), new Document("c")),
+				DashScopeEmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+
+		assertThat(this.requests).containsExactly(List.of(content("b")), List.of(content("a"), content("c")));
+		assertThat(embeddings).hasSize(3);
+		assertThat(embeddings.get(1)).containsExactly(vector(content("b"), "document"));
+		assertThat(embeddings.get(2)).containsExactly(vector(content("c"), "document"));
+	}
+
+	@Test
+	void cachedEmbeddingsCannotBeModifiedByCallers() {
+		DashScopeCachingEmbeddingModel cachingModel = cachingModel().build();
+		cachingModel.embed("a")[0] = 42f;
+
+		assertThat(cachingModel.embed("a")).containsExactly(vector("a", "document"));
+	}
+
+	private DashScopeCachingEmbeddingModel.Builder cachingModel() {
+		return DashScopeCachingEmbeddingModel.builder()
+			.embeddingModel(this.embeddingModel)
+			.meterRegistry(this.meterRegistry);
+	}
+
+	private double gets(String result, String tier) {
+		return this.meterRegistry.get(DashScopeCachingEmbeddingModel.GETS_METER_NAME)
+			.tag("result", result)
+			.tag("tier", tier)
+			.counter()
+			.count();
+	}
+
+	private static String content(String text) {
+		return new Document(text).getFormattedContent(MetadataMode.EMBED);
+	}
+
+	private static float[] vector(String text, String textType) {
+		return new float[] { text.hashCode(), textType.hashCode() };
+	}
+
+}
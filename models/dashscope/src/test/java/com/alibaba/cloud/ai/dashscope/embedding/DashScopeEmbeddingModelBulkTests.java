@@ -0,0 +1,241 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import com.alibaba.cloud.ai.dashscope.api.DashScopeApi;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.Embedding;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.EmbeddingList;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.EmbeddingRequest;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.EmbeddingUsage;
+import com.alibaba.cloud.ai.dashscope.spec.DashScopeApiSpec.Embeddings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistryAssert;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.TokenCountBatchingStrategy;
+import org.springframework.ai.embedding.observation.DefaultEmbeddingModelObservationConvention;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.retry.support.RetryTemplate;
+
+/**
+ * Tests for the bulk mode of {@link DashScopeEmbeddingModel}.
+ *
+ * @since 1.1.0.0
+ */
+class DashScopeEmbeddingModelBulkTests {
+
+	private DashScopeApi dashScopeApi;
+
+	private final Queue<List<String>> requests = new ConcurrentLinkedQueue<>();
+
+	@BeforeEach
+	void setUp() {
+		this.dashScopeApi = Mockito.mock(DashScopeApi.class);
+	}
+
+	@Test
+	void embedsBatchesConcurrentlyInInputOrder() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		CountDownLatch overlap = new CountDownLatch(2);
+		when(this.dashScopeApi.embeddings(any())).thenAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				// hold the first batches until a second one is in flight
+				overlap.countDown();
+				overlap.await(5, TimeUnit.SECONDS);
+				return respond(invocation.getArgument(0));
+			}
+			finally {
+				inFlight.decrementAndGet();
+			}
+		});
+
+		DashScopeEmbeddingModel model = model().maxConcurrentBatches(4).build();
+
+		List<float[]> embeddings = model.embed(documents(103), DashScopeEmbeddingOptions.builder().build(),
+				new TokenCountBatchingStrategy());
+
+		assertThat(embeddings).hasSize(103);
+		for (int i = 0; i < embeddings.size(); i++) {
+			assertThat(embeddings.get(i)).containsExactly(i);
+		}
+		assertThat(this.requests).hasSize(5)
+			.allSatisfy(texts -> assertThat(texts).hasSizeLessThanOrEqualTo(DashScopeApi.MAX_EMBEDDING_TEXTS_PER_REQUEST));
+		assertThat(maxInFlight.get()).isBetween(2, 4);
+	}
+
+	@Test
+	void retriesOnlyTheFailedBatch() {
+		Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+		when(this.dashScopeApi.embeddings(any())).thenAnswer(invocation -> {
+			EmbeddingRequest request = invocation.getArgument(0);
+			String first = request.input().texts().get(0);
+			if (attempts.computeIfAbsent(first, key -> new AtomicInteger()).incrementAndGet() == 1
+					&& first.equals("25")) {
+				throw new TransientAiException("throttled");
+			}
+			return respond(request);
+		});
+
+		DashScopeEmbeddingModel model = model().maxConcurrentBatches(2)
+			.retryTemplate(RetryTemplate.builder().maxAttempts(3).fixedBackoff(1).build())
+			.build();
+
+		List<float[]> embeddings = model.embed(documents(60), DashScopeEmbeddingOptions.builder().build(),
+				new TokenCountBatchingStrategy());
+
+		assertThat(embeddings).hasSize(60);
+		assertThat(embeddings.get(59)).containsExactly(59);
+		assertThat(attempts).containsOnlyKeys("0", "25", "50");
+		assertThat(attempts.get("0")).hasValue(1);
+		assertThat(attempts.get("25")).hasValue(2);
+		assertThat(attempts.get("50")).hasValue(1);
+	}
+
+	@Test
+	void failsWhenBatchKeepsFailing() {
+		when(this.dashScopeApi.embeddings(any())).thenAnswer(invocation -> {
+			EmbeddingRequest request = invocation.getArgument(0);
+			if (request.input().texts().contains("30")) {
+				throw new TransientAiException("throttled");
+			}
+			return respond(request);
+		});
+
+		DashScopeEmbeddingModel model = model().maxConcurrentBatches(2)
+			.retryTemplate(RetryTemplate.builder().maxAttempts(2).fixedBackoff(1).build())
+			.build();
+
+		assertThatThrownBy(() -> model.embed(documents(60), DashScopeEmbeddingOptions.builder().build(),
+				new TokenCountBatchingStrategy()))
+			.isInstanceOf(TransientAiException.class)
+			.hasMessage("throttled");
+	}
+
+	@Test
+	void tokenBudgetUsesBulkMode() {
+		when(this.dashScopeApi.embeddings(any())).thenAnswer(invocation -> respond(invocation.getArgument(0)));
+
+		DashScopeEmbeddingModel model = model().tokensPerMinute(1_000_000).build();
+
+		List<float[]> embeddings = model.embed(documents(30), DashScopeEmbeddingOptions.builder().build(),
+				new TokenCountBatchingStrategy());
+
+		assertThat(embeddings).hasSize(30);
+		assertThat(this.requests).extracting(List::size).containsExactly(25, 5);
+	}
+
+	@Test
+	void observesBulkOperationAroundBatches() {
+		when(this.dashScopeApi.embeddings(any())).thenAnswer(invocation -> respond(invocation.getArgument(0)));
+		TestObservationRegistry observationRegistry = TestObservationRegistry.create();
+
+		DashScopeEmbeddingModel model = model().maxConcurrentBatches(3)
+			.observationRegistry(observationRegistry)
+			.build();
+
+		model.embed(documents(60), DashScopeEmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+
+		TestObservationRegistryAssert.assertThat(observationRegistry)
+			.hasObservationWithNameEqualTo(DashScopeEmbeddingModel.BULK_OBSERVATION_NAME)
+			.that()
+			.hasBeenStarted()
+			.hasBeenStopped()
+			.hasLowCardinalityKeyValue("dashscope.embedding.max_concurrent_batches", "3")
+			.hasHighCardinalityKeyValue("dashscope.embedding.batch_count", "3")
+			.hasHighCardinalityKeyValue("dashscope.embedding.document_count", "60");
+		TestObservationRegistryAssert.assertThat(observationRegistry)
+			.hasNumberOfObservationsWithNameEqualTo(DefaultEmbeddingModelObservationConvention.DEFAULT_NAME, 3)
+			.hasObservationWithNameEqualTo(DefaultEmbeddingModelObservationConvention.DEFAULT_NAME)
+			.that()
+			.hasParentObservationContextMatching(
+					parent -> DashScopeEmbeddingModel.BULK_OBSERVATION_NAME.equals(parent.getName()));
+	}
+
+	@Test
+	void metersRequestsInFlightAndEmbeddedTexts() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		Queue<Double> requestsInFlight = new ConcurrentLinkedQueue<>();
+		when(this.dashScopeApi.embeddings(any())).thenAnswer(invocation -> {
+			requestsInFlight
+				.add(meterRegistry.get(DashScopeEmbeddingModel.REQUESTS_IN_FLIGHT_METER_NAME).gauge().value());
+			return respond(invocation.getArgument(0));
+		});
+
+		DashScopeEmbeddingModel model = model().maxConcurrentBatches(2).meterRegistry(meterRegistry).build();
+		model.embed(documents(30), DashScopeEmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+		// a second model on the same registry reports to the same meters
+		model.clone()
+			.embed(documents(30), DashScopeEmbeddingOptions.builder().build(), new TokenCountBatchingStrategy());
+
+		assertThat(requestsInFlight).hasSize(4).allSatisfy(value -> assertThat(value).isBetween(1.0, 2.0));
+		assertThat(meterRegistry.get(DashScopeEmbeddingModel.REQUESTS_IN_FLIGHT_METER_NAME).gauge().value()).isZero();
+		assertThat(meterRegistry.get(DashScopeEmbeddingModel.EMBEDDED_TEXTS_METER_NAME).counter().count())
+			.isEqualTo(60);
+	}
+
+	@Test
+	void rejectsInvalidConcurrency() {
+		assertThatThrownBy(() -> model().maxConcurrentBatches(0).build()).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("maxConcurrentBatches must be positive");
+		assertThatThrownBy(() -> model().tokensPerMinute(-1).build()).isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("tokensPerMinute must not be negative");
+	}
+
+	private DashScopeEmbeddingModel.Builder model() {
+		return DashScopeEmbeddingModel.builder()
+			.dashScopeApi(this.dashScopeApi)
+			.defaultOptions(DashScopeEmbeddingOptions.builder().model("text-embedding-v3").build());
+	}
+
+	private ResponseEntity<EmbeddingList> respond(EmbeddingRequest request) {
+		List<String> texts = request.input().texts();
+		this.requests.add(texts);
+		// answer in reverse order to make sure the text index is honored
+		List<Embedding> embeddings = new ArrayList<>();
+		for (int i = texts.size() - 1; i >= 0; i--) {
+			embeddings.add(new Embedding(i, new float[] { Float.parseFloat(texts.get(i)) }));
+		}
+		return ResponseEntity.ok(new EmbeddingList("request-id", null, null, new Embeddings(embeddings),
+				new EmbeddingUsage((long) texts.size())));
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count).mapToObj(i -> new Document(String.valueOf(i))).toList();
+	}
+
+}
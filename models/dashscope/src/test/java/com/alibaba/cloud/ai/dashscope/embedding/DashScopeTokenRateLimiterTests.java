@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.dashscope.embedding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DashScopeTokenRateLimiter}.
+ *
+ * @since 1.1.0.0
+ */
+class DashScopeTokenRateLimiterTests {
+
+	private final AtomicLong now = new AtomicLong();
+
+	@Test
+	void admitsRequestsWithinBudget() {
+		DashScopeTokenRateLimiter limiter = new DashScopeTokenRateLimiter(600, this.now::get);
+
+		assertThat(limiter.tryAcquire(400)).isZero();
+		assertThat(limiter.tryAcquire(200)).isZero();
+	}
+
+	@Test
+	void waitsForBudgetToRefill() {
+		DashScopeTokenRateLimiter limiter = new DashScopeTokenRateLimiter(600, this.now::get);
+		assertThat(limiter.tryAcquire(600)).isZero();
+
+		// 600 tokens per minute refill 10 tokens per second
+		assertThat(limiter.tryAcquire(100)).isEqualTo(TimeUnit.SECONDS.toNanos(10));
+
+		this.now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+		assertThat(limiter.tryAcquire(100)).isZero();
+	}
+
+	@Test
+	void admitsOversizedRequestOnceFull() {
+		DashScopeTokenRateLimiter limiter = new DashScopeTokenRateLimiter(600, this.now::get);
+
+		assertThat(limiter.tryAcquire(1000)).isZero();
+		// the bucket is 400 tokens in debt now
+		assertThat(limiter.tryAcquire(60)).isEqualTo(TimeUnit.SECONDS.toNanos(46));
+	}
+
+	@Test
+	void adjustReturnsUnusedTokens() {
+		DashScopeTokenRateLimiter limiter = new DashScopeTokenRateLimiter(600, this.now::get);
+		assertThat(limiter.tryAcquire(600)).isZero();
+
+		limiter.adjust(-300);
+
+		assertThat(limiter.tryAcquire(300)).isZero();
+		assertThat(limiter.tryAcquire(1)).isPositive();
+	}
+
+	@Test
+	void acquireBlocksUntilRefilled() {
+		DashScopeTokenRateLimiter limiter = new DashScopeTokenRateLimiter(60_000);
+		limiter.acquire(60_000);
+
+		long start = System.nanoTime();
+		limiter.acquire(100);
+
+		assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(90));
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.tool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.alibaba.cloud.ai.tool.cache.ToolResultCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.AssistantMessage.ToolCall;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage.ToolResponse;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.DefaultToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.execution.DefaultToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.StaticToolCallbackResolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashScopeAsyncToolCallingManagerTests {
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@AfterEach
+	void tearDown() {
+		this.executor.shutdownNow();
+	}
+
+	@Test
+	void slowToolShouldTimeOutWithoutDelayingOtherTools() throws Exception {
+		CountDownLatch interrupted = new CountDownLatch(1);
+		ToolCallback slow = tool("slow", () -> {
+			try {
+				Thread.sleep(10_000);
+			}
+			catch (InterruptedException ex) {
+				interrupted.countDown();
+			}
+			return "late";
+		});
+		ToolCallback fast = tool("fast", () -> "ok");
+		DashScopeAsyncToolCallingManager manager = managerBuilder()
+			.toolTimeouts(Map.of("slow", Duration.ofMillis(200)))
+			.build();
+
+		long start = System.nanoTime();
+		List<ToolResponse> responses = execute(manager, List.of(slow, fast), "slow", "fast");
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(responses.get(0).name()).isEqualTo("slow");
+		assertThat(responses.get(0).responseData()).contains("\"error\":\"TIMEOUT\"")
+			.contains("\"tool\":\"slow\"")
+			.contains("\"timeoutMillis\":200");
+		assertThat(responses.get(1).responseData()).isEqualTo("ok");
+		assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(this.meterRegistry.get(DashScopeAsyncToolCallingManager.TOOL_CALLS_METER_NAME)
+			.tags("tool", "slow", "outcome", "timeout")
+			.timer()
+			.count()).isEqualTo(1);
+		assertThat(this.meterRegistry.get(DashScopeAsyncToolCallingManager.TOOL_CALLS_METER_NAME)
+			.tags("tool", "fast", "outcome", "success")
+			.timer()
+			.count()).isEqualTo(1);
+	}
+
+	@Test
+	void turnTimeoutShouldBoundAllToolCalls() {
+		ToolCallback slow = tool("slow", () -> {
+			try {
+				Thread.sleep(10_000);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "late";
+		});
+		DashScopeAsyncToolCallingManager manager = managerBuilder().toolTimeout(Duration.ofSeconds(30))
+			.turnTimeout(Duration.ofMillis(300))
+			.build();
+
+		long start = System.nanoTime();
+		List<ToolResponse> responses = execute(manager, List.of(slow), "slow", "slow", "slow");
+
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+		assertThat(responses).hasSize(3)
+			.allSatisfy(response -> assertThat(response.responseData()).contains("\"timeoutMillis\":300"));
+	}
+
+	@Test
+	void bulkheadShouldCapConcurrentCallsOfOneTool() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		ToolCallback limited = tool("limited", () -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(50);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+			return "done";
+		});
+		DashScopeAsyncToolCallingManager manager = managerBuilder()
+			.maxConcurrentCalls(Map.of("limited", 2))
+			.build();
+
+		List<ToolResponse> responses = execute(manager, List.of(limited), "limited", "limited", "limited", "limited",
+				"limited", "limited");
+
+		assertThat(responses).hasSize(6).allSatisfy(response -> assertThat(response.responseData()).isEqualTo("done"));
+		assertThat(maxRunning.get()).isEqualTo(2);
+		assertThat(this.meterRegistry.get(DashScopeAsyncToolCallingManager.BULKHEAD_QUEUED_METER_NAME)
+			.tag("tool", "limited")
+			.gauge()
+			.value()).isZero();
+	}
+
+	@Test
+	void cacheableToolResultsShouldBeReused() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback weather = tool("weather", () -> "sunny #" + calls.incrementAndGet());
+		DashScopeAsyncToolCallingManager manager = managerBuilder().toolResultCache(ToolResultCache.builder()
+			.ttls(Map.of("weather", Duration.ofMinutes(1)))
+			.meterRegistry(this.meterRegistry)
+			.build()).build();
+
+		List<ToolResponse> first = execute(manager, List.of(weather), "weather");
+		List<ToolResponse> second = execute(manager, List.of(weather), "weather");
+
+		assertThat(first.get(0).responseData()).isEqualTo("sunny #1");
+		assertThat(second.get(0).responseData()).isEqualTo("sunny #1");
+		assertThat(calls.get()).isEqualTo(1);
+	}
+
+	private DashScopeAsyncToolCallingManager.Builder managerBuilder() {
+		return DashScopeAsyncToolCallingManager.builder()
+			.observationRegistry(ObservationRegistry.NOOP)
+			.toolCallbackResolver(new StaticToolCallbackResolver(List.of()))
+			.toolExecutionExceptionProcessor(DefaultToolExecutionExceptionProcessor.builder().build())
+			.taskExecutor(this.executor)
+			.meterRegistry(this.meterRegistry);
+	}
+
+	private static List<ToolResponse> execute(DashScopeAsyncToolCallingManager manager, List<ToolCallback> tools,
+			String... toolNames) {
+		List<ToolCall> toolCalls = new ArrayList<>();
+		for (int i = 0; i < toolNames.length; i++) {
+			toolCalls.add(new ToolCall("call-" + i, "function", toolNames[i], "{}"));
+		}
+		AssistantMessage assistantMessage = AssistantMessage.builder()
+			.content("")
+			.properties(Map.of())
+			.toolCalls(toolCalls)
+			.build();
+		Prompt prompt = new Prompt("question", DefaultToolCallingChatOptions.builder().toolCallbacks(tools).build());
+
+		ToolExecutionResult result = manager.executeToolCalls(prompt,
+				new ChatResponse(List.of(new Generation(assistantMessage))));
+
+		ToolResponseMessage toolResponseMessage = (ToolResponseMessage) result.conversationHistory()
+			.get(result.conversationHistory().size() - 1);
+		return toolResponseMessage.getResponses();
+	}
+
+	private static ToolCallback tool(String name, Supplier<String> body) {
+		ToolDefinition definition = DefaultToolDefinition.builder()
+			.name(name)
+			.description(name)
+			.inputSchema("{}")
+			.build();
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				return body.get();
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.tool.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ToolResultCacheTests {
+
+	private static final ToolContext TOOL_CONTEXT = new ToolContext(Map.of());
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void shouldReuseResultForEquivalentArguments() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback weather = tool("weather", CacheableToolMetadata.of(Duration.ofMinutes(1)),
+				input -> "sunny #" + calls.incrementAndGet());
+		ToolResultCache cache = ToolResultCache.builder().meterRegistry(this.meterRegistry).build();
+
+		String first = cache.call(weather, "{\"city\":\"hangzhou\",\"unit\":\"C\"}", TOOL_CONTEXT);
+		String second = cache.call(weather, "{ \"unit\": \"C\", \"city\": \"hangzhou\" }", TOOL_CONTEXT);
+		String other = cache.call(weather, "{\"city\":\"beijing\",\"unit\":\"C\"}", TOOL_CONTEXT);
+
+		assertThat(first).isEqualTo("sunny #1");
+		assertThat(second).isEqualTo("sunny #1");
+		assertThat(other).isEqualTo("sunny #2");
+		assertThat(requests("weather", "hit")).isEqualTo(1);
+		assertThat(requests("weather", "miss")).isEqualTo(2);
+	}
+
+	@Test
+	void shouldNotCacheToolsThatDidNotOptIn() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback time = tool("time", ToolMetadata.builder().build(), input -> "now #" + calls.incrementAndGet());
+		ToolResultCache cache = ToolResultCache.builder().meterRegistry(this.meterRegistry).build();
+
+		cache.call(time, "{}", TOOL_CONTEXT);
+		cache.call(time, "{}", TOOL_CONTEXT);
+
+		assertThat(calls.get()).isEqualTo(2);
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void shouldUseTtlConfiguredByToolName() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback search = tool("search", ToolMetadata.builder().build(), input -> "hits #" + calls.incrementAndGet());
+		ToolResultCache cache = ToolResultCache.builder()
+			.ttls(Map.of("search", Duration.ofMinutes(1)))
+			.meterRegistry(this.meterRegistry)
+			.build();
+
+		cache.call(search, "{\"q\":\"nacos\"}", TOOL_CONTEXT);
+		cache.call(search, "{\"q\":\"nacos\"}", TOOL_CONTEXT);
+
+		assertThat(calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldCallToolAgainAfterTtl() throws InterruptedException {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback weather = tool("weather", CacheableToolMetadata.of(Duration.ofMillis(50)),
+				input -> "sunny #" + calls.incrementAndGet());
+		ToolResultCache cache = ToolResultCache.builder().meterRegistry(this.meterRegistry).build();
+
+		cache.call(weather, "{}", TOOL_CONTEXT);
+		Thread.sleep(100);
+		String result = cache.call(weather, "{}", TOOL_CONTEXT);
+
+		assertThat(result).isEqualTo("sunny #2");
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyUsedResults() {
+		ToolCallback echo = tool("echo", CacheableToolMetadata.of(Duration.ofMinutes(1)), input -> input);
+		ToolResultCache cache = ToolResultCache.builder().maxEntries(2).meterRegistry(this.meterRegistry).build();
+
+		cache.call(echo, "{\"n\":1}", TOOL_CONTEXT);
+		cache.call(echo, "{\"n\":2}", TOOL_CONTEXT);
+		cache.call(echo, "{\"n\":1}", TOOL_CONTEXT);
+		cache.call(echo, "{\"n\":3}", TOOL_CONTEXT);
+
+		assertThat(cache.size()).isEqualTo(2);
+		cache.call(echo, "{\"n\":1}", TOOL_CONTEXT);
+		assertThat(requests("echo", "hit")).isEqualTo(2);
+		cache.call(echo, "{\"n\":2}", TOOL_CONTEXT);
+		assertThat(requests("echo", "miss")).isEqualTo(4);
+	}
+
+	@Test
+	void shouldNotCacheFailures() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback flaky = tool("flaky", CacheableToolMetadata.of(Duration.ofMinutes(1)), input -> {
+			if (calls.incrementAndGet() == 1) {
+				throw new IllegalStateException("backend unavailable");
+			}
+			return "ok";
+		});
+		ToolResultCache cache = ToolResultCache.builder().meterRegistry(this.meterRegistry).build();
+
+		assertThatThrownBy(() -> cache.call(flaky, "{}", TOOL_CONTEXT)).isInstanceOf(IllegalStateException.class);
+		assertThat(cache.call(flaky, "{}", TOOL_CONTEXT)).isEqualTo("ok");
+	}
+
+	@Test
+	void concurrentIdenticalCallsShouldShareOneExecution() throws Exception {
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ToolCallback slow = tool("slow", CacheableToolMetadata.of(Duration.ofMinutes(1)), input -> {
+			calls.incrementAndGet();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+			}
+			return "done";
+		});
+		ToolResultCache cache = ToolResultCache.builder().meterRegistry(this.meterRegistry).build();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> cache.call(slow, "{\"id\":42}", TOOL_CONTEXT)));
+			}
+			while (requests("slow", "coalesced") < 7) {
+				Thread.sleep(10);
+			}
+			release.countDown();
+
+			for (Future<String> result : results) {
+				assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("done");
+			}
+			assertThat(calls.get()).isEqualTo(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void shouldConsultSharedStoreOnLocalMiss() {
+		Map<String, String> shared = new ConcurrentHashMap<>();
+		ToolResultStore store = new ToolResultStore() {
+
+			@Override
+			public String get(String key) {
+				return shared.get(key);
+			}
+
+			@Override
+			public void put(String key, String result, Duration ttl) {
+				shared.put(key, result);
+			}
+
+		};
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback weather = tool("weather", CacheableToolMetadata.of(Duration.ofMinutes(1)),
+				input -> "sunny #" + calls.incrementAndGet());
+		ToolResultCache instanceA = ToolResultCache.builder().store(store).meterRegistry(this.meterRegistry).build();
+		ToolResultCache instanceB = ToolResultCache.builder().store(store).meterRegistry(this.meterRegistry).build();
+
+		instanceA.call(weather, "{\"city\":\"hangzhou\"}", TOOL_CONTEXT);
+		String result = instanceB.call(weather, "{\"city\":\"hangzhou\"}", TOOL_CONTEXT);
+
+		assertThat(result).isEqualTo("sunny #1");
+		assertThat(shared).hasSize(1);
+		assertThat(shared.keySet().iterator().next()).startsWith("spring-ai-alibaba:tool-result:weather:");
+		assertThat(requests("weather", "store_hit")).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNotCacheCallsWithContextWithoutScope() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback orders = tool("orders", CacheableToolMetadata.of(Duration.ofMinutes(1)),
+				input -> "orders #" + calls.incrementAndGet());
+		ToolResultCache cache = ToolResultCache.builder().meterRegistry(this.meterRegistry).build();
+		ToolContext context = new ToolContext(Map.of("tenant", "a"));
+
+		cache.call(orders, "{}", context);
+		String result = cache.call(orders, "{}", context);
+
+		assertThat(result).isEqualTo("orders #2");
+		assertThat(cache.size()).isZero();
+		assertThat(requests("orders", "bypass")).isEqualTo(2);
+	}
+
+	@Test
+	void shouldKeepResultsOfDifferentScopesApart() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback orders = tool("orders", CacheableToolMetadata.of(Duration.ofMinutes(1)),
+				input -> "orders #" + calls.incrementAndGet());
+		ToolResultCache cache = ToolResultCache.builder()
+			.scope(toolContext -> (String) toolContext.getContext().get("tenant"))
+			.meterRegistry(this.meterRegistry)
+			.build();
+
+		String first = cache.call(orders, "{}", new ToolContext(Map.of("tenant", "a")));
+		String second = cache.call(orders, "{}", new ToolContext(Map.of("tenant", "a")));
+		String otherTenant = cache.call(orders, "{}", new ToolContext(Map.of("tenant", "b")));
+		String withoutContext = cache.call(orders, "{}", TOOL_CONTEXT);
+
+		assertThat(first).isEqualTo("orders #1");
+		assertThat(second).isEqualTo("orders #1");
+		assertThat(otherTenant).isEqualTo("orders #2");
+		assertThat(withoutContext).isEqualTo("orders #3");
+	}
+
+	@Test
+	void shouldNotCacheCallsWhoseContextHasNoScope() {
+		AtomicInteger calls = new AtomicInteger();
+		ToolCallback orders = tool("orders", CacheableToolMetadata.of(Duration.ofMinutes(1)),
+				input -> "orders #" + calls.incrementAndGet());
+		ToolResultCache cache = ToolResultCache.builder()
+			.scope(toolContext -> (String) toolContext.getContext().get("tenant"))
+			.meterRegistry(this.meterRegistry)
+			.build();
+
+		cache.call(orders, "{}", new ToolContext(Map.of("user", "u1")));
+		cache.call(orders, "{}", new ToolContext(Map.of("user", "u1")));
+
+		assertThat(calls.get()).isEqualTo(2);
+		assertThat(requests("orders", "bypass")).isEqualTo(2);
+	}
+
+	@Test
+	void canonicalizeShouldSortNestedKeys() {
+		assertThat(ToolResultCache.canonicalize("{\"b\":{\"y\":1,\"x\":[2,1]},\"a\":null}"))
+			.isEqualTo("{\"a\":null,\"b\":{\"x\":[2,1],\"y\":1}}");
+		assertThat(ToolResultCache.canonicalize(" not json ")).isEqualTo("not json");
+		assertThat(ToolResultCache.canonicalize(null)).isEmpty();
+	}
+
+	private double requests(String tool, String result) {
+		var counter = this.meterRegistry.find(ToolResultCache.REQUESTS_METER_NAME)
+			.tags("tool", tool, "result", result)
+			.counter();
+		return counter != null ? counter.count() : 0;
+	}
+
+	private static ToolCallback tool(String name, ToolMetadata metadata, Function<String, String> body) {
+		ToolDefinition definition = DefaultToolDefinition.builder()
+			.name(name)
+			.description(name)
+			.inputSchema("{}")
+			.build();
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public ToolMetadata getToolMetadata() {
+				return metadata;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				return body.apply(toolInput);
+			}
+
+			@Override
+			public String call(String toolInput, ToolContext toolContext) {
+				return body.apply(toolInput);
+			}
+
+		};
+	}
+
+}
@@ -17,11 +17,16 @@ package com.alibaba.cloud.ai.toolcalling.memcached;
 
 import com.fasterxml.jackson.annotation.JsonClassDescription;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
+import net.spy.memcached.CASResponse;
+import net.spy.memcached.CASValue;
 import net.spy.memcached.MemcachedClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
 
 /**
  * auth: dahua
@@ -36,19 +41,25 @@ public class MemcachedService {
 
 	private final MemcachedServiceGetter getter;
 
+	private final MemcachedServiceBulkGetter bulkGetter;
+
 	private final MemcachedServiceDeleter deleter;
 
 	private final MemcachedServiceReplacer replacer;
 
 	private final MemcachedServiceAppender appender;
 
+	private final MemcachedServiceCasUpdater casUpdater;
+
 	public MemcachedService(MemcachedClient memcachedClient) {
 		this.memcachedClient = memcachedClient;
 		setter = new MemcachedServiceSetter();
 		getter = new MemcachedServiceGetter();
+		bulkGetter = new MemcachedServiceBulkGetter();
 		deleter = new MemcachedServiceDeleter();
 		replacer = new MemcachedServiceReplacer();
 		appender = new MemcachedServiceAppender();
+		casUpdater = new MemcachedServiceCasUpdater();
 	}
 
 	public class MemcachedServiceSetter implements Function<MemcachedServiceSetter.Request, Boolean> {
@@ -92,6 +103,29 @@ public class MemcachedService {
 
 	}
 
+	/**
+	 * Get the values of several keys in one round trip. Missing keys are left out of the
+	 * result, while a failure is thrown so that it cannot be mistaken for keys that do
+	 * not exist.
+	 */
+	public class MemcachedServiceBulkGetter implements Function<MemcachedServiceBulkGetter.Request, Map<String, Object>> {
+
+		@Override
+		public Map<String, Object> apply(MemcachedServiceBulkGetter.Request request) {
+			try {
+				return memcachedClient.getBulk(request.keys());
+			}
+			catch (Exception e) {
+				throw new IllegalStateException("Bulk get data from memcached failed. keys " + request.keys(), e);
+			}
+		}
+
+		@JsonClassDescription("get the values of several keys from memcached in one round trip api")
+		public record Request(@JsonPropertyDescription("keys to memcached") List<String> keys) {
+		}
+
+	}
+
 	public class MemcachedServiceDeleter implements Function<MemcachedServiceDeleter.Request, Boolean> {
 
 		@Override
@@ -155,6 +189,54 @@ public class MemcachedService {
 
 	}
 
+	/**
+	 * Read-modify-write of a single key with check-and-set: the value is read with
+	 * {@code gets}, transformed and written back with {@code cas}, or with {@code add} if
+	 * the key does not exist yet. A concurrent write in between makes the attempt fail and
+	 * the update is retried on the fresh value, so no update is lost.
+	 */
+	public class MemcachedServiceCasUpdater implements Function<MemcachedServiceCasUpdater.Request, Boolean> {
+
+		@Override
+		public Boolean apply(MemcachedServiceCasUpdater.Request request) {
+			try {
+				for (int attempt = 0; attempt < request.maxAttempts(); attempt++) {
+					CASValue<Object> current = memcachedClient.gets(request.key());
+					Object updated = request.update().apply(current != null ? current.getValue() : null);
+					if (updated == null) {
+						return true;
+					}
+					if (current == null) {
+						if (memcachedClient.add(request.key(), request.ttl(), updated).get()) {
+							return true;
+						}
+					}
+					else if (memcachedClient.cas(request.key(), current.getCas(), request.ttl(),
+							updated) == CASResponse.OK) {
+						return true;
+					}
+				}
+				logger.warn("CAS update of memcached key {} gave up after {} attempts", request.key(),
+						request.maxAttempts());
+			}
+			catch (Exception e) {
+				logger.error("CAS update of memcached failed. key {} exception {}", request.key(), e.getMessage(), e);
+			}
+			return false;
+		}
+
+		/**
+		 * @param key the key to update
+		 * @param update maps the current value, {@code null} if there is none, to the new
+		 * one, or to {@code null} to leave the key untouched
+		 * @param ttl the ttl of the written value
+		 * @param maxAttempts how many times to retry on a concurrent write
+		 */
+		public record Request(String key, UnaryOperator<Object> update, int ttl, int maxAttempts) {
+		}
+
+	}
+
 	public MemcachedServiceSetter setter() {
 		return setter;
 	}
@@ -163,6 +245,10 @@ public class MemcachedService {
 		return getter;
 	}
 
+	public MemcachedServiceBulkGetter bulkGetter() {
+		return bulkGetter;
+	}
+
 	public MemcachedServiceDeleter deleter() {
 		return deleter;
 	}
@@ -175,6 +261,10 @@ public class MemcachedService {
 		return appender;
 	}
 
+	public MemcachedServiceCasUpdater casUpdater() {
+		return casUpdater;
+	}
+
 	public void close() {
 		if (this.memcachedClient != null) {
 			this.memcachedClient.shutdown();
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.toolcalling.toolsearch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.DefaultToolDefinition;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the search throughput of {@link LuceneToolSearcher} over a catalog of tools,
+ * alone and while another thread keeps changing the catalog, either one tool at a time
+ * or by re-indexing all tools, with keyword or hybrid ranking:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="LuceneToolSearcherBenchmark"
+ * </pre>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LuceneToolSearcherBenchmark {
+
+	private static final String[] WORDS = { "weather", "forecast", "city", "order", "payment", "refund", "invoice",
+			"user", "profile", "address", "shipment", "tracking", "stock", "price", "exchange", "currency", "translate",
+			"text", "image", "search", "document", "calendar", "meeting", "email", "message", "ticket", "flight",
+			"hotel", "booking", "map", "route", "distance" };
+
+	@Param({ "10000" })
+	public int tools;
+
+	/**
+	 * {@code keyword} searches with BM25 only, {@code hybrid} also with the vectors of a
+	 * {@link HashingEmbeddingModel}.
+	 */
+	@Param({ "keyword", "hybrid" })
+	public String mode;
+
+	private LuceneToolSearcher searcher;
+
+	private List<ToolCallback> catalog;
+
+	@Setup
+	public void setUp() {
+		catalog = new ArrayList<>(tools);
+		for (int i = 0; i < tools; i++) {
+			catalog.add(tool(i, 0));
+		}
+		LuceneToolSearcher.Builder builder = LuceneToolSearcher.builder();
+		if ("hybrid".equals(mode)) {
+			builder.embeddingModel(new HashingEmbeddingModel());
+		}
+		searcher = builder.build();
+		searcher.indexTools(catalog);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		searcher.close();
+	}
+
+	@Benchmark
+	@Group("searchOnly")
+	@GroupThreads(4)
+	public List<ToolCallback> search() {
+		return searcher.search(query(), 5);
+	}
+
+	@Benchmark
+	@Group("searchDuringUpdates")
+	@GroupThreads(3)
+	public List<ToolCallback> searchDuringUpdates() {
+		return searcher.search(query(), 5);
+	}
+
+	@Benchmark
+	@Group("searchDuringUpdates")
+	@GroupThreads(1)
+	public void updateTool() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		searcher.updateTools(List.of(tool(random.nextInt(tools), random.nextInt())));
+	}
+
+	@Benchmark
+	@Group("searchDuringReindex")
+	@GroupThreads(3)
+	public List<ToolCallback> searchDuringReindex() {
+		return searcher.search(query(), 5);
+	}
+
+	@Benchmark
+	@Group("searchDuringReindex")
+	@GroupThreads(1)
+	public void reindexTools() {
+		searcher.indexTools(catalog);
+	}
+
+	private static String query() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+	}
+
+	private static ToolCallback tool(int id, int revision) {
+		StringBuilder description = new StringBuilder();
+		for (int i = 0; i < 12; i++) {
+			description.append(WORDS[Math.floorMod(id * 31 + revision * 7 + i * i, WORDS.length)]).append(' ');
+		}
+		ToolDefinition definition = DefaultToolDefinition.builder()
+			.name("tool_" + id)
+			.description(description.toString().trim())
+			.inputSchema("{\"type\":\"object\",\"properties\":{\"" + WORDS[id % WORDS.length]
+					+ "\":{\"type\":\"string\"}}}")
+			.build();
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				return "";
+			}
+
+		};
+	}
+
+}
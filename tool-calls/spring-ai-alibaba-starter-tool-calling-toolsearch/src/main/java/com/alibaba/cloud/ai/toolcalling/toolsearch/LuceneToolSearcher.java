@@ -20,23 +20,33 @@ import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnFloatVectorField;
 import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
-import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorSimilarityFunction;
 import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.AlreadyClosedException;
 import org.apache.lucene.store.ByteBuffersDirectory;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.util.Assert;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -45,6 +55,17 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Lucene-based tool searcher implementation.
+ * <p>
+ * The index is kept open for writing and tools are added, replaced and removed by name
+ * without rebuilding it. Changes are published with near-real-time refreshes, so
+ * searches run lock-free on the latest refreshed index while writes are in progress.
+ * Nothing is committed, the index lives as long as the searcher: the documents of the
+ * published catalog are kept instead, and a write that fails midway is rolled back by
+ * rebuilding the index from them rather than leaving its partial changes in the writer.
+ * <p>
+ * With an {@link EmbeddingModel} the tool descriptions are also indexed as vectors, and
+ * searches combine the keyword (BM25) and nearest neighbor rankings with reciprocal rank
+ * fusion.
  */
 public class LuceneToolSearcher implements ToolSearcher, Closeable {
 
@@ -52,6 +73,23 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 
 	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+	/**
+	 * Untokenized tool name the documents are updated and deleted by.
+	 */
+	private static final String ID_FIELD = "id";
+
+	private static final Set<String> ID_FIELD_SET = Set.of(ID_FIELD);
+
+	/**
+	 * Embedding of the tool description, only indexed with an embedding model.
+	 */
+	private static final String EMBEDDING_FIELD = "embedding";
+
+	/**
+	 * Hits each leg of a hybrid search contributes to the fusion, per requested result.
+	 */
+	private static final int HYBRID_CANDIDATES_PER_RESULT = 4;
+
 	private final Directory indexDirectory;
 
 	private final Analyzer analyzer;
@@ -60,11 +98,29 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 
 	private final List<String> indexFields;
 
+	private final EmbeddingModel embeddingModel;
+
+	private final int rrfK;
+
+	/**
+	 * Serializes the writers, searches never take it.
+	 */
 	private final Object indexLock = new Object();
 
-	private volatile IndexSearcher indexSearcher;
+	/**
+	 * Replaced together with the searcher manager when a failed write is rolled back.
+	 */
+	private volatile IndexWriter indexWriter;
+
+	private volatile SearcherManager searcherManager;
 
-	private volatile DirectoryReader indexReader;
+	private volatile boolean indexed;
+
+	/**
+	 * Documents of the catalog searches see, by tool name, the rollback point of failed
+	 * writes. Guarded by {@code indexLock}.
+	 */
+	private final Map<String, Document> publishedDocuments = new HashMap<>();
 
 	private final Map<String, ToolCallback> toolCallbackMap = new ConcurrentHashMap<>();
 
@@ -79,6 +135,26 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 		this.analyzer = builder.analyzer != null ? builder.analyzer : new StandardAnalyzer();
 		this.fieldBoosts = new HashMap<>(builder.fieldBoosts);
 		this.indexFields = new ArrayList<>(builder.indexFields);
+		this.embeddingModel = builder.embeddingModel;
+		this.rrfK = builder.rrfK;
+		try {
+			this.indexWriter = openWriter();
+			this.searcherManager = new SearcherManager(indexWriter, null);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Failed to open tool index", e);
+		}
+	}
+
+	/**
+	 * Open a writer on an empty index, overwriting what the directory holds: the
+	 * callbacks of those tools are unknown.
+	 */
+	private IndexWriter openWriter() throws IOException {
+		IndexWriterConfig config = new IndexWriterConfig(analyzer);
+		config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
+		config.setCommitOnClose(false);
+		return new IndexWriter(indexDirectory, config);
 	}
 
 	public static Builder builder() {
@@ -92,66 +168,250 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 			return;
 		}
 
+		// Embed before taking the lock, the embedding model may be a remote service
+		List<float[]> embeddings = embed(tools);
 		synchronized (indexLock) {
+			Map<String, ToolCallback> callbacks = new HashMap<>(toolCallbackMap);
+			Map<String, String> schemas = new HashMap<>(schemaCache);
 			try {
-				// Close old reader
-				closeReader();
-
-				// Configure to overwrite mode to avoid duplicate indexing
-				IndexWriterConfig config = new IndexWriterConfig(analyzer);
-				config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
-				IndexWriter indexWriter = new IndexWriter(indexDirectory, config);
-
-				for (ToolCallback tool : tools) {
-					ToolDefinition definition = tool.getToolDefinition();
-					Document doc = new Document();
-
-					for (String fieldName : indexFields) {
-						String fieldValue = getFieldValue(definition, fieldName);
-						if (fieldValue != null && !fieldValue.isEmpty()) {
-							doc.add(new TextField(fieldName, fieldValue, Field.Store.YES));
-						}
-					}
+				ensureOpen();
+				// Replace the whole catalog, searches keep seeing the old one until the refresh
+				Map<String, Document> documents = new HashMap<>();
+				indexWriter.deleteAll();
+				for (int i = 0; i < tools.size(); i++) {
+					ToolCallback tool = tools.get(i);
+					Document document = toDocument(tool, embeddings.get(i));
+					documents.put(tool.getToolDefinition().name(), document);
+					indexWriter.addDocument(document);
+				}
+				refresh();
+				publishedDocuments.clear();
+				publishedDocuments.putAll(documents);
+				toolCallbackMap.keySet().retainAll(documents.keySet());
+				schemaCache.keySet().retainAll(documents.keySet());
 
-					// Generate and cache schema
-					String schema = generateSchema(tool);
-					schemaCache.put(definition.name(), schema);
-					doc.add(new StoredField("schema", schema));
+				log.info("Successfully indexed {} tools with fields: {}", tools.size(), indexFields);
+			}
+			catch (IOException | AlreadyClosedException e) {
+				rollback(e);
+				restore(callbacks, schemas);
+				throw new RuntimeException("Failed to index tools", e);
+			}
+		}
+	}
 
-					indexWriter.addDocument(doc);
+	/**
+	 * Add the tools to the index, replacing the indexed tools with the same names. Other
+	 * indexed tools are kept.
+	 * @param tools the tools to add or replace
+	 */
+	@Override
+	public void updateTools(List<ToolCallback> tools) {
+		if (tools == null || tools.isEmpty()) {
+			return;
+		}
 
-					// Cache ToolCallback
-					toolCallbackMap.put(definition.name(), tool);
+		List<float[]> embeddings = embed(tools);
+		synchronized (indexLock) {
+			Map<String, ToolCallback> callbacks = new HashMap<>(toolCallbackMap);
+			Map<String, String> schemas = new HashMap<>(schemaCache);
+			try {
+				ensureOpen();
+				Map<String, Document> documents = new HashMap<>();
+				for (int i = 0; i < tools.size(); i++) {
+					ToolCallback tool = tools.get(i);
+					String name = tool.getToolDefinition().name();
+					Document document = toDocument(tool, embeddings.get(i));
+					documents.put(name, document);
+					indexWriter.updateDocument(new Term(ID_FIELD, name), document);
 				}
+				refresh();
+				publishedDocuments.putAll(documents);
+				log.debug("Updated {} tools in the index", tools.size());
+			}
+			catch (IOException | AlreadyClosedException e) {
+				rollback(e);
+				restore(callbacks, schemas);
+				throw new RuntimeException("Failed to update tools", e);
+			}
+		}
+	}
 
-				indexWriter.commit();
-				indexWriter.close();
+	/**
+	 * Remove the tools with the given names from the index.
+	 * @param toolNames the names of the tools to remove
+	 */
+	@Override
+	public void removeTools(Collection<String> toolNames) {
+		if (toolNames == null || toolNames.isEmpty()) {
+			return;
+		}
 
-				// Create new searcher
-				indexReader = DirectoryReader.open(indexDirectory);
-				this.indexSearcher = new IndexSearcher(indexReader);
+		synchronized (indexLock) {
+			try {
+				ensureOpen();
+				indexWriter.deleteDocuments(toolNames.stream().map(name -> new Term(ID_FIELD, name)).toArray(Term[]::new));
+				refresh();
+				// Searches on the refreshed index no longer return them
+				toolNames.forEach(name -> {
+					publishedDocuments.remove(name);
+					toolCallbackMap.remove(name);
+					schemaCache.remove(name);
+				});
+				log.debug("Removed {} tools from the index", toolNames.size());
+			}
+			catch (IOException | AlreadyClosedException e) {
+				rollback(e);
+				throw new RuntimeException("Failed to remove tools", e);
+			}
+		}
+	}
 
-				log.info("Successfully indexed {} tools with fields: {}", tools.size(), indexFields);
+	/**
+	 * Build the document of a tool and cache its callback and schema, which must be
+	 * resolvable before the document becomes searchable.
+	 */
+	private Document toDocument(ToolCallback tool, float[] embedding) {
+		ToolDefinition definition = tool.getToolDefinition();
+		Document doc = new Document();
+		doc.add(new StringField(ID_FIELD, definition.name(), Field.Store.YES));
+
+		for (String fieldName : indexFields) {
+			String fieldValue = getFieldValue(definition, fieldName);
+			if (fieldValue != null && !fieldValue.isEmpty()) {
+				doc.add(new TextField(fieldName, fieldValue, Field.Store.YES));
 			}
-			catch (IOException e) {
-				throw new RuntimeException("Failed to index tools", e);
+		}
+
+		// Generate and cache schema
+		String schema = generateSchema(tool);
+		schemaCache.put(definition.name(), schema);
+		doc.add(new StoredField("schema", schema));
+
+		if (embedding != null) {
+			doc.add(new KnnFloatVectorField(EMBEDDING_FIELD, embedding, VectorSimilarityFunction.COSINE));
+		}
+
+		// Cache ToolCallback
+		toolCallbackMap.put(definition.name(), tool);
+		return doc;
+	}
+
+	/**
+	 * Embed the descriptions of the tools in one batch. Without an embedding model, or if
+	 * embedding fails, the tools are indexed for keyword search only.
+	 */
+	private List<float[]> embed(List<ToolCallback> tools) {
+		List<float[]> embeddings = new ArrayList<>(Collections.nCopies(tools.size(), null));
+		if (embeddingModel == null) {
+			return embeddings;
+		}
+		try {
+			List<float[]> vectors = embeddingModel.embed(tools.stream().map(this::embeddingText).toList());
+			for (int i = 0; i < tools.size() && i < vectors.size(); i++) {
+				embeddings.set(i, isZero(vectors.get(i)) ? null : vectors.get(i));
 			}
 		}
+		catch (Exception e) {
+			log.warn("Failed to embed {} tools, indexing them for keyword search only", tools.size(), e);
+		}
+		return embeddings;
+	}
+
+	private String embeddingText(ToolCallback tool) {
+		ToolDefinition definition = tool.getToolDefinition();
+		String description = definition.description();
+		return description != null && !description.isBlank() ? description : definition.name();
 	}
 
 	/**
-	 * Close old DirectoryReader.
+	 * Cosine similarity is undefined for zero vectors, such as the embedding of a text
+	 * made of stop words only.
 	 */
-	private void closeReader() {
-		if (indexReader != null) {
-			try {
-				indexReader.close();
-				indexReader = null;
+	private static boolean isZero(float[] vector) {
+		if (vector == null) {
+			return true;
+		}
+		for (float value : vector) {
+			if (value != 0) {
+				return false;
 			}
-			catch (IOException e) {
-				log.warn("Failed to close old index reader", e);
+		}
+		return true;
+	}
+
+	/**
+	 * Make the pending changes visible to new searches, without committing them. Only the
+	 * writer waits for the reopen, searches in flight keep using the searcher they
+	 * acquired.
+	 */
+	private void refresh() throws IOException {
+		searcherManager.maybeRefreshBlocking();
+		indexed = true;
+	}
+
+	/**
+	 * Discard the changes of a failed write by rolling the writer back, which closes it,
+	 * and rebuild the index from the published documents. If the rebuild fails too, the
+	 * next write retries it.
+	 */
+	private void rollback(Exception cause) {
+		try {
+			indexWriter.rollback();
+		}
+		catch (IOException e) {
+			cause.addSuppressed(e);
+		}
+		try {
+			rebuild();
+		}
+		catch (IOException e) {
+			cause.addSuppressed(e);
+			log.error("Failed to roll back the tool index", e);
+		}
+	}
+
+	/**
+	 * Rebuild the index if the rollback of a previous write could not.
+	 */
+	private void ensureOpen() throws IOException {
+		if (!indexWriter.isOpen()) {
+			rebuild();
+		}
+	}
+
+	/**
+	 * Index the published documents with a new writer and searcher manager. Searches keep
+	 * the searcher of the previous manager until the new one is in place.
+	 */
+	private void rebuild() throws IOException {
+		IndexWriter writer = openWriter();
+		SearcherManager manager;
+		try {
+			for (Document document : publishedDocuments.values()) {
+				writer.addDocument(document);
 			}
+			manager = new SearcherManager(writer, null);
 		}
+		catch (IOException e) {
+			IOUtils.closeWhileHandlingException(writer);
+			throw e;
+		}
+		SearcherManager previous = searcherManager;
+		searcherManager = manager;
+		indexWriter = writer;
+		IOUtils.closeWhileHandlingException(previous);
+	}
+
+	/**
+	 * Put back the callbacks and schemas of the rolled back catalog without removing the
+	 * entries that did not change.
+	 */
+	private void restore(Map<String, ToolCallback> callbacks, Map<String, String> schemas) {
+		toolCallbackMap.keySet().retainAll(callbacks.keySet());
+		toolCallbackMap.putAll(callbacks);
+		schemaCache.keySet().retainAll(schemas.keySet());
+		schemaCache.putAll(schemas);
 	}
 
 	/**
@@ -172,10 +432,12 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 
 	@Override
 	public List<ToolCallback> search(String query, int maxResults) {
-		if (indexSearcher == null) {
+		if (!indexed) {
 			throw new IllegalStateException("Tools not indexed yet. Call indexTools() first.");
 		}
 
+		SearcherManager manager = null;
+		IndexSearcher indexSearcher = null;
 		try {
 			// Build multi-field query using configured fields and weights
 			String[] fields = indexFields.toArray(new String[0]);
@@ -184,15 +446,38 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 			// Escape special characters
 			String escapedQuery = QueryParser.escape(query);
 			Query luceneQuery = parser.parse(escapedQuery);
+			float[] queryEmbedding = embedQuery(query);
 
-			// Execute search
-			TopDocs topDocs = indexSearcher.search(luceneQuery, maxResults);
+			// Execute search on the latest refreshed index, never waiting for writers
+			while (indexSearcher == null) {
+				manager = searcherManager;
+				try {
+					indexSearcher = manager.acquire();
+				}
+				catch (AlreadyClosedException e) {
+					// A rolled back write replaced the manager, unless the searcher is closed
+					if (manager == searcherManager) {
+						throw e;
+					}
+				}
+			}
+			ScoreDoc[] scoreDocs;
+			if (queryEmbedding == null) {
+				scoreDocs = indexSearcher.search(luceneQuery, maxResults).scoreDocs;
+			}
+			else {
+				int candidates = maxResults * HYBRID_CANDIDATES_PER_RESULT;
+				TopDocs lexical = indexSearcher.search(luceneQuery, candidates);
+				TopDocs semantic = indexSearcher
+					.search(new KnnFloatVectorQuery(EMBEDDING_FIELD, queryEmbedding, candidates), candidates);
+				scoreDocs = fuse(lexical.scoreDocs, semantic.scoreDocs, maxResults);
+			}
 
 			// Convert to ToolCallback
+			StoredFields storedFields = indexSearcher.storedFields();
 			List<ToolCallback> results = new ArrayList<>();
-			for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
-				Document doc = indexSearcher.doc(scoreDoc.doc);
-				String toolName = doc.get("name");
+			for (ScoreDoc scoreDoc : scoreDocs) {
+				String toolName = storedFields.document(scoreDoc.doc, ID_FIELD_SET).get(ID_FIELD);
 
 				// Get ToolCallback from cache
 				ToolCallback tool = toolCallbackMap.get(toolName);
@@ -208,6 +493,57 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 			log.error("Failed to search tools for query: {}", query, e);
 			return Collections.emptyList();
 		}
+		finally {
+			if (indexSearcher != null) {
+				release(manager, indexSearcher);
+			}
+		}
+	}
+
+	/**
+	 * Embed the query for the vector leg, or return {@code null} to search by keywords
+	 * only.
+	 */
+	private float[] embedQuery(String query) {
+		if (embeddingModel == null) {
+			return null;
+		}
+		try {
+			float[] embedding = embeddingModel.embed(query);
+			return isZero(embedding) ? null : embedding;
+		}
+		catch (Exception e) {
+			log.warn("Failed to embed query '{}', searching by keywords only", query, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Reciprocal rank fusion: each leg contributes {@code 1 / (k + rank)} for every hit,
+	 * so a tool ranked well by both legs wins over one ranked first by a single leg.
+	 */
+	private ScoreDoc[] fuse(ScoreDoc[] lexical, ScoreDoc[] semantic, int maxResults) {
+		Map<Integer, Double> scores = new HashMap<>();
+		for (ScoreDoc[] leg : List.of(lexical, semantic)) {
+			for (int i = 0; i < leg.length; i++) {
+				scores.merge(leg[i].doc, 1.0 / (rrfK + i + 1), Double::sum);
+			}
+		}
+		return scores.entrySet()
+			.stream()
+			.sorted(Map.Entry.<Integer, Double>comparingByValue().reversed())
+			.limit(maxResults)
+			.map(entry -> new ScoreDoc(entry.getKey(), entry.getValue().floatValue()))
+			.toArray(ScoreDoc[]::new);
+	}
+
+	private void release(SearcherManager manager, IndexSearcher indexSearcher) {
+		try {
+			manager.release(indexSearcher);
+		}
+		catch (IOException e) {
+			log.warn("Failed to release index searcher", e);
+		}
 	}
 
 	@Override
@@ -260,12 +596,18 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 	@Override
 	public void close() throws IOException {
 		synchronized (indexLock) {
-			closeReader();
-			if (indexDirectory != null) {
-				indexDirectory.close();
+			try {
+				searcherManager.close();
+				indexWriter.close();
+			}
+			finally {
+				if (indexDirectory != null) {
+					indexDirectory.close();
+				}
+				publishedDocuments.clear();
+				toolCallbackMap.clear();
+				schemaCache.clear();
 			}
-			toolCallbackMap.clear();
-			schemaCache.clear();
 		}
 	}
 
@@ -279,6 +621,10 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 
 		private final List<String> indexFields = new ArrayList<>();
 
+		private EmbeddingModel embeddingModel;
+
+		private int rrfK = ToolSearchConstants.DEFAULT_RRF_K;
+
 		public Builder() {
 			indexFields.add("name");
 			indexFields.add("description");
@@ -321,6 +667,26 @@ public class LuceneToolSearcher implements ToolSearcher, Closeable {
 			return this;
 		}
 
+		/**
+		 * Embedding model to also index the tool descriptions as vectors with. Searches
+		 * then fuse the keyword and the nearest neighbor rankings, so tools are found by
+		 * paraphrases of their descriptions as well.
+		 */
+		public Builder embeddingModel(EmbeddingModel embeddingModel) {
+			this.embeddingModel = embeddingModel;
+			return this;
+		}
+
+		/**
+		 * Rank constant of the reciprocal rank fusion of hybrid searches, larger values
+		 * flatten the advantage of the top ranks of each leg.
+		 */
+		public Builder rrfK(int rrfK) {
+			Assert.isTrue(rrfK > 0, "rrfK must be positive");
+			this.rrfK = rrfK;
+			return this;
+		}
+
 		public Builder clearIndexFields() {
 			this.indexFields.clear();
 			this.fieldBoosts.clear();
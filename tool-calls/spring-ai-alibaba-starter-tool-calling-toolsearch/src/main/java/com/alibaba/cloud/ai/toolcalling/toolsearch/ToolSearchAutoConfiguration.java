@@ -15,6 +15,10 @@
  */
 package com.alibaba.cloud.ai.toolcalling.toolsearch;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -33,17 +37,30 @@ import org.springframework.context.annotation.Description;
 		matchIfMissing = true)
 public class ToolSearchAutoConfiguration {
 
+	private static final Logger log = LoggerFactory.getLogger(ToolSearchAutoConfiguration.class);
+
 	/**
 	 * Creates default Lucene tool searcher.
 	 */
 	@Bean
 	@ConditionalOnMissingBean(ToolSearcher.class)
-	public ToolSearcher toolSearcher(ToolSearchProperties properties) {
-		return LuceneToolSearcher.builder()
+	public ToolSearcher toolSearcher(ToolSearchProperties properties, ObjectProvider<EmbeddingModel> embeddingModel) {
+		LuceneToolSearcher.Builder builder = LuceneToolSearcher.builder()
 			.fieldBoost("name", properties.getNameBoost())
 			.fieldBoost("description", properties.getDescriptionBoost())
 			.fieldBoost("parameters", properties.getParametersBoost())
-			.build();
+			.rrfK(properties.getRrfK());
+		if (properties.isHybridSearchEnabled()) {
+			EmbeddingModel model = embeddingModel.getIfUnique();
+			if (model != null) {
+				builder.embeddingModel(model);
+			}
+			else {
+				log.warn("Hybrid tool search is enabled but there is no unique EmbeddingModel bean, "
+						+ "searching tools by keywords only");
+			}
+		}
+		return builder.build();
 	}
 
 	/**
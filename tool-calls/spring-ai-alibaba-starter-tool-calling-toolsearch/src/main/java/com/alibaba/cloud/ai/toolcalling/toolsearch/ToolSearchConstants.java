@@ -57,4 +57,9 @@ public class ToolSearchConstants {
 	 */
 	public static final float DEFAULT_PARAMETERS_BOOST = 1.0f;
 
+	/**
+	 * Default rank constant of the reciprocal rank fusion of hybrid searches.
+	 */
+	public static final int DEFAULT_RRF_K = 60;
+
 }
@@ -53,6 +53,17 @@ public class ToolSearchProperties {
 	 */
 	private boolean autoIndex = true;
 
+	/**
+	 * Whether to also index tool descriptions with the EmbeddingModel bean and rank tools
+	 * by fusing keyword and vector search results.
+	 */
+	private boolean hybridSearchEnabled = false;
+
+	/**
+	 * Rank constant of the reciprocal rank fusion of hybrid searches.
+	 */
+	private int rrfK = ToolSearchConstants.DEFAULT_RRF_K;
+
 	public boolean isEnabled() {
 		return enabled;
 	}
@@ -101,4 +112,20 @@ public class ToolSearchProperties {
 		this.autoIndex = autoIndex;
 	}
 
+	public boolean isHybridSearchEnabled() {
+		return hybridSearchEnabled;
+	}
+
+	public void setHybridSearchEnabled(boolean hybridSearchEnabled) {
+		this.hybridSearchEnabled = hybridSearchEnabled;
+	}
+
+	public int getRrfK() {
+		return rrfK;
+	}
+
+	public void setRrfK(int rrfK) {
+		this.rrfK = rrfK;
+	}
+
 }
@@ -17,6 +17,7 @@ package com.alibaba.cloud.ai.toolcalling.toolsearch;
 
 import org.springframework.ai.tool.ToolCallback;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -30,6 +31,26 @@ public interface ToolSearcher {
 	 */
 	void indexTools(List<ToolCallback> tools);
 
+	/**
+	 * Add tools to the index, replacing the indexed tools with the same names.
+	 * @param tools the tools to add or replace
+	 * @throws UnsupportedOperationException if the searcher can only index all tools at
+	 * once
+	 */
+	default void updateTools(List<ToolCallback> tools) {
+		throw new UnsupportedOperationException("Incremental updates are not supported by " + getClass().getName());
+	}
+
+	/**
+	 * Remove tools from the index.
+	 * @param toolNames the names of the tools to remove
+	 * @throws UnsupportedOperationException if the searcher can only index all tools at
+	 * once
+	 */
+	default void removeTools(Collection<String> toolNames) {
+		throw new UnsupportedOperationException("Incremental updates are not supported by " + getClass().getName());
+	}
+
 	/**
 	 * Search for tools.
 	 * @param query the search query
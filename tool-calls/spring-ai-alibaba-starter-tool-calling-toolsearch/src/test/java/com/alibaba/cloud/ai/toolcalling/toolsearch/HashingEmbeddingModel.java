@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.toolcalling.toolsearch;
+
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Deterministic embedding model that hashes the words of a text and their character
+ * trigrams into a fixed number of dimensions, without any remote call.
+ * <p>
+ * It matches inflections and typos of the same words but knows nothing about synonyms,
+ * so it is a stand-in to exercise the vector leg of {@link LuceneToolSearcher} offline,
+ * in tests and benchmarks, rather than a replacement for a real embedding model.
+ */
+class HashingEmbeddingModel implements EmbeddingModel {
+
+	/**
+	 * Default number of dimensions.
+	 */
+	static final int DEFAULT_DIMENSIONS = 256;
+
+	private static final float TRIGRAM_WEIGHT = 0.5f;
+
+	private final int dimensions;
+
+	HashingEmbeddingModel() {
+		this(DEFAULT_DIMENSIONS);
+	}
+
+	HashingEmbeddingModel(int dimensions) {
+		Assert.isTrue(dimensions > 0, "dimensions must be positive");
+		this.dimensions = dimensions;
+	}
+
+	@Override
+	public EmbeddingResponse call(EmbeddingRequest request) {
+		List<Embedding> embeddings = new ArrayList<>();
+		List<String> texts = request.getInstructions();
+		for (int i = 0; i < texts.size(); i++) {
+			embeddings.add(new Embedding(embed(texts.get(i)), i));
+		}
+		return new EmbeddingResponse(embeddings);
+	}
+
+	@Override
+	public float[] embed(String text) {
+		float[] vector = new float[dimensions];
+		if (text != null) {
+			for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+				if (word.isEmpty()) {
+					continue;
+				}
+				add(vector, word, 1.0f);
+				String padded = "#" + word + "#";
+				for (int i = 0; i + 3 <= padded.length(); i++) {
+					add(vector, padded.substring(i, i + 3), TRIGRAM_WEIGHT);
+				}
+			}
+		}
+		normalize(vector);
+		return vector;
+	}
+
+	@Override
+	public float[] embed(Document document) {
+		return embed(document.getText());
+	}
+
+	@Override
+	public int dimensions() {
+		return dimensions;
+	}
+
+	private void add(float[] vector, String feature, float weight) {
+		int hash = feature.hashCode();
+		// The sign bit spreads collisions so that they cancel out on average
+		vector[Math.floorMod(hash, dimensions)] += (hash >>> 31) == 0 ? weight : -weight;
+	}
+
+	private static void normalize(float[] vector) {
+		double norm = 0;
+		for (float value : vector) {
+			norm += value * value;
+		}
+		if (norm == 0) {
+			return;
+		}
+		float scale = (float) (1 / Math.sqrt(norm));
+		for (int i = 0; i < vector.length; i++) {
+			vector[i] *= scale;
+		}
+	}
+
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright 2025-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.cloud.ai.toolcalling.toolsearch;
+
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexOutput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.Embedding;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * LuceneToolSearcher unit tests
+ */
+@DisplayName("Lucene tool searcher tests")
+class LuceneToolSearcherTest {
+
+	private LuceneToolSearcher searcher;
+
+	@AfterEach
+	void tearDown() throws IOException {
+		if (searcher != null) {
+			searcher.close();
+		}
+	}
+
+	@Test
+	@DisplayName("Test searching before indexing")
+	void testSearchBeforeIndexing() {
+		searcher = new LuceneToolSearcher();
+
+		assertThatThrownBy(() -> searcher.search("weather", 5)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("Test updated tools are visible without reindexing")
+	void testUpdateToolsIsVisibleAfterRefresh() {
+		searcher = new LuceneToolSearcher();
+		searcher.indexTools(List.of(tool("get_weather", "Weather forecast for a city")));
+		assertThat(searcher.search("stock", 5)).isEmpty();
+
+		ToolCallback stock = tool("get_stock_quote", "Stock quotes and market data");
+		searcher.updateTools(List.of(stock));
+
+		assertThat(searcher.search("stock", 5)).containsExactly(stock);
+		assertThat(names(searcher.search("weather", 5))).containsExactly("get_weather");
+	}
+
+	@Test
+	@DisplayName("Test updating a tool replaces the one with the same name")
+	void testUpdateToolsReplacesByName() {
+		searcher = new LuceneToolSearcher();
+		searcher.indexTools(List.of(tool("get_weather", "Weather forecast for a city"),
+				tool("get_stock_quote", "Stock quotes and market data")));
+
+		ToolCallback typhoon = tool("get_weather", "Typhoon alerts for the coast");
+		searcher.updateTools(List.of(typhoon));
+
+		assertThat(searcher.search("typhoon", 5)).containsExactly(typhoon);
+		assertThat(searcher.search("forecast", 5)).isEmpty();
+		assertThat(names(searcher.search("stock", 5))).containsExactly("get_stock_quote");
+		assertThat(searcher.getToolSchema(typhoon)).contains("Typhoon alerts for the coast");
+	}
+
+	@Test
+	@DisplayName("Test removed tools are no longer found")
+	void testRemoveTools() {
+		searcher = new LuceneToolSearcher();
+		searcher.indexTools(List.of(tool("get_weather", "Weather forecast for a city"),
+				tool("get_stock_quote", "Stock quotes and market data")));
+
+		searcher.removeTools(List.of("get_weather", "unknown_tool"));
+
+		assertThat(searcher.search("weather forecast", 5)).isEmpty();
+		assertThat(names(searcher.search("stock", 5))).containsExactly("get_stock_quote");
+	}
+
+	@Test
+	@DisplayName("Test reindexing replaces the whole catalog")
+	void testIndexToolsReplacesCatalog() {
+		searcher = new LuceneToolSearcher();
+		searcher.indexTools(List.of(tool("get_weather", "Weather forecast for a city")));
+
+		searcher.indexTools(List.of(tool("get_stock_quote", "Stock quotes and market data")));
+
+		assertThat(searcher.search("weather", 5)).isEmpty();
+		assertThat(names(searcher.search("stock", 5))).containsExactly("get_stock_quote");
+	}
+
+	@Test
+	@DisplayName("Test a failed reindex keeps the previous catalog")
+	void testFailedIndexToolsRollsBack() {
+		FailingDirectory directory = new FailingDirectory();
+		searcher = LuceneToolSearcher.builder().indexDirectory(directory).build();
+		ToolCallback weather = tool("get_weather", "Weather forecast for a city");
+		searcher.indexTools(List.of(weather));
+
+		directory.failing = true;
+		assertThatThrownBy(() -> searcher.indexTools(List.of(tool("get_weather", "Typhoon alerts for the coast"),
+				tool("get_stock_quote", "Stock quotes and market data"))))
+			.isInstanceOf(RuntimeException.class)
+			.hasRootCauseInstanceOf(IOException.class);
+		directory.failing = false;
+
+		assertThat(searcher.search("weather", 5)).containsExactly(weather);
+		assertThat(searcher.search("typhoon", 5)).isEmpty();
+		assertThat(searcher.search("stock", 5)).isEmpty();
+		assertThat(searcher.getToolSchema(weather)).contains("Weather forecast for a city");
+
+		// The reopened writer takes further changes
+		ToolCallback stock = tool("get_stock_quote", "Stock quotes and market data");
+		searcher.updateTools(List.of(stock));
+		assertThat(searcher.search("stock", 5)).containsExactly(stock);
+		assertThat(searcher.search("weather", 5)).containsExactly(weather);
+	}
+
+	@Test
+	@DisplayName("Test a failed update keeps the previous tools")
+	void testFailedUpdateToolsRollsBack() {
+		FailingDirectory directory = new FailingDirectory();
+		searcher = LuceneToolSearcher.builder().indexDirectory(directory).build();
+		ToolCallback weather = tool("get_weather", "Weather forecast for a city");
+		searcher.indexTools(List.of(weather));
+		ToolCallback stock = tool("get_stock_quote", "Stock quotes and market data");
+		searcher.updateTools(List.of(stock));
+
+		directory.failing = true;
+		assertThatThrownBy(() -> searcher.updateTools(List.of(tool("get_weather", "Typhoon alerts for the coast"))))
+			.isInstanceOf(RuntimeException.class);
+		directory.failing = false;
+
+		assertThat(searcher.search("weather", 5)).containsExactly(weather);
+		assertThat(searcher.search("stock", 5)).containsExactly(stock);
+		assertThat(searcher.search("typhoon", 5)).isEmpty();
+
+		// The published tools were indexed again, updates and removals apply to them
+		searcher.removeTools(List.of("get_stock_quote"));
+		assertThat(searcher.search("stock", 5)).isEmpty();
+		assertThat(searcher.search("weather", 5)).containsExactly(weather);
+	}
+
+	@Test
+	@DisplayName("Test published changes are not committed")
+	void testChangesAreNotCommitted() throws IOException {
+		ByteBuffersDirectory directory = new ByteBuffersDirectory();
+		searcher = LuceneToolSearcher.builder().indexDirectory(directory).build();
+
+		searcher.indexTools(List.of(tool("get_weather", "Weather forecast for a city")));
+		searcher.updateTools(List.of(tool("get_stock_quote", "Stock quotes and market data")));
+		searcher.removeTools(List.of("get_weather"));
+
+		assertThat(names(searcher.search("stock", 5))).containsExactly("get_stock_quote");
+		assertThat(DirectoryReader.indexExists(directory)).isFalse();
+	}
+
+	@Test
+	@DisplayName("Test a search racing with a rolled back write uses the rebuilt index")
+	void testSearchDuringRollback() {
+		FailingDirectory directory = new FailingDirectory();
+		AtomicReference<Runnable> duringQueryEmbedding = new AtomicReference<>();
+		searcher = LuceneToolSearcher.builder().indexDirectory(directory).embeddingModel(new FixedEmbeddingModel() {
+
+			@Override
+			public float[] embed(String text) {
+				Runnable write = duringQueryEmbedding.getAndSet(null);
+				if (write != null) {
+					write.run();
+				}
+				return super.embed(text);
+			}
+
+		}).build();
+		searcher.indexTools(catalog());
+		duringQueryEmbedding.set(() -> {
+			directory.failing = true;
+			assertThatThrownBy(() -> searcher.updateTools(List.of(tool("forecast", "Typhoon alerts"))))
+				.isInstanceOf(RuntimeException.class);
+			directory.failing = false;
+			searcher.updateTools(List.of(tool("storm", "Storm warnings")));
+		});
+
+		assertThat(names(searcher.search("weather", 5))).containsExactly("forecast", "radar", "storm");
+	}
+
+	@Test
+	@DisplayName("Test hybrid search ranks tools found by both legs first")
+	void testHybridSearchFusesRanks() {
+		searcher = LuceneToolSearcher.builder().embeddingModel(new FixedEmbeddingModel()).build();
+		searcher.indexTools(catalog());
+
+		// keyword ranks forecast before radar, vector ranks storm, radar, then forecast
+		assertThat(names(searcher.search("weather", 5))).containsExactly("forecast", "radar", "storm");
+		assertThat(names(searcher.search("weather", 2))).containsExactly("forecast", "radar");
+	}
+
+	@Test
+	@DisplayName("Test searching by keywords only without an embedding model")
+	void testKeywordSearchWithoutEmbeddingModel() {
+		searcher = new LuceneToolSearcher();
+		searcher.indexTools(catalog());
+
+		assertThat(names(searcher.search("weather", 5))).containsExactly("forecast", "radar");
+	}
+
+	@Test
+	@DisplayName("Test searching by keywords only when the embedding model fails")
+	void testKeywordSearchWhenEmbeddingFails() {
+		searcher = LuceneToolSearcher.builder().embeddingModel(new FixedEmbeddingModel() {
+
+			@Override
+			public EmbeddingResponse call(EmbeddingRequest request) {
+				throw new IllegalStateException("embedding service unavailable");
+			}
+
+		}).build();
+		searcher.indexTools(catalog());
+
+		assertThat(names(searcher.search("weather", 5))).containsExactly("forecast", "radar");
+	}
+
+	@Test
+	@DisplayName("Test the vector leg finds misspelled queries")
+	void testHybridSearchFindsTypos() throws IOException {
+		List<ToolCallback> tools = List.of(tool("get_weather", "Weather forecast for a city"),
+				tool("get_stock_quote", "Stock quotes and market data"));
+		searcher = new LuceneToolSearcher();
+		searcher.indexTools(tools);
+		assertThat(searcher.search("wether forcast", 5)).isEmpty();
+		searcher.close();
+
+		searcher = LuceneToolSearcher.builder().embeddingModel(new HashingEmbeddingModel()).build();
+		searcher.indexTools(tools);
+		assertThat(names(searcher.search("wether forcast", 1))).containsExactly("get_weather");
+	}
+
+	private static List<ToolCallback> catalog() {
+		return List.of(tool("storm", "Storm warnings"), tool("radar", "Weather and rain radar images"),
+				tool("forecast", "Weather forecast"));
+	}
+
+	static ToolCallback tool(String name, String description) {
+		ToolDefinition definition = ToolDefinition.builder()
+			.name(name)
+			.description(description)
+			.inputSchema("{\"type\":\"object\",\"properties\":{}}")
+			.build();
+		return new ToolCallback() {
+
+			@Override
+			public ToolDefinition getToolDefinition() {
+				return definition;
+			}
+
+			@Override
+			public String call(String toolInput) {
+				return name;
+			}
+
+			@Override
+			public String toString() {
+				return name + ": " + description;
+			}
+
+		};
+	}
+
+	static List<String> names(List<ToolCallback> tools) {
+		return tools.stream().map(tool -> tool.getToolDefinition().name()).toList();
+	}
+
+	/**
+	 * Embeds the texts of {@link #catalog()} with fixed vectors, in the opposite order of
+	 * their keyword ranks for the query {@code weather}
+	 */
+	private static class FixedEmbeddingModel implements EmbeddingModel {
+
+		private static final Map<String, float[]> VECTORS = Map.of("weather", new float[] { 1, 0 }, "Storm warnings",
+				new float[] { 1, 0.1f }, "Weather and rain radar images", new float[] { 1, 1 }, "Weather forecast",
+				new float[] { 0, 1 });
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			List<Embedding> embeddings = new ArrayList<>();
+			for (int i = 0; i < request.getInstructions().size(); i++) {
+				embeddings.add(new Embedding(VECTORS.get(request.getInstructions().get(i)), i));
+			}
+			return new EmbeddingResponse(embeddings);
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			return VECTORS.get(document.getText());
+		}
+
+		@Override
+		public int dimensions() {
+			return 2;
+		}
+
+	}
+
+	/**
+	 * In-memory directory whose new files fail to be created while {@code failing} is set
+	 */
+	private static final class FailingDirectory extends FilterDirectory {
+
+		private volatile boolean failing;
+
+		private FailingDirectory() {
+			super(new ByteBuffersDirectory());
+		}
+
+		@Override
+		public IndexOutput createOutput(String name, IOContext context) throws IOException {
+			if (failing) {
+				throw new IOException("disk full");
+			}
+			return super.createOutput(name, context);
+		}
+
+		@Override
+		public IndexOutput createTempOutput(String prefix, String suffix, IOContext context) throws IOException {
+			if (failing) {
+				throw new IOException("disk full");
+			}
+			return super.createTempOutput(prefix, suffix, context);
+		}
+
+	}
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.oceanbase;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import javax.sql.DataSource;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the vector literal encoding and search statement generation of
+ * {@link OceanBaseVectorStore} with the previous approach, which boxed every component
+ * through {@code Arrays.toString(Object[])} on insert and rebuilt the search SQL, filter
+ * included, for every query. No database is involved. Run with {@code -prof gc} to see
+ * the allocation difference:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="OceanBaseVectorEncodingBenchmark -prof gc"
+ * </pre>
+ *
+ * @since 1.1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OceanBaseVectorEncodingBenchmark {
+
+	@Param({ "384", "1536" })
+	public int dimensions;
+
+	private float[] vector;
+
+	private Filter.Expression filter;
+
+	private OceanBaseVectorStore vectorStore;
+
+	private final OceanBaseVectorFilterExpressionConverter filterExpressionConverter = new OceanBaseVectorFilterExpressionConverter();
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(42);
+		this.vector = new float[this.dimensions];
+		for (int i = 0; i < this.dimensions; i++) {
+			this.vector[i] = random.nextFloat() * 2 - 1;
+		}
+		this.filter = new FilterExpressionBuilder()
+			.and(new FilterExpressionBuilder().eq("category", "framework"),
+					new FilterExpressionBuilder().in("author", "spring", "oceanbase"))
+			.build();
+		this.vectorStore = OceanBaseVectorStore.builder("vectors", unused(DataSource.class), unused(EmbeddingModel.class))
+			.build();
+	}
+
+	@Benchmark
+	public String insertEncodingBoxed() {
+		return Arrays.toString(IntStream.range(0, this.vector.length).mapToObj(i -> this.vector[i]).toArray());
+	}
+
+	@Benchmark
+	public String insertEncoding() {
+		return OceanBaseVectorEncoder.encode(this.vector);
+	}
+
+	@Benchmark
+	public int searchEncodingUncached() {
+		String literal = Arrays.toString(this.vector);
+		StringBuilder sql = new StringBuilder();
+		sql.append("SELECT id, embedding, document, metadata, timestamp, l2_distance(embedding, ?) as distance ");
+		sql.append("FROM vectors");
+		sql.append(" WHERE ").append(this.filterExpressionConverter.convertExpression(this.filter));
+		sql.append(" ORDER BY l2_distance(embedding, ?) ASC APPROXIMATE LIMIT ?");
+		return literal.length() + sql.toString().length();
+	}
+
+	@Benchmark
+	public int searchEncoding() {
+		String literal = OceanBaseVectorEncoder.encode(this.vector);
+		String sql = this.vectorStore.getSearchSql("vector", this.filter, true);
+		return literal.length() + sql.length();
+	}
+
+	/**
+	 * The benchmarks never reach the database or the embedding model.
+	 */
+	private static <T> T unused(Class<T> type) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+			throw new UnsupportedOperationException(method.getName());
+		}));
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.oceanbase;
+
+import org.springframework.ai.document.Document;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fuses the ranked results of the vector and the full-text leg of a hybrid search.
+ * <ul>
+ * <li>{@code rrf}: reciprocal rank fusion, each leg contributes {@code 1 / (k + rank)}
+ * for every document it returned, with ranks starting at 1.</li>
+ * <li>{@code weighted}: the scores of each leg are min-max normalized to [0, 1] and
+ * combined as {@code vectorWeight * vector + (1 - vectorWeight) * fulltext}.</li>
+ * </ul>
+ * Ties keep the order in which documents were first seen, vector leg first.
+ *
+ * @since 1.1.0.0
+ */
+final class OceanBaseHybridFusion {
+
+	private final String fusionType;
+
+	private final int rrfK;
+
+	private final double vectorWeight;
+
+	OceanBaseHybridFusion(String fusionType, int rrfK, double vectorWeight) {
+		this.fusionType = fusionType;
+		this.rrfK = rrfK;
+		this.vectorWeight = vectorWeight;
+	}
+
+	/**
+	 * Fuses both legs.
+	 * @param vector the vector leg, best first
+	 * @param fulltext the full-text leg, best first
+	 * @param topK the number of documents to return
+	 * @return the fused documents, best first
+	 */
+	List<Document> fuse(Leg vector, Leg fulltext, int topK) {
+		Map<String, Document> documents = new LinkedHashMap<>();
+		Map<String, Double> scores = new HashMap<>();
+		if (OceanBaseVectorStore.FUSION_TYPE_WEIGHTED.equalsIgnoreCase(this.fusionType)) {
+			accumulateWeighted(vector, this.vectorWeight, documents, scores);
+			accumulateWeighted(fulltext, 1.0 - this.vectorWeight, documents, scores);
+		}
+		else {
+			accumulateReciprocalRanks(vector, documents, scores);
+			accumulateReciprocalRanks(fulltext, documents, scores);
+		}
+		return documents.values()
+			.stream()
+			.sorted(Comparator.comparingDouble((Document document) -> scores.get(document.getId())).reversed())
+			.limit(topK)
+			.toList();
+	}
+
+	/**
+	 * The vector leg for documents ordered by ascending distance. Lower distances are
+	 * better, so the scores are the negated distances. Documents without a distance are
+	 * moved behind all others with the lowest score of the leg, so they never outrank a
+	 * measured match.
+	 */
+	static Leg vectorLeg(List<Document> documents) {
+		List<Document> ordered = new ArrayList<>(documents.size());
+		List<Double> scores = new ArrayList<>(documents.size());
+		List<Document> unscored = new ArrayList<>();
+		double lowest = 0.0;
+		for (Document document : documents) {
+			if (document.getScore() == null) {
+				unscored.add(document);
+				continue;
+			}
+			double score = -document.getScore();
+			lowest = ordered.isEmpty() ? score : Math.min(lowest, score);
+			ordered.add(document);
+			scores.add(score);
+		}
+		for (Document document : unscored) {
+			ordered.add(document);
+			scores.add(lowest);
+		}
+		return new Leg(ordered, scores);
+	}
+
+	private void accumulateReciprocalRanks(Leg leg, Map<String, Document> documents, Map<String, Double> scores) {
+		for (int i = 0; i < leg.documents().size(); i++) {
+			Document document = leg.documents().get(i);
+			documents.putIfAbsent(document.getId(), document);
+			scores.merge(document.getId(), 1.0 / (this.rrfK + i + 1), Double::sum);
+		}
+	}
+
+	private static void accumulateWeighted(Leg leg, double weight, Map<String, Document> documents,
+			Map<String, Double> scores) {
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (double score : leg.scores()) {
+			min = Math.min(min, score);
+			max = Math.max(max, score);
+		}
+		for (int i = 0; i < leg.documents().size(); i++) {
+			Document document = leg.documents().get(i);
+			double normalized = (max > min) ? (leg.scores().get(i) - min) / (max - min) : 1.0;
+			documents.putIfAbsent(document.getId(), document);
+			scores.merge(document.getId(), weight * normalized, Double::sum);
+		}
+	}
+
+	/**
+	 * The results of one leg with a score per document where higher is better.
+	 */
+	record Leg(List<Document> documents, List<Double> scores) {
+
+		static final Leg EMPTY = new Leg(List.of(), List.of());
+
+	}
+
+}
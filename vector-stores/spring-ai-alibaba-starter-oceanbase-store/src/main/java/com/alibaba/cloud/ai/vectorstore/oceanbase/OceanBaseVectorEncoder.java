@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.oceanbase;
+
+/**
+ * Encodes embeddings into the {@code [v1,v2,...]} literal OceanBase accepts for
+ * {@code VECTOR} columns and distance functions. Components are appended to a
+ * {@link StringBuilder} sized up front, so no {@link Float} is boxed on the way.
+ *
+ * @since 1.1.0.0
+ */
+final class OceanBaseVectorEncoder {
+
+	/**
+	 * Enough room for the usual {@link Float#toString} output and the separator.
+	 */
+	private static final int CHARS_PER_COMPONENT = 12;
+
+	private OceanBaseVectorEncoder() {
+	}
+
+	static String encode(float[] vector) {
+		StringBuilder literal = new StringBuilder(2 + vector.length * CHARS_PER_COMPONENT);
+		literal.append('[');
+		for (int i = 0; i < vector.length; i++) {
+			if (i > 0) {
+				literal.append(',');
+			}
+			literal.append(vector[i]);
+		}
+		return literal.append(']').toString();
+	}
+
+}
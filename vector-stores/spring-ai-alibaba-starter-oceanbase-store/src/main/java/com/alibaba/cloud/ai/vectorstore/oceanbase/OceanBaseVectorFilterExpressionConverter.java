@@ -21,6 +21,8 @@ import org.springframework.ai.vectorstore.filter.Filter.Group;
 import org.springframework.ai.vectorstore.filter.Filter.Key;
 import org.springframework.ai.vectorstore.filter.converter.AbstractFilterExpressionConverter;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -36,6 +38,17 @@ public class OceanBaseVectorFilterExpressionConverter extends AbstractFilterExpr
 		"id", "embedding", "document", "metadata", "timestamp"
 	);
 
+	/**
+	 * Converts the expression to a WHERE clause with a {@code ?} placeholder for every
+	 * value, so that expressions of the same shape share one clause, and the values to
+	 * bind to the placeholders in order.
+	 */
+	public ParameterizedFilter convertToParameterized(Expression expression) {
+		List<Object> values = new ArrayList<>();
+		String clause = new ParameterizingConverter(values).convertExpression(expression);
+		return new ParameterizedFilter(clause, Collections.unmodifiableList(values));
+	}
+
 	@Override
 	protected void doExpression(Expression expression, StringBuilder context) {
 		if (expression.type() == Filter.ExpressionType.IN) {
@@ -143,4 +156,38 @@ public class OceanBaseVectorFilterExpressionConverter extends AbstractFilterExpr
 		context.append(")");
 	}
 
+	/**
+	 * A WHERE clause with placeholders and the values to bind to them.
+	 *
+	 * @param clause the clause, without the {@code WHERE} keyword
+	 * @param values the values of the placeholders, in order
+	 */
+	public record ParameterizedFilter(String clause, List<Object> values) {
+	}
+
+	/**
+	 * Collects the values instead of inlining them. {@code NULL} is kept inline, it
+	 * cannot be compared through a placeholder anyway.
+	 */
+	private static final class ParameterizingConverter extends OceanBaseVectorFilterExpressionConverter {
+
+		private final List<Object> values;
+
+		ParameterizingConverter(List<Object> values) {
+			this.values = values;
+		}
+
+		@Override
+		protected void doSingleValue(Object value, StringBuilder context) {
+			if (value == null) {
+				context.append("NULL");
+				return;
+			}
+			context.append("?");
+			this.values.add(value instanceof String || value instanceof Number || value instanceof Boolean ? value
+					: value.toString());
+		}
+
+	}
+
 }
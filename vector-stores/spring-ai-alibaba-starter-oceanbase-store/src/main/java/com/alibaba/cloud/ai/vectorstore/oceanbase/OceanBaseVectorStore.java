@@ -15,11 +15,15 @@
  */
 package com.alibaba.cloud.ai.vectorstore.oceanbase;
 
+import com.alibaba.cloud.ai.vectorstore.oceanbase.OceanBaseVectorFilterExpressionConverter.ParameterizedFilter;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
@@ -43,9 +47,22 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.IntStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.springframework.ai.vectorstore.SearchRequest.DEFAULT_TOP_K;
 
@@ -68,8 +85,36 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 	private static final Double DEFAULT_SIMILARITY_THRESHOLD = 0.0;
 	private static final int DEFAULT_DIMENSION = 384;
 
+	/**
+	 * Default number of rows sent per {@code executeBatch} call.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 500;
+
+	/**
+	 * Maximum number of generated search statements kept per store.
+	 */
+	private static final int SEARCH_SQL_CACHE_SIZE = 256;
+
+	private static final String SEARCH_VECTOR = "vector";
+	private static final String SEARCH_FULLTEXT = "fulltext";
+
 	public static final String HYBRID_SEARCH_TYPE_FULLTEXT = "fulltext";
 
+	public static final String FUSION_TYPE_RRF = "rrf";
+	public static final String FUSION_TYPE_WEIGHTED = "weighted";
+
+	public static final int DEFAULT_RRF_K = 60;
+	public static final double DEFAULT_VECTOR_WEIGHT = 0.7;
+	public static final Duration DEFAULT_HYBRID_SEARCH_TIMEOUT = Duration.ofSeconds(5);
+	public static final Duration DEFAULT_INDEX_REFRESH_INTERVAL = Duration.ofMinutes(5);
+
+	/**
+	 * Counts similarity searches that ran with an exact {@code LIMIT}, tagged with the
+	 * {@code reason}: {@code no_index} when no vector index was detected,
+	 * {@code approximate_failed} when the {@code APPROXIMATE LIMIT} query failed.
+	 */
+	public static final String EXACT_SEARCH_METER_NAME = "spring.ai.vectorstore.oceanbase.exact.searches";
+
 	public static final String INDEX_TYPE_HNSW = "HNSW";
 	public static final String INDEX_TYPE_IVF = "IVF";
 	public static final String INDEX_TYPE_FLAT = "FLAT";
@@ -84,6 +129,8 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 
 	public final FilterExpressionConverter filterExpressionConverter = new OceanBaseVectorFilterExpressionConverter();
 
+	private final OceanBaseVectorFilterExpressionConverter searchFilterConverter = new OceanBaseVectorFilterExpressionConverter();
+
 	private final String tableName;
 	private final Integer defaultTopK;
 	private final Double defaultSimilarityThreshold;
@@ -96,6 +143,20 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 	private final String indexName;
 	private final String fulltextIndexName;
 	private final boolean enableFulltext;
+	private final int batchSize;
+	private final String insertSql;
+	private final String deleteSql;
+	private final Map<SearchSqlKey, String> searchSqlCache;
+	private final OceanBaseHybridFusion hybridFusion;
+	private final Duration hybridSearchTimeout;
+	private final ExecutorService hybridSearchExecutor;
+	private final ExecutorService indexRefreshExecutor;
+	private final Duration indexRefreshInterval;
+	private final Counter noIndexSearches;
+	private final Counter approximateFailedSearches;
+	private final AtomicBoolean indexRefreshScheduled = new AtomicBoolean();
+	private volatile Boolean vectorIndexAvailable;
+	private volatile long indexCheckedAt;
 
 	protected OceanBaseVectorStore(Builder builder) {
 		super(builder);
@@ -113,12 +174,73 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 		this.indexName = generateVectorIndexName(builder.tableName);
 		this.fulltextIndexName = generateFulltextIndexName(builder.tableName);
 		this.enableFulltext = HYBRID_SEARCH_TYPE_FULLTEXT.equalsIgnoreCase(hybridSearchType);
+		this.batchSize = builder.batchSize;
+		this.insertSql = String.format("INSERT INTO %s (%s, %s, %s) VALUES (?, ?, ?)",
+			tableName, EMBEDDING_FIELD, DOCUMENT_FIELD, METADATA_FIELD);
+		this.deleteSql = String.format("DELETE FROM %s WHERE %s = ?", tableName, ID_FIELD);
+		this.hybridFusion = new OceanBaseHybridFusion(builder.fusionType, builder.rrfK, builder.vectorWeight);
+		this.hybridSearchTimeout = builder.hybridSearchTimeout;
+		this.hybridSearchExecutor = builder.hybridSearchExecutor != null ? builder.hybridSearchExecutor
+				: createHybridSearchExecutor();
+		this.indexRefreshExecutor = builder.indexRefreshExecutor != null ? builder.indexRefreshExecutor
+				: createIndexRefreshExecutor();
+		this.indexRefreshInterval = builder.indexRefreshInterval;
+		this.noIndexSearches = exactSearchCounter(builder.meterRegistry, "no_index");
+		this.approximateFailedSearches = exactSearchCounter(builder.meterRegistry, "approximate_failed");
+		this.searchSqlCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<SearchSqlKey, String> eldest) {
+				return size() > SEARCH_SQL_CACHE_SIZE;
+			}
+		});
 	}
 
 	public static Builder builder(String tableName, DataSource dataSource, EmbeddingModel embeddingModel) {
 		return new Builder(tableName, dataSource, embeddingModel);
 	}
 
+	/**
+	 * Bounded pool for the two legs of hybrid searches. Idle threads time out, so the pool
+	 * does not need to be shut down with the store. A saturated pool rejects legs rather
+	 * than running them on the caller, where they would ignore the search deadline.
+	 */
+	private static ExecutorService createHybridSearchExecutor() {
+		int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+		AtomicInteger threadCount = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(threads * 64), runnable -> {
+					Thread thread = new Thread(runnable, "oceanbase-hybrid-search-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Single thread for the background vector index probes, so that a probe never queues
+	 * behind or runs in place of search legs. It has no queue: only one probe is scheduled
+	 * at a time, and a probe that cannot start right away is retried on a later search.
+	 */
+	private static ExecutorService createIndexRefreshExecutor() {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+				runnable -> {
+					Thread thread = new Thread(runnable, "oceanbase-index-refresh");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private Counter exactSearchCounter(MeterRegistry meterRegistry, String reason) {
+		return Counter.builder(EXACT_SEARCH_METER_NAME)
+			.description("Similarity searches that ran without the vector index")
+			.tag("table", tableName)
+			.tag("reason", reason)
+			.register(meterRegistry);
+	}
+
 	/**
 	 * Generate vector index name based on table name.
 	 * Format: {tableName}_vidx
@@ -138,6 +260,71 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 	@Override
 	public void afterPropertiesSet() {
 		initializeDatabase();
+		refreshIndexCapability();
+	}
+
+	/**
+	 * Probes whether the embedding column has a vector index. Similarity searches use the
+	 * cached answer to pick {@code APPROXIMATE LIMIT} or an exact {@code LIMIT}; it is
+	 * probed again in the background once older than the refresh interval, and after a
+	 * search hit an error that hints at a schema change.
+	 */
+	public void refreshIndexCapability() {
+		boolean available = checkIndexExists(indexName) || hasVectorIndexOnColumn();
+		if (!Boolean.valueOf(available).equals(this.vectorIndexAvailable)) {
+			logger.debug("Vector index on table {} available: {}", tableName, available);
+		}
+		this.vectorIndexAvailable = available;
+		this.indexCheckedAt = System.nanoTime();
+	}
+
+	private boolean isVectorIndexAvailable() {
+		Boolean available = this.vectorIndexAvailable;
+		if (available == null) {
+			// not initialized through afterPropertiesSet
+			refreshIndexCapability();
+			return this.vectorIndexAvailable;
+		}
+		if (System.nanoTime() - this.indexCheckedAt > indexRefreshInterval.toNanos()) {
+			scheduleIndexRefresh();
+		}
+		return available;
+	}
+
+	private void scheduleIndexRefresh() {
+		if (!indexRefreshScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			indexRefreshExecutor.execute(() -> {
+				try {
+					refreshIndexCapability();
+				}
+				finally {
+					indexRefreshScheduled.set(false);
+				}
+			});
+		}
+		catch (RejectedExecutionException e) {
+			indexRefreshScheduled.set(false);
+			logger.debug("Vector index refresh rejected, will retry on a later search: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Whether the failure hints at a changed schema, e.g. a dropped index or table.
+	 */
+	private static boolean isSchemaError(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLSyntaxErrorException) {
+				return true;
+			}
+			if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+					&& sqlException.getSQLState().startsWith("42")) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	private void initializeDatabase() {
@@ -343,20 +530,25 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 		List<float[]> embeddings = this.embeddingModel.embed(documents, EmbeddingOptions.builder().build(),
 				this.batchingStrategy);
 
-		String sql = buildInsertSql();
 		try (Connection connection = dataSource.getConnection();
-				PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+				PreparedStatement pstmt = connection.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
 			for (int i = 0; i < documents.size(); i++) {
 				Document doc = documents.get(i);
-				String vectorString = convertEmbeddingToString(embeddings.get(i));
+				String vectorString = OceanBaseVectorEncoder.encode(embeddings.get(i));
 				String metadataJson = serializeMetadata(doc.getMetadata());
 
 				pstmt.setString(1, vectorString);
 				pstmt.setString(2, doc.getText());
 				pstmt.setString(3, metadataJson);
 				pstmt.addBatch();
+				// bound the size of a single round trip for large inputs
+				if ((i + 1) % batchSize == 0) {
+					pstmt.executeBatch();
+				}
+			}
+			if (documents.size() % batchSize != 0) {
+				pstmt.executeBatch();
 			}
-			pstmt.executeBatch();
 		}
 		catch (Exception e) {
 			logger.error("Failed to add documents", e);
@@ -364,11 +556,6 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 		}
 	}
 
-	private String buildInsertSql() {
-		return String.format("INSERT INTO %s (%s, %s, %s) VALUES (?, ?, ?)",
-			tableName, EMBEDDING_FIELD, DOCUMENT_FIELD, METADATA_FIELD);
-	}
-
 	private String serializeMetadata(Map<String, Object> metadata) {
 		if (metadata == null || metadata.isEmpty()) {
 			return "{}";
@@ -382,19 +569,12 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 		}
 	}
 
-	private String convertEmbeddingToString(float[] embedding) {
-		return Arrays.toString(IntStream.range(0, embedding.length)
-			.mapToObj(i -> embedding[i])
-			.toArray());
-	}
-
 	@Override
 	public void doDelete(List<String> ids) {
 		if (CollectionUtils.isEmpty(ids)) {
 			return;
 		}
-		String sql = String.format("DELETE FROM %s WHERE %s = ?", tableName, ID_FIELD);
-		executeBatchUpdate(sql, ids);
+		executeBatchUpdate(deleteSql, ids);
 	}
 
 	@Override
@@ -420,20 +600,27 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 		if (enableFulltext && searchRequest.getQuery() != null) {
 			return doHybridSearchWithFulltext(searchRequest);
 		}
-		return doVectorSimilaritySearch(searchRequest);
+		return doVectorSimilaritySearch(searchRequest, convertQueryToVectorBytes(searchRequest.getQuery()));
 	}
 
-	private List<Document> doVectorSimilaritySearch(SearchRequest searchRequest) {
-		boolean indexExists = checkIndexExists(indexName) || hasVectorIndexOnColumn();
-		boolean useApproximateLimit = indexExists;
+	private List<Document> doVectorSimilaritySearch(SearchRequest searchRequest, String vector) {
+		boolean useApproximateLimit = isVectorIndexAvailable();
+		if (!useApproximateLimit) {
+			noIndexSearches.increment();
+		}
 
 		try {
-			return executeVectorSimilaritySearch(searchRequest, useApproximateLimit);
+			return executeVectorSimilaritySearch(searchRequest, vector, useApproximateLimit);
 		}
 		catch (Exception e) {
 			if (useApproximateLimit) {
 				logger.info("APPROXIMATE LIMIT failed (index may not exist), retrying with regular LIMIT: {}", e.getMessage());
-				return executeVectorSimilaritySearch(searchRequest, false);
+				approximateFailedSearches.increment();
+				scheduleIndexRefresh();
+				return executeVectorSimilaritySearch(searchRequest, vector, false);
+			}
+			if (isSchemaError(e)) {
+				scheduleIndexRefresh();
 			}
 			logger.error("Failed to perform similarity search", e);
 			throw new RuntimeException("Failed to perform similarity search in OceanBase", e);
@@ -441,26 +628,28 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 	}
 
 
-	private List<Document> executeVectorSimilaritySearch(SearchRequest searchRequest, boolean useApproximateLimit) {
-		String distanceFunc = getDistanceFunctionName(indexMetricType);
-		StringBuilder sql = buildVectorSimilaritySearchSql(searchRequest, distanceFunc, useApproximateLimit);
+	private List<Document> executeVectorSimilaritySearch(SearchRequest searchRequest, String vector,
+			boolean useApproximateLimit) {
+		ParameterizedFilter filter = parameterize(searchRequest.getFilterExpression());
+		String sql = getSearchSql(SEARCH_VECTOR, filter, useApproximateLimit);
 
 		List<Document> similarDocuments = new ArrayList<>();
 		try (Connection connection = dataSource.getConnection();
-				PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
-			String vector = convertQueryToVectorBytes(searchRequest.getQuery());
-			pstmt.setString(1, vector);
-			pstmt.setString(2, vector);
-			pstmt.setInt(3, searchRequest.getTopK());
+				PreparedStatement pstmt = connection.prepareStatement(sql)) {
+			int index = 1;
+			pstmt.setString(index++, vector);
+			index = bindFilterValues(pstmt, index, filter);
+			pstmt.setString(index++, vector);
+			pstmt.setInt(index, searchRequest.getTopK());
 
 			String limitType = useApproximateLimit ? "APPROXIMATE LIMIT" : "LIMIT";
-			logger.info("Executing similarity search SQL with {}: {}", limitType, sql.toString());
+			logger.debug("Executing similarity search SQL with {}: {}", limitType, sql);
 			ResultSet rs = pstmt.executeQuery();
 			while (rs.next()) {
 				Document doc = extractDocumentFromResultSet(rs);
 				similarDocuments.add(doc);
 			}
-			logger.info("Found {} documents in similarity search", similarDocuments.size());
+			logger.debug("Found {} documents in similarity search", similarDocuments.size());
 		}
 		catch (Exception e) {
 			logger.error("Failed to perform similarity search", e);
@@ -469,110 +658,202 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 		return similarDocuments;
 	}
 
-	private StringBuilder buildVectorSimilaritySearchSql(SearchRequest searchRequest, String distanceFunc, boolean useApproximateLimit) {
+	/**
+	 * Returns the search statement for the shape of the filter expression, see
+	 * {@link #getSearchSql(String, ParameterizedFilter, boolean)}.
+	 */
+	String getSearchSql(String searchType, Filter.Expression filterExpression, boolean useApproximateLimit) {
+		return getSearchSql(searchType, parameterize(filterExpression), useApproximateLimit);
+	}
+
+	/**
+	 * Returns the search statement for the given shape, generating it on first use. The
+	 * distance metric is fixed per store, and the filter values are bound as parameters,
+	 * so the search type, the limit flavor and the filter clause with its placeholders
+	 * identify a statement.
+	 */
+	private String getSearchSql(String searchType, ParameterizedFilter filter, boolean useApproximateLimit) {
+		String filterClause = filter != null ? filter.clause() : null;
+		SearchSqlKey key = new SearchSqlKey(searchType, filterClause, useApproximateLimit);
+		String sql = searchSqlCache.get(key);
+		if (sql == null) {
+			String distanceFunc = getDistanceFunctionName(indexMetricType);
+			sql = SEARCH_FULLTEXT.equals(searchType) ? buildFulltextSearchSql(filterClause, distanceFunc)
+					: buildVectorSimilaritySearchSql(filterClause, distanceFunc, useApproximateLimit);
+			searchSqlCache.put(key, sql);
+		}
+		return sql;
+	}
+
+	private ParameterizedFilter parameterize(Filter.Expression filterExpression) {
+		return filterExpression != null ? searchFilterConverter.convertToParameterized(filterExpression) : null;
+	}
+
+	/**
+	 * Binds the filter values starting at the given parameter index.
+	 * @return the index of the next parameter
+	 */
+	private static int bindFilterValues(PreparedStatement pstmt, int index, ParameterizedFilter filter)
+			throws SQLException {
+		if (filter != null) {
+			for (Object value : filter.values()) {
+				pstmt.setObject(index++, value);
+			}
+		}
+		return index;
+	}
+
+	private String buildVectorSimilaritySearchSql(String filterClause, String distanceFunc,
+			boolean useApproximateLimit) {
 		StringBuilder sql = new StringBuilder();
 		sql.append("SELECT ").append(ID_FIELD).append(", ").append(EMBEDDING_FIELD).append(", ");
 		sql.append(DOCUMENT_FIELD).append(", ").append(METADATA_FIELD).append(", ").append(TIMESTAMP_FIELD).append(", ");
 		sql.append(distanceFunc).append("(").append(EMBEDDING_FIELD).append(", ?) as distance ");
 		sql.append("FROM ").append(tableName);
 
-		if (searchRequest.getFilterExpression() != null) {
-			String filterExpr = filterExpressionConverter.convertExpression(searchRequest.getFilterExpression());
-			sql.append(" WHERE ").append(filterExpr);
+		if (filterClause != null) {
+			sql.append(" WHERE ").append(filterClause);
 		}
 
 		sql.append(" ORDER BY ").append(distanceFunc).append("(").append(EMBEDDING_FIELD).append(", ?) ASC ");
 
 		if (useApproximateLimit) {
 			sql.append("APPROXIMATE LIMIT ?");
-			logger.info("Using APPROXIMATE LIMIT for similarity search");
 		}
 		else {
 			sql.append("LIMIT ?");
-			logger.info("Using regular LIMIT for similarity search");
 		}
 
-		return sql;
+		return sql.toString();
 	}
 
+	/**
+	 * Runs the vector and the full-text leg concurrently under a shared deadline and
+	 * fuses their rankings. A leg that fails, misses the deadline or is rejected by a
+	 * saturated pool is left out, so the search only fails when both legs do. If the pool
+	 * rejects both legs, a plain vector search runs on the caller instead.
+	 */
 	private List<Document> doHybridSearchWithFulltext(SearchRequest searchRequest) {
-		List<Document> vectorResults = doVectorSimilaritySearch(SearchRequest.builder()
+		String vector = convertQueryToVectorBytes(searchRequest.getQuery());
+		SearchRequest legRequest = SearchRequest.builder()
 			.query(searchRequest.getQuery())
 			.topK(searchRequest.getTopK() * 2)
 			.filterExpression(searchRequest.getFilterExpression())
-			.build());
+			.build();
 
-		List<Document> fulltextResults = doFulltextSearch(searchRequest);
-		return combineHybridResults(vectorResults, fulltextResults, searchRequest.getTopK());
+		long deadline = System.nanoTime() + hybridSearchTimeout.toNanos();
+		Future<OceanBaseHybridFusion.Leg> vectorLeg = submitLeg(
+				() -> OceanBaseHybridFusion.vectorLeg(doVectorSimilaritySearch(legRequest, vector)));
+		Future<OceanBaseHybridFusion.Leg> fulltextLeg = submitLeg(() -> doFulltextSearch(legRequest, vector));
+		if (vectorLeg == null && fulltextLeg == null) {
+			logger.warn("Hybrid search pool is saturated, falling back to a vector search");
+			return doVectorSimilaritySearch(searchRequest, vector);
+		}
+
+		Exception vectorFailure = null;
+		Exception fulltextFailure = null;
+		OceanBaseHybridFusion.Leg vectorResults = OceanBaseHybridFusion.Leg.EMPTY;
+		OceanBaseHybridFusion.Leg fulltextResults = OceanBaseHybridFusion.Leg.EMPTY;
+		try {
+			vectorResults = awaitLeg(vectorLeg, deadline);
+		}
+		catch (Exception e) {
+			vectorFailure = e;
+			logger.warn("Vector leg of hybrid search failed, using full-text results only: {}", e.toString());
+		}
+		try {
+			fulltextResults = awaitLeg(fulltextLeg, deadline);
+		}
+		catch (Exception e) {
+			fulltextFailure = e;
+			logger.warn("Full-text leg of hybrid search failed, using vector results only: {}", e.toString());
+		}
+		if (vectorFailure != null && fulltextFailure != null) {
+			RuntimeException failure = new RuntimeException("Failed to perform hybrid search in OceanBase",
+					vectorFailure);
+			failure.addSuppressed(fulltextFailure);
+			throw failure;
+		}
+		return hybridFusion.fuse(vectorResults, fulltextResults, searchRequest.getTopK());
 	}
 
-	private List<Document> doFulltextSearch(SearchRequest searchRequest) {
-		String distanceFunc = getDistanceFunctionName(indexMetricType);
+	/**
+	 * Submits a leg, or returns {@code null} if the pool rejects it.
+	 */
+	private Future<OceanBaseHybridFusion.Leg> submitLeg(Callable<OceanBaseHybridFusion.Leg> leg) {
+		try {
+			return hybridSearchExecutor.submit(leg);
+		}
+		catch (RejectedExecutionException e) {
+			return null;
+		}
+	}
+
+	private static OceanBaseHybridFusion.Leg awaitLeg(Future<OceanBaseHybridFusion.Leg> leg, long deadline)
+			throws Exception {
+		if (leg == null) {
+			throw new RejectedExecutionException("Hybrid search pool is saturated");
+		}
+		try {
+			return leg.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException e) {
+			leg.cancel(true);
+			throw e;
+		}
+		catch (InterruptedException e) {
+			leg.cancel(true);
+			Thread.currentThread().interrupt();
+			throw e;
+		}
+		catch (ExecutionException e) {
+			throw (e.getCause() instanceof Exception cause) ? cause : e;
+		}
+	}
+
+	private String buildFulltextSearchSql(String filterClause, String distanceFunc) {
 		StringBuilder sql = new StringBuilder();
 		sql.append("SELECT ").append(ID_FIELD).append(", ").append(EMBEDDING_FIELD).append(", ");
 		sql.append(DOCUMENT_FIELD).append(", ").append(METADATA_FIELD).append(", ").append(TIMESTAMP_FIELD).append(", ");
-		sql.append(distanceFunc).append("(").append(EMBEDDING_FIELD).append(", ?) as distance ");
+		sql.append(distanceFunc).append("(").append(EMBEDDING_FIELD).append(", ?) as distance, ");
+		sql.append("MATCH(").append(DOCUMENT_FIELD).append(") AGAINST(? IN NATURAL LANGUAGE MODE) as relevance ");
 		sql.append("FROM ").append(tableName);
 		sql.append(" WHERE MATCH(").append(DOCUMENT_FIELD).append(") AGAINST(? IN NATURAL LANGUAGE MODE)");
 
-		if (searchRequest.getFilterExpression() != null) {
-			String filterExpr = filterExpressionConverter.convertExpression(searchRequest.getFilterExpression());
-			sql.append(" AND ").append(filterExpr);
+		if (filterClause != null) {
+			sql.append(" AND ").append(filterClause);
 		}
 
-		sql.append(" ORDER BY ").append(distanceFunc).append("(").append(EMBEDDING_FIELD).append(", ?) ASC ");
-		sql.append("LIMIT ?");
+		sql.append(" ORDER BY relevance DESC LIMIT ?");
+		return sql.toString();
+	}
+
+	private OceanBaseHybridFusion.Leg doFulltextSearch(SearchRequest searchRequest, String vector) {
+		ParameterizedFilter filter = parameterize(searchRequest.getFilterExpression());
+		String sql = getSearchSql(SEARCH_FULLTEXT, filter, false);
 
 		List<Document> results = new ArrayList<>();
+		List<Double> relevances = new ArrayList<>();
 		try (Connection connection = dataSource.getConnection();
-				PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
-			String vector = convertQueryToVectorBytes(searchRequest.getQuery());
+				PreparedStatement pstmt = connection.prepareStatement(sql)) {
 			pstmt.setString(1, vector);
 			pstmt.setString(2, searchRequest.getQuery());
-			pstmt.setString(3, vector);
-			pstmt.setInt(4, searchRequest.getTopK() * 2);
+			pstmt.setString(3, searchRequest.getQuery());
+			int index = bindFilterValues(pstmt, 4, filter);
+			pstmt.setInt(index, searchRequest.getTopK());
 
 			ResultSet rs = pstmt.executeQuery();
 			while (rs.next()) {
 				Document doc = extractDocumentFromResultSet(rs);
 				results.add(doc);
+				relevances.add(rs.getDouble("relevance"));
 			}
 		}
 		catch (Exception e) {
 			logger.error("Failed to perform fulltext search", e);
+			throw new RuntimeException("Failed to perform fulltext search in OceanBase", e);
 		}
-		return results;
-	}
-
-	private List<Document> combineHybridResults(List<Document> vectorResults, List<Document> fulltextResults, int topK) {
-		Map<String, Document> docMap = new LinkedHashMap<>();
-		Map<String, Double> scores = new HashMap<>();
-
-		for (int i = 0; i < vectorResults.size(); i++) {
-			Document doc = vectorResults.get(i);
-			String id = doc.getId();
-			docMap.put(id, doc);
-			double score = 1.0 - (i / (double) Math.max(vectorResults.size(), 1));
-			scores.put(id, scores.getOrDefault(id, 0.0) + score * 0.7);
-		}
-
-		for (int i = 0; i < fulltextResults.size(); i++) {
-			Document doc = fulltextResults.get(i);
-			String id = doc.getId();
-			if (!docMap.containsKey(id)) {
-				docMap.put(id, doc);
-			}
-			double score = 1.0 - (i / (double) Math.max(fulltextResults.size(), 1));
-			scores.put(id, scores.getOrDefault(id, 0.0) + score * 0.3);
-		}
-
-		return docMap.values().stream()
-			.sorted((d1, d2) -> Double.compare(
-				scores.getOrDefault(d2.getId(), 0.0),
-				scores.getOrDefault(d1.getId(), 0.0)
-			))
-			.limit(topK)
-			.toList();
+		return new OceanBaseHybridFusion.Leg(results, relevances);
 	}
 
 	private String getDistanceFunctionName(String metricType) {
@@ -633,7 +914,7 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 	}
 
 	private String convertQueryToVectorBytes(String query) {
-		return Arrays.toString(this.embeddingModel.embed(query));
+		return OceanBaseVectorEncoder.encode(this.embeddingModel.embed(query));
 	}
 
 	private void executeUpdate(String sql) {
@@ -671,11 +952,16 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 				if (!autoCommit) {
 					connection.setAutoCommit(true);
 				}
-				for (String param : params) {
-					pstmt.setString(1, param);
+				for (int i = 0; i < params.size(); i++) {
+					pstmt.setString(1, params.get(i));
 					pstmt.addBatch();
+					if ((i + 1) % batchSize == 0) {
+						pstmt.executeBatch();
+					}
+				}
+				if (params.size() % batchSize != 0) {
+					pstmt.executeBatch();
 				}
-				pstmt.executeBatch();
 			}
 			finally {
 				if (!autoCommit) {
@@ -696,6 +982,12 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 			.dimensions(this.embeddingModel.dimensions());
 	}
 
+	/**
+	 * Identifies a generated search statement.
+	 */
+	private record SearchSqlKey(String searchType, String filterClause, boolean approximateLimit) {
+	}
+
 	public static class Builder extends AbstractVectorStoreBuilder<Builder> {
 
 		private final String tableName;
@@ -706,6 +998,15 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 		private String hybridSearchType;
 		private String indexType = INDEX_TYPE_HNSW;
 		private String indexMetricType = METRIC_TYPE_L2;
+		private int batchSize = DEFAULT_BATCH_SIZE;
+		private String fusionType = FUSION_TYPE_RRF;
+		private int rrfK = DEFAULT_RRF_K;
+		private double vectorWeight = DEFAULT_VECTOR_WEIGHT;
+		private Duration hybridSearchTimeout = DEFAULT_HYBRID_SEARCH_TIMEOUT;
+		private ExecutorService hybridSearchExecutor;
+		private ExecutorService indexRefreshExecutor;
+		private Duration indexRefreshInterval = DEFAULT_INDEX_REFRESH_INTERVAL;
+		private MeterRegistry meterRegistry = Metrics.globalRegistry;
 
 		private Builder(String tableName, DataSource dataSource, EmbeddingModel embeddingModel) {
 			super(embeddingModel);
@@ -738,6 +1039,116 @@ public class OceanBaseVectorStore extends AbstractObservationVectorStore impleme
 			return this;
 		}
 
+		/**
+		 * Sets the number of rows sent per {@code executeBatch} call when adding or
+		 * deleting documents.
+		 * @param batchSize the batch size, at least 1
+		 * @return the builder instance
+		 */
+		public Builder batchSize(int batchSize) {
+			Assert.isTrue(batchSize > 0, "The batch size should be positive value.");
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		/**
+		 * Sets how hybrid search fuses the vector and the full-text ranking, either
+		 * {@link #FUSION_TYPE_RRF} (default) or {@link #FUSION_TYPE_WEIGHTED}.
+		 * @param fusionType the fusion type
+		 * @return the builder instance
+		 */
+		public Builder fusionType(String fusionType) {
+			Assert.isTrue(FUSION_TYPE_RRF.equalsIgnoreCase(fusionType) || FUSION_TYPE_WEIGHTED.equalsIgnoreCase(fusionType),
+					"The fusion type should be rrf or weighted.");
+			this.fusionType = fusionType;
+			return this;
+		}
+
+		/**
+		 * Sets the rank constant of reciprocal rank fusion, larger values flatten the
+		 * influence of the top ranks.
+		 * @param rrfK the rank constant, at least 1
+		 * @return the builder instance
+		 */
+		public Builder rrfK(int rrfK) {
+			Assert.isTrue(rrfK > 0, "The rrfK should be positive value.");
+			this.rrfK = rrfK;
+			return this;
+		}
+
+		/**
+		 * Sets the weight of the vector ranking for weighted fusion, the full-text ranking
+		 * gets the rest.
+		 * @param vectorWeight the weight in range [0.0:1.0]
+		 * @return the builder instance
+		 */
+		public Builder vectorWeight(double vectorWeight) {
+			Assert.isTrue(vectorWeight >= 0.0 && vectorWeight <= 1.0, "The vector weight must be in range [0.0:1.0].");
+			this.vectorWeight = vectorWeight;
+			return this;
+		}
+
+		/**
+		 * Sets the deadline shared by both legs of a hybrid search.
+		 * @param hybridSearchTimeout the timeout
+		 * @return the builder instance
+		 */
+		public Builder hybridSearchTimeout(Duration hybridSearchTimeout) {
+			Assert.isTrue(hybridSearchTimeout != null && !hybridSearchTimeout.isNegative() && !hybridSearchTimeout.isZero(),
+					"The hybrid search timeout should be positive.");
+			this.hybridSearchTimeout = hybridSearchTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets the executor running the legs of hybrid searches. Defaults to a bounded
+		 * pool with one thread per processor.
+		 * @param hybridSearchExecutor the executor
+		 * @return the builder instance
+		 */
+		public Builder hybridSearchExecutor(ExecutorService hybridSearchExecutor) {
+			Assert.notNull(hybridSearchExecutor, "The hybrid search executor must not be null");
+			this.hybridSearchExecutor = hybridSearchExecutor;
+			return this;
+		}
+
+		/**
+		 * Sets the executor running the background vector index probes. Defaults to a
+		 * single daemon thread.
+		 * @param indexRefreshExecutor the executor
+		 * @return the builder instance
+		 */
+		public Builder indexRefreshExecutor(ExecutorService indexRefreshExecutor) {
+			Assert.notNull(indexRefreshExecutor, "The index refresh executor must not be null");
+			this.indexRefreshExecutor = indexRefreshExecutor;
+			return this;
+		}
+
+		/**
+		 * Sets how long the detected vector index capability is trusted before it is
+		 * probed again in the background.
+		 * @param indexRefreshInterval the refresh interval
+		 * @return the builder instance
+		 */
+		public Builder indexRefreshInterval(Duration indexRefreshInterval) {
+			Assert.isTrue(indexRefreshInterval != null && !indexRefreshInterval.isNegative(),
+					"The index refresh interval must not be negative.");
+			this.indexRefreshInterval = indexRefreshInterval;
+			return this;
+		}
+
+		/**
+		 * Sets the registry for the exact search counter. Defaults to
+		 * {@link Metrics#globalRegistry}.
+		 * @param meterRegistry the meter registry
+		 * @return the builder instance
+		 */
+		public Builder meterRegistry(MeterRegistry meterRegistry) {
+			Assert.notNull(meterRegistry, "The meter registry must not be null");
+			this.meterRegistry = meterRegistry;
+			return this;
+		}
+
 		@Override
 		public OceanBaseVectorStore build() {
 			try {
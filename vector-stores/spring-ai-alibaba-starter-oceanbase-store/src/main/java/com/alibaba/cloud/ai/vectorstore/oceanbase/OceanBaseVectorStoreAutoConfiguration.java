@@ -28,6 +28,8 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 
 import javax.sql.DataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.micrometer.observation.ObservationRegistry;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
@@ -66,12 +68,13 @@ public class OceanBaseVectorStoreAutoConfiguration {
 	public OceanBaseVectorStore oceanBaseVectorStore(DataSource dataSource, EmbeddingModel embeddingModel,
 			OceanBaseVectorStoreProperties properties, ObjectProvider<ObservationRegistry> observationRegistry,
 			ObjectProvider<VectorStoreObservationConvention> customObservationConvention,
-			BatchingStrategy batchingStrategy) {
+			BatchingStrategy batchingStrategy, ObjectProvider<MeterRegistry> meterRegistry) {
 
 		var builder = OceanBaseVectorStore.builder(properties.getTableName(), dataSource, embeddingModel)
 			.batchingStrategy(batchingStrategy)
 			.observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
-			.customObservationConvention(customObservationConvention.getIfAvailable(() -> null));
+			.customObservationConvention(customObservationConvention.getIfAvailable(() -> null))
+			.meterRegistry(meterRegistry.getIfUnique(() -> Metrics.globalRegistry));
 
 		if (properties.getDefaultTopK() >= 0) {
 			builder.defaultTopK(properties.getDefaultTopK());
@@ -89,6 +92,30 @@ public class OceanBaseVectorStoreAutoConfiguration {
 			builder.hybridSearchType(properties.getHybridSearchType());
 		}
 
+		if (properties.getBatchSize() != null) {
+			builder.batchSize(properties.getBatchSize());
+		}
+
+		if (properties.getFusionType() != null) {
+			builder.fusionType(properties.getFusionType());
+		}
+
+		if (properties.getRrfK() != null) {
+			builder.rrfK(properties.getRrfK());
+		}
+
+		if (properties.getVectorWeight() != null) {
+			builder.vectorWeight(properties.getVectorWeight());
+		}
+
+		if (properties.getHybridSearchTimeout() != null) {
+			builder.hybridSearchTimeout(properties.getHybridSearchTimeout());
+		}
+
+		if (properties.getIndexRefreshInterval() != null) {
+			builder.indexRefreshInterval(properties.getIndexRefreshInterval());
+		}
+
 		return builder.build();
 	}
 
@@ -17,6 +17,8 @@ package com.alibaba.cloud.ai.vectorstore.oceanbase;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for OceanBase Vector Store.
  *
@@ -42,6 +44,19 @@ public class OceanBaseVectorStoreProperties {
 	private Integer dimension;
 
 	private String hybridSearchType;
+
+	private Integer batchSize;
+
+	private String fusionType;
+
+	private Integer rrfK;
+
+	private Double vectorWeight;
+
+	private Duration hybridSearchTimeout;
+
+	private Duration indexRefreshInterval;
+
 	public String getUrl() {
 		return url;
 	}
@@ -106,4 +121,52 @@ public class OceanBaseVectorStoreProperties {
 		this.hybridSearchType = hybridSearchType;
 	}
 
+	public Integer getBatchSize() {
+		return batchSize;
+	}
+
+	public void setBatchSize(Integer batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	public String getFusionType() {
+		return fusionType;
+	}
+
+	public void setFusionType(String fusionType) {
+		this.fusionType = fusionType;
+	}
+
+	public Integer getRrfK() {
+		return rrfK;
+	}
+
+	public void setRrfK(Integer rrfK) {
+		this.rrfK = rrfK;
+	}
+
+	public Double getVectorWeight() {
+		return vectorWeight;
+	}
+
+	public void setVectorWeight(Double vectorWeight) {
+		this.vectorWeight = vectorWeight;
+	}
+
+	public Duration getHybridSearchTimeout() {
+		return hybridSearchTimeout;
+	}
+
+	public void setHybridSearchTimeout(Duration hybridSearchTimeout) {
+		this.hybridSearchTimeout = hybridSearchTimeout;
+	}
+
+	public Duration getIndexRefreshInterval() {
+		return indexRefreshInterval;
+	}
+
+	public void setIndexRefreshInterval(Duration indexRefreshInterval) {
+		this.indexRefreshInterval = indexRefreshInterval;
+	}
+
 }
@@ -0,0 +1,395 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.oceanbase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.filter.Filter;
+import org.springframework.ai.vectorstore.filter.FilterExpressionBuilder;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link OceanBaseVectorStore} against a mocked {@link DataSource}.
+ *
+ * @since 1.1.0.0
+ */
+class OceanBaseVectorStoreTests {
+
+	private DataSource dataSource;
+
+	private Connection connection;
+
+	private PreparedStatement statement;
+
+	private EmbeddingModel embeddingModel;
+
+	private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@BeforeEach
+	void setUp() throws Exception {
+		this.dataSource = mock(DataSource.class);
+		this.connection = mock(Connection.class);
+		this.statement = mock(PreparedStatement.class);
+		this.embeddingModel = mock(EmbeddingModel.class);
+		ResultSet resultSet = mock(ResultSet.class);
+		when(this.dataSource.getConnection()).thenReturn(this.connection);
+		when(this.connection.getAutoCommit()).thenReturn(true);
+		when(this.connection.prepareStatement(anyString())).thenReturn(this.statement);
+		when(this.connection.prepareStatement(anyString(), anyInt())).thenReturn(this.statement);
+		when(this.statement.executeQuery()).thenReturn(resultSet);
+		when(this.embeddingModel.embed(anyString())).thenReturn(new float[] { 1f, 0.5f });
+		when(this.embeddingModel.embed(anyList(), any(), any())).thenAnswer(invocation -> {
+			List<Document> documents = invocation.getArgument(0);
+			return documents.stream().map(document -> new float[] { 1f, 0.5f }).toList();
+		});
+	}
+
+	@Test
+	void addSendsRowsInBoundedBatches() throws Exception {
+		OceanBaseVectorStore vectorStore = vectorStore().batchSize(2).build();
+
+		vectorStore.doAdd(IntStream.range(0, 5)
+			.mapToObj(i -> new Document("doc-" + i, "text-" + i, Map.of("index", i)))
+			.toList());
+
+		verify(this.statement, times(5)).setString(1, "[1.0,0.5]");
+		verify(this.statement, times(5)).addBatch();
+		verify(this.statement, times(3)).executeBatch();
+	}
+
+	@Test
+	void deleteSendsRowsInBoundedBatches() throws Exception {
+		OceanBaseVectorStore vectorStore = vectorStore().batchSize(2).build();
+
+		vectorStore.doDelete(List.of("1", "2", "3", "4"));
+
+		verify(this.connection).prepareStatement("DELETE FROM vectors WHERE id = ?");
+		verify(this.statement, times(2)).executeBatch();
+	}
+
+	@Test
+	void searchReusesGeneratedSql() throws Exception {
+		OceanBaseVectorStore vectorStore = vectorStore().build();
+		Filter.Expression filter = new FilterExpressionBuilder().eq("category", "framework").build();
+
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").filterExpression(filter).build());
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("ai").filterExpression(filter).build());
+
+		String sql = vectorStore.getSearchSql("vector", filter, false);
+		assertThat(vectorStore.getSearchSql("vector", new FilterExpressionBuilder().eq("category", "framework").build(),
+				false))
+			.isSameAs(sql);
+		assertThat(vectorStore.getSearchSql("vector", filter, true)).isNotEqualTo(sql).endsWith("APPROXIMATE LIMIT ?");
+		assertThat(sql).contains(" WHERE JSON_UNQUOTE(JSON_EXTRACT(metadata, '$.category'))").endsWith(" LIMIT ?");
+		verify(this.connection, times(2)).prepareStatement(sql);
+		verify(this.statement, times(4)).setString(anyInt(), eq("[1.0,0.5]"));
+	}
+
+	@Test
+	void searchBindsFilterValuesAsParameters() throws Exception {
+		OceanBaseVectorStore vectorStore = vectorStore().build();
+		FilterExpressionBuilder b = new FilterExpressionBuilder();
+
+		vectorStore.doSimilaritySearch(SearchRequest.builder()
+			.query("spring")
+			.topK(3)
+			.filterExpression(b.and(b.eq("category", "framework"), b.gte("year", 2020)).build())
+			.build());
+		vectorStore.doSimilaritySearch(SearchRequest.builder()
+			.query("spring")
+			.topK(3)
+			.filterExpression(b.and(b.eq("category", "o'reilly"), b.gte("year", 2024)).build())
+			.build());
+
+		String sql = vectorStore.getSearchSql("vector", b.and(b.eq("category", "any"), b.gte("year", 0)).build(), false);
+		assertThat(sql).contains(" = ?").contains(" >= ?").doesNotContain("framework").doesNotContain("2020");
+		verify(this.connection, times(2)).prepareStatement(sql);
+		verify(this.statement).setObject(2, "framework");
+		verify(this.statement).setObject(3, 2020);
+		verify(this.statement).setObject(2, "o'reilly");
+		verify(this.statement).setObject(3, 2024);
+		verify(this.statement, times(2)).setString(4, "[1.0,0.5]");
+		verify(this.statement, times(2)).setInt(5, 3);
+	}
+
+	@Test
+	void encodesVectorWithoutSeparatorPadding() {
+		assertThat(OceanBaseVectorEncoder.encode(new float[] { 1f, -0.25f, 1.0E-5f })).isEqualTo("[1.0,-0.25,1.0E-5]");
+		assertThat(OceanBaseVectorEncoder.encode(new float[0])).isEqualTo("[]");
+	}
+
+	@Test
+	void hybridSearchFusesReciprocalRanks() throws Exception {
+		stubHybridLegs(resultSet(List.of("a", "b", "c"), List.of(0.1, 0.2, 0.3)),
+				resultSet(List.of("c", "d"), List.of(2.0, 1.0)));
+		OceanBaseVectorStore vectorStore = vectorStore().hybridSearchType("fulltext").build();
+
+		List<Document> results = vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").topK(3).build());
+
+		// c is ranked by both legs, b and d tie on 1 / (60 + 2) and b was seen first
+		assertThat(results).extracting(Document::getId).containsExactly("c", "a", "b");
+		verify(this.embeddingModel).embed("spring");
+	}
+
+	@Test
+	void hybridSearchFusesWeightedNormalizedScores() throws Exception {
+		stubHybridLegs(resultSet(List.of("a", "b", "c"), List.of(0.1, 0.2, 0.3)),
+				resultSet(List.of("c", "d"), List.of(2.0, 1.0)));
+		OceanBaseVectorStore vectorStore = vectorStore().hybridSearchType("fulltext")
+			.fusionType("weighted")
+			.vectorWeight(0.5)
+			.build();
+
+		List<Document> results = vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").topK(4).build());
+
+		assertThat(results).extracting(Document::getId).containsExactly("a", "c", "b", "d");
+	}
+
+	@Test
+	void hybridSearchReturnsOtherLegWhenOneTimesOut() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		ResultSet slow = mock(ResultSet.class);
+		when(slow.next()).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS) && false);
+		stubHybridLegs(resultSet(List.of("a", "b"), List.of(0.1, 0.2)), slow);
+		OceanBaseVectorStore vectorStore = vectorStore().hybridSearchType("fulltext")
+			.hybridSearchTimeout(Duration.ofMillis(200))
+			.build();
+
+		long start = System.nanoTime();
+		List<Document> results = vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+		release.countDown();
+
+		assertThat(results).extracting(Document::getId).containsExactly("a", "b");
+		assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+	}
+
+	@Test
+	void hybridSearchRanksDocumentsWithoutDistanceLast() throws Exception {
+		stubHybridLegs(resultSet(List.of("x", "a", "b"), Arrays.asList(null, 0.1, 0.2)),
+				resultSet(List.of(), List.of()));
+		OceanBaseVectorStore vectorStore = vectorStore().hybridSearchType("fulltext")
+			.fusionType("weighted")
+			.build();
+
+		List<Document> results = vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+
+		assertThat(results).extracting(Document::getId).containsExactly("a", "b", "x");
+	}
+
+	@Test
+	void hybridSearchRunsSingleLegWhenPoolIsSaturated() throws Exception {
+		ExecutorService executor = mock(ExecutorService.class);
+		when(executor.submit(any(Callable.class))).thenThrow(new RejectedExecutionException("saturated"));
+		stubHybridLegs(resultSet(List.of("a", "b"), List.of(0.1, 0.2)), resultSet(List.of("c"), List.of(1.0)));
+		OceanBaseVectorStore vectorStore = vectorStore().hybridSearchType("fulltext")
+			.hybridSearchExecutor(executor)
+			.build();
+
+		List<Document> results = vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+
+		assertThat(results).extracting(Document::getId).containsExactly("a", "b");
+	}
+
+	@Test
+	void hybridSearchFailsWhenBothLegsFail() throws Exception {
+		ResultSet failing = mock(ResultSet.class);
+		when(failing.next()).thenThrow(new SQLException("connection reset"));
+		stubHybridLegs(failing, failing);
+		OceanBaseVectorStore vectorStore = vectorStore().hybridSearchType("fulltext").build();
+
+		assertThatThrownBy(() -> vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build()))
+			.hasMessage("Failed to perform hybrid search in OceanBase");
+	}
+
+	@Test
+	void searchUsesCachedIndexCapability() throws Exception {
+		ResultSet indexFound = mock(ResultSet.class);
+		when(indexFound.next()).thenReturn(true);
+		PreparedStatement probe = mock(PreparedStatement.class);
+		when(probe.executeQuery()).thenReturn(indexFound);
+		when(this.connection.prepareStatement(startsWith("SHOW INDEX"))).thenReturn(probe);
+		OceanBaseVectorStore vectorStore = vectorStore().meterRegistry(this.meterRegistry).build();
+		vectorStore.refreshIndexCapability();
+
+		for (int i = 0; i < 3; i++) {
+			vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+		}
+
+		verify(probe, times(1)).executeQuery();
+		verify(this.connection, times(3)).prepareStatement(vectorStore.getSearchSql("vector", null, true));
+		verify(this.connection, never()).prepareStatement(vectorStore.getSearchSql("vector", null, false));
+		assertThat(exactSearches("no_index")).isZero();
+	}
+
+	@Test
+	void searchWithoutIndexCountsExactSearches() throws Exception {
+		OceanBaseVectorStore vectorStore = vectorStore().meterRegistry(this.meterRegistry).build();
+		vectorStore.refreshIndexCapability();
+
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+
+		assertThat(exactSearches("no_index")).isEqualTo(2);
+		verify(this.connection, times(2)).prepareStatement(vectorStore.getSearchSql("vector", null, false));
+	}
+
+	@Test
+	void failedApproximateSearchFallsBackAndProbesAgain() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		OceanBaseVectorStore vectorStore = vectorStore().meterRegistry(this.meterRegistry)
+			.indexRefreshExecutor(executor)
+			.build();
+		String approximateSql = vectorStore.getSearchSql("vector", null, true);
+		PreparedStatement approximate = mock(PreparedStatement.class);
+		when(approximate.executeQuery()).thenThrow(new SQLSyntaxErrorException("vector index not found", "42000"));
+		when(this.connection.prepareStatement(approximateSql)).thenReturn(approximate);
+		AtomicInteger probes = new AtomicInteger();
+		ResultSet indexFound = mock(ResultSet.class);
+		when(indexFound.next()).thenAnswer(invocation -> probes.incrementAndGet() == 1);
+		PreparedStatement probe = mock(PreparedStatement.class);
+		when(probe.executeQuery()).thenReturn(indexFound);
+		when(this.connection.prepareStatement(startsWith("SHOW"))).thenReturn(probe);
+		vectorStore.refreshIndexCapability();
+
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+		executor.shutdown();
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+
+		assertThat(exactSearches("approximate_failed")).isEqualTo(1);
+		assertThat(exactSearches("no_index")).isEqualTo(1);
+		verify(approximate, times(1)).executeQuery();
+	}
+
+	@Test
+	void staleIndexCapabilityIsRefreshedInBackground() throws Exception {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		OceanBaseVectorStore vectorStore = vectorStore().indexRefreshExecutor(executor)
+			.indexRefreshInterval(Duration.ZERO)
+			.build();
+		PreparedStatement probe = mock(PreparedStatement.class);
+		when(probe.executeQuery()).thenReturn(mock(ResultSet.class));
+		when(this.connection.prepareStatement(startsWith("SHOW"))).thenReturn(probe);
+		vectorStore.refreshIndexCapability();
+
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+		executor.shutdown();
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+		// SHOW INDEX and SHOW CREATE TABLE, at setup and once more in the background
+		verify(probe, times(4)).executeQuery();
+	}
+
+	@Test
+	void indexRefreshDoesNotUseHybridSearchExecutor() throws Exception {
+		ExecutorService hybridExecutor = mock(ExecutorService.class);
+		ExecutorService refreshExecutor = Executors.newSingleThreadExecutor();
+		OceanBaseVectorStore vectorStore = vectorStore().hybridSearchExecutor(hybridExecutor)
+			.indexRefreshExecutor(refreshExecutor)
+			.indexRefreshInterval(Duration.ZERO)
+			.build();
+		vectorStore.refreshIndexCapability();
+
+		vectorStore.doSimilaritySearch(SearchRequest.builder().query("spring").build());
+		refreshExecutor.shutdown();
+		assertThat(refreshExecutor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+		verifyNoInteractions(hybridExecutor);
+	}
+
+	private double exactSearches(String reason) {
+		return this.meterRegistry.get(OceanBaseVectorStore.EXACT_SEARCH_METER_NAME)
+			.tag("reason", reason)
+			.counter()
+			.count();
+	}
+
+	/**
+	 * Answers the vector and the full-text leg with the given rows, index probes find
+	 * nothing.
+	 */
+	private void stubHybridLegs(ResultSet vectorRows, ResultSet fulltextRows) throws SQLException {
+		when(this.connection.prepareStatement(anyString())).thenAnswer(invocation -> {
+			String sql = invocation.getArgument(0);
+			PreparedStatement statement = mock(PreparedStatement.class);
+			when(statement.executeQuery()).thenReturn(
+					sql.startsWith("SHOW") ? mock(ResultSet.class) : sql.contains("MATCH(") ? fulltextRows : vectorRows);
+			return statement;
+		});
+	}
+
+	/**
+	 * Rows with the given ids, the values are distances for the vector leg and
+	 * relevances for the full-text leg.
+	 */
+	private static ResultSet resultSet(List<String> ids, List<Double> values) throws SQLException {
+		ResultSet resultSet = mock(ResultSet.class);
+		AtomicInteger row = new AtomicInteger(-1);
+		when(resultSet.next()).thenAnswer(invocation -> row.incrementAndGet() < ids.size());
+		when(resultSet.getString("id")).thenAnswer(invocation -> ids.get(row.get()));
+		when(resultSet.getString("document")).thenAnswer(invocation -> "text-" + ids.get(row.get()));
+		when(resultSet.getString("distance")).thenAnswer(invocation -> {
+			Double value = values.get(row.get());
+			return value != null ? String.valueOf(value) : null;
+		});
+		when(resultSet.getDouble("relevance")).thenAnswer(invocation -> values.get(row.get()));
+		return resultSet;
+	}
+
+	private OceanBaseVectorStore.Builder vectorStore() {
+		return OceanBaseVectorStore.builder("vectors", this.dataSource, this.embeddingModel);
+	}
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.opensearch;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingRequest;
+import org.springframework.ai.embedding.EmbeddingResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Pushes documents through {@link OpenSearchVectorStore#doAdd(List)} against a stub
+ * push endpoint on the loopback interface. {@code PER_DOCUMENT} pushes one document per
+ * request like the store did before bulk writes, {@code BULK} uses the default bulk
+ * options. The stub answers after {@code latencyMillis} to stand in for the round trip
+ * to a real instance. Scores are documents per second:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="OpenSearchBulkWriteBenchmark"
+ * </pre>
+ *
+ * @since 1.1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class OpenSearchBulkWriteBenchmark {
+
+	private static final int DOCUMENTS = 1000;
+
+	private static final byte[] OK = "{\"code\":200,\"status\":\"OK\"}".getBytes(StandardCharsets.UTF_8);
+
+	public enum WriteMode {
+
+		PER_DOCUMENT, BULK
+
+	}
+
+	@Param({ "PER_DOCUMENT", "BULK" })
+	public WriteMode mode;
+
+	@Param({ "0", "2" })
+	public int latencyMillis;
+
+	private HttpServer server;
+
+	private OpenSearchVectorStore vectorStore;
+
+	private List<Document> documents;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		this.server.setExecutor(Executors.newFixedThreadPool(16));
+		this.server.createContext("/", exchange -> {
+			try (InputStream body = exchange.getRequestBody()) {
+				body.readAllBytes();
+			}
+			if (this.latencyMillis > 0) {
+				try {
+					Thread.sleep(this.latencyMillis);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, OK.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(OK);
+			}
+		});
+		this.server.start();
+
+		OpenSearchVectorStoreProperties properties = new OpenSearchVectorStoreProperties();
+		properties.setInstanceId("ha-cn-benchmark");
+		properties.setEndpoint("127.0.0.1:" + this.server.getAddress().getPort());
+		properties.setAccessUserName("user");
+		properties.setAccessPassWord("password");
+
+		OpenSearchVectorStoreOptions options = new OpenSearchVectorStoreOptions();
+		if (this.mode == WriteMode.PER_DOCUMENT) {
+			options.setBulkMaxDocuments(1).setBulkConcurrency(1);
+		}
+		this.vectorStore = OpenSearchVectorStore.builder(new OpenSearchApi(properties), new StubEmbeddingModel())
+			.options(options)
+			.build();
+
+		String text = "OpenSearch vector search edition stores dense vectors next to the source text. ".repeat(8);
+		this.documents = IntStream.range(0, DOCUMENTS)
+			.mapToObj(i -> new Document("doc-" + i, text, Map.of("index", i, "source", "benchmark")))
+			.toList();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		this.server.stop(0);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(DOCUMENTS)
+	public void add() {
+		this.vectorStore.doAdd(this.documents);
+	}
+
+	private static final class StubEmbeddingModel implements EmbeddingModel {
+
+		@Override
+		public EmbeddingResponse call(EmbeddingRequest request) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public float[] embed(Document document) {
+			throw new UnsupportedOperationException();
+		}
+
+	}
+
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.opensearch;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Thrown when some push batches of a bulk add or delete failed. The documents of the
+ * other batches have been written; {@link #getFailures()} tells which documents were not.
+ *
+ * @since 1.1.0.0
+ */
+public class OpenSearchBulkWriteException extends RuntimeException {
+
+	private final int total;
+
+	private final Map<String, Throwable> failures;
+
+	public OpenSearchBulkWriteException(String operation, int total, Map<String, Throwable> failures) {
+		super(String.format("OpenSearch bulk %s failed for %d of %d documents", operation, failures.size(), total),
+				failures.values().stream().findFirst().orElse(null));
+		this.total = total;
+		this.failures = Collections.unmodifiableMap(failures);
+	}
+
+	/**
+	 * @return the number of documents of the bulk operation
+	 */
+	public int getTotal() {
+		return this.total;
+	}
+
+	/**
+	 * @return the cause of the failure keyed by document id, in input order
+	 */
+	public Map<String, Throwable> getFailures() {
+		return this.failures;
+	}
+
+}
@@ -36,8 +36,13 @@ import org.springframework.ai.vectorstore.observation.VectorStoreObservationConv
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -67,6 +72,11 @@ public class OpenSearchVectorStore extends AbstractObservationVectorStore implem
 	 */
 	private static final String METADATA_FIELD_NAME = "metadata";
 
+	/**
+	 * Estimated JSON encoding overhead of one push command besides its values.
+	 */
+	private static final long BULK_ITEM_OVERHEAD_BYTES = 64;
+
 	/**
 	 * The API client used to interact with OpenSearch.
 	 */
@@ -149,57 +159,179 @@ public class OpenSearchVectorStore extends AbstractObservationVectorStore implem
 		return new Builder(openSearchApi, embeddingModel);
 	}
 
+	/**
+	 * Add documents to the vector store. The documents are pushed in batches bounded by
+	 * {@link OpenSearchVectorStoreOptions#getBulkMaxDocuments()} and
+	 * {@link OpenSearchVectorStoreOptions#getBulkMaxBytes()}, with up to
+	 * {@link OpenSearchVectorStoreOptions#getBulkConcurrency()} batches in flight.
+	 * @throws OpenSearchBulkWriteException if some batches could not be pushed
+	 */
 	@Override
 	public void doAdd(List<Document> documents) {
+		List<BulkItem> items = new ArrayList<>(documents.size());
 		for (Document document : documents) {
-			/*
-			 * Document push outer structure, can add document operation structures. The
-			 * structure supports one or more document operations.
-			 */
-			List<Map<String, ?>> documentToAdd = new ArrayList<>();
-			Map<String, Object> documentMap = new HashMap<>();
-			Map<String, Object> documentFields = new HashMap<>();
-
 			// Insert document content information, key-value pairs matching.
 			// The field_pk field must be consistent with the pkField configuration.
+			Map<String, Object> documentFields = new HashMap<>(4);
 			documentFields.put(ID_FIELD_NAME, document.getId());
 			documentFields.put(CONTENT_FIELD_NAME, document.getText());
 			// Convert metadata to JSON
+			String metadata;
 			try {
-				documentFields.put(METADATA_FIELD_NAME, objectMapper.writeValueAsString(document.getMetadata()));
+				metadata = objectMapper.writeValueAsString(document.getMetadata());
 			}
 			catch (JsonProcessingException e) {
 				throw new RuntimeException("Failed to serialize JSON", e);
 			}
+			documentFields.put(METADATA_FIELD_NAME, metadata);
 
-			// Add document content to documentEntry structure.
-			documentMap.put("fields", documentFields);
+			long estimatedBytes = BULK_ITEM_OVERHEAD_BYTES + utf8Length(document.getId())
+					+ utf8Length(document.getText()) + utf8Length(metadata);
 			// New document command: add
-			documentMap.put("cmd", "add");
-			documentToAdd.add(documentMap);
-
-			openSearchApi.uploadDocument(this.options.getTableName(), this.options.getPrimaryKeyField(), documentToAdd);
+			items.add(new BulkItem(document.getId(), Map.of("fields", documentFields, "cmd", "add"), estimatedBytes));
 		}
+
+		bulkWrite("add", items, batch -> openSearchApi.uploadDocument(this.options.getTableName(),
+				this.options.getPrimaryKeyField(), batch));
 	}
 
 	/**
-	 * Delete documents from the vector store.
+	 * Delete documents from the vector store, in batches like {@link #doAdd(List)}.
+	 * @throws OpenSearchBulkWriteException if some batches could not be pushed
 	 */
 	@Override
 	public void doDelete(List<String> idList) {
+		String primaryKeyField = this.options.getPrimaryKeyField();
+		List<BulkItem> items = new ArrayList<>(idList.size());
 		for (String id : idList) {
-			List<Map<String, ?>> documentToDelete = new ArrayList<>();
-			Map<String, Object> documentMap = new HashMap<>();
-			Map<String, Object> documentFields = new HashMap<>();
+			Map<String, Object> documentFields = Map.of(primaryKeyField, id);
+			items.add(new BulkItem(id, Map.of("fields", documentFields, "cmd", "delete"),
+					BULK_ITEM_OVERHEAD_BYTES + utf8Length(id)));
+		}
+
+		bulkWrite("delete", items, batch -> openSearchApi.deleteDocument(this.options.getTableName(), primaryKeyField,
+				batch));
+	}
+
+	/**
+	 * Push the items in size-bounded batches, concurrently. A failing batch does not
+	 * stop the others; its documents are reported once all batches completed.
+	 */
+	private void bulkWrite(String operation, List<BulkItem> items, Consumer<List<Map<String, ?>>> push) {
+		if (items.isEmpty()) {
+			return;
+		}
 
-			documentFields.put(this.options.getPrimaryKeyField(), id);
-			documentMap.put("fields", documentFields);
-			documentMap.put("cmd", "delete");
-			documentToDelete.add(documentMap);
+		List<List<BulkItem>> batches = partition(items);
+		Map<BulkItem, Throwable> failures = new ConcurrentHashMap<>();
+
+		Flux.fromIterable(batches)
+			.flatMap(batch -> Mono.fromRunnable(() -> pushBatch(batch, push, failures))
+				.subscribeOn(Schedulers.boundedElastic()), Math.max(1, this.options.getBulkConcurrency()))
+			.then()
+			.block();
+
+		if (!failures.isEmpty()) {
+			Map<String, Throwable> failedDocuments = new LinkedHashMap<>();
+			for (BulkItem item : items) {
+				Throwable failure = failures.get(item);
+				if (failure != null) {
+					failedDocuments.put(item.id(), failure);
+				}
+			}
+			throw new OpenSearchBulkWriteException(operation, items.size(), failedDocuments);
+		}
+	}
 
-			openSearchApi.deleteDocument(this.options.getTableName(), this.options.getPrimaryKeyField(),
-					documentToDelete);
+	private void pushBatch(List<BulkItem> batch, Consumer<List<Map<String, ?>>> push,
+			Map<BulkItem, Throwable> failures) {
+		List<Map<String, ?>> commands = new ArrayList<>(batch.size());
+		for (BulkItem item : batch) {
+			commands.add(item.command());
 		}
+		try {
+			push.accept(commands);
+		}
+		catch (RuntimeException ex) {
+			logger.warn("OpenSearch push of {} documents failed: {}", batch.size(), ex.getMessage());
+			for (BulkItem item : batch) {
+				failures.put(item, ex);
+			}
+		}
+	}
+
+	private List<List<BulkItem>> partition(List<BulkItem> items) {
+		int maxDocuments = Math.max(1, this.options.getBulkMaxDocuments());
+		long maxBytes = this.options.getBulkMaxBytes();
+
+		List<List<BulkItem>> batches = new ArrayList<>();
+		List<BulkItem> batch = new ArrayList<>();
+		long batchBytes = 0;
+		for (BulkItem item : items) {
+			if (!batch.isEmpty()
+					&& (batch.size() >= maxDocuments || (maxBytes > 0 && batchBytes + item.estimatedBytes() > maxBytes))) {
+				batches.add(batch);
+				batch = new ArrayList<>();
+				batchBytes = 0;
+			}
+			batch.add(item);
+			batchBytes += item.estimatedBytes();
+		}
+		batches.add(batch);
+		return batches;
+	}
+
+	private static long utf8Length(String value) {
+		if (value == null) {
+			return 4;
+		}
+		long length = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				length += 1;
+			}
+			else if (c < 0x800 || Character.isSurrogate(c)) {
+				// a surrogate pair takes four bytes
+				length += 2;
+			}
+			else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * One push command together with the id of its document and its estimated encoded
+	 * size. Compared by identity, as ids need not be unique within a call.
+	 */
+	private static final class BulkItem {
+
+		private final String id;
+
+		private final Map<String, ?> command;
+
+		private final long estimatedBytes;
+
+		BulkItem(String id, Map<String, ?> command, long estimatedBytes) {
+			this.id = id;
+			this.command = command;
+			this.estimatedBytes = estimatedBytes;
+		}
+
+		String id() {
+			return this.id;
+		}
+
+		Map<String, ?> command() {
+			return this.command;
+		}
+
+		long estimatedBytes() {
+			return this.estimatedBytes;
+		}
+
 	}
 
 	/**
@@ -106,6 +106,21 @@ public class OpenSearchVectorStoreOptions {
 	 */
 	private int dimensions = 1536;
 
+	/**
+	 * Maximum number of documents sent in one push request.
+	 */
+	private int bulkMaxDocuments = 500;
+
+	/**
+	 * Maximum estimated size in bytes of one push request.
+	 */
+	private long bulkMaxBytes = 2 * 1024 * 1024;
+
+	/**
+	 * Number of push requests sent concurrently.
+	 */
+	private int bulkConcurrency = 4;
+
 	public boolean isInitializeSchema() {
 		return initializeSchema;
 	}
@@ -156,4 +171,31 @@ public class OpenSearchVectorStoreOptions {
 		this.dimensions = dims;
 	}
 
+	public int getBulkMaxDocuments() {
+		return this.bulkMaxDocuments;
+	}
+
+	public OpenSearchVectorStoreOptions setBulkMaxDocuments(int bulkMaxDocuments) {
+		this.bulkMaxDocuments = bulkMaxDocuments;
+		return this;
+	}
+
+	public long getBulkMaxBytes() {
+		return this.bulkMaxBytes;
+	}
+
+	public OpenSearchVectorStoreOptions setBulkMaxBytes(long bulkMaxBytes) {
+		this.bulkMaxBytes = bulkMaxBytes;
+		return this;
+	}
+
+	public int getBulkConcurrency() {
+		return this.bulkConcurrency;
+	}
+
+	public OpenSearchVectorStoreOptions setBulkConcurrency(int bulkConcurrency) {
+		this.bulkConcurrency = bulkConcurrency;
+		return this;
+	}
+
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.opensearch;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.embedding.EmbeddingModel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the bulk writes of {@link OpenSearchVectorStore}.
+ *
+ * @since 1.1.0.0
+ */
+class OpenSearchVectorStoreTests {
+
+	private final List<List<Map<String, ?>>> uploads = Collections.synchronizedList(new ArrayList<>());
+
+	private final List<List<Map<String, ?>>> deletes = Collections.synchronizedList(new ArrayList<>());
+
+	private OpenSearchApi openSearchApi;
+
+	private OpenSearchVectorStoreOptions options;
+
+	@BeforeEach
+	void setUp() {
+		this.openSearchApi = mock(OpenSearchApi.class);
+		doAnswer(invocation -> this.uploads.add(invocation.getArgument(2))).when(this.openSearchApi)
+			.uploadDocument(any(), any(), any());
+		doAnswer(invocation -> this.deletes.add(invocation.getArgument(2))).when(this.openSearchApi)
+			.deleteDocument(any(), any(), any());
+		this.options = new OpenSearchVectorStoreOptions();
+	}
+
+	@Test
+	void addPushesBatchesBoundedByDocumentCount() {
+		this.options.setBulkMaxDocuments(3).setBulkConcurrency(1);
+
+		vectorStore().doAdd(documents(7, "text"));
+
+		assertThat(this.uploads).extracting(List::size).containsExactly(3, 3, 1);
+		Map<String, ?> command = this.uploads.get(2).get(0);
+		assertThat(command.get("cmd")).isEqualTo("add");
+		assertThat(command.get("fields")).asInstanceOf(InstanceOfAssertFactories.MAP)
+			.containsEntry("id", "doc-6")
+			.containsEntry("content", "text")
+			.containsEntry("metadata", "{\"index\":6}");
+	}
+
+	@Test
+	void addPushesBatchesBoundedByBytes() {
+		this.options.setBulkMaxBytes(2500).setBulkConcurrency(1);
+
+		vectorStore().doAdd(documents(5, "x".repeat(1000)));
+
+		assertThat(this.uploads).extracting(List::size).containsExactly(2, 2, 1);
+	}
+
+	@Test
+	void oversizedDocumentIsPushedOnItsOwn() {
+		this.options.setBulkMaxBytes(100).setBulkConcurrency(1);
+
+		vectorStore().doAdd(documents(2, "x".repeat(1000)));
+
+		assertThat(this.uploads).extracting(List::size).containsExactly(1, 1);
+	}
+
+	@Test
+	void keepsSeveralBatchesInFlight() {
+		CountDownLatch overlap = new CountDownLatch(2);
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		doAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			overlap.countDown();
+			overlap.await(5, TimeUnit.SECONDS);
+			inFlight.decrementAndGet();
+			return null;
+		}).when(this.openSearchApi).uploadDocument(any(), any(), any());
+		this.options.setBulkMaxDocuments(10).setBulkConcurrency(3);
+
+		vectorStore().doAdd(documents(60, "text"));
+
+		assertThat(maxInFlight.get()).isBetween(2, 3);
+	}
+
+	@Test
+	void reportsDocumentsOfFailedBatches() {
+		doAnswer(invocation -> {
+			List<Map<String, ?>> batch = invocation.getArgument(2);
+			if (((Map<?, ?>) batch.get(0).get("fields")).get("id").equals("doc-2")) {
+				throw new RuntimeException("OpenSearch upload Document failed.");
+			}
+			return this.uploads.add(batch);
+		}).when(this.openSearchApi).uploadDocument(any(), any(), any());
+		this.options.setBulkMaxDocuments(2).setBulkConcurrency(2);
+
+		assertThatThrownBy(() -> vectorStore().doAdd(documents(5, "text")))
+			.isInstanceOfSatisfying(OpenSearchBulkWriteException.class, ex -> {
+				assertThat(ex.getTotal()).isEqualTo(5);
+				assertThat(ex.getFailures()).containsOnlyKeys("doc-2", "doc-3");
+				assertThat(ex.getCause()).hasMessage("OpenSearch upload Document failed.");
+			})
+			.hasMessage("OpenSearch bulk add failed for 2 of 5 documents");
+		assertThat(this.uploads).hasSize(2);
+	}
+
+	@Test
+	void deletePushesBatches() {
+		this.options.setBulkMaxDocuments(2);
+
+		vectorStore().doDelete(List.of("a", "b", "c"));
+
+		assertThat(this.deletes).hasSize(2);
+		assertThat(this.deletes).flatExtracting(batch -> batch).hasSize(3).allSatisfy(command -> {
+			assertThat(command.get("cmd")).isEqualTo("delete");
+			assertThat(command.get("fields")).asInstanceOf(InstanceOfAssertFactories.MAP).containsKey("id");
+		});
+	}
+
+	@Test
+	void emptyInputPushesNothing() {
+		vectorStore().doAdd(List.of());
+		vectorStore().doDelete(List.of());
+
+		assertThat(this.uploads).isEmpty();
+		assertThat(this.deletes).isEmpty();
+	}
+
+	private OpenSearchVectorStore vectorStore() {
+		return OpenSearchVectorStore.builder(this.openSearchApi, mock(EmbeddingModel.class))
+			.options(this.options)
+			.build();
+	}
+
+	private static List<Document> documents(int count, String text) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new Document("doc-" + i, text, Map.of("index", i)))
+			.toList();
+	}
+
+}
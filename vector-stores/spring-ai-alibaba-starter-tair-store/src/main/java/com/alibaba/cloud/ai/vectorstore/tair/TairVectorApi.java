@@ -16,9 +16,13 @@
 package com.alibaba.cloud.ai.vectorstore.tair;
 
 import com.aliyun.tair.tairvector.TairVector;
+import com.aliyun.tair.tairvector.TairVectorPipeline;
 import redis.clients.jedis.Jedis;
 import redis.clients.jedis.JedisPool;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  * Provides an API for interacting with Tair Vector, extending the functionality of the
  * {@link TairVector} class. This class is designed to manage vector operations using a
@@ -37,6 +41,10 @@ import redis.clients.jedis.JedisPool;
  */
 public class TairVectorApi extends TairVector {
 
+	private final Jedis jedis;
+
+	private final JedisPool jedisPool;
+
 	/**
 	 * Constructs a new instance of the {@link TairVectorApi} class using a single Jedis
 	 * instance.
@@ -44,6 +52,8 @@ public class TairVectorApi extends TairVector {
 	 */
 	public TairVectorApi(Jedis jedis) {
 		super(jedis);
+		this.jedis = jedis;
+		this.jedisPool = null;
 	}
 
 	/**
@@ -54,6 +64,29 @@ public class TairVectorApi extends TairVector {
 	 */
 	public TairVectorApi(JedisPool jedisPool) {
 		super(jedisPool);
+		this.jedis = null;
+		this.jedisPool = jedisPool;
+	}
+
+	/**
+	 * Sends the commands queued by the given callback in a single pipeline and waits for
+	 * all replies. The pipeline runs on a connection borrowed from the pool, or on the
+	 * single Jedis instance this API was created with.
+	 * @param commands the callback queuing commands on the pipeline
+	 * @return the replies in command order, a failed command is reported as the
+	 * {@link redis.clients.jedis.exceptions.JedisDataException} it raised
+	 */
+	public List<Object> pipelined(Consumer<TairVectorPipeline> commands) {
+		Jedis connection = (this.jedisPool != null) ? this.jedisPool.getResource() : this.jedis;
+		try (TairVectorPipeline pipeline = new TairVectorPipeline(connection)) {
+			commands.accept(pipeline);
+			return pipeline.syncAndReturnAll();
+		}
+		finally {
+			if (this.jedisPool != null) {
+				connection.close();
+			}
+		}
 	}
 
 }
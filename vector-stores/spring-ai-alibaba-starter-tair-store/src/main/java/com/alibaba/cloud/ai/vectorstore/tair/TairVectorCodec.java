@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024-2026 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.cloud.ai.vectorstore.tair;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes embeddings into the {@code [v1,v2,...]} text form TairVector expects, without
+ * going through a JSON generator. Components are written with {@link Float#toString}
+ * straight into a byte buffer, integral ones without their {@code .0} suffix.
+ *
+ * @since 1.1.0.0
+ */
+final class TairVectorCodec {
+
+	private TairVectorCodec() {
+	}
+
+	/**
+	 * Encodes the vector into US-ASCII bytes, ready to be sent as a command argument.
+	 * @param vector the vector to encode
+	 * @return the encoded vector
+	 */
+	static byte[] encode(float[] vector) {
+		byte[] buffer = new byte[2 + vector.length * 12];
+		int length = 0;
+		buffer[length++] = '[';
+		for (int i = 0; i < vector.length; i++) {
+			if (i > 0) {
+				buffer[length++] = ',';
+			}
+			float value = vector[i];
+			String text = (value == (int) value) ? Integer.toString((int) value) : Float.toString(value);
+			if (buffer.length < length + text.length() + 1) {
+				buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + text.length() + 1));
+			}
+			for (int j = 0; j < text.length(); j++) {
+				buffer[length++] = (byte) text.charAt(j);
+			}
+		}
+		buffer[length++] = ']';
+		return Arrays.copyOf(buffer, length);
+	}
+
+	/**
+	 * Encodes the vector into its text form.
+	 * @param vector the vector to encode
+	 * @return the encoded vector
+	 */
+	static String encodeToString(float[] vector) {
+		return new String(encode(vector), StandardCharsets.US_ASCII);
+	}
+
+}
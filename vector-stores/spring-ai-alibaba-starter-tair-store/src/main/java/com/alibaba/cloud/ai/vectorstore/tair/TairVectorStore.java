@@ -15,6 +15,7 @@
  */
 package com.alibaba.cloud.ai.vectorstore.tair;
 
+import com.aliyun.tair.tairvector.TairVectorPipeline;
 import com.aliyun.tair.tairvector.factory.VectorBuilderFactory;
 import com.aliyun.tair.tairvector.factory.VectorBuilderFactory.KnnItem;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -26,6 +27,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.BatchingStrategy;
 import org.springframework.ai.embedding.EmbeddingModel;
+import org.springframework.ai.embedding.EmbeddingOptions;
 import org.springframework.ai.embedding.TokenCountBatchingStrategy;
 import org.springframework.ai.vectorstore.AbstractVectorStoreBuilder;
 import org.springframework.ai.vectorstore.SearchRequest;
@@ -33,6 +35,7 @@ import org.springframework.ai.vectorstore.observation.AbstractObservationVectorS
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationConvention;
 import org.springframework.util.Assert;
+import redis.clients.jedis.util.SafeEncoder;
 
 import java.util.*;
 
@@ -63,6 +66,12 @@ public class TairVectorStore extends AbstractObservationVectorStore {
 	 */
 	protected static final String METADATA_FIELD_NAME = "metadata";
 
+	private static final byte[] ID_FIELD = SafeEncoder.encode(ID_FIELD_NAME);
+
+	private static final byte[] CONTENT_FIELD = SafeEncoder.encode(CONTENT_FIELD_NAME);
+
+	private static final byte[] METADATA_FIELD = SafeEncoder.encode(METADATA_FIELD_NAME);
+
 	/**
 	 * The API client used to interact with Tair.
 	 */
@@ -133,6 +142,12 @@ public class TairVectorStore extends AbstractObservationVectorStore {
 		return new Builder(tairVectorApi, embeddingModel);
 	}
 
+	/**
+	 * Embeds the documents through the configured {@link BatchingStrategy} and writes
+	 * them with {@code TVS.HSET}, sending
+	 * {@link TairVectorStoreOptions#getPipelineDepth()} commands per pipeline.
+	 * @throws IllegalStateException if some documents could not be written
+	 */
 	@Override
 	public void doAdd(List<Document> documents) {
 		Objects.requireNonNull(documents, "Documents list cannot be null");
@@ -140,44 +155,78 @@ public class TairVectorStore extends AbstractObservationVectorStore {
 			throw new IllegalArgumentException("Documents list cannot be empty");
 		}
 
+		List<float[]> embeddings = this.embeddingModel.embed(documents, EmbeddingOptions.builder().build(),
+				this.batchingStrategy);
+
+		List<String> metadata = new ArrayList<>(documents.size());
 		for (Document document : documents) {
-			logger.info("Calling EmbeddingModel for document id = {}", document.getId());
-			float[] embedding = this.embeddingModel.embed(document);
-			String embeddingString = null;
 			try {
-				embeddingString = objectMapper.writeValueAsString(embedding);
-
-				List<String> params = new ArrayList<>();
-				params.add(ID_FIELD_NAME);
-				params.add(document.getId());
-				params.add(CONTENT_FIELD_NAME);
-				params.add(document.getText());
-				params.add(METADATA_FIELD_NAME);
-				params.add(objectMapper.writeValueAsString(document.getMetadata()));
-				this.tairVectorApi.tvshset(options.getIndexName(), document.getId(), embeddingString,
-						params.toArray(new String[0]));
+				metadata.add(objectMapper.writeValueAsString(document.getMetadata()));
 			}
 			catch (JsonProcessingException e) {
 				throw new RuntimeException("Error serializing message", e);
 			}
 		}
+
+		logger.debug("Adding {} documents to Tair index {}", documents.size(), this.options.getIndexName());
+		byte[] index = SafeEncoder.encode(this.options.getIndexName());
+		List<String> ids = documents.stream().map(Document::getId).toList();
+		pipelined("add", ids, (pipeline, offset, count) -> {
+			for (int i = offset; i < offset + count; i++) {
+				Document document = documents.get(i);
+				byte[] key = SafeEncoder.encode(document.getId());
+				pipeline.tvshset(index, key, TairVectorCodec.encode(embeddings.get(i)), ID_FIELD, key, CONTENT_FIELD,
+						SafeEncoder.encode(document.getText()), METADATA_FIELD, SafeEncoder.encode(metadata.get(i)));
+			}
+		});
 	}
 
+	/**
+	 * Deletes the documents with {@code TVS.DEL}, sending
+	 * {@link TairVectorStoreOptions#getPipelineDepth()} commands per pipeline.
+	 * @throws IllegalStateException if some documents could not be deleted
+	 */
 	@Override
 	public void doDelete(List<String> idList) {
-		throw new UnsupportedOperationException("delete is not supported");
+		Assert.notNull(idList, "The id list should not be null.");
+		String index = this.options.getIndexName();
+		pipelined("delete", idList, (pipeline, offset, count) -> {
+			for (int i = offset; i < offset + count; i++) {
+				pipeline.tvsdel(index, idList.get(i));
+			}
+		});
+	}
+
+	/**
+	 * Sends the commands for the given documents in pipelines of at most
+	 * {@link TairVectorStoreOptions#getPipelineDepth()} commands, one command per
+	 * document, and reports the documents whose command failed once all pipelines ran.
+	 */
+	private void pipelined(String operation, List<String> ids, PipelineCommands commands) {
+		int depth = this.options.getPipelineDepth();
+		List<String> failedIds = new ArrayList<>();
+		RuntimeException firstFailure = null;
+		for (int offset = 0; offset < ids.size(); offset += depth) {
+			int start = offset;
+			int count = Math.min(depth, ids.size() - offset);
+			List<Object> replies = this.tairVectorApi.pipelined(pipeline -> commands.queue(pipeline, start, count));
+			for (int i = 0; i < replies.size(); i++) {
+				if (replies.get(i) instanceof RuntimeException failure) {
+					failedIds.add(ids.get(start + i));
+					firstFailure = (firstFailure != null) ? firstFailure : failure;
+				}
+			}
+		}
+		if (!failedIds.isEmpty()) {
+			throw new IllegalStateException(String.format("Tair %s failed for %d of %d documents: %s", operation,
+					failedIds.size(), ids.size(), failedIds), firstFailure);
+		}
 	}
 
 	@Override
 	public List<Document> doSimilaritySearch(SearchRequest request) {
 		float[] userQueryEmbedding = getUserQueryEmbedding(request.getQuery());
-		String embeddingString = null;
-		try {
-			embeddingString = objectMapper.writeValueAsString(userQueryEmbedding);
-		}
-		catch (JsonProcessingException e) {
-			throw new RuntimeException("Failed to serialize JSON", e);
-		}
+		String embeddingString = TairVectorCodec.encodeToString(userQueryEmbedding);
 		VectorBuilderFactory.Knn<String> result = this.tairVectorApi.tvsknnsearch(options.getIndexName(),
 				(long) request.getTopK(), embeddingString);
 
@@ -233,6 +282,16 @@ public class TairVectorStore extends AbstractObservationVectorStore {
 			.similarityMetric(this.options.getDistanceMethod().name());
 	}
 
+	/**
+	 * Queues the commands for a slice of the documents on a pipeline.
+	 */
+	@FunctionalInterface
+	private interface PipelineCommands {
+
+		void queue(TairVectorPipeline pipeline, int offset, int count);
+
+	}
+
 	/**
 	 * Builder class for constructing {@link TairVectorStore} instances.
 	 */
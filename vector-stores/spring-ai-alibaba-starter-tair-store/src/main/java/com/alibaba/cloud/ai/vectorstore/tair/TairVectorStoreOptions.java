@@ -17,6 +17,7 @@ package com.alibaba.cloud.ai.vectorstore.tair;
 
 import com.aliyun.tair.tairvector.params.DistanceMethod;
 import com.aliyun.tair.tairvector.params.IndexAlgorithm;
+import org.springframework.util.Assert;
 
 import java.util.Arrays;
 import java.util.List;
@@ -76,6 +77,11 @@ public class TairVectorStoreOptions {
 	 */
 	private Integer expireSeconds = 600;
 
+	/**
+	 * The number of commands sent in one pipeline when adding or deleting documents.
+	 */
+	private int pipelineDepth = 100;
+
 	/**
 	 * The expiration time for the index, in seconds.
 	 */
@@ -171,4 +177,21 @@ public class TairVectorStoreOptions {
 		this.expireSeconds = expireSeconds;
 	}
 
+	/**
+	 * Returns the number of commands sent in one pipeline.
+	 * @return the pipeline depth
+	 */
+	public int getPipelineDepth() {
+		return pipelineDepth;
+	}
+
+	/**
+	 * Sets the number of commands sent in one pipeline.
+	 * @param pipelineDepth the pipeline depth to set, at least 1
+	 */
+	public void setPipelineDepth(int pipelineDepth) {
+		Assert.isTrue(pipelineDepth > 0, "pipelineDepth must be positive");
+		this.pipelineDepth = pipelineDepth;
+	}
+
 }
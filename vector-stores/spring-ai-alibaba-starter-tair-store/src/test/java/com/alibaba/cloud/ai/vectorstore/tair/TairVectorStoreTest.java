@@ -15,12 +15,32 @@
  */
 package com.alibaba.cloud.ai.vectorstore.tair;
 
+import com.aliyun.tair.tairvector.TairVectorPipeline;
 import org.junit.jupiter.api.Test;
+import org.mockito.invocation.Invocation;
+import org.springframework.ai.document.Document;
 import org.springframework.ai.embedding.EmbeddingModel;
 import org.springframework.ai.vectorstore.observation.VectorStoreObservationContext;
+import redis.clients.jedis.exceptions.JedisDataException;
+import redis.clients.jedis.util.SafeEncoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * Test class for TairVectorStore to verify the fix for createObservationContextBuilder
@@ -88,4 +108,101 @@ class TairVectorStoreTest {
 		assertThat(context.getSimilarityMetric()).isEqualTo("IP");
 	}
 
+	@Test
+	void addEmbedsInBatchesAndPipelinesWrites() {
+		TairVectorApi tairVectorApi = mock(TairVectorApi.class);
+		List<List<Invocation>> pipelines = recordPipelines(tairVectorApi, null);
+		EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+		when(embeddingModel.embed(anyList(), any(), any())).thenAnswer(invocation -> {
+			List<Document> documents = invocation.getArgument(0);
+			return documents.stream().map(document -> new float[] { 1f, 0.5f }).toList();
+		});
+		TairVectorStoreOptions options = new TairVectorStoreOptions();
+		options.setPipelineDepth(2);
+
+		TairVectorStore vectorStore = TairVectorStore.builder(tairVectorApi, embeddingModel).options(options).build();
+		vectorStore.doAdd(documents(5));
+
+		verify(embeddingModel, never()).embed(any(Document.class));
+		assertThat(pipelines).extracting(List::size).containsExactly(2, 2, 1);
+		Object[] arguments = pipelines.get(2).get(0).getRawArguments();
+		assertThat(decode(arguments[0])).isEqualTo("spring_ai_tair_vector_store");
+		assertThat(decode(arguments[1])).isEqualTo("doc-4");
+		assertThat(decode(arguments[2])).isEqualTo("[1,0.5]");
+		assertThat(Arrays.stream((byte[][]) arguments[3]).map(TairVectorStoreTest::decode))
+			.containsExactly("id", "doc-4", "content", "text-4", "metadata", "{\"index\":4}");
+	}
+
+	@Test
+	void addReportsDocumentsWhoseWriteFailed() {
+		TairVectorApi tairVectorApi = mock(TairVectorApi.class);
+		List<List<Invocation>> pipelines = recordPipelines(tairVectorApi, "doc-1");
+		EmbeddingModel embeddingModel = mock(EmbeddingModel.class);
+		when(embeddingModel.embed(anyList(), any(), any()))
+			.thenReturn(IntStream.range(0, 3).mapToObj(i -> new float[] { i }).toList());
+		TairVectorStoreOptions options = new TairVectorStoreOptions();
+		options.setPipelineDepth(1);
+
+		TairVectorStore vectorStore = TairVectorStore.builder(tairVectorApi, embeddingModel).options(options).build();
+
+		assertThatThrownBy(() -> vectorStore.doAdd(documents(3))).isInstanceOf(IllegalStateException.class)
+			.hasMessage("Tair add failed for 1 of 3 documents: [doc-1]")
+			.hasCauseInstanceOf(JedisDataException.class);
+		assertThat(pipelines).hasSize(3);
+	}
+
+	@Test
+	void deletePipelinesCommands() {
+		TairVectorApi tairVectorApi = mock(TairVectorApi.class);
+		List<List<Invocation>> pipelines = recordPipelines(tairVectorApi, null);
+		TairVectorStoreOptions options = new TairVectorStoreOptions();
+		options.setPipelineDepth(2);
+
+		TairVectorStore vectorStore = TairVectorStore.builder(tairVectorApi, mock(EmbeddingModel.class))
+			.options(options)
+			.build();
+		vectorStore.doDelete(List.of("a", "b", "c"));
+
+		assertThat(pipelines).extracting(List::size).containsExactly(2, 1);
+		assertThat(pipelines.get(1).get(0).getMethod().getName()).isEqualTo("tvsdel");
+		assertThat(pipelines.get(1).get(0).getArguments()).containsExactly("spring_ai_tair_vector_store", "c");
+	}
+
+	@Test
+	void encodesVectorsCompactly() {
+		assertThat(TairVectorCodec.encodeToString(new float[] { 1f, 0.5f, -2.25f, 0f, 1.0E-5f, Float.MAX_VALUE }))
+			.isEqualTo("[1,0.5,-2.25,0,1.0E-5,3.4028235E38]");
+		assertThat(TairVectorCodec.encodeToString(new float[0])).isEqualTo("[]");
+	}
+
+	/**
+	 * Records the commands of every pipeline, failing the command whose key is
+	 * {@code failingKey}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<List<Invocation>> recordPipelines(TairVectorApi tairVectorApi, String failingKey) {
+		List<List<Invocation>> pipelines = new ArrayList<>();
+		doAnswer(invocation -> {
+			TairVectorPipeline pipeline = mock(TairVectorPipeline.class);
+			((Consumer<TairVectorPipeline>) invocation.getArgument(0)).accept(pipeline);
+			List<Invocation> commands = new ArrayList<>(mockingDetails(pipeline).getInvocations());
+			pipelines.add(commands);
+			return commands.stream()
+				.map(command -> failingKey != null && failingKey.equals(decode(command.getRawArguments()[1]))
+						? new JedisDataException("ERR write failed") : (Object) 1L)
+				.toList();
+		}).when(tairVectorApi).pipelined(any());
+		return pipelines;
+	}
+
+	private static List<Document> documents(int count) {
+		return IntStream.range(0, count)
+			.mapToObj(i -> new Document("doc-" + i, "text-" + i, Map.of("index", i)))
+			.toList();
+	}
+
+	private static String decode(Object argument) {
+		return (argument instanceof byte[] bytes) ? SafeEncoder.encode(bytes) : String.valueOf(argument);
+	}
+
 }